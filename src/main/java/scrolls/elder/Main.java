@@ -4,6 +4,7 @@ import java.util.logging.Logger;
 
 import javafx.application.Application;
 import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.storage.DatastoreConverter;
 
 /**
  * The main entry point to the application.
@@ -25,6 +26,9 @@ public class Main {
     private static Logger logger = LogsCenter.getLogger(Main.class);
 
     public static void main(String[] args) {
+        if (DatastoreConverter.isConvertCommand(args)) {
+            System.exit(DatastoreConverter.run(args));
+        }
 
         // As per https://github.com/openjdk/jfx/blob/master/doc-files/release-notes-16.md
         // JavaFX 16 (or later) runtime logs a warning at startup if JavaFX classes are loaded from
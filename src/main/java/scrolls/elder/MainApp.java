@@ -2,12 +2,16 @@ package scrolls.elder;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 import scrolls.elder.commons.core.Config;
+import scrolls.elder.commons.core.DatastoreFormat;
 import scrolls.elder.commons.core.LogsCenter;
 import scrolls.elder.commons.core.Version;
 import scrolls.elder.commons.exceptions.DataLoadingException;
@@ -15,16 +19,25 @@ import scrolls.elder.commons.util.ConfigUtil;
 import scrolls.elder.commons.util.StringUtil;
 import scrolls.elder.logic.Logic;
 import scrolls.elder.logic.LogicManager;
+import scrolls.elder.logic.commands.exceptions.CommandException;
 import scrolls.elder.model.Datastore;
+import scrolls.elder.model.LogLoader;
+import scrolls.elder.model.LogStore;
 import scrolls.elder.model.Model;
 import scrolls.elder.model.ModelManager;
-import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.ReadOnlyUserPrefs;
 import scrolls.elder.model.UserPrefs;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
 import scrolls.elder.model.util.SampleDataUtil;
+import scrolls.elder.storage.ColumnarLogFile;
+import scrolls.elder.storage.DatastoreConverter;
 import scrolls.elder.storage.DatastoreStorage;
-import scrolls.elder.storage.JsonDatastoreStorage;
+import scrolls.elder.storage.JournaledDatastoreStorage;
+import scrolls.elder.storage.JsonDatastoreChangeSpill;
 import scrolls.elder.storage.JsonUserPrefsStorage;
+import scrolls.elder.storage.LogIndexSidecar;
+import scrolls.elder.storage.StagedDatastore;
 import scrolls.elder.storage.Storage;
 import scrolls.elder.storage.StorageManager;
 import scrolls.elder.storage.UserPrefsStorage;
@@ -45,6 +58,8 @@ public class MainApp extends Application {
     protected Storage storage;
     protected Model model;
     protected Config config;
+    protected LogLoader logLoader;
+    protected LogIndexSidecar logIndexSidecar;
 
     @Override
     public void init() throws Exception {
@@ -57,40 +72,111 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
-        DatastoreStorage datastoreStorage = new JsonDatastoreStorage(userPrefs.getDatastoreFilePath());
+        DatastoreFormat datastoreFormat = initDatastoreFormat(userPrefs);
+        DatastoreStorage datastoreStorage =
+                DatastoreStorage.forFormat(datastoreFormat, userPrefs.getDatastoreCompression(),
+                        userPrefs.getDatastoreFilePath());
+        if (datastoreFormat != DatastoreFormat.SHARDED) {
+            // Sharded data files already rewrite only the changed data, without periodic checkpoints of all of it
+            datastoreStorage = new JournaledDatastoreStorage(datastoreStorage,
+                    JournaledDatastoreStorage.DEFAULT_CHECKPOINT_INTERVAL);
+        }
         storage = new StorageManager(datastoreStorage, userPrefsStorage);
 
-        model = initModelManager(storage, userPrefs);
+        StagedDatastore initialData = readInitialData(storage);
+        model = initModelManager(initialData, userPrefs);
+        CompletableFuture<List<Log>> logs = initialData.getLogs();
+        if (userPrefs.isColumnarLogStore()) {
+            ColumnarLogFile columnarLogFile = new ColumnarLogFile(storage.getDatastoreFilePath());
+            logs = logs.thenApplyAsync(columnarLogFile::writeAndMap, MainApp::runOnLoaderThread);
+        }
+        // The index of the words of the logs is read from, or rebuilt into, its file off the application thread
+        logIndexSidecar = new LogIndexSidecar(storage.getDatastoreFilePath());
+        CompletableFuture<LogTextIndex> logTextIndex =
+                logs.thenApplyAsync(logIndexSidecar::readOrRebuild, MainApp::runOnLoaderThread);
+        logLoader = new LogLoader(model, logs, logTextIndex, Platform::runLater);
 
-        logic = new LogicManager(model, storage);
+        logic = new LogicManager(model, storage, logLoader);
 
         ui = new UiManager(logic);
     }
 
     /**
-     * Returns a {@code ModelManager} with the data from {@code storage}'s datastore and {@code userPrefs}. <br>
+     * Returns the format to read and save the data file in, which is the format selected in {@code userPrefs}.
+     * A data file in another format is converted to the selected format first, so that it is not read as missing or
+     * damaged and then overwritten. If it cannot be converted, it is kept in the format it is in.
+     */
+    private DatastoreFormat initDatastoreFormat(ReadOnlyUserPrefs userPrefs) {
+        Path filePath = userPrefs.getDatastoreFilePath();
+        DatastoreFormat selectedFormat = userPrefs.getDatastoreFormat();
+        try {
+            if (DatastoreConverter.convertInPlace(filePath, selectedFormat)) {
+                logger.info("Converted data file " + filePath + " to " + selectedFormat + " format."
+                        + " The previous data file is kept at " + DatastoreStorage.getBackupFilePath(filePath));
+            }
+            return selectedFormat;
+        } catch (DataLoadingException | IOException e) {
+            try {
+                DatastoreFormat fileFormat = DatastoreConverter.detectFormat(filePath);
+                logger.warning("Data file " + filePath + " could not be converted to " + selectedFormat
+                        + " format, keeping it in " + fileFormat + " format: " + StringUtil.getDetails(e));
+                return fileFormat;
+            } catch (IOException ioe) {
+                logger.warning("Format of data file " + filePath + " could not be told: " + StringUtil.getDetails(ioe));
+                return selectedFormat;
+            }
+        }
+    }
+
+    /**
+     * Returns the data from {@code storage}'s datastore, of which only the persons are read before returning, and
+     * the logs are read by a background thread. <br>
      * The data from the sample datastore will be used instead if {@code storage}'s datastore is not found,
      * or an empty datastore will be used instead if errors occur when reading {@code storage}'s datastore.
      */
-    private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
+    private StagedDatastore readInitialData(Storage storage) {
         logger.info("Using data file : " + storage.getDatastoreFilePath());
 
-        Optional<ReadOnlyDatastore> datastoreOptional;
-        ReadOnlyDatastore initialData;
+        Optional<StagedDatastore> datastoreOptional;
+        StagedDatastore initialData;
         try {
-            datastoreOptional = storage.readDatastore();
+            datastoreOptional = storage.readDatastoreInStages(MainApp::runOnLoaderThread);
             if (datastoreOptional.isEmpty()) {
                 logger.info("Creating a new data file " + storage.getDatastoreFilePath()
                         + " populated with sample data.");
             }
-            initialData = datastoreOptional.orElseGet(SampleDataUtil::getSampleDatastore);
+            initialData = datastoreOptional.orElseGet(() -> StagedDatastore.of(SampleDataUtil.getSampleDatastore()));
         } catch (DataLoadingException e) {
             logger.warning("Data file at " + storage.getDatastoreFilePath() + " could not be loaded."
-                    + " Will be starting no data.");
-            initialData = new Datastore();
+                    + " Will be starting no data. The previous data file, if any, is kept at "
+                    + DatastoreStorage.getBackupFilePath(storage.getDatastoreFilePath()));
+            initialData = new StagedDatastore(new Datastore(), CompletableFuture.completedFuture(List.<Log>of()));
         }
+        return initialData;
+    }
 
-        return new ModelManager(initialData, userPrefs);
+    private static void runOnLoaderThread(Runnable task) {
+        Thread thread = new Thread(task, "datastore-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns a {@code ModelManager} with the persons of {@code initialData} and {@code userPrefs}.
+     * The logs of {@code initialData} are added to it afterwards, once the window is shown.
+     */
+    private Model initModelManager(StagedDatastore initialData, ReadOnlyUserPrefs userPrefs) {
+        JsonDatastoreChangeSpill undoHistorySpill;
+        try {
+            undoHistorySpill = JsonDatastoreChangeSpill.createTemporary();
+            logger.info("Using undo history spill file : " + undoHistorySpill.getFilePath());
+        } catch (IOException e) {
+            logger.warning("Failed to create undo history spill file, undo history will be kept in memory : "
+                    + StringUtil.getDetails(e));
+            undoHistorySpill = null;
+        }
+
+        return new ModelManager(initialData.getPersons(), userPrefs, undoHistorySpill);
     }
 
     private void initLogging(Config config) {
@@ -172,11 +258,36 @@ public class MainApp extends Application {
     public void start(Stage primaryStage) {
         logger.info("Starting Elder Scrolls " + MainApp.VERSION);
         ui.start(primaryStage);
+        logLoader.start();
+    }
+
+    /**
+     * Writes the index of the words of the logs in the model to its file, if the logs changed since the file was
+     * written, so that the index need not be rebuilt at the next startup.
+     * Must only be called once all changes are saved, as the file must describe the logs in the data file. Skipped if
+     * not all logs were loaded, as the index in the model then does not cover the logs in the data file.
+     */
+    private void saveLogIndex() {
+        if (!logLoader.isDone() || logLoader.isFailed()) {
+            return;
+        }
+        LogStore logStore = model.getMutableDatastore().getMutableLogStore();
+        try {
+            logIndexSidecar.update(logStore.getLogTextIndex(), logStore.getUnfilteredAllLogsList());
+        } catch (IOException e) {
+            logger.warning("Failed to save the index of the logs " + StringUtil.getDetails(e));
+        }
     }
 
     @Override
     public void stop() {
         logger.info("============================ [ Stopping Elder Scrolls ] =============================");
+        try {
+            logic.closeDatastore();
+            saveLogIndex();
+        } catch (CommandException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
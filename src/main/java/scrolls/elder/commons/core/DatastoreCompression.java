@@ -0,0 +1,30 @@
+package scrolls.elder.commons.core;
+
+import scrolls.elder.commons.util.CompressionCodec;
+import scrolls.elder.commons.util.CompressionCodecRegistry;
+
+/**
+ * The compression codecs json data files can be set to be saved with.
+ * Data files are read with whichever registered codec they were saved with, as told by their first bytes.
+ */
+public enum DatastoreCompression {
+    /**
+     * No compression, so the data file can be edited by hand.
+     */
+    NONE(CompressionCodecRegistry.NONE),
+
+    /**
+     * Gzip, which shrinks json data files several times over.
+     */
+    GZIP(CompressionCodecRegistry.GZIP);
+
+    private final CompressionCodec codec;
+
+    DatastoreCompression(CompressionCodec codec) {
+        this.codec = codec;
+    }
+
+    public CompressionCodec getCodec() {
+        return codec;
+    }
+}
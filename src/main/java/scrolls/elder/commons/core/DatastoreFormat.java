@@ -0,0 +1,22 @@
+package scrolls.elder.commons.core;
+
+/**
+ * The file formats the datastore can be saved in.
+ */
+public enum DatastoreFormat {
+    /**
+     * Human-readable json, which can be edited by hand.
+     */
+    JSON,
+
+    /**
+     * A compact binary format, which is smaller and faster to load and save.
+     */
+    BINARY,
+
+    /**
+     * Json split into a file for persons and a file for the logs of each month, so that saving a change rewrites only
+     * the files holding changed data.
+     */
+    SHARDED
+}
@@ -0,0 +1,31 @@
+package scrolls.elder.commons.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A format that data files can be compressed in, which streams the data through as it is read or written, instead
+ * of holding all of it in memory.
+ * Compressed data is told apart by the magic bytes of its codec, so a codec must be registered with
+ * {@link CompressionCodecRegistry} before data files can be saved with it.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Returns the bytes that data compressed by this codec starts with, by which it is told apart from data in other
+     * formats, or an empty array for a codec that leaves data as it is.
+     */
+    byte[] getMagic();
+
+    /**
+     * Returns a stream that reads the data decompressed from {@code in}. Closing it closes {@code in}.
+     */
+    InputStream decompress(InputStream in) throws IOException;
+
+    /**
+     * Returns a stream that writes the data written to it compressed to {@code out}.
+     * The compressed data is only complete once the stream is closed, which closes {@code out}.
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+}
@@ -0,0 +1,113 @@
+package scrolls.elder.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The compression codecs that compressed data files are read with, each told apart by the magic bytes it declares.
+ * Data that starts with the magic bytes of no registered codec is read as uncompressed, with {@link #NONE}.
+ * Files are only saved with codecs that can be detected this way, so that every file saved can be read back.
+ */
+public class CompressionCodecRegistry {
+
+    public static final String MESSAGE_NO_MAGIC = "A compression codec must declare the magic bytes it is detected by.";
+    public static final String MESSAGE_MAGIC_CONFLICT =
+            "The magic bytes of the compression codec clash with those of a registered codec.";
+    public static final String MESSAGE_NOT_DETECTABLE =
+            "Data compressed with an unregistered compression codec could not be read back.";
+
+    /**
+     * The codec of uncompressed data, which leaves data as it is, so that the data file can be edited by hand.
+     */
+    public static final CompressionCodec NONE = new UncompressedCodec();
+
+    /**
+     * The gzip codec, which is registered from the start.
+     */
+    public static final CompressionCodec GZIP = new GzipCodec();
+
+    private static final List<CompressionCodec> codecs = new CopyOnWriteArrayList<>(List.of(GZIP));
+
+    /**
+     * Registers {@code codec}, so that data compressed with it is detected and read with it.
+     *
+     * @throws IllegalArgumentException if {@code codec} declares no magic bytes, or its magic bytes start with those
+     *     of a registered codec or are the start of them, as such data could not be told apart.
+     */
+    public static void register(CompressionCodec codec) {
+        requireNonNull(codec);
+        byte[] magic = codec.getMagic();
+        AppUtil.checkArgument(magic.length > 0, MESSAGE_NO_MAGIC);
+        synchronized (codecs) {
+            if (codecs.contains(codec)) {
+                return;
+            }
+            AppUtil.checkArgument(codecs.stream().noneMatch(other -> isPrefixOfOther(magic, other.getMagic())),
+                    MESSAGE_MAGIC_CONFLICT);
+            codecs.add(codec);
+        }
+    }
+
+    /**
+     * Returns true if data compressed with {@code codec} is read back with it, as it is registered or is
+     * {@link #NONE}.
+     */
+    public static boolean isDetectable(CompressionCodec codec) {
+        requireNonNull(codec);
+        return codec == NONE || codecs.contains(codec);
+    }
+
+    /**
+     * Returns the registered codec that the data in {@code in} was compressed with, as told by its first bytes, leaving
+     * them to be read again. Data that starts with the magic bytes of no registered codec is taken to be uncompressed.
+     */
+    public static CompressionCodec detect(BufferedInputStream in) throws IOException {
+        requireNonNull(in);
+        int magicLength = codecs.stream().mapToInt(codec -> codec.getMagic().length).max().orElse(0);
+        in.mark(magicLength);
+        byte[] start = in.readNBytes(magicLength);
+        in.reset();
+
+        for (CompressionCodec codec : codecs) {
+            byte[] magic = codec.getMagic();
+            if (start.length >= magic.length && Arrays.equals(magic, Arrays.copyOf(start, magic.length))) {
+                return codec;
+            }
+        }
+        return NONE;
+    }
+
+    private static boolean isPrefixOfOther(byte[] magic, byte[] otherMagic) {
+        int length = Math.min(magic.length, otherMagic.length);
+        return Arrays.equals(Arrays.copyOf(magic, length), Arrays.copyOf(otherMagic, length));
+    }
+
+    /**
+     * A codec that leaves data as it is.
+     */
+    private static class UncompressedCodec implements CompressionCodec {
+        @Override
+        public byte[] getMagic() {
+            return new byte[0];
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) {
+            requireNonNull(in);
+            return in;
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out) {
+            requireNonNull(out);
+            return out;
+        }
+    }
+}
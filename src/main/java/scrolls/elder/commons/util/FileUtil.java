@@ -1,10 +1,14 @@
 package scrolls.elder.commons.util;
 
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Writes and reads files
@@ -65,6 +69,63 @@ public class FileUtil {
         }
     }
 
+    /**
+     * Returns the path of the file in the same directory as {@code file}, named by appending {@code suffix} to the
+     * name of {@code file}.
+     */
+    public static Path appendToFileName(Path file, String suffix) {
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    /**
+     * Replaces {@code file} with {@code newFile} by renaming it, so that {@code file} is always either the old or the
+     * new file in full, even if the application crashes midway. {@code newFile} must be in the same directory as
+     * {@code file}, and should have been forced to the disk.
+     * If {@code file} exists and {@code backupFile} is not null, the old file is kept as {@code backupFile}.
+     */
+    public static void replaceAtomically(Path newFile, Path file, Path backupFile) throws IOException {
+        if (backupFile != null && isFileExists(file)) {
+            Files.deleteIfExists(backupFile);
+            try {
+                // A link keeps the old file without copying it, as renaming over file only unlinks it from file
+                Files.createLink(backupFile, file);
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(file, backupFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        try {
+            Files.move(newFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory(file.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces the contents of {@code file} to the disk, such as after writing it through a stream that is closed once
+     * written.
+     */
+    public static void forceFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Forces changes to the entries of {@code dir}, such as renames, to the disk, where the platform allows it.
+     */
+    public static void forceDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms, which make renames durable on their own
+        }
+    }
+
     /**
      * Assumes file exists
      */
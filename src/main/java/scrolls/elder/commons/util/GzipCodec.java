@@ -0,0 +1,31 @@
+package scrolls.elder.commons.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses data with gzip, which shrinks json data files several times over.
+ */
+public class GzipCodec implements CompressionCodec {
+
+    private static final byte[] MAGIC = {(byte) 0x1f, (byte) 0x8b};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public byte[] getMagic() {
+        return MAGIC.clone();
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in, BUFFER_SIZE);
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+}
@@ -2,7 +2,11 @@ package scrolls.elder.commons.util;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -11,6 +15,8 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -30,6 +36,8 @@ public class JsonUtil {
 
     private static final Logger logger = LogsCenter.getLogger(JsonUtil.class);
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     private static final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
             .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
             .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
@@ -43,9 +51,33 @@ public class JsonUtil {
         FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
     }
 
+    static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize, CompressionCodec codec)
+            throws IOException {
+        try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(jsonFile), BUFFER_SIZE);
+                OutputStream out = codec.compress(fileOut)) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, objectToSerialize);
+        }
+    }
+
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(FileUtil.readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream in = openJsonFile(jsonFile)) {
+            return objectMapper.readValue(in, classOfObjectToDeserialize);
+        }
+    }
+
+    /**
+     * Returns a stream that reads the JSON in the file at {@code filePath}, decompressed with the codec it was saved
+     * with, as told by its first bytes.
+     */
+    private static InputStream openJsonFile(Path filePath) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(Files.newInputStream(filePath), BUFFER_SIZE);
+        try {
+            return CompressionCodecRegistry.detect(in).decompress(in);
+        } catch (IOException ioe) {
+            in.close();
+            throw ioe;
+        }
     }
 
     /**
@@ -91,6 +123,55 @@ public class JsonUtil {
         serializeObjectToJsonFile(filePath, jsonFile);
     }
 
+    /**
+     * Saves the Json object to the specified file, compressed with {@code codec}.
+     * The object is compressed as it is written, instead of being converted to a string first.
+     * Files saved this way are decompressed by {@link #readJsonFile} and {@link #createParser} as they are read, which
+     * is why {@code codec} must be detectable by {@link CompressionCodecRegistry}.
+     * @throws IOException if there was an error during writing to the file
+     * @throws IllegalArgumentException if {@code codec} is not registered
+     */
+    public static <T> void saveJsonFile(T jsonFile, Path filePath, CompressionCodec codec) throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(jsonFile);
+        requireNonNull(codec);
+        AppUtil.checkArgument(CompressionCodecRegistry.isDetectable(codec),
+                CompressionCodecRegistry.MESSAGE_NOT_DETECTABLE);
+
+        serializeObjectToJsonFile(filePath, jsonFile, codec);
+    }
+
+
+    /**
+     * Returns a parser that reads the JSON file at {@code filePath} one token at a time, instead of reading the whole
+     * file first. Values read through the parser are converted the same way as by {@link #fromJsonString}.
+     * A compressed file is decompressed as it is read, with the registered codec told by its first bytes.
+     * @param filePath cannot be null.
+     * @throws IOException if the file cannot be opened
+     */
+    public static JsonParser createParser(Path filePath) throws IOException {
+        requireNonNull(filePath);
+        InputStream in = openJsonFile(filePath);
+        try {
+            return objectMapper.createParser(in);
+        } catch (IOException ioe) {
+            in.close();
+            throw ioe;
+        }
+    }
+
+    /**
+     * Returns a generator that writes JSON to {@code out} one token at a time, instead of building the whole document
+     * first. Values written through the generator are converted the same way as by {@link #toJsonString}.
+     * @param out cannot be null. Closed when the generator is closed.
+     * @param isPrettyPrinted whether the JSON is indented, instead of written on a single line.
+     * @throws IOException if the generator cannot be created
+     */
+    public static JsonGenerator createGenerator(OutputStream out, boolean isPrettyPrinted) throws IOException {
+        requireNonNull(out);
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        return isPrettyPrinted ? generator.useDefaultPrettyPrinter() : generator;
+    }
 
     /**
      * Converts a given string representation of a JSON data to instance of a class
@@ -111,6 +192,16 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into its JSON data string representation, on a single line
+     * @param instance The T object to be converted into the JSON string
+     * @param <T> The generic type to create an instance of
+     * @return JSON data representation of the given class instance, in string
+     */
+    public static <T> String toCompactJsonString(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
@@ -1,6 +1,7 @@
 package scrolls.elder.logic;
 
 import java.nio.file.Path;
+import java.util.function.Consumer;
 
 import javafx.collections.ObservableList;
 import scrolls.elder.commons.core.GuiSettings;
@@ -24,6 +25,38 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
+    /**
+     * Sets the handler that is called with an error message when saving the changes of a command fails.
+     * Changes are saved in the background after the command returns, so the handler is not called on the thread
+     * that executed the command.
+     */
+    void setSaveErrorHandler(Consumer<String> saveErrorHandler);
+
+    /**
+     * Sets the handlers called on the thread that executes commands as the logs read from storage after startup are
+     * added: {@code progressHandler} after each chunk of logs is added, and {@code errorHandler} with an error message
+     * if the logs could not be read.
+     */
+    void setLogLoadingHandlers(Runnable progressHandler, Consumer<String> errorHandler);
+
+    /**
+     * Returns true while the logs read from storage after startup are still being added.
+     */
+    boolean isLoadingLogs();
+
+    /**
+     * Waits until the changes of all commands executed so far are saved.
+     * @throws CommandException If the changes could not be saved.
+     */
+    void flushDatastore() throws CommandException;
+
+    /**
+     * Waits until the changes of all commands executed so far are saved, then stops saving changes.
+     * No commands may be executed afterwards.
+     * @throws CommandException If the changes could not be saved.
+     */
+    void closeDatastore() throws CommandException;
+
     /** Returns an unmodifiable view of the filtered list of persons */
     ObservableList<Person> getFilteredPersonList();
 
@@ -1,8 +1,12 @@
 package scrolls.elder.logic;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javafx.collections.ObservableList;
@@ -13,10 +17,13 @@ import scrolls.elder.logic.commands.CommandResult;
 import scrolls.elder.logic.commands.exceptions.CommandException;
 import scrolls.elder.logic.parser.AddressBookParser;
 import scrolls.elder.logic.parser.exceptions.ParseException;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.LogLoader;
 import scrolls.elder.model.Model;
 import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.log.Log;
 import scrolls.elder.model.person.Person;
+import scrolls.elder.storage.AsyncDatastoreSaver;
 import scrolls.elder.storage.Storage;
 
 /**
@@ -30,17 +37,48 @@ public class LogicManager implements Logic {
 
     private final Logger logger = LogsCenter.getLogger(LogicManager.class);
 
+    public static final String LOG_LOADING_ERROR_FORMAT =
+            "Could not load logs due to the following error: %s. Starting with no logs, and without saving any changes"
+                    + " until Elder Scrolls is restarted.";
+
+    public static final String MESSAGE_LOGS_NOT_LOADED =
+            "This command cannot be run, as the logs could not be loaded and the data file must not be overwritten"
+                    + " without them. Restart Elder Scrolls to load the logs again.";
+
     private final Model model;
     private final Storage storage;
+    private final LogLoader logLoader;
     private final AddressBookParser addressBookParser;
 
+    /**
+     * Saves the changes to the datastore in the background. Only created once all logs are added to the model, as
+     * the saver starts from a snapshot of the whole datastore, and never created if the logs could not be read.
+     */
+    private AsyncDatastoreSaver datastoreSaver;
+    private Consumer<IOException> saveFailureHandler = unused -> {};
+
     /**
      * Constructs a {@code LogicManager} with the given {@code Model} and {@code Storage}.
+     * Changes to the datastore of {@code model} are saved to {@code storage} in the background.
      */
     public LogicManager(Model model, Storage storage) {
+        this(model, storage, null);
+    }
+
+    /**
+     * Constructs a {@code LogicManager} with the given {@code Model} and {@code Storage}, whose logs are still being
+     * added to the model by {@code logLoader}, or null if all logs are added already.
+     * Commands that require logs wait until {@code logLoader} has added them all, and are refused if the logs could
+     * not be read.
+     */
+    public LogicManager(Model model, Storage storage, LogLoader logLoader) {
         this.model = model;
         this.storage = storage;
+        this.logLoader = logLoader;
         addressBookParser = new AddressBookParser();
+        if (logLoader == null) {
+            createDatastoreSaver();
+        }
     }
 
     @Override
@@ -49,17 +87,98 @@ public class LogicManager implements Logic {
 
         CommandResult commandResult;
         Command command = addressBookParser.parseCommand(commandText);
+        if (command.requiresLogs()) {
+            awaitLogs();
+        }
         commandResult = command.execute(model);
 
+        List<DatastoreChange> unsavedChanges = model.getUnsavedChanges();
+        if (!unsavedChanges.isEmpty()) {
+            awaitLogs();
+            datastoreSaver.submit(unsavedChanges);
+            model.clearUnsavedChanges();
+        }
+
+        return commandResult;
+    }
+
+    /**
+     * Waits until all logs are added to the model, then creates the saver of the datastore if it does not exist yet.
+     * If the logs could not be read, the model is left with no logs, and no saver is created, so that the data file
+     * is not overwritten by data without its logs. Only commands that do not require logs can be run from then on.
+     *
+     * @throws CommandException if the logs could not be read.
+     */
+    private void awaitLogs() throws CommandException {
+        if (datastoreSaver != null) {
+            return;
+        }
+        logLoader.awaitLogs();
+        if (logLoader.isFailed()) {
+            throw new CommandException(MESSAGE_LOGS_NOT_LOADED);
+        }
+        createDatastoreSaver();
+    }
+
+    private void createDatastoreSaver() {
+        datastoreSaver = new AsyncDatastoreSaver(storage, model.getDatastoreSnapshot());
+        datastoreSaver.setFailureHandler(saveFailureHandler);
+    }
+
+    @Override
+    public void setSaveErrorHandler(Consumer<String> saveErrorHandler) {
+        requireNonNull(saveErrorHandler);
+        saveFailureHandler = e -> saveErrorHandler.accept(getSaveErrorMessage(e));
+        if (datastoreSaver != null) {
+            datastoreSaver.setFailureHandler(saveFailureHandler);
+        }
+    }
+
+    @Override
+    public void setLogLoadingHandlers(Runnable progressHandler, Consumer<String> errorHandler) {
+        requireNonNull(progressHandler);
+        requireNonNull(errorHandler);
+        if (logLoader != null) {
+            logLoader.setProgressHandler(progressHandler);
+            logLoader.setFailureHandler(e -> errorHandler.accept(String.format(LOG_LOADING_ERROR_FORMAT,
+                    e.getMessage())));
+        }
+    }
+
+    @Override
+    public boolean isLoadingLogs() {
+        return logLoader != null && !logLoader.isDone();
+    }
+
+    @Override
+    public void flushDatastore() throws CommandException {
+        if (datastoreSaver == null) {
+            // No changes were made, as commands that make changes wait for the saver to be created
+            return;
+        }
         try {
-            storage.saveDatastore(model.getDatastore());
-        } catch (AccessDeniedException e) {
-            throw new CommandException(String.format(FILE_OPS_PERMISSION_ERROR_FORMAT, e.getMessage()), e);
+            datastoreSaver.flush();
         } catch (IOException ioe) {
-            throw new CommandException(String.format(FILE_OPS_ERROR_FORMAT, ioe.getMessage()), ioe);
+            throw new CommandException(getSaveErrorMessage(ioe), ioe);
         }
+    }
 
-        return commandResult;
+    @Override
+    public void closeDatastore() throws CommandException {
+        if (datastoreSaver == null) {
+            return;
+        }
+        try {
+            datastoreSaver.close();
+        } catch (IOException ioe) {
+            throw new CommandException(getSaveErrorMessage(ioe), ioe);
+        }
+    }
+
+    private static String getSaveErrorMessage(IOException ioe) {
+        return ioe instanceof AccessDeniedException
+                ? String.format(FILE_OPS_PERMISSION_ERROR_FORMAT, ioe.getMessage())
+                : String.format(FILE_OPS_ERROR_FORMAT, ioe.getMessage());
     }
 
     @Override
@@ -1,6 +1,8 @@
 package scrolls.elder.logic;
 
 import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -8,6 +10,7 @@ import java.util.stream.Stream;
 import scrolls.elder.logic.parser.Prefix;
 import scrolls.elder.model.log.Log;
 import scrolls.elder.model.person.Person;
+import scrolls.elder.model.tag.Tag;
 
 /**
  * Container for user visible messages.
@@ -20,6 +23,7 @@ public class Messages {
     public static final String MESSAGE_INVALID_LOG_DISPLAYED_INDEX = "The log index provided is invalid.";
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW = "%1$d persons listed!";
     public static final String MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE = "%1$d persons listed with role %2$s!";
+    public static final String MESSAGE_TAG_COUNTS = "Tags among them: %1$s";
 
     public static final String MESSAGE_DUPLICATE_FIELDS =
                 "Multiple values specified for the following single-valued field(s): ";
@@ -59,6 +63,18 @@ public class Messages {
         return builder.toString();
     }
 
+    /**
+     * Formats the {@code tagCounts} for display to the user, most common tag first.
+     */
+    public static String formatTagCounts(Map<Tag, Integer> tagCounts) {
+        String formattedCounts = tagCounts.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Tag, Integer> entry) -> entry.getValue()).reversed()
+                        .thenComparing(entry -> entry.getKey().tagName))
+                .map(entry -> entry.getKey() + " " + entry.getValue())
+                .collect(Collectors.joining(", "));
+        return String.format(MESSAGE_TAG_COUNTS, formattedCounts);
+    }
+
     /**
      * Formats the {@code log} for display to the user.
      */
@@ -59,7 +59,7 @@ public class AddCommand extends Command {
         }
 
         store.addPerson(toAdd);
-        model.getDatastore().getPersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
+        model.getMutableDatastore().getMutablePersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
         model.commitDatastore();
         return new CommandResult(String.format(MESSAGE_SUCCESS, Messages.formatPerson(toAdd)));
     }
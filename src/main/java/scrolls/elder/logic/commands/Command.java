@@ -17,4 +17,13 @@ public abstract class Command {
      */
     public abstract CommandResult execute(Model model) throws CommandException;
 
+    /**
+     * Returns true if the command reads or changes logs, so it must wait until all logs read from storage at startup
+     * are added to the model. Commands that change the datastore must require logs, even if they do not touch logs, as
+     * changes are only recorded once all logs are added.
+     */
+    public boolean requiresLogs() {
+        return true;
+    }
+
 }
@@ -76,7 +76,7 @@ public class DeleteCommand extends Command {
         }
 
         //Check if the person has logs in Elder Scrolls
-        if (personToDelete.isLatestLogPresent()) {
+        if (model.getDatastore().getLogStore().getLatestLogId(personToDelete.getPersonId()).isPresent()) {
             throw new CommandException(MESSAGE_DELETE_PERSON_ERROR + Messages.MESSAGE_CONTACT_LOG_BEFORE_DELETE);
         }
 
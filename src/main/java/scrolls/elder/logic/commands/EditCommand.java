@@ -88,11 +88,9 @@ public class EditCommand extends Command {
         Optional<Name> pairedWithName = personToEdit.getPairedWithName();
         Optional<Integer> pairedWithId = personToEdit.getPairedWithId();
         int timeServed = personToEdit.getTimeServed();
-        Optional<Integer> latestLogId = personToEdit.getLatestLogId();
 
         return PersonFactory.withIdFromParams(personToEdit.getPersonId(), updatedName, updatedPhone, updatedEmail,
-                updatedAddress, role, updatedTags, pairedWithName, pairedWithId, timeServed,
-                latestLogId);
+                updatedAddress, role, updatedTags, pairedWithName, pairedWithId, timeServed);
     }
 
     private static Person createEditedPair(Person editedPerson, Person originalPair) {
@@ -108,11 +106,10 @@ public class EditCommand extends Command {
         Optional<Name> updatedPairedWithName = Optional.of(editedPerson.getName());
         Optional<Integer> updatedPairedWithID = Optional.of(editedPerson.getPersonId());
         int timeServed = originalPair.getTimeServed();
-        Optional<Integer> updatedLatestLogId = originalPair.getLatestLogId();
 
         return PersonFactory.withIdFromParams(editedPerson.getPersonId(), updatedName, updatedPhone, updatedEmail,
                 updatedAddress, role, updatedTags,
-                updatedPairedWithName, updatedPairedWithID, timeServed, updatedLatestLogId);
+                updatedPairedWithName, updatedPairedWithID, timeServed);
     }
 
     @Override
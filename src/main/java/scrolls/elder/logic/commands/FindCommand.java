@@ -2,17 +2,23 @@ package scrolls.elder.logic.commands;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import scrolls.elder.commons.util.ToStringBuilder;
 import scrolls.elder.logic.Messages;
 import scrolls.elder.model.Model;
+import scrolls.elder.model.PersonQuery;
+import scrolls.elder.model.PersonQueryPlan;
 import scrolls.elder.model.PersonStore;
 import scrolls.elder.model.person.NameContainsKeywordsPredicate;
 import scrolls.elder.model.person.Person;
+import scrolls.elder.model.person.Role;
 import scrolls.elder.model.person.TagListContainsTagsPredicate;
+import scrolls.elder.model.tag.Tag;
 
 
 /**
@@ -26,7 +32,7 @@ public class FindCommand extends Command {
 
     public static final String MESSAGE_USAGE = COMMAND_WORD_FIND + ": Finds all persons whose names contain any of "
             + "the specified keywords (case-insensitive), displays them in the respective lists with index numbers.\n"
-            + "Parameters: [r/ROLE] [t/TAG] [--paired]/[--unpaired] KEYWORD [MORE_KEYWORDS]...\n"
+            + "Parameters: [r/ROLE] [t/TAG] [--paired]/[--unpaired] [--explain] KEYWORD [MORE_KEYWORDS]...\n"
             + "Example: " + COMMAND_WORD_FIND + " alex david roy --paired"
             + "\nExample: " + COMMAND_WORD_FIND + " alex r/volunteer";
 
@@ -39,6 +45,7 @@ public class FindCommand extends Command {
     private final Boolean isSearchingTagPredicate;
     private final Boolean isSearchingPaired;
     private final Boolean isSearchingUnpaired;
+    private final Boolean isExplaining;
 
 
     /**
@@ -47,6 +54,17 @@ public class FindCommand extends Command {
     public FindCommand(NameContainsKeywordsPredicate namePredicate, TagListContainsTagsPredicate tagPredicate,
                        Boolean isSearchingVolunteer, Boolean isSearchingBefriendee,
                        Boolean isSearchingPaired, Boolean isSearchingUnpaired) {
+        this(namePredicate, tagPredicate, isSearchingVolunteer, isSearchingBefriendee,
+                isSearchingPaired, isSearchingUnpaired, false);
+    }
+
+    /**
+     * Creates a FindCommand to find the specified {@code NameContainsKeywordsPredicate}, which also shows the plan
+     * used to answer the search if {@code isExplaining} is true.
+     */
+    public FindCommand(NameContainsKeywordsPredicate namePredicate, TagListContainsTagsPredicate tagPredicate,
+                       Boolean isSearchingVolunteer, Boolean isSearchingBefriendee,
+                       Boolean isSearchingPaired, Boolean isSearchingUnpaired, Boolean isExplaining) {
         this.namePredicate = namePredicate;
         this.isSearchingNamePredicate = !namePredicate.isEmpty();
         this.tagPredicate = tagPredicate;
@@ -56,6 +74,7 @@ public class FindCommand extends Command {
 
         this.isSearchingPaired = isSearchingPaired;
         this.isSearchingUnpaired = isSearchingUnpaired;
+        this.isExplaining = isExplaining;
     }
 
     @Override
@@ -63,65 +82,88 @@ public class FindCommand extends Command {
         requireNonNull(model);
 
         PersonStore store = model.getMutableDatastore().getMutablePersonStore();
-        Predicate<Person> combinedPredicate = getCombinedPredicate();
+        PersonQueryPlan plan = store.planQuery(getQuery());
+        Predicate<Person> combinedPredicate = plan.asPredicate();
 
         assert (isSearchingVolunteer || isSearchingBefriendee)
                 : "At least one or both isSearchingVolunteer and isSearchingBefriendee should be true.";
 
+        CommandResult result;
         if (isSearchingVolunteer && isSearchingBefriendee) {
-            return searchAllPersons(store, combinedPredicate);
+            result = searchAllPersons(store, combinedPredicate);
 
         } else if (isSearchingVolunteer) {
-            return searchVolunteerOnly(store, combinedPredicate);
+            result = searchVolunteerOnly(store, combinedPredicate);
 
         } else {
-            return searchBefriendeeOnly(store, combinedPredicate);
+            result = searchBefriendeeOnly(store, combinedPredicate);
         }
 
+        if (isExplaining) {
+            return new CommandResult(result.getFeedbackToUser() + "\n" + plan.explain());
+        }
+        return result;
     }
 
-    private Predicate<Person> getCombinedPredicate() {
-        List<Predicate<Person>> predicates = new ArrayList<>();
+    @Override
+    public boolean requiresLogs() {
+        return false;
+    }
 
-        if (isSearchingPaired && !isSearchingUnpaired) {
-            predicates.add(Person::isPaired);
-        } else if (isSearchingUnpaired && !isSearchingPaired) {
-            predicates.add(Person -> !Person.isPaired());
+    private PersonQuery getQuery() {
+        Optional<Role> role = Optional.empty();
+        if (isSearchingVolunteer && !isSearchingBefriendee) {
+            role = Optional.of(new Role("volunteer"));
+        } else if (isSearchingBefriendee && !isSearchingVolunteer) {
+            role = Optional.of(new Role("befriendee"));
         }
 
-        if (isSearchingNamePredicate) {
-            predicates.add(namePredicate);
-        }
-        if (isSearchingTagPredicate) {
-            predicates.add(tagPredicate);
+        Optional<Boolean> isPaired = Optional.empty();
+        if (isSearchingPaired && !isSearchingUnpaired) {
+            isPaired = Optional.of(true);
+        } else if (isSearchingUnpaired && !isSearchingPaired) {
+            isPaired = Optional.of(false);
         }
 
-        return predicates.stream().reduce(Predicate::and).orElse(person -> true);
+        List<String> nameKeywords = isSearchingNamePredicate ? namePredicate.getKeywords() : List.of();
+        Set<Tag> tags = isSearchingTagPredicate ? tagPredicate.getTags() : Set.of();
+        return new PersonQuery(nameKeywords, tags, role, isPaired);
     }
 
     private CommandResult searchAllPersons(PersonStore store, Predicate<Person> combinedPredicate) {
         store.updateFilteredPersonList(combinedPredicate);
 
-        return new CommandResult(
-                String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, store.getFilteredPersonList().size()));
+        return new CommandResult(withTagCounts(store, store.getFilteredPersonList(),
+                String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, store.getFilteredPersonList().size())));
     }
 
     private CommandResult searchVolunteerOnly(PersonStore store, Predicate<Person> combinedPredicate) {
         store.updateFilteredVolunteerList(combinedPredicate);
 
-        return new CommandResult(
+        return new CommandResult(withTagCounts(store, store.getFilteredVolunteerList(),
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE,
                         store.getFilteredVolunteerList().size(),
-                        "volunteer"));
+                        "volunteer")));
     }
 
     private CommandResult searchBefriendeeOnly(PersonStore store, Predicate<Person> combinedPredicate) {
         store.updateFilteredBefriendeeList(combinedPredicate);
 
-        return new CommandResult(
+        return new CommandResult(withTagCounts(store, store.getFilteredBefriendeeList(),
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE,
                         store.getFilteredBefriendeeList().size(),
-                        "befriendee"));
+                        "befriendee")));
+    }
+
+    /**
+     * Appends to {@code message} how many of the {@code matchedPersons} carry each tag, if any of them carry a tag.
+     */
+    private static String withTagCounts(PersonStore store, List<Person> matchedPersons, String message) {
+        Map<Tag, Integer> tagCounts = store.getTagCounts(matchedPersons);
+        if (tagCounts.isEmpty()) {
+            return message;
+        }
+        return message + "\n" + Messages.formatTagCounts(tagCounts);
     }
 
 
@@ -140,7 +182,8 @@ public class FindCommand extends Command {
         return namePredicate.equals(otherFindCommand.namePredicate)
                 && tagPredicate.equals(otherFindCommand.tagPredicate)
                 && isSearchingVolunteer.equals(otherFindCommand.isSearchingVolunteer)
-                && isSearchingBefriendee.equals(otherFindCommand.isSearchingBefriendee);
+                && isSearchingBefriendee.equals(otherFindCommand.isSearchingBefriendee)
+                && isExplaining.equals(otherFindCommand.isExplaining);
     }
 
     @Override
@@ -152,6 +195,7 @@ public class FindCommand extends Command {
                 .add("isSearchingBefriendee", isSearchingBefriendee)
                 .add("isSearchingPaired", isSearchingPaired)
                 .add("isSearchingUnpaired", isSearchingUnpaired)
+                .add("isExplaining", isExplaining)
                 .toString();
     }
 }
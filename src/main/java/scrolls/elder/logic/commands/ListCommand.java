@@ -4,8 +4,7 @@ import static java.util.Objects.requireNonNull;
 
 import scrolls.elder.model.LogStore;
 import scrolls.elder.model.Model;
-import scrolls.elder.model.ReadOnlyLogStore;
-import scrolls.elder.model.ReadOnlyPersonStore;
+import scrolls.elder.model.PersonStore;
 
 /**
  * Lists all persons in the address book to the user.
@@ -21,8 +20,8 @@ public class ListCommand extends Command {
     public CommandResult execute(Model model) {
         requireNonNull(model);
 
-        ReadOnlyLogStore logStore = model.getDatastore().getLogStore();
-        ReadOnlyPersonStore personStore = model.getDatastore().getPersonStore();
+        LogStore logStore = model.getMutableDatastore().getMutableLogStore();
+        PersonStore personStore = model.getMutableDatastore().getMutablePersonStore();
 
         personStore.updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
         logStore.updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
@@ -30,4 +29,9 @@ public class ListCommand extends Command {
 
         return new CommandResult(MESSAGE_SUCCESS);
     }
+
+    @Override
+    public boolean requiresLogs() {
+        return false;
+    }
 }
@@ -106,14 +106,11 @@ public class LogAddCommand extends Command {
                 new Log(model.getDatastore(), title, volunteer.getPersonId(), befriendee.getPersonId(),
                         duration, startDate, remarks);
 
-        Integer logId = logStore.addLog(toAdd);
-
-        Integer latestLogIdBefriendee = getLatestLogId(befriendee, toAdd, logStore, logId);
-        Integer latestLogIdVolunteer = getLatestLogId(volunteer, toAdd, logStore, logId);
+        logStore.addLog(toAdd);
 
         // create updated persons
-        Person updatedBefriendee = createUpdatedPerson(befriendee, duration, latestLogIdBefriendee);
-        Person updatedVolunteer = createUpdatedPerson(volunteer, duration, latestLogIdVolunteer);
+        Person updatedBefriendee = createUpdatedPerson(befriendee, duration);
+        Person updatedVolunteer = createUpdatedPerson(volunteer, duration);
 
         personStore.setPerson(befriendee, updatedBefriendee);
         personStore.setPerson(volunteer, updatedVolunteer);
@@ -126,9 +123,9 @@ public class LogAddCommand extends Command {
 
     /**
      * Create and return a {@code Person} with the details of {@code personToUpdate}
-     * edited with the updated timeServed and latestLogId.
+     * edited with the updated timeServed.
      */
-    private Person createUpdatedPerson(Person personToUpdate, int duration, Integer logId) {
+    private Person createUpdatedPerson(Person personToUpdate, int duration) {
         assert personToUpdate != null;
 
         Name name = personToUpdate.getName();
@@ -140,30 +137,9 @@ public class LogAddCommand extends Command {
         Optional<Name> pairedWithName = personToUpdate.getPairedWithName();
         Optional<Integer> pairedWithId = personToUpdate.getPairedWithId();
         int updatedTimeServed = personToUpdate.getTimeServed() + duration;
-        Optional<Integer> latestLogId = Optional.of(logId);
 
         return PersonFactory.withIdFromParams(personToUpdate.getPersonId(), name, phone, email, address, role,
-                tags, pairedWithName, pairedWithId, updatedTimeServed, latestLogId);
-    }
-
-    /**
-     * Returns the ID of the latest log for the person.
-     */
-    private Integer getLatestLogId(Person person, Log toAdd, LogStore logStore, Integer toAddId) {
-        Date toAddDate = toAdd.getStartDate();
-
-        if (person.isLatestLogPresent()) {
-            Log currentLatest = logStore.getLogById(person.getLatestLogId().get());
-            Date latestLogDate = currentLatest.getStartDate();
-
-            if (toAddDate.before(latestLogDate)) {
-                return currentLatest.getLogId();
-            } else {
-                return toAddId;
-            }
-        }
-
-        return toAddId;
+                tags, pairedWithName, pairedWithId, updatedTimeServed);
     }
 
     @Override
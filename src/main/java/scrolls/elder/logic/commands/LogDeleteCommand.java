@@ -2,7 +2,6 @@ package scrolls.elder.logic.commands;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -78,20 +77,15 @@ public class LogDeleteCommand extends Command {
         Person volunteer = personStore.getPersonFromID(logToDelete.getVolunteerId());
         Person befriendee = personStore.getPersonFromID(logToDelete.getBefriendeeId());
 
-        // Get the latest log id of the volunteer and befriendee after deletion
-        Optional<Integer> latestLogIdBefriendee =
-                getLatestLogId(befriendee, logStore, logToDelete.getLogId());
-        Optional<Integer> latestLogIdVolunteer =
-                getLatestLogId(volunteer, logStore, logToDelete.getLogId());
+        logStore.removeLog(logIdToDelete);
 
-        // Update the volunteer and befriendee with the new timeServed and latestLogId
-        Person updatedVolunteer = createUpdatedPerson(volunteer, durationToDelete, latestLogIdVolunteer);
-        Person updatedBefriendee = createUpdatedPerson(befriendee, durationToDelete, latestLogIdBefriendee);
+        // Update the volunteer and befriendee with the new timeServed
+        Person updatedVolunteer = createUpdatedPerson(volunteer, durationToDelete);
+        Person updatedBefriendee = createUpdatedPerson(befriendee, durationToDelete);
         personStore.setPerson(volunteer, updatedVolunteer);
         personStore.setPerson(befriendee, updatedBefriendee);
         personStore.updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
 
-        logStore.removeLog(logIdToDelete);
         logStore.updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
         logStore.updateFilteredLogListByPersonId(null);
         model.commitDatastore();
@@ -100,9 +94,9 @@ public class LogDeleteCommand extends Command {
 
     /**
      * Create and return a {@code Person} with the details of {@code personToUpdate}
-     * edited with the updated timeServed and latestLogId.
+     * edited with the updated timeServed.
      */
-    private Person createUpdatedPerson(Person personToUpdate, int duration, Optional<Integer> logId) {
+    private Person createUpdatedPerson(Person personToUpdate, int duration) {
         assert personToUpdate != null;
 
         Name name = personToUpdate.getName();
@@ -114,39 +108,9 @@ public class LogDeleteCommand extends Command {
         Optional<Name> pairedWithName = personToUpdate.getPairedWithName();
         Optional<Integer> pairedWithId = personToUpdate.getPairedWithId();
         int updatedTimeServed = personToUpdate.getTimeServed() - duration;
-        Optional<Integer> latestLogId = logId;
 
         return PersonFactory.withIdFromParams(personToUpdate.getPersonId(), name, phone, email, address, role,
-                tags, pairedWithName, pairedWithId, updatedTimeServed, latestLogId);
-    }
-
-    /**
-     * Returns the latest log id of the person after the log is deleted.
-     */
-    private Optional<Integer> getLatestLogId(Person person, LogStore logStore, Integer toDeleteId) {
-
-        if (person.isLatestLogPresent()) {
-            Log currentLatest = logStore.getLogById(person.getLatestLogId().get());
-
-            if (toDeleteId != currentLatest.getLogId()) {
-                return Optional.of(currentLatest.getLogId());
-            }
-            // the log deleted is displayed as the current latest log
-            // the next latest log is then retrieved
-            Log newCurrentLatest = logStore.getLogList().stream()
-                    .filter(log -> log.getBefriendeeId() == person.getPersonId()
-                            || log.getVolunteerId() == person.getPersonId())
-                    .filter(log -> log.getLogId() != toDeleteId)
-                    .max(Comparator.comparing(Log::getStartDate)).orElse(null);
-
-            // newCurrentLatest is returned as latest log if present
-            if (newCurrentLatest != null) {
-                return Optional.of(newCurrentLatest.getLogId());
-            } else {
-                return Optional.empty();
-            }
-        }
-        return Optional.empty();
+                tags, pairedWithName, pairedWithId, updatedTimeServed);
     }
 
     @Override
@@ -131,16 +131,13 @@ public class LogEditCommand extends Command {
         Person befriendee = personStore.getPersonFromID(logToEdit.getBefriendeeId());
         Person volunteer = personStore.getPersonFromID(logToEdit.getVolunteerId());
 
-        // Get the latest log id of the volunteer and befriendee after editing the log
-        Integer latestLogIdBefriendee = getLatestLogId(befriendee, editedLog, store, editedLog.getLogId());
-        Integer latestLogIdVolunteer = getLatestLogId(volunteer, editedLog, store, editedLog.getLogId());
+        store.setLog(editedLog);
 
-        // Update the volunteer and befriendee with the new timeServed and latestLogId
-        Person updatedBefriendee = createUpdatedPerson(befriendee, durationDiff, latestLogIdBefriendee);
-        Person updatedVolunteer = createUpdatedPerson(volunteer, durationDiff, latestLogIdVolunteer);
+        // Update the volunteer and befriendee with the new timeServed
+        Person updatedBefriendee = createUpdatedPerson(befriendee, durationDiff);
+        Person updatedVolunteer = createUpdatedPerson(volunteer, durationDiff);
         personStore.setPerson(befriendee, updatedBefriendee);
         personStore.setPerson(volunteer, updatedVolunteer);
-        store.setLog(editedLog);
 
         personStore.updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
         store.updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
@@ -152,9 +149,9 @@ public class LogEditCommand extends Command {
 
     /**
      * Create and return a {@code Person} with the details of {@code personToUpdate}
-     * edited with the updated timeServed and latestLogId.
+     * edited with the updated timeServed.
      */
-    private Person createUpdatedPerson(Person personToUpdate, int duration, Integer logId) {
+    private Person createUpdatedPerson(Person personToUpdate, int duration) {
         assert personToUpdate != null;
 
         Name name = personToUpdate.getName();
@@ -166,38 +163,9 @@ public class LogEditCommand extends Command {
         Optional<Name> pairedWithName = personToUpdate.getPairedWithName();
         Optional<Integer> pairedWithId = personToUpdate.getPairedWithId();
         int updatedTimeServed = personToUpdate.getTimeServed() + duration;
-        Optional<Integer> latestLogId = Optional.of(logId);
 
         return PersonFactory.withIdFromParams(personToUpdate.getPersonId(), name, phone, email, address, role,
-                tags, pairedWithName, pairedWithId, updatedTimeServed, latestLogId);
-    }
-
-    /**
-     * Returns the latest log id of the person after editing the log.
-     */
-    private Integer getLatestLogId(Person person, Log editedLog, LogStore logStore, Integer toAddId) {
-        Date editedDate = editedLog.getStartDate();
-
-        if (person.isLatestLogPresent()) {
-            Log currentLatest = logStore.getLogById(person.getLatestLogId().get());
-            Date latestLogDate = currentLatest.getStartDate();
-            Integer currentLatestLogId = currentLatest.getLogId();
-
-            if (editedDate.before(latestLogDate)) {
-                return currentLatestLogId;
-            } else if (editedDate.equals(latestLogDate)) {
-                // If current latest was added chronologically later than the editedLog, return current latest
-                if (currentLatestLogId > toAddId) {
-                    return currentLatestLogId;
-                } else {
-                    return toAddId;
-                }
-            } else {
-                return toAddId;
-            }
-        }
-
-        return toAddId;
+                tags, pairedWithName, pairedWithId, updatedTimeServed);
     }
 
     @Override
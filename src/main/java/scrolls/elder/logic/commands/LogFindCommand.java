@@ -1,36 +1,48 @@
 package scrolls.elder.logic.commands;
 
 import static java.util.Objects.requireNonNull;
+import static scrolls.elder.logic.parser.CliSyntax.PREFIX_END;
 import static scrolls.elder.logic.parser.CliSyntax.PREFIX_ROLE;
+import static scrolls.elder.logic.parser.CliSyntax.PREFIX_START;
 
+import java.util.Calendar;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 
 import scrolls.elder.commons.core.index.Index;
 import scrolls.elder.commons.util.ToStringBuilder;
 import scrolls.elder.logic.Messages;
 import scrolls.elder.logic.commands.exceptions.CommandException;
+import scrolls.elder.model.LogStore;
 import scrolls.elder.model.Model;
-import scrolls.elder.model.ReadOnlyLogStore;
 import scrolls.elder.model.ReadOnlyPersonStore;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.model.person.Role;
 
 /**
- * Finds an existing logs related to specified Person in the address book.
+ * Finds an existing logs related to specified Person in the address book, or the logs that start within a date
+ * range, optionally of a specified Person.
  */
 public class LogFindCommand extends Command {
 
     public static final String COMMAND_WORD_LOGFIND = "logfind";
     public static final String COMMAND_WORD_FINDLOG = "findlog";
 
-    public static final String MESSAGE_USAGE = COMMAND_WORD_LOGFIND + ": Finds logs by person. "
-        + "Parameters: INDEX "
-        + PREFIX_ROLE + "ROLE "
+    public static final String MESSAGE_USAGE = COMMAND_WORD_LOGFIND + ": Finds logs by person, by start date, "
+        + "or both. "
+        + "Parameters: [INDEX "
+        + PREFIX_ROLE + "ROLE] "
+        + "[" + PREFIX_START + "START_DATE (yyyy-MM-dd) "
+        + PREFIX_END + "END_DATE (yyyy-MM-dd)]"
         + "\n"
         + "Example: " + COMMAND_WORD_LOGFIND + " 1 "
-        + PREFIX_ROLE + "volunteer";
+        + PREFIX_ROLE + "volunteer"
+        + "\nExample: " + COMMAND_WORD_LOGFIND + " "
+        + PREFIX_START + "2024-01-01 "
+        + PREFIX_END + "2024-03-31";
 
-    // Sample Format: logfind 1 r/volunteer
+    // Sample Format: logfind 1 r/volunteer s/2024-01-01 e/2024-03-31
 
     public static final String MESSAGE_SUCCESS = "logs found!";
 
@@ -38,14 +50,29 @@ public class LogFindCommand extends Command {
 
     private final Role role;
     private final Index targetIndex;
+    private final Date startDate;
+    private final Date endDate;
 
     /**
      * @param targetIndex             of the specified person in the filtered list
      * @param role                   of the person to differentiate between volunteer and befriendee
      */
     public LogFindCommand(Index targetIndex, Role role) {
+        this(targetIndex, role, null, null);
+    }
+
+    /**
+     * @param targetIndex            of the specified person in the filtered list, or null to find logs of all persons
+     * @param role                   of the person to differentiate between volunteer and befriendee, or null to find
+     *                               logs of all persons
+     * @param startDate              of the first day of the logs to find, or null to find logs of any date
+     * @param endDate                of the last day of the logs to find, given together with {@code startDate}
+     */
+    public LogFindCommand(Index targetIndex, Role role, Date startDate, Date endDate) {
         this.targetIndex = targetIndex;
         this.role = role;
+        this.startDate = startDate;
+        this.endDate = endDate;
     }
 
     @Override
@@ -53,28 +80,47 @@ public class LogFindCommand extends Command {
         requireNonNull(model);
 
         ReadOnlyPersonStore personStore = model.getDatastore().getPersonStore();
-        ReadOnlyLogStore logStore = model.getDatastore().getLogStore();
-
-        List<Person> lastShownList;
-        if (role.isVolunteer()) {
-            lastShownList = personStore.getFilteredVolunteerList();
-        } else {
-            lastShownList = personStore.getFilteredBefriendeeList();
+        LogStore logStore = model.getMutableDatastore().getMutableLogStore();
+
+        Integer personID = null;
+        if (targetIndex != null) {
+            List<Person> lastShownList;
+            if (role.isVolunteer()) {
+                lastShownList = personStore.getFilteredVolunteerList();
+            } else {
+                lastShownList = personStore.getFilteredBefriendeeList();
+            }
+
+            if (targetIndex.getZeroBased() >= lastShownList.size()) {
+                throw new CommandException(
+                        MESSAGE_FINDLOG_PERSON_ERROR + Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+            }
+
+            Person personToFindLog = lastShownList.get(targetIndex.getZeroBased());
+            personID = personToFindLog.getPersonId();
         }
 
-        if (targetIndex.getZeroBased() >= lastShownList.size()) {
-            throw new CommandException(MESSAGE_FINDLOG_PERSON_ERROR + Messages.MESSAGE_INVALID_PERSON_DISPLAYED_INDEX);
+        if (startDate == null) {
+            logStore.updateFilteredLogListByPersonId(personID);
+        } else {
+            logStore.updateFilteredLogListByStartDate(personID, startDate, getDayAfter(endDate));
         }
 
-        Person personToFindLog = lastShownList.get(targetIndex.getZeroBased());
-        int personID = personToFindLog.getPersonId();
-        logStore.updateFilteredLogListByPersonId(personID);
-
         int logsFound = logStore.getFilteredLogList().size();
 
         return new CommandResult(logsFound + " " + MESSAGE_SUCCESS);
     }
 
+    /**
+     * Returns the start of the day after {@code date}, so that logs on the day of {@code date} are found.
+     */
+    private static Date getDayAfter(Date date) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        calendar.add(Calendar.DAY_OF_MONTH, 1);
+        return calendar.getTime();
+    }
+
     @Override
     public boolean equals(Object other) {
         // short circuit if same object
@@ -89,8 +135,10 @@ public class LogFindCommand extends Command {
 
         // state check
         LogFindCommand otherFindCommand = (LogFindCommand) other;
-        return otherFindCommand.role.equals(role)
-                && otherFindCommand.targetIndex.equals(targetIndex);
+        return Objects.equals(otherFindCommand.role, role)
+                && Objects.equals(otherFindCommand.targetIndex, targetIndex)
+                && Objects.equals(otherFindCommand.startDate, startDate)
+                && Objects.equals(otherFindCommand.endDate, endDate);
     }
 
     @Override
@@ -98,6 +146,8 @@ public class LogFindCommand extends Command {
         return new ToStringBuilder(this)
             .add("role", role)
             .add("listIndex", targetIndex)
+            .add("startDate", startDate)
+            .add("endDate", endDate)
             .toString();
     }
 
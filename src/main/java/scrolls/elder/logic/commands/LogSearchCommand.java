@@ -0,0 +1,69 @@
+package scrolls.elder.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import scrolls.elder.commons.util.ToStringBuilder;
+import scrolls.elder.model.LogStore;
+import scrolls.elder.model.Model;
+import scrolls.elder.model.log.LogSearchQuery;
+
+/**
+ * Finds all logs whose titles or remarks contain the argument keywords.
+ * Keyword matching is case-insensitive.
+ */
+public class LogSearchCommand extends Command {
+
+    public static final String COMMAND_WORD = "logsearch";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all logs whose titles or remarks contain the "
+            + "specified keywords (case-insensitive). Keywords must all be present, unless separated by OR. "
+            + "A keyword ending with * matches any word starting with it.\n"
+            + "Parameters: KEYWORD [[AND|OR] KEYWORD]...\n"
+            + "Example: " + COMMAND_WORD + " hospital visit"
+            + "\nExample: " + COMMAND_WORD + " hosp* OR clinic";
+
+    public static final String MESSAGE_SUCCESS = "logs found!";
+
+    private final LogSearchQuery query;
+
+    /**
+     * Creates a LogSearchCommand to find the logs matching {@code query}.
+     */
+    public LogSearchCommand(LogSearchQuery query) {
+        requireNonNull(query);
+        this.query = query;
+    }
+
+    @Override
+    public CommandResult execute(Model model) {
+        requireNonNull(model);
+
+        LogStore logStore = model.getMutableDatastore().getMutableLogStore();
+        logStore.updateFilteredLogListBySearch(query);
+
+        int logsFound = logStore.getFilteredLogList().size();
+        return new CommandResult(logsFound + " " + MESSAGE_SUCCESS);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof LogSearchCommand)) {
+            return false;
+        }
+
+        LogSearchCommand otherLogSearchCommand = (LogSearchCommand) other;
+        return query.equals(otherLogSearchCommand.query);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .add("query", query)
+                .toString();
+    }
+}
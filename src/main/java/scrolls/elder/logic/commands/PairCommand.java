@@ -74,11 +74,9 @@ public class PairCommand extends Command {
         Set<Tag> updatedTags = personToEdit.getTags();
         Role role = personToEdit.getRole();
         int updatedTimeServed = personToEdit.getTimeServed();
-        Optional<Integer> updatedLatestLogId = personToEdit.getLatestLogId();
 
         return PersonFactory.withIdFromParams(personId, updatedName, updatedPhone, updatedEmail, updatedAddress, role,
-                updatedTags, updatedPairName, updatedPairID, updatedTimeServed,
-                updatedLatestLogId);
+                updatedTags, updatedPairName, updatedPairID, updatedTimeServed);
     }
 
     @Override
@@ -12,6 +12,8 @@ import scrolls.elder.model.Model;
 public class RedoCommand extends Command {
     public static final String COMMAND_WORD = "redo";
     public static final String MESSAGE_SUCCESS = "Previous undo operation has been reversed!";
+    public static final String MESSAGE_REDO_HISTORY_LOST =
+            "The history of operations to be reversed could not be read and has been discarded.";
     public static final String MESSAGE_REDO_ERROR = "No previous undo operation to be reversed.";
 
     @Override
@@ -21,10 +23,12 @@ public class RedoCommand extends Command {
             throw new CommandException(MESSAGE_REDO_ERROR);
         }
 
-        model.redoChanges();
-        model.getDatastore().getPersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
-        model.getDatastore().getLogStore().updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
-        model.getDatastore().getLogStore().updateFilteredLogListByPersonId(null);
+        if (!model.redoChanges()) {
+            throw new CommandException(MESSAGE_REDO_HISTORY_LOST);
+        }
+        model.getMutableDatastore().getMutablePersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
+        model.getMutableDatastore().getMutableLogStore().updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
+        model.getMutableDatastore().getMutableLogStore().updateFilteredLogListByPersonId(null);
         return new CommandResult(MESSAGE_SUCCESS);
     }
 }
@@ -12,6 +12,8 @@ import scrolls.elder.model.Model;
 public class UndoCommand extends Command {
     public static final String COMMAND_WORD = "undo";
     public static final String MESSAGE_SUCCESS = "Previous operation has been undone!";
+    public static final String MESSAGE_UNDO_HISTORY_LOST =
+            "The history of operations to be undone could not be read and has been discarded.";
     public static final String MESSAGE_UNDO_ERROR = "No previous operation to be undone.";
 
     @Override
@@ -21,10 +23,12 @@ public class UndoCommand extends Command {
             throw new CommandException(MESSAGE_UNDO_ERROR);
         }
 
-        model.undoChanges();
-        model.getDatastore().getPersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
-        model.getDatastore().getLogStore().updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
-        model.getDatastore().getLogStore().updateFilteredLogListByPersonId(null);
+        if (!model.undoChanges()) {
+            throw new CommandException(MESSAGE_UNDO_HISTORY_LOST);
+        }
+        model.getMutableDatastore().getMutablePersonStore().updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
+        model.getMutableDatastore().getMutableLogStore().updateFilteredLogList(LogStore.PREDICATE_SHOW_ALL_LOGS);
+        model.getMutableDatastore().getMutableLogStore().updateFilteredLogListByPersonId(null);
         return new CommandResult(MESSAGE_SUCCESS);
     }
 }
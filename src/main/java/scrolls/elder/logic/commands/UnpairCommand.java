@@ -69,11 +69,9 @@ public class UnpairCommand extends Command {
         Set<Tag> updatedTags = personToEdit.getTags();
         Role role = personToEdit.getRole();
         int updatedTimeServed = personToEdit.getTimeServed();
-        Optional<Integer> updatedLatestLogId = personToEdit.getLatestLogId();
 
         return PersonFactory.withIdFromParams(personId, updatedName, updatedPhone, updatedEmail, updatedAddress, role,
-                updatedTags, updatedPairName, updatedPairID, updatedTimeServed,
-                updatedLatestLogId);
+                updatedTags, updatedPairName, updatedPairID, updatedTimeServed);
     }
 
     @Override
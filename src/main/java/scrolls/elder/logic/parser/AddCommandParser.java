@@ -71,18 +71,17 @@ public class AddCommandParser implements Parser<AddCommand> {
         Optional<Name> pairedWithNone = Optional.empty();
         Optional<Integer> pairedWithNoID = Optional.empty();
         int timeServed = 0;
-        Optional<Integer> latestLogId = Optional.empty();
 
         // temporary solution, delete after merging
         Person person = null;
 
         if (role.isVolunteer()) {
             person = new Volunteer(name, phone, email, address, tagList, pairedWithNone, pairedWithNoID,
-                    timeServed, latestLogId);
+                    timeServed);
         } else {
             assert role.isBefriendee();
             person = new Befriendee(name, phone, email, address, tagList, pairedWithNone, pairedWithNoID,
-                    timeServed, latestLogId);
+                    timeServed);
         }
 
         return new AddCommand(person);
@@ -21,6 +21,7 @@ import scrolls.elder.logic.commands.LogAddCommand;
 import scrolls.elder.logic.commands.LogDeleteCommand;
 import scrolls.elder.logic.commands.LogEditCommand;
 import scrolls.elder.logic.commands.LogFindCommand;
+import scrolls.elder.logic.commands.LogSearchCommand;
 import scrolls.elder.logic.commands.PairCommand;
 import scrolls.elder.logic.commands.RedoCommand;
 import scrolls.elder.logic.commands.UndoCommand;
@@ -111,6 +112,9 @@ public class AddressBookParser {
         case LogFindCommand.COMMAND_WORD_FINDLOG:
             return new LogFindCommandParser().parse(arguments);
 
+        case LogSearchCommand.COMMAND_WORD:
+            return new LogSearchCommandParser().parse(arguments);
+
         case UndoCommand.COMMAND_WORD:
             return new UndoCommand();
 
@@ -31,6 +31,7 @@ public class FindCommandParser implements Parser<FindCommand> {
 
     public static final String PAIRED_FLAG = "--paired";
     public static final String UNPAIRED_FLAG = "--unpaired";
+    public static final String EXPLAIN_FLAG = "--explain";
 
     public static final String SEARCH_VOLUNTEER_FLAG = PREFIX_ROLE + "volunteer";
     public static final String SEARCH_BEFRIENDEE_FLAG = PREFIX_ROLE + "befriendee";
@@ -41,7 +42,12 @@ public class FindCommandParser implements Parser<FindCommand> {
      * @throws ParseException if the user input does not conform the expected format
      */
     public FindCommand parse(String args) throws ParseException {
-        String trimmedArgs = args.trim();
+        // Handle Explain Flag Parsing
+        List<String> argTokens = new ArrayList<>(Arrays.asList(args.trim().split("\\s+")));
+        boolean isExplaining = argTokens.removeIf(EXPLAIN_FLAG::equals);
+        String argsWithoutExplain = String.join(" ", argTokens);
+
+        String trimmedArgs = argsWithoutExplain.trim();
         if (trimmedArgs.isEmpty()) {
             throw new ParseException(
                     String.format(MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
@@ -49,7 +55,7 @@ public class FindCommandParser implements Parser<FindCommand> {
 
         // Handle Role Parsing
         FindType findTypeRole = parseForRoles(trimmedArgs.split("\\s+"));
-        String args2 = args.replace(SEARCH_VOLUNTEER_FLAG, "").replace(SEARCH_BEFRIENDEE_FLAG, "");
+        String args2 = argsWithoutExplain.replace(SEARCH_VOLUNTEER_FLAG, "").replace(SEARCH_BEFRIENDEE_FLAG, "");
         String trimmedArgs2 = args2.trim();
         if (trimmedArgs2.isEmpty()) {
             throw new ParseException(
@@ -96,7 +102,7 @@ public class FindCommandParser implements Parser<FindCommand> {
 
         return new FindCommand(namePredicate, tagPredicate,
                 isSearchingVolunteer, isSearchingBefriendee,
-                isSearchingPaired, isSearchingUnpaired);
+                isSearchingPaired, isSearchingUnpaired, isExplaining);
 
     }
 
@@ -1,17 +1,24 @@
 package scrolls.elder.logic.parser;
 
 import static scrolls.elder.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static scrolls.elder.logic.parser.CliSyntax.PREFIX_END;
 import static scrolls.elder.logic.parser.CliSyntax.PREFIX_ROLE;
+import static scrolls.elder.logic.parser.CliSyntax.PREFIX_START;
+
+import java.util.Date;
 
 import scrolls.elder.commons.core.index.Index;
 import scrolls.elder.logic.commands.LogFindCommand;
 import scrolls.elder.logic.parser.exceptions.ParseException;
+import scrolls.elder.model.person.Role;
 
 /**
  * Parses input arguments and creates a new LogFindCommand object
  */
 public class LogFindCommandParser implements Parser<LogFindCommand> {
 
+    public static final String MESSAGE_INVALID_DATE_RANGE = "The start date cannot be after the end date.";
+
     /**
      * Parses the given {@code String} of arguments in the context of the LogFindCommand
      * and returns an LogFindCommand object for execution.
@@ -19,10 +26,32 @@ public class LogFindCommandParser implements Parser<LogFindCommand> {
      * @throws ParseException if the user input does not conform the expected format
      */
     public LogFindCommand parse(String args) throws ParseException {
-        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_ROLE);
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_ROLE, PREFIX_START, PREFIX_END);
         Index index;
+        Date startDate = null;
+        Date endDate = null;
+
+        argMultimap.verifyNoDuplicatePrefixesFor(PREFIX_ROLE, PREFIX_START, PREFIX_END);
 
-        argMultimap.verifyNoDuplicatePrefixesFor(PREFIX_ROLE);
+        boolean hasStartDate = argMultimap.getValue(PREFIX_START).isPresent();
+        boolean hasEndDate = argMultimap.getValue(PREFIX_END).isPresent();
+        if (hasStartDate != hasEndDate) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogFindCommand.MESSAGE_USAGE));
+        }
+
+        if (hasStartDate) {
+            startDate = ParserUtil.parseDate(argMultimap.getValue(PREFIX_START).get());
+            endDate = ParserUtil.parseDate(argMultimap.getValue(PREFIX_END).get());
+            if (startDate.after(endDate)) {
+                throw new ParseException(MESSAGE_INVALID_DATE_RANGE);
+            }
+        }
+
+        // A date range may be searched for without a person
+        boolean hasPerson = !argMultimap.getPreamble().isEmpty() || argMultimap.getValue(PREFIX_ROLE).isPresent();
+        if (!hasPerson && hasStartDate) {
+            return new LogFindCommand(null, null, startDate, endDate);
+        }
 
         if (argMultimap.getValue(PREFIX_ROLE).isEmpty()) {
             throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogFindCommand.MESSAGE_USAGE));
@@ -34,7 +63,8 @@ public class LogFindCommandParser implements Parser<LogFindCommand> {
             throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogFindCommand.MESSAGE_USAGE),
                     pe);
         }
-        return new LogFindCommand(index, ParserUtil.parseRole(argMultimap.getValue(PREFIX_ROLE).get()));
+        Role role = ParserUtil.parseRole(argMultimap.getValue(PREFIX_ROLE).get());
+        return new LogFindCommand(index, role, startDate, endDate);
 
     }
 
@@ -0,0 +1,57 @@
+package scrolls.elder.logic.parser;
+
+import static scrolls.elder.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import scrolls.elder.logic.commands.LogSearchCommand;
+import scrolls.elder.logic.parser.exceptions.ParseException;
+import scrolls.elder.model.log.LogSearchQuery;
+
+/**
+ * Parses input arguments and creates a new LogSearchCommand object
+ */
+public class LogSearchCommandParser implements Parser<LogSearchCommand> {
+
+    public static final String OPERATOR_AND = "AND";
+    public static final String OPERATOR_OR = "OR";
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the LogSearchCommand
+     * and returns a LogSearchCommand object for execution.
+     * Adjacent keywords must all be present, so AND binds tighter than OR.
+     *
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    public LogSearchCommand parse(String args) throws ParseException {
+        String trimmedArgs = args.trim();
+        if (trimmedArgs.isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogSearchCommand.MESSAGE_USAGE));
+        }
+
+        List<List<String>> clauses = new ArrayList<>();
+        List<String> clause = new ArrayList<>();
+        for (String keyword : trimmedArgs.split("\\s+")) {
+            if (keyword.equals(OPERATOR_OR)) {
+                addClause(clauses, clause);
+                clause = new ArrayList<>();
+            } else if (!keyword.equals(OPERATOR_AND)) {
+                clause.add(keyword);
+            }
+        }
+        addClause(clauses, clause);
+
+        return new LogSearchCommand(new LogSearchQuery(clauses));
+    }
+
+    /**
+     * Adds {@code clause} to {@code clauses}, checking that an operator is not missing a keyword.
+     */
+    private static void addClause(List<List<String>> clauses, List<String> clause) throws ParseException {
+        if (clause.isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogSearchCommand.MESSAGE_USAGE));
+        }
+        clauses.add(clause);
+    }
+}
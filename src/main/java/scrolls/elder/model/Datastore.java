@@ -58,6 +58,26 @@ public class Datastore implements ReadOnlyDatastore {
         logs.resetData(newData.getLogStore());
     }
 
+    /**
+     * Applies {@code change} to the persons and logs of this {@code Datastore}.
+     * Only the persons and logs changed by {@code change} are touched.
+     * The records of changed persons and logs are cleared, as the data now matches the version {@code change} leads to.
+     */
+    public void applyChange(DatastoreChange change) {
+        requireNonNull(change);
+        persons.applyChanges(change.getPersons(), change.getPersonIdSequence());
+        logs.applyChanges(change.getLogs(), change.getLogIdSequence());
+        clearChangedIds();
+    }
+
+    /**
+     * Clears the records of persons and logs changed so far.
+     */
+    public void clearChangedIds() {
+        persons.clearChangedIds();
+        logs.clearChangedIds();
+    }
+
     //// Overrides
 
     @Override
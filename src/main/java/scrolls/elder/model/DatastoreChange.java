@@ -0,0 +1,92 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+
+/**
+ * Represents the person-level and log-level changes that take a {@code Datastore} from one version to another.
+ * Each changed ID is mapped to the person or log with that ID after the change, or to null if there is no person or
+ * log with that ID after the change. Persons and logs whose IDs are not mapped are unaffected by the change.
+ */
+public class DatastoreChange {
+    private final Map<Integer, Person> persons;
+    private final Map<Integer, Log> logs;
+    private final int personIdSequence;
+    private final int logIdSequence;
+
+    /**
+     * Creates a change that sets the persons and logs with the mapped IDs, as well as the ID sequences of the stores.
+     */
+    public DatastoreChange(Map<Integer, Person> persons, Map<Integer, Log> logs,
+            int personIdSequence, int logIdSequence) {
+        requireNonNull(persons);
+        requireNonNull(logs);
+        this.persons = Collections.unmodifiableMap(new HashMap<>(persons));
+        this.logs = Collections.unmodifiableMap(new HashMap<>(logs));
+        this.personIdSequence = personIdSequence;
+        this.logIdSequence = logIdSequence;
+    }
+
+    /**
+     * Returns the change that takes the version in {@code from} to the version in {@code to}.
+     * The two snapshots may only differ in the persons with {@code changedPersonIds} and the logs with
+     * {@code changedLogIds}.
+     */
+    public static DatastoreChange between(DatastoreSnapshot from, DatastoreSnapshot to,
+            Set<Integer> changedPersonIds, Set<Integer> changedLogIds) {
+        requireNonNull(from);
+        requireNonNull(to);
+
+        Map<Integer, Person> persons = new HashMap<>();
+        for (int id : changedPersonIds) {
+            if (from.getPerson(id) != to.getPerson(id)) {
+                persons.put(id, to.getPerson(id));
+            }
+        }
+
+        Map<Integer, Log> logs = new HashMap<>();
+        for (int id : changedLogIds) {
+            if (from.getLog(id) != to.getLog(id)) {
+                logs.put(id, to.getLog(id));
+            }
+        }
+
+        return new DatastoreChange(persons, logs, to.getPersonIdSequence(), to.getLogIdSequence());
+    }
+
+    /**
+     * Returns the changed persons, mapped by their IDs. Removed persons are mapped to null.
+     */
+    public Map<Integer, Person> getPersons() {
+        return persons;
+    }
+
+    /**
+     * Returns the changed logs, mapped by their IDs. Removed logs are mapped to null.
+     */
+    public Map<Integer, Log> getLogs() {
+        return logs;
+    }
+
+    /**
+     * Returns true if no person or log is changed.
+     */
+    public boolean isEmpty() {
+        return persons.isEmpty() && logs.isEmpty();
+    }
+
+    public int getPersonIdSequence() {
+        return personIdSequence;
+    }
+
+    public int getLogIdSequence() {
+        return logIdSequence;
+    }
+}
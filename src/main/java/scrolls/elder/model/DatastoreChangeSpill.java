@@ -0,0 +1,58 @@
+package scrolls.elder.model;
+
+import java.io.IOException;
+
+/**
+ * Holds the parts of the undo history of a {@code DatastoreVersionStorage} that are evicted from memory.
+ * Entry {@code i} holds the changes between version {@code i} and version {@code i + 1} of the Datastore.
+ * Entries are written in increasing order of their indexes, starting from 0.
+ */
+public interface DatastoreChangeSpill {
+
+    /**
+     * Writes entry {@code index}, which must be the entry after the last entry written.
+     *
+     * @param undoChange The change that reverts version {@code index + 1} to version {@code index}.
+     * @param redoChange The change that advances version {@code index} to version {@code index + 1}.
+     * @throws IOException if there was any problem writing to the spill.
+     */
+    void write(int index, DatastoreChange undoChange, DatastoreChange redoChange) throws IOException;
+
+    /**
+     * Returns entry {@code index}, holding both of the changes written with it.
+     *
+     * @throws IOException if there was any problem reading from the spill.
+     */
+    Entry read(int index) throws IOException;
+
+    /**
+     * Discards every entry from entry {@code fromIndex} onwards.
+     *
+     * @throws IOException if there was any problem writing to the spill.
+     */
+    void truncate(int fromIndex) throws IOException;
+
+    /**
+     * The changes between two consecutive versions held by an entry of the spill.
+     */
+    final class Entry {
+        private final DatastoreChange undoChange;
+        private final DatastoreChange redoChange;
+
+        /**
+         * Creates an entry of the change that reverts a version and the change that advances to it.
+         */
+        public Entry(DatastoreChange undoChange, DatastoreChange redoChange) {
+            this.undoChange = undoChange;
+            this.redoChange = redoChange;
+        }
+
+        public DatastoreChange getUndoChange() {
+            return undoChange;
+        }
+
+        public DatastoreChange getRedoChange() {
+            return redoChange;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.stream.Collectors;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Name;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.model.util.PersistentIdMap;
+
+/**
+ * An immutable snapshot of the persons and logs in a {@code Datastore}, keyed by their IDs.
+ * As persons and logs are themselves immutable, a snapshot holds references to them instead of copies.
+ * A snapshot derived from a previous snapshot shares every person and log that did not change in between.
+ */
+public class DatastoreSnapshot {
+    private final PersistentIdMap<Person> persons;
+    private final PersistentIdMap<Log> logs;
+    private final int personIdSequence;
+    private final int logIdSequence;
+
+    private DatastoreSnapshot(PersistentIdMap<Person> persons, PersistentIdMap<Log> logs,
+            int personIdSequence, int logIdSequence) {
+        this.persons = persons;
+        this.logs = logs;
+        this.personIdSequence = personIdSequence;
+        this.logIdSequence = logIdSequence;
+    }
+
+    /**
+     * Creates a snapshot of all persons and logs in {@code datastore}.
+     */
+    public static DatastoreSnapshot of(Datastore datastore) {
+        requireNonNull(datastore);
+
+        PersistentIdMap<Person> persons = PersistentIdMap.empty();
+        for (Person person : datastore.getPersonStore().getPersonList()) {
+            persons = persons.put(person.getPersonId(), person);
+        }
+
+        PersistentIdMap<Log> logs = PersistentIdMap.empty();
+        for (Log log : datastore.getLogStore().getUnfilteredAllLogsList()) {
+            logs = logs.put(log.getLogId(), log);
+        }
+
+        return new DatastoreSnapshot(persons, logs, datastore.getMutablePersonStore().getPersonIdSequence(),
+                datastore.getMutableLogStore().getLogIdSequence());
+    }
+
+    /**
+     * Returns a snapshot of {@code datastore}, derived from this snapshot.
+     * This snapshot must reflect the state of {@code datastore} before the persons and logs recorded as changed in
+     * {@code datastore} were changed. Only those persons and logs are looked up.
+     */
+    public DatastoreSnapshot withChangesFrom(Datastore datastore) {
+        requireNonNull(datastore);
+
+        PersonStore personStore = datastore.getMutablePersonStore();
+        PersistentIdMap<Person> newPersons = persons;
+        for (int id : personStore.getChangedIds()) {
+            newPersons = personStore.hasPersonWithId(id)
+                    ? newPersons.put(id, personStore.getPersonFromID(id))
+                    : newPersons.remove(id);
+        }
+
+        LogStore logStore = datastore.getMutableLogStore();
+        PersistentIdMap<Log> newLogs = logs;
+        for (int id : logStore.getChangedIds()) {
+            Log log = logStore.getLogById(id);
+            newLogs = log != null ? newLogs.put(id, log) : newLogs.remove(id);
+        }
+
+        return new DatastoreSnapshot(newPersons, newLogs, personStore.getPersonIdSequence(),
+                logStore.getLogIdSequence());
+    }
+
+    /**
+     * Returns the snapshot of the version that {@code change} leads to, derived from this snapshot.
+     * This snapshot must be of the version that {@code change} applies to.
+     */
+    public DatastoreSnapshot withChange(DatastoreChange change) {
+        requireNonNull(change);
+
+        PersistentIdMap<Person> newPersons = persons;
+        for (Map.Entry<Integer, Person> entry : change.getPersons().entrySet()) {
+            newPersons = entry.getValue() != null
+                    ? newPersons.put(entry.getKey(), entry.getValue())
+                    : newPersons.remove(entry.getKey());
+        }
+
+        PersistentIdMap<Log> newLogs = logs;
+        for (Map.Entry<Integer, Log> entry : change.getLogs().entrySet()) {
+            newLogs = entry.getValue() != null
+                    ? newLogs.put(entry.getKey(), entry.getValue())
+                    : newLogs.remove(entry.getKey());
+        }
+
+        return new DatastoreSnapshot(newPersons, newLogs, change.getPersonIdSequence(), change.getLogIdSequence());
+    }
+
+    /**
+     * Returns the person with the given ID in this snapshot, or null if there is no such person.
+     */
+    public Person getPerson(int id) {
+        return persons.get(id);
+    }
+
+    /**
+     * Returns the log with the given ID in this snapshot, or null if there is no such log.
+     */
+    public Log getLog(int id) {
+        return logs.get(id);
+    }
+
+    public int getPersonIdSequence() {
+        return personIdSequence;
+    }
+
+    public int getLogIdSequence() {
+        return logIdSequence;
+    }
+
+    /**
+     * Returns a read-only view of the persons and logs in this snapshot, in ascending order of their IDs.
+     * The lists of the view are only built when first asked for, and the view cannot be filtered.
+     */
+    public ReadOnlyDatastore asReadOnlyDatastore() {
+        return new ReadOnlyView(this);
+    }
+
+    /**
+     * A view of a snapshot as the person and log stores of a datastore, for saving the snapshot to storage.
+     */
+    private static class ReadOnlyView implements ReadOnlyDatastore, ReadOnlyPersonStore, ReadOnlyLogStore {
+        private static final BinaryOperator<Log> LATER_LOG = BinaryOperator.maxBy(LogStore.START_DATE_ORDER);
+
+        private final DatastoreSnapshot snapshot;
+        private ObservableList<Person> personList;
+        private ObservableList<Log> logList;
+        private Map<Integer, Log> latestLogsByPersonId;
+
+        ReadOnlyView(DatastoreSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public ReadOnlyPersonStore getPersonStore() {
+            return this;
+        }
+
+        @Override
+        public ReadOnlyLogStore getLogStore() {
+            return this;
+        }
+
+        @Override
+        public ObservableList<Person> getPersonList() {
+            if (personList == null) {
+                personList = FXCollections.unmodifiableObservableList(
+                        FXCollections.observableList(snapshot.persons.values()));
+            }
+            return personList;
+        }
+
+        @Override
+        public ObservableList<Person> getFilteredPersonList() {
+            return getPersonList();
+        }
+
+        @Override
+        public ObservableList<Person> getFilteredVolunteerList() {
+            return FXCollections.unmodifiableObservableList(FXCollections.observableList(
+                    snapshot.persons.values().stream().filter(Person::isVolunteer).collect(Collectors.toList())));
+        }
+
+        @Override
+        public ObservableList<Person> getFilteredBefriendeeList() {
+            return FXCollections.unmodifiableObservableList(FXCollections.observableList(
+                    snapshot.persons.values().stream().filter(Person::isBefriendee).collect(Collectors.toList())));
+        }
+
+        @Override
+        public boolean hasPersonWithId(int id) {
+            return snapshot.persons.containsId(id);
+        }
+
+        @Override
+        public Person getPersonFromID(int id) {
+            return snapshot.getPerson(id);
+        }
+
+        @Override
+        public Name getNameFromID(int id) {
+            return snapshot.getPerson(id).getName();
+        }
+
+        @Override
+        public ObservableList<Log> getUnfilteredAllLogsList() {
+            if (logList == null) {
+                logList = FXCollections.unmodifiableObservableList(
+                        FXCollections.observableList(snapshot.logs.values()));
+            }
+            return logList;
+        }
+
+        @Override
+        public ObservableList<Log> getLogList() {
+            return getUnfilteredAllLogsList();
+        }
+
+        @Override
+        public ObservableList<Log> getFilteredLogList() {
+            return getUnfilteredAllLogsList();
+        }
+
+        @Override
+        public Log getLogById(int logId) {
+            return snapshot.getLog(logId);
+        }
+
+        /**
+         * Returns the ID of the latest log of the person with {@code personId}.
+         * The latest log of every person is indexed in one pass over the logs, the first time this is called.
+         */
+        @Override
+        public Optional<Integer> getLatestLogId(int personId) {
+            if (latestLogsByPersonId == null) {
+                latestLogsByPersonId = new HashMap<>();
+                for (Log log : snapshot.logs.values()) {
+                    latestLogsByPersonId.merge(log.getVolunteerId(), log, LATER_LOG);
+                    latestLogsByPersonId.merge(log.getBefriendeeId(), log, LATER_LOG);
+                }
+            }
+            return Optional.ofNullable(latestLogsByPersonId.get(personId)).map(Log::getLogId);
+        }
+    }
+}
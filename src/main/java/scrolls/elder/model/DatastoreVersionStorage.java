@@ -1,35 +1,125 @@
 package scrolls.elder.model;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.util.StringUtil;
 
 /**
- * Represents a storage for snapshots of the Datastore.
+ * Represents a storage for the versions of the Datastore.
  * After every operation where the Datastore of the application is mutated in someway,
  * there will be an entry created in the DatastoreVersionStorage to enable undo and redo operations.
+ * The storage keeps the changes between every pair of consecutive versions, so that an undo or redo only has to apply
+ * the persons and logs changed by the undone or redone operation.
+ * Only the snapshot of the current version is kept. Each new snapshot is derived from it using the changes recorded by
+ * the Datastore, so a commit only costs as much as the number of persons and logs changed.
+ *
+ * When given a {@code DatastoreChangeSpill}, the storage keeps at most {@code maxHotVersions} of the most recent
+ * changes in memory, and evicts older changes to the spill. Evicted changes are read back from the spill when an undo
+ * or redo reaches them.
  */
 public class DatastoreVersionStorage {
+    private static final Logger logger = LogsCenter.getLogger(DatastoreVersionStorage.class);
+
+    /**
+     * The snapshot of the version at the {@code currentStatePointer}.
+     */
+    private DatastoreSnapshot currentSnapshot;
+
+    /**
+     * The changes in memory that revert each version to the version before it.
+     * The change at index {@code i} reverts version {@code spilledCount + i + 1} to version {@code spilledCount + i}.
+     */
+    private ArrayList<DatastoreChange> undoChanges;
+
+    /**
+     * The changes in memory that advance each version to the version after it.
+     * The change at index {@code i} advances version {@code spilledCount + i} to version {@code spilledCount + i + 1}.
+     */
+    private ArrayList<DatastoreChange> redoChanges;
+
+    /**
+     * The spill holding the changes evicted from memory, or null if all changes are kept in memory.
+     */
+    private final DatastoreChangeSpill spill;
+    private final int maxHotVersions;
+
+    /**
+     * Whether changes are still evicted to the {@code spill}. Eviction stops once the spill cannot be written to.
+     */
+    private boolean isEvicting;
+
+    /**
+     * The number of changes between consecutive versions that are held by the {@code spill} instead of in memory.
+     */
+    private int spilledCount;
+
+    /**
+     * The index of the spilled entry most recently read back from the {@code spill}, or -1 if there is none.
+     */
+    private int pagedInIndex;
+    private DatastoreChange pagedInUndoChange;
+    private DatastoreChange pagedInRedoChange;
+
     /**
-     * The list of datastore versions stored in this storage.
+     * The number of versions in this storage, including versions that can no longer be reached.
      */
-    private ArrayList<ReadOnlyDatastore> datastoreVersions;
+    private int versionCount;
+
+    /**
+     * The oldest version that can be reached by undo operations.
+     */
+    private int oldestVersion;
 
     /**
      * The pointer indicating the current position in the list of versions.
      */
     private int currentStatePointer;
 
+    /**
+     * Constructs a new DatastoreVersionStorage with an initial snapshot of the provided datastore.
+     * All changes are kept in memory.
+     *
+     * @param datastore The initial state of the Datastore. Its records of changed persons and logs are cleared.
+     */
+    public DatastoreVersionStorage(Datastore datastore) {
+        this(datastore, Integer.MAX_VALUE, null);
+    }
+
     /**
      * Constructs a new DatastoreVersionStorage with an initial snapshot of the provided datastore.
      *
-     * @param datastore The initial state of the Datastore.
+     * @param datastore The initial state of the Datastore. Its records of changed persons and logs are cleared.
+     * @param maxHotVersions The number of most recent changes kept in memory. The most recent change is always kept.
+     * @param spill The spill to evict older changes to, or null to keep all changes in memory.
      */
-    public DatastoreVersionStorage(ReadOnlyDatastore datastore) {
-        this.datastoreVersions = new ArrayList<ReadOnlyDatastore>();
-        // Note that snapshot must be a deep copy.
-        datastoreVersions.add(new Datastore(datastore));
+    public DatastoreVersionStorage(Datastore datastore, int maxHotVersions, DatastoreChangeSpill spill) {
+        this.currentSnapshot = DatastoreSnapshot.of(datastore);
+        datastore.clearChangedIds();
+        this.undoChanges = new ArrayList<DatastoreChange>();
+        this.redoChanges = new ArrayList<DatastoreChange>();
+        this.spill = spill;
+        this.isEvicting = spill != null;
+        this.maxHotVersions = Math.max(1, maxHotVersions);
+        this.spilledCount = 0;
+        this.pagedInIndex = -1;
+        this.versionCount = 1;
+        this.oldestVersion = 0;
         this.currentStatePointer = 0;
     }
 
+    /**
+     * Returns the snapshot of the current version of the Datastore.
+     */
+    public DatastoreSnapshot getCurrentSnapshot() {
+        return currentSnapshot;
+    }
+
     /**
      * Checks if an undo operation is possible.
      *
@@ -37,11 +127,7 @@ public class DatastoreVersionStorage {
      */
     public boolean canUndo() {
         // Pointer has at least 1 version of datastore to its left
-        if (currentStatePointer > 0) {
-            return true;
-        }
-
-        return false;
+        return currentStatePointer > oldestVersion;
     }
 
     /**
@@ -50,41 +136,52 @@ public class DatastoreVersionStorage {
      * @return true if a redo operation can be performed, false otherwise.
      */
     public boolean canRedo() {
-        int size = datastoreVersions.size() - 1;
-
         // pointer is not at the end of the version history
-        if (currentStatePointer < size) {
-            return true;
-        }
-
-        return false;
-
+        return currentStatePointer < versionCount - 1;
     }
 
     /**
      * Executes the undo operation by reverting to the previous version of the Datastore.
+     * Reads the change to be undone back from the spill if it was evicted from memory. If it cannot be read back, the
+     * versions before the current version can no longer be reached, and the current version is kept.
      *
-     * @return The Datastore in its previous state after undoing an operation.
+     * @return The change that reverts the Datastore from its current version to its previous version, or an empty
+     *     {@code Optional} if it could not be read back from the spill.
      */
-    public ReadOnlyDatastore executeUndo() {
+    public Optional<DatastoreChange> executeUndo() {
         assert this.canUndo() : "Undo command cannot be executed";
 
+        if (!pageIn(currentStatePointer - 1)) {
+            oldestVersion = currentStatePointer;
+            return Optional.empty();
+        }
+
+        DatastoreChange undoChange = getChange(currentStatePointer - 1, true);
         currentStatePointer--;
-        ReadOnlyDatastore prevDatastore = datastoreVersions.get(currentStatePointer);
-        return prevDatastore;
+        currentSnapshot = currentSnapshot.withChange(undoChange);
+        return Optional.of(undoChange);
     }
 
     /**
      * Executes the redo operation by moving forward to the next version of the Datastore.
+     * Reads the change to be redone back from the spill if it was evicted from memory. If it cannot be read back, the
+     * versions after the current version can no longer be reached and are discarded, and the current version is kept.
      *
-     * @return The Datastore in its next state after reversing an undo operation.
+     * @return The change that advances the Datastore from its current version to its next version, or an empty
+     *     {@code Optional} if it could not be read back from the spill.
      */
-    public ReadOnlyDatastore executeRedo() {
+    public Optional<DatastoreChange> executeRedo() {
         assert this.canRedo() : "Redo command cannot be executed";
 
+        if (!pageIn(currentStatePointer)) {
+            discardVersionsAfterCurrent();
+            return Optional.empty();
+        }
+
+        DatastoreChange redoChange = getChange(currentStatePointer, false);
         currentStatePointer++;
-        ReadOnlyDatastore nextDatastore = datastoreVersions.get(currentStatePointer);
-        return nextDatastore;
+        currentSnapshot = currentSnapshot.withChange(redoChange);
+        return Optional.of(redoChange);
     }
 
     /**
@@ -93,19 +190,133 @@ public class DatastoreVersionStorage {
      * the subsequent snapshots before adding the new one.
      *
      * @param datastore The updated state of the Datastore to be committed.
+     *                  Its records of changed persons and logs are cleared.
+     * @return The change that advances the Datastore from its previous version to the committed version.
      */
-    public void commitDatastore(ReadOnlyDatastore datastore) {
-        int size = this.datastoreVersions.size();
-
+    public DatastoreChange commitDatastore(Datastore datastore) {
         // If not at end of list, purge the data before adding new datastore snapshot
-        if (currentStatePointer < size - 1) {
-            int indexToRemove = currentStatePointer + 1;
-            for (int i = currentStatePointer + 1; i < size; i++) {
-                this.datastoreVersions.remove(indexToRemove);
-            }
+        if (currentStatePointer < versionCount - 1) {
+            discardVersionsAfterCurrent();
         }
 
-        this.datastoreVersions.add(new Datastore(datastore));
+        Set<Integer> changedPersonIds = new HashSet<>(datastore.getMutablePersonStore().getChangedIds());
+        Set<Integer> changedLogIds = new HashSet<>(datastore.getMutableLogStore().getChangedIds());
+
+        DatastoreSnapshot latestSnapshot = currentSnapshot;
+        currentSnapshot = latestSnapshot.withChangesFrom(datastore);
+        DatastoreChange redoChange =
+                DatastoreChange.between(latestSnapshot, currentSnapshot, changedPersonIds, changedLogIds);
+        this.undoChanges.add(DatastoreChange.between(currentSnapshot, latestSnapshot, changedPersonIds, changedLogIds));
+        this.redoChanges.add(redoChange);
+        datastore.clearChangedIds();
+        versionCount++;
         currentStatePointer++;
+
+        evictOldChanges();
+        return redoChange;
+    }
+
+    /**
+     * Makes the current version include the changes made to {@code datastore} since the last commit, without
+     * recording them as a change. Used for data added to the datastore after this storage was created, such as logs
+     * read from storage after the persons, which must not be undone.
+     *
+     * @param datastore The current state of the Datastore. Its records of changed persons and logs are cleared.
+     */
+    public void amendCurrentVersion(Datastore datastore) {
+        currentSnapshot = currentSnapshot.withChangesFrom(datastore);
+        datastore.clearChangedIds();
+    }
+
+    /**
+     * Discards the versions after the current version, and the changes leading to them.
+     */
+    private void discardVersionsAfterCurrent() {
+        if (currentStatePointer >= spilledCount) {
+            int firstIndexToRemove = currentStatePointer - spilledCount;
+            undoChanges.subList(firstIndexToRemove, undoChanges.size()).clear();
+            redoChanges.subList(firstIndexToRemove, redoChanges.size()).clear();
+        } else {
+            undoChanges.clear();
+            redoChanges.clear();
+            truncateSpill(currentStatePointer);
+        }
+
+        if (pagedInIndex >= currentStatePointer) {
+            clearPagedIn();
+        }
+        versionCount = currentStatePointer + 1;
+    }
+
+    /**
+     * Moves the oldest changes in memory to the spill, until at most {@code maxHotVersions} changes are in memory.
+     * If the spill cannot be written to, all changes are kept in memory from then on.
+     */
+    private void evictOldChanges() {
+        while (isEvicting && undoChanges.size() > maxHotVersions) {
+            try {
+                spill.write(spilledCount, undoChanges.get(0), redoChanges.get(0));
+            } catch (IOException e) {
+                logger.warning("Failed to spill undo history, keeping it in memory instead: "
+                        + StringUtil.getDetails(e));
+                isEvicting = false;
+                return;
+            }
+            undoChanges.remove(0);
+            redoChanges.remove(0);
+            spilledCount++;
+        }
+    }
+
+    private void truncateSpill(int fromIndex) {
+        try {
+            spill.truncate(fromIndex);
+        } catch (IOException e) {
+            // Entries past spilledCount are never read, so the spill stays consistent for reading
+            logger.warning("Failed to truncate undo history spill: " + StringUtil.getDetails(e));
+        }
+        spilledCount = fromIndex;
+    }
+
+    /**
+     * Ensures that the changes at {@code index} are in memory, reading them back from the spill if needed.
+     *
+     * @return false if the changes could not be read back from the spill.
+     */
+    private boolean pageIn(int index) {
+        if (index >= spilledCount || index == pagedInIndex) {
+            return true;
+        }
+
+        try {
+            DatastoreChangeSpill.Entry entry = spill.read(index);
+            pagedInUndoChange = entry.getUndoChange();
+            pagedInRedoChange = entry.getRedoChange();
+            pagedInIndex = index;
+            return true;
+        } catch (IOException e) {
+            logger.warning("Failed to read undo history back from spill: " + StringUtil.getDetails(e));
+            clearPagedIn();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the undo or redo change between version {@code index} and version {@code index + 1}.
+     * The changes at {@code index} must already be in memory.
+     */
+    private DatastoreChange getChange(int index, boolean isUndo) {
+        if (index >= spilledCount) {
+            return isUndo ? undoChanges.get(index - spilledCount) : redoChanges.get(index - spilledCount);
+        }
+
+        assert index == pagedInIndex : "Change must be paged in before it is read";
+        return isUndo ? pagedInUndoChange : pagedInRedoChange;
+    }
+
+    private void clearPagedIn() {
+        pagedInIndex = -1;
+        pagedInUndoChange = null;
+        pagedInRedoChange = null;
     }
 }
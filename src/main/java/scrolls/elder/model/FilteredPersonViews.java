@@ -0,0 +1,88 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import scrolls.elder.model.person.Person;
+
+/**
+ * The filtered views of all persons, volunteers and befriendees over a single backing list of persons.
+ * Each view is filtered by its own predicate, so filtering the volunteers or the befriendees leaves the other views
+ * as they are. The volunteer and befriendee views are nested over a partition of the backing list by role, which only
+ * re-tests the role of persons that change. A predicate set on all views at once is tested once per person, and its
+ * result is shared by the view of all persons and the view of the person's role.
+ */
+public class FilteredPersonViews {
+
+    private static final Predicate<Person> PREDICATE_SHOW_ALL_PERSONS = unused -> true;
+
+    private final FilteredList<Person> filteredPersons;
+    private final FilteredList<Person> filteredVolunteers;
+    private final FilteredList<Person> filteredBefriendees;
+
+    /**
+     * Creates the views over {@code persons}, showing all persons.
+     */
+    public FilteredPersonViews(ObservableList<Person> persons) {
+        requireNonNull(persons);
+        filteredPersons = new FilteredList<>(persons, PREDICATE_SHOW_ALL_PERSONS);
+        filteredVolunteers = new FilteredList<>(new FilteredList<>(persons, Person::isVolunteer),
+                PREDICATE_SHOW_ALL_PERSONS);
+        filteredBefriendees = new FilteredList<>(new FilteredList<>(persons, Person::isBefriendee),
+                PREDICATE_SHOW_ALL_PERSONS);
+    }
+
+    public ObservableList<Person> getFilteredPersons() {
+        return filteredPersons;
+    }
+
+    public ObservableList<Person> getFilteredVolunteers() {
+        return filteredVolunteers;
+    }
+
+    public ObservableList<Person> getFilteredBefriendees() {
+        return filteredBefriendees;
+    }
+
+    /**
+     * Filters all persons, volunteers and befriendees by {@code predicate}, testing each person against it once.
+     */
+    public void setPredicate(Predicate<Person> predicate) {
+        requireNonNull(predicate);
+        Predicate<Person> sharedPredicate = testedOnce(predicate);
+        filteredPersons.setPredicate(sharedPredicate);
+        filteredVolunteers.setPredicate(sharedPredicate);
+        filteredBefriendees.setPredicate(sharedPredicate);
+    }
+
+    /**
+     * Filters volunteers by {@code predicate}. All persons and befriendees keep their current filters.
+     */
+    public void setVolunteerPredicate(Predicate<Person> predicate) {
+        requireNonNull(predicate);
+        filteredVolunteers.setPredicate(predicate);
+    }
+
+    /**
+     * Filters befriendees by {@code predicate}. All persons and volunteers keep their current filters.
+     */
+    public void setBefriendeePredicate(Predicate<Person> predicate) {
+        requireNonNull(predicate);
+        filteredBefriendees.setPredicate(predicate);
+    }
+
+    /**
+     * Returns a predicate that remembers the result of {@code predicate} for each person it has tested.
+     * Persons are immutable, so the result for a person never changes. An edited person is a new person, and is
+     * tested again.
+     */
+    private static Predicate<Person> testedOnce(Predicate<Person> predicate) {
+        Map<Person, Boolean> results = new IdentityHashMap<>();
+        return person -> results.computeIfAbsent(person, predicate::test);
+    }
+}
@@ -0,0 +1,162 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
+
+/**
+ * Adds the logs read from storage to a {@code Model} that is already in use, so that the persons can be used before
+ * all logs are read.
+ * Once read, the logs are added in chunks, each run by an executor on the thread that uses the model, so that the
+ * thread stays responsive and views of the logs fill in as each chunk is added. The index of the words of the logs
+ * may be built ahead of time off that thread, in which case the chunks only add the logs to the other indexes.
+ * Apart from {@link #getReadiness()}, all methods must be called on the thread that uses the model.
+ */
+public class LogLoader {
+
+    /**
+     * The number of logs added to the model by each chunk.
+     */
+    public static final int CHUNK_SIZE = 2000;
+
+    private static final Logger logger = LogsCenter.getLogger(LogLoader.class);
+
+    private final Model model;
+    private final CompletableFuture<List<Log>> logs;
+    private final CompletableFuture<LogTextIndex> logTextIndex;
+    private final Executor modelExecutor;
+    private final CompletableFuture<Void> readiness = new CompletableFuture<>();
+
+    private List<Log> logsRead;
+    private LogTextIndex logTextIndexRead;
+    private int addedCount;
+    private Runnable progressHandler = () -> {};
+    private Consumer<Throwable> failureHandler = unused -> {};
+
+    /**
+     * Creates a loader that adds the logs that {@code logs} completes with to {@code model}, in chunks run by
+     * {@code modelExecutor} on the thread that uses the model.
+     */
+    public LogLoader(Model model, CompletableFuture<List<Log>> logs, Executor modelExecutor) {
+        this(model, logs, null, modelExecutor);
+    }
+
+    /**
+     * Creates a loader that adds the logs that {@code logs} completes with to {@code model}, with the index of their
+     * words that {@code logTextIndex} completes with, in chunks run by {@code modelExecutor} on the thread that uses
+     * the model. If {@code logTextIndex} is null or fails, the words are indexed as the logs are added.
+     */
+    public LogLoader(Model model, CompletableFuture<List<Log>> logs, CompletableFuture<LogTextIndex> logTextIndex,
+            Executor modelExecutor) {
+        requireNonNull(model);
+        requireNonNull(logs);
+        requireNonNull(modelExecutor);
+        this.model = model;
+        this.logs = logs;
+        this.logTextIndex = logTextIndex;
+        this.modelExecutor = modelExecutor;
+    }
+
+    /**
+     * Sets the handler that is called after each chunk of logs is added to the model.
+     */
+    public void setProgressHandler(Runnable progressHandler) {
+        requireNonNull(progressHandler);
+        this.progressHandler = progressHandler;
+    }
+
+    /**
+     * Sets the handler that is called with the cause if the logs could not be read, in which case none are added.
+     */
+    public void setFailureHandler(Consumer<Throwable> failureHandler) {
+        requireNonNull(failureHandler);
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Starts adding the logs to the model in chunks once they are read, and returns immediately.
+     */
+    public void start() {
+        CompletableFuture<?> lastRead = logTextIndex != null ? logTextIndex : logs;
+        lastRead.whenComplete((unused, error) -> modelExecutor.execute(this::addNextChunk));
+    }
+
+    /**
+     * Returns a future that completes once all logs are added to the model, or exceptionally with the cause if the
+     * logs could not be read.
+     */
+    public CompletableFuture<Void> getReadiness() {
+        return readiness;
+    }
+
+    /**
+     * Returns true if all logs are added to the model, or the logs could not be read.
+     */
+    public boolean isDone() {
+        return readiness.isDone();
+    }
+
+    /**
+     * Returns true if the logs could not be read, in which case none are added to the model.
+     */
+    public boolean isFailed() {
+        return readiness.isCompletedExceptionally();
+    }
+
+    /**
+     * Waits until the logs are read, and adds all logs not added yet to the model at once.
+     * Does not wait for the chunks run by the executor, so it does not block the thread they are run on.
+     */
+    public void awaitLogs() {
+        while (!isDone()) {
+            addChunk(Integer.MAX_VALUE);
+        }
+    }
+
+    private void addNextChunk() {
+        if (isDone()) {
+            return;
+        }
+        addChunk(CHUNK_SIZE);
+        if (!isDone()) {
+            modelExecutor.execute(this::addNextChunk);
+        }
+    }
+
+    private void addChunk(int maxSize) {
+        if (logsRead == null) {
+            try {
+                logsRead = logs.join();
+                logTextIndexRead = logTextIndex != null ? logTextIndex.exceptionally(unused -> null).join() : null;
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                logger.warning("Logs could not be loaded, so none are shown: " + cause);
+                readiness.completeExceptionally(cause);
+                failureHandler.accept(cause);
+                return;
+            }
+        }
+
+        int end = addedCount + Math.min(maxSize, logsRead.size() - addedCount);
+        model.addLoadedLogs(logsRead.subList(addedCount, end), logTextIndexRead);
+        addedCount = end;
+        if (addedCount == logsRead.size()) {
+            logger.info("Loaded " + addedCount + " logs");
+            logsRead = null;
+            logTextIndexRead = null;
+            readiness.complete(null);
+        }
+        // Called once the loader is done after the last chunk, so that the handler sees that all logs are added
+        progressHandler.run();
+    }
+}
@@ -3,7 +3,18 @@ package scrolls.elder.model;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -14,6 +25,9 @@ import javafx.collections.ObservableMap;
 import javafx.collections.transformation.FilteredList;
 import scrolls.elder.commons.util.ToStringBuilder;
 import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogSearchQuery;
+import scrolls.elder.model.log.LogTextIndex;
+import scrolls.elder.model.util.IntListMultimap;
 
 /**
  * Wraps data for all logs stored.
@@ -22,11 +36,45 @@ import scrolls.elder.model.log.Log;
  */
 public class LogStore implements ReadOnlyLogStore {
     public static final Predicate<Log> PREDICATE_SHOW_ALL_LOGS = unused -> true;
+
+    /**
+     * Orders logs by start date, then log ID. Logs without a start date come first.
+     */
+    static final Comparator<Log> START_DATE_ORDER =
+            Comparator.comparingLong(Log::getStartTime).thenComparingInt(Log::getLogId);
+
     private final ObservableMap<Integer, Log> logs;
-    private final ObservableMap<Integer, ArrayList<Integer>> normalisedLogsByPerson;
     private final ObservableList<Log> logList;
     private final FilteredList<Log> filteredLogList;
 
+    /**
+     * The IDs of the logs of each person, keyed by person ID and ordered by start date, then log ID.
+     * Each log is listed under both its volunteer and its befriendee.
+     */
+    private final IntListMultimap logIdsByPerson = new IntListMultimap();
+
+    /**
+     * All logs, ordered by start date, then log ID.
+     * A log must be removed before its start date is changed, as the set finds it by its start date.
+     */
+    private final NavigableSet<Log> logsByStartDate = new TreeSet<>(START_DATE_ORDER);
+
+    /**
+     * The words of the titles and remarks of all logs.
+     * Replaced as a whole when logs are read from storage together with their index.
+     */
+    private LogTextIndex logTextIndex = new LogTextIndex();
+
+    /**
+     * True while adding logs whose words are already in {@code logTextIndex}.
+     */
+    private boolean isAddingIndexedLogs;
+
+    /**
+     * The IDs of logs that were added, edited or removed since the last call to {@link #clearChangedIds()}.
+     */
+    private final Set<Integer> changedIds = new HashSet<>();
+
     /**
      * The sequence number that determines the ID of the next log to be added.
      */
@@ -39,28 +87,23 @@ public class LogStore implements ReadOnlyLogStore {
         this.logIdSequence = 0;
 
         this.logs = FXCollections.observableHashMap();
-        this.normalisedLogsByPerson = FXCollections.observableHashMap();
 
         this.logList = FXCollections.observableArrayList();
         this.filteredLogList = new FilteredList<>(logList);
 
         // Binds the backing Map to:
         // - The main ObservableList of logs
-        // - The normalised map of logs by person
+        // - The indexes of logs by person, by start date and by text
+        // - The record of changed log IDs
         MapChangeListener<? super Integer, ? super Log> listener = change -> {
+            changedIds.add(change.getKey());
             if (change.wasRemoved()) {
                 logList.remove(change.getValueRemoved());
-                deepRemoveId(normalisedLogsByPerson, change.getValueRemoved().getVolunteerId(),
-                    change.getValueRemoved().getLogId());
-                deepRemoveId(normalisedLogsByPerson, change.getValueRemoved().getBefriendeeId(),
-                    change.getValueRemoved().getLogId());
+                unindexLog(change.getValueRemoved());
             }
             if (change.wasAdded()) {
                 logList.add(change.getValueAdded());
-                deepAddId(normalisedLogsByPerson, change.getValueAdded().getVolunteerId(),
-                    change.getValueAdded().getLogId());
-                deepAddId(normalisedLogsByPerson, change.getValueAdded().getBefriendeeId(),
-                    change.getValueAdded().getLogId());
+                indexLog(change.getValueAdded());
             }
         };
         logs.addListener(listener);
@@ -92,13 +135,21 @@ public class LogStore implements ReadOnlyLogStore {
         return filteredLogList;
     }
 
-    @Override
+    /**
+     * Updates the filter of the filtered log list to filter by the given {@code predicate}.
+     * Predicate&lt;Log&gt; filters are independent of PersonID filters.
+     * @throws NullPointerException if {@code predicate} is null.
+     */
     public void updateFilteredLogList(Predicate<Log> predicate) {
         requireNonNull(predicate);
         filteredLogList.setPredicate(predicate);
     }
 
-    @Override
+    /**
+     * Updates the log list to filter by the given {@code personId}.
+     * Supply null to reset the filter.
+     * This filter will persist for all filtering done with {@link LogStore#updateFilteredLogList}.
+     */
     public void updateFilteredLogListByPersonId(Integer personId) {
         // Reset when no filter is applied
         if (personId == null) {
@@ -107,19 +158,80 @@ public class LogStore implements ReadOnlyLogStore {
         }
 
         // Filter by personId
-        logList.clear();
+        List<Log> personLogs = new ArrayList<>(logIdsByPerson.size(personId));
+        logIdsByPerson.forEach(personId, logId -> {
+            Log log = logs.get(logId);
+            if (log != null) {
+                personLogs.add(log);
+            }
+        });
+        logList.setAll(personLogs);
+    }
 
-        // if logs do not exist
-        if (normalisedLogsByPerson.get(personId) == null || normalisedLogsByPerson.get(personId).isEmpty()) {
+    /**
+     * Updates the log list to the logs that start from {@code from} inclusive to {@code until} exclusive, in order of
+     * start date. Only logs of the given {@code personId} are kept, unless it is null.
+     * Takes time logarithmic in the number of logs stored, plus linear in the number of logs found.
+     */
+    public void updateFilteredLogListByStartDate(Integer personId, Date from, Date until) {
+        requireNonNull(from);
+        requireNonNull(until);
+
+        // Filter all logs by start date
+        if (personId == null) {
+            logList.setAll(logsByStartDate.subSet(startOf(from), true, startOf(until), false));
             return;
         }
 
-        normalisedLogsByPerson.get(personId).forEach(logId -> {
+        // Filter the logs of personId by start date
+        List<Log> personLogs = new ArrayList<>();
+        logIdsByPerson.forEachInRange(personId, from.getTime(), until.getTime(), logId -> {
             Log log = logs.get(logId);
             if (log != null) {
-                logList.add(log);
+                personLogs.add(log);
             }
         });
+        logList.setAll(personLogs);
+    }
+
+    /**
+     * Updates the log list to the logs whose titles or remarks match {@code query}, in order of log ID.
+     * Looks up each term of the query in a full-text index, instead of testing every log against the query.
+     */
+    public void updateFilteredLogListBySearch(LogSearchQuery query) {
+        requireNonNull(query);
+        BitSet ids = logTextIndex.search(query);
+        List<Log> matchingLogs = new ArrayList<>(ids.cardinality());
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            matchingLogs.add(logs.get(id));
+        }
+        logList.setAll(matchingLogs);
+    }
+
+    /**
+     * Returns a log that sorts before all logs starting at or after {@code date}, and after all logs starting before
+     * it, to bound ranges of {@code logsByStartDate}.
+     */
+    private static Log startOf(Date date) {
+        return new Log(Integer.MIN_VALUE, "", Log.PLACEHOLDER_ID, Log.PLACEHOLDER_ID, 0, date, "");
+    }
+
+    private void indexLog(Log log) {
+        long startTime = log.getStartTime();
+        logIdsByPerson.put(log.getVolunteerId(), startTime, log.getLogId());
+        logIdsByPerson.put(log.getBefriendeeId(), startTime, log.getLogId());
+        logsByStartDate.add(log);
+        if (!isAddingIndexedLogs) {
+            logTextIndex.add(log);
+        }
+    }
+
+    private void unindexLog(Log log) {
+        long startTime = log.getStartTime();
+        logIdsByPerson.remove(log.getVolunteerId(), startTime, log.getLogId());
+        logIdsByPerson.remove(log.getBefriendeeId(), startTime, log.getLogId());
+        logsByStartDate.remove(log);
+        logTextIndex.remove(log);
     }
 
     /**
@@ -143,6 +255,43 @@ public class LogStore implements ReadOnlyLogStore {
         setLogList(newData.getLogList());
     }
 
+    /**
+     * Applies the log-level {@code changes} to the store, and sets the {@code logIdSequence}.
+     * Each ID in {@code changes} is mapped to the log that should have that ID, or to null if no log should have
+     * that ID. Logs with IDs not in {@code changes} are left untouched.
+     */
+    public void applyChanges(Map<Integer, Log> changes, int logIdSequence) {
+        requireNonNull(changes);
+        changes.forEach((id, log) -> {
+            if (log == null) {
+                logs.remove(id);
+            } else {
+                logs.put(id, log);
+            }
+        });
+        this.logIdSequence = logIdSequence;
+    }
+
+    public int getLogIdSequence() {
+        return logIdSequence;
+    }
+
+    //// Change tracking
+
+    /**
+     * Returns the IDs of logs that were added, edited or removed since the last call to {@link #clearChangedIds()}.
+     */
+    public Set<Integer> getChangedIds() {
+        return Collections.unmodifiableSet(changedIds);
+    }
+
+    /**
+     * Clears the record of logs changed so far.
+     */
+    public void clearChangedIds() {
+        changedIds.clear();
+    }
+
     //// Log-level CRUD operations
 
     /**
@@ -180,6 +329,32 @@ public class LogStore implements ReadOnlyLogStore {
         }
     }
 
+    /**
+     * Returns the index of the words of the titles and remarks of the logs in the store, such as for writing it to
+     * storage. The index must not be modified.
+     */
+    public LogTextIndex getLogTextIndex() {
+        return logTextIndex;
+    }
+
+    /**
+     * Adds existing logs read from storage, whose words are indexed by {@code logTextIndex} already, and makes it the
+     * index of the words of the store. {@code logTextIndex} must index exactly these logs and the logs already in the
+     * store, such as when logs read from storage are added in several batches sharing one index built ahead of time.
+     */
+    public void addIndexedLogs(List<Log> newLogs, LogTextIndex logTextIndex) {
+        requireNonNull(newLogs);
+        requireNonNull(logTextIndex);
+
+        this.logTextIndex = logTextIndex;
+        isAddingIndexedLogs = true;
+        try {
+            newLogs.forEach(this::addLogWithId);
+        } finally {
+            isAddingIndexedLogs = false;
+        }
+    }
+
     @Override
     public Log getLogById(int logId) {
         return logs.get(logId);
@@ -203,26 +378,37 @@ public class LogStore implements ReadOnlyLogStore {
         logs.remove(idToRemove);
     }
 
+    //// Per-person log order
+
+    /**
+     * Returns the ID of the latest log of the person with {@code personId}, by start date then log ID, or an empty
+     * {@code Optional} if the person has no logs.
+     */
+    @Override
+    public Optional<Integer> getLatestLogId(int personId) {
+        return boxed(logIdsByPerson.last(personId));
+    }
+
     /**
-     * Adds a logId to the normalised map.
-     * Must replace the entire list to trigger the listener.
+     * Returns the ID of the log of the person with {@code personId} that comes just before {@code log}, by start date
+     * then log ID, or an empty {@code Optional} if there is none.
      */
-    private void deepAddId(ObservableMap<Integer, ArrayList<Integer>> map, int key, int value) {
-        ArrayList<Integer> oldList = map.getOrDefault(key, new ArrayList<>());
-        ArrayList<Integer> temp = new ArrayList<>(oldList);
-        temp.add(value);
-        map.put(key, temp);
+    public Optional<Integer> getPreviousLogId(int personId, Log log) {
+        requireNonNull(log);
+        return boxed(logIdsByPerson.lower(personId, log.getStartTime(), log.getLogId()));
     }
 
     /**
-     * Removes a logId from the normalised map.
-     * Must replace the entire list to trigger the listener.
+     * Returns the ID of the log of the person with {@code personId} that comes just after {@code log}, by start date
+     * then log ID, or an empty {@code Optional} if there is none.
      */
-    private void deepRemoveId(ObservableMap<Integer, ArrayList<Integer>> map, int key, Integer value) {
-        ArrayList<Integer> oldList = map.getOrDefault(key, new ArrayList<>());
-        ArrayList<Integer> temp = new ArrayList<>(oldList);
-        temp.remove(value);
-        map.put(key, temp);
+    public Optional<Integer> getNextLogId(int personId, Log log) {
+        requireNonNull(log);
+        return boxed(logIdsByPerson.higher(personId, log.getStartTime(), log.getLogId()));
+    }
+
+    private static Optional<Integer> boxed(OptionalInt logId) {
+        return logId.isPresent() ? Optional.of(logId.getAsInt()) : Optional.empty();
     }
 
     //// Overrides
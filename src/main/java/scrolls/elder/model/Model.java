@@ -1,12 +1,14 @@
 package scrolls.elder.model;
 
 import java.nio.file.Path;
+import java.util.List;
 import java.util.function.Predicate;
 
 import com.sun.jdi.request.InvalidRequestStateException;
 
 import scrolls.elder.commons.core.GuiSettings;
 import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
 import scrolls.elder.model.person.Person;
 
 /**
@@ -65,6 +67,11 @@ public interface Model {
      */
     Datastore getMutableDatastore();
 
+    /**
+     * Returns an immutable snapshot of the Datastore as of the last commit, undo or redo.
+     */
+    DatastoreSnapshot getDatastoreSnapshot();
+
     /**
      * Replaces Datastore with the data in {@code datastore}.
      */
@@ -75,6 +82,14 @@ public interface Model {
      */
     DatastoreVersionStorage getDatastoreVersionStorage();
 
+    /**
+     * Adds {@code logs}, which were read from storage after the datastore was given to the model, to the datastore.
+     * Adding them is not a change of the datastore: it is neither saved nor undoable.
+     * {@code logTextIndex} is an index of the words of all logs read from storage, built ahead of time, or null if the
+     * words of {@code logs} are to be indexed as they are added.
+     */
+    void addLoadedLogs(List<Log> logs, LogTextIndex logTextIndex);
+
     /**
      * Commits Datastore to the DatastoreVersionStorage with the cuurent data in {@code datastore}.
      */
@@ -82,15 +97,28 @@ public interface Model {
 
     /**
      * Reverts the datastore to its previous state immediately before the current datastore state.
+     * @return false if the changes to undo could no longer be read, in which case the datastore is unchanged.
      * @throws InvalidRequestStateException If there are no changes to undo.
      */
-    void undoChanges();
+    boolean undoChanges();
 
     /**
      * Reverses the effects of the most recent undo operation.
+     * @return false if the changes to redo could no longer be read, in which case the datastore is unchanged.
      * @throws InvalidRequestStateException If there are no undo operations to reverse.
      */
-    void redoChanges();
+    boolean redoChanges();
+
+    /**
+     * Returns the changes committed, undone or redone since the last call to {@link #clearUnsavedChanges()},
+     * in the order they were applied to the datastore.
+     */
+    List<DatastoreChange> getUnsavedChanges();
+
+    /**
+     * Marks all changes to the datastore so far as saved.
+     */
+    void clearUnsavedChanges();
 
     /**
      * Returns a boolean value on whether undo operations can be carried out on the current datastore.
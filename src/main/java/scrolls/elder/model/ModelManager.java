@@ -3,11 +3,17 @@ package scrolls.elder.model;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import scrolls.elder.commons.core.GuiSettings;
 import scrolls.elder.commons.core.LogsCenter;
 import scrolls.elder.commons.util.CollectionUtil;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
 
 /**
  * Represents the in-memory model of the address book data.
@@ -18,18 +24,31 @@ public class ModelManager implements Model {
     private final UserPrefs userPrefs;
     private final Datastore datastore;
     private final DatastoreVersionStorage datastoreVersionStorage;
+    private final List<DatastoreChange> unsavedChanges = new ArrayList<>();
 
     /**
      * Initializes a ModelManager with the given addressBook and userPrefs.
+     * The undo history is kept in memory.
      */
     public ModelManager(ReadOnlyDatastore datastore, ReadOnlyUserPrefs userPrefs) {
+        this(datastore, userPrefs, null);
+    }
+
+    /**
+     * Initializes a ModelManager with the given datastore and userPrefs.
+     * Undo history beyond the most recent {@code userPrefs#getMaxHotUndoVersions()} versions is evicted to
+     * {@code undoHistorySpill}, unless it is null.
+     */
+    public ModelManager(ReadOnlyDatastore datastore, ReadOnlyUserPrefs userPrefs,
+            DatastoreChangeSpill undoHistorySpill) {
         CollectionUtil.requireAllNonNull(datastore, userPrefs);
 
         logger.fine("Initializing with datastore: " + datastore + " and user prefs " + userPrefs);
 
         this.datastore = new Datastore(datastore);
         this.userPrefs = new UserPrefs(userPrefs);
-        this.datastoreVersionStorage = new DatastoreVersionStorage(this.datastore);
+        this.datastoreVersionStorage = new DatastoreVersionStorage(this.datastore,
+                userPrefs.getMaxHotUndoVersions(), undoHistorySpill);
     }
 
     /**
@@ -85,6 +104,11 @@ public class ModelManager implements Model {
         return datastore;
     }
 
+    @Override
+    public DatastoreSnapshot getDatastoreSnapshot() {
+        return datastoreVersionStorage.getCurrentSnapshot();
+    }
+
     @Override
     public void setDatastore(ReadOnlyDatastore d) {
         datastore.resetData(d);
@@ -95,25 +119,61 @@ public class ModelManager implements Model {
         return datastoreVersionStorage;
     }
 
+    @Override
+    public void addLoadedLogs(List<Log> logs, LogTextIndex logTextIndex) {
+        requireNonNull(logs);
+
+        LogStore logStore = datastore.getMutableLogStore();
+        if (logTextIndex == null) {
+            logs.forEach(logStore::addLogWithId);
+        } else {
+            logStore.addIndexedLogs(logs, logTextIndex);
+        }
+        datastoreVersionStorage.amendCurrentVersion(datastore);
+    }
+
     @Override
     public void commitDatastore() {
-        this.datastoreVersionStorage.commitDatastore(this.datastore);
+        DatastoreChange change = this.datastoreVersionStorage.commitDatastore(this.datastore);
+        if (!change.isEmpty()) {
+            unsavedChanges.add(change);
+        }
     }
 
     @Override
-    public void undoChanges() {
+    public boolean undoChanges() {
         assert this.datastoreVersionStorage.canUndo() : "Undo command cannot be carried out";
 
-        ReadOnlyDatastore prevDatastore = this.datastoreVersionStorage.executeUndo();
-        this.setDatastore(prevDatastore);
+        Optional<DatastoreChange> undoChange = this.datastoreVersionStorage.executeUndo();
+        if (undoChange.isEmpty()) {
+            return false;
+        }
+        this.datastore.applyChange(undoChange.get());
+        unsavedChanges.add(undoChange.get());
+        return true;
     }
 
     @Override
-    public void redoChanges() {
+    public boolean redoChanges() {
         assert this.datastoreVersionStorage.canRedo() : "Redo command cannot be carried out";
 
-        ReadOnlyDatastore nextDatastore = this.datastoreVersionStorage.executeRedo();
-        this.setDatastore(nextDatastore);
+        Optional<DatastoreChange> redoChange = this.datastoreVersionStorage.executeRedo();
+        if (redoChange.isEmpty()) {
+            return false;
+        }
+        this.datastore.applyChange(redoChange.get());
+        unsavedChanges.add(redoChange.get());
+        return true;
+    }
+
+    @Override
+    public List<DatastoreChange> getUnsavedChanges() {
+        return Collections.unmodifiableList(new ArrayList<>(unsavedChanges));
+    }
+
+    @Override
+    public void clearUnsavedChanges() {
+        unsavedChanges.clear();
     }
 
     @Override
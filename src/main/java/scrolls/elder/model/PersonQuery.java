@@ -0,0 +1,94 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import scrolls.elder.commons.util.ToStringBuilder;
+import scrolls.elder.model.person.Role;
+import scrolls.elder.model.tag.Tag;
+
+/**
+ * Represents a search for persons as a set of structured conditions, all of which a person must satisfy.
+ * Keeping the conditions structured, rather than folded into a single predicate, lets {@link PersonStore} answer
+ * them from its indexes. An absent or empty condition matches every person.
+ *
+ * @see PersonStore#planQuery(PersonQuery)
+ */
+public class PersonQuery {
+
+    private final List<String> nameKeywords;
+    private final Set<Tag> tags;
+    private final Optional<Role> role;
+    private final Optional<Boolean> isPaired;
+
+    /**
+     * Creates a query for persons whose names contain any of the {@code nameKeywords}, who carry any of the
+     * {@code tags}, who have the {@code role} if present, and whose pairing status is {@code isPaired} if present.
+     */
+    public PersonQuery(List<String> nameKeywords, Set<Tag> tags, Optional<Role> role, Optional<Boolean> isPaired) {
+        requireNonNull(nameKeywords);
+        requireNonNull(tags);
+        requireNonNull(role);
+        requireNonNull(isPaired);
+        this.nameKeywords = Collections.unmodifiableList(new ArrayList<>(nameKeywords));
+        this.tags = Collections.unmodifiableSet(new HashSet<>(tags));
+        this.role = role;
+        this.isPaired = isPaired;
+    }
+
+    public List<String> getNameKeywords() {
+        return nameKeywords;
+    }
+
+    public Set<Tag> getTags() {
+        return tags;
+    }
+
+    public Optional<Role> getRole() {
+        return role;
+    }
+
+    public Optional<Boolean> getIsPaired() {
+        return isPaired;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof PersonQuery)) {
+            return false;
+        }
+
+        PersonQuery otherPersonQuery = (PersonQuery) other;
+        return nameKeywords.equals(otherPersonQuery.nameKeywords)
+                && tags.equals(otherPersonQuery.tags)
+                && role.equals(otherPersonQuery.role)
+                && isPaired.equals(otherPersonQuery.isPaired);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(nameKeywords, tags, role, isPaired);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .add("nameKeywords", nameKeywords)
+                .add("tags", tags)
+                .add("role", role)
+                .add("isPaired", isPaired)
+                .toString();
+    }
+}
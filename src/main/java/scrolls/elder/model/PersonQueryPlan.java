@@ -0,0 +1,107 @@
+package scrolls.elder.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+import scrolls.elder.model.person.Person;
+
+/**
+ * The plan chosen by {@link PersonStore#planQuery(PersonQuery)} to answer a {@code PersonQuery}.
+ * Indexed conditions are resolved first, in the order of their estimated selectivity, into a set of candidate person
+ * IDs. Conditions without an index are then checked as a residual predicate on the candidates only.
+ * The candidates reflect the store when the plan was made, and are only used to explain the plan. The predicate of
+ * the plan instead checks every condition on the person itself, and stays correct as persons are added or edited.
+ */
+public class PersonQueryPlan {
+
+    public static final String MESSAGE_PLAN_HEADER = "Query plan over %1$d persons:";
+    public static final String MESSAGE_INDEX_STEP = "%1$d. %2$s: %3$d candidates, %4$d remaining";
+    public static final String MESSAGE_INDEX_STEP_SKIPPED = "%1$d. %2$s: skipped, no candidates remaining";
+    public static final String MESSAGE_RESIDUAL_STEP = "%1$d. check %2$s on each remaining person";
+
+    private final int storeSize;
+    private final List<String> steps = new ArrayList<>();
+
+    /** IDs of the persons that satisfy all indexed conditions, or null if no indexed condition was resolved. */
+    private BitSet candidateIds;
+    private Predicate<Person> indexedPredicate = unused -> true;
+    private Predicate<Person> residualPredicate = unused -> true;
+
+    PersonQueryPlan(int storeSize) {
+        this.storeSize = storeSize;
+    }
+
+    /**
+     * Narrows the candidates down to those among {@code matchingIds}, which satisfy the indexed condition described by
+     * {@code description}. The {@code condition} checks the same condition on a single person.
+     */
+    void intersectCandidates(String description, BitSet matchingIds, Predicate<Person> condition) {
+        requireNonNull(description);
+        requireNonNull(matchingIds);
+        requireNonNull(condition);
+        indexedPredicate = indexedPredicate.and(condition);
+
+        if (candidateIds == null) {
+            candidateIds = (BitSet) matchingIds.clone();
+        } else {
+            candidateIds.and(matchingIds);
+        }
+        steps.add(String.format(MESSAGE_INDEX_STEP,
+                steps.size() + 1, description, matchingIds.cardinality(), candidateIds.cardinality()));
+    }
+
+    /**
+     * Records that the indexed condition described by {@code description} was not resolved, as no candidates remain.
+     * The {@code condition} checks the same condition on a single person.
+     */
+    void skipIndexedCondition(String description, Predicate<Person> condition) {
+        requireNonNull(description);
+        requireNonNull(condition);
+        indexedPredicate = indexedPredicate.and(condition);
+        steps.add(String.format(MESSAGE_INDEX_STEP_SKIPPED, steps.size() + 1, description));
+    }
+
+    /**
+     * Adds the unindexed condition described by {@code description}, to be checked on each remaining candidate.
+     */
+    void addResidualCondition(String description, Predicate<Person> condition) {
+        requireNonNull(description);
+        requireNonNull(condition);
+        residualPredicate = residualPredicate.and(condition);
+        steps.add(String.format(MESSAGE_RESIDUAL_STEP, steps.size() + 1, description));
+    }
+
+    /**
+     * Returns true if no person in the store could satisfy the query when it was planned, without checking any
+     * residual condition.
+     */
+    public boolean hasNoCandidates() {
+        return candidateIds != null && candidateIds.isEmpty();
+    }
+
+    /**
+     * Returns a predicate that tests whether a person satisfies the query, by checking each condition on the person.
+     * Unlike the candidates, it stays correct for persons added or edited after the query was planned, so it can be
+     * kept as a filter.
+     */
+    public Predicate<Person> asPredicate() {
+        return indexedPredicate.and(residualPredicate);
+    }
+
+    /**
+     * Returns a description of the steps of the plan and the number of candidates at each step, for display to the
+     * user.
+     */
+    public String explain() {
+        StringBuilder builder = new StringBuilder(String.format(MESSAGE_PLAN_HEADER, storeSize));
+        if (steps.isEmpty()) {
+            builder.append("\n").append("(no conditions, all persons match)");
+        }
+        steps.forEach(step -> builder.append("\n").append(step));
+        return builder.toString();
+    }
+}
@@ -2,16 +2,28 @@ package scrolls.elder.model;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import scrolls.elder.commons.util.ToStringBuilder;
 import scrolls.elder.model.person.Name;
+import scrolls.elder.model.person.NameContainsKeywordsPredicate;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.model.person.PersonFactory;
+import scrolls.elder.model.person.TagListContainsTagsPredicate;
 import scrolls.elder.model.person.UniquePersonList;
+import scrolls.elder.model.tag.Tag;
 
 /**
  * Wraps all data for all persons stored.
@@ -22,20 +34,20 @@ public class PersonStore implements ReadOnlyPersonStore {
     private static final Predicate<Person> PREDICATE_SHOW_ALL_PERSONS = unused -> true;
     private final UniquePersonList persons;
     private int personIdSequence;
-    private final FilteredList<Person> filteredPersons;
-    private final FilteredList<Person> filteredVolunteers;
-    private final FilteredList<Person> filteredBefriendees;
+    private final FilteredPersonViews filteredPersonViews;
+
+    /**
+     * The IDs of persons that were added, edited or removed since the last call to {@link #clearChangedIds()}.
+     */
+    private final Set<Integer> changedIds = new HashSet<>();
+
     /**
      * Creates an empty PersonStore.
      */
     public PersonStore() {
         this.personIdSequence = 0;
         this.persons = new UniquePersonList();
-
-        ObservableList<Person> personList = persons.asUnmodifiableObservableList();
-        filteredPersons = new FilteredList<>(personList);
-        filteredVolunteers = new FilteredList<>(personList, person -> person.isVolunteer());
-        filteredBefriendees = new FilteredList<>(personList, person -> !(person.isVolunteer()));
+        this.filteredPersonViews = new FilteredPersonViews(persons.asUnmodifiableObservableList());
     }
 
     /**
@@ -55,53 +67,64 @@ public class PersonStore implements ReadOnlyPersonStore {
 
     @Override
     public ObservableList<Person> getFilteredPersonList() {
-        return filteredPersons;
+        return filteredPersonViews.getFilteredPersons();
     }
 
     @Override
     public ObservableList<Person> getFilteredVolunteerList() {
-        return filteredVolunteers;
+        return filteredPersonViews.getFilteredVolunteers();
     }
 
     @Override
     public ObservableList<Person> getFilteredBefriendeeList() {
-        return filteredBefriendees;
+        return filteredPersonViews.getFilteredBefriendees();
     }
 
-    @Override
+    /**
+     * Updates the filter of the filtered person list to filter by the given {@code predicate}.
+     * @throws NullPointerException if {@code predicate} is null.
+     */
     public void updateFilteredPersonList(Predicate<Person> predicate) {
         requireNonNull(predicate);
-        filteredPersons.setPredicate(predicate);
-        filteredVolunteers.setPredicate(person -> predicate.test(person) && person.isVolunteer());
-        filteredBefriendees.setPredicate(person -> predicate.test(person) && person.isBefriendee());
+        filteredPersonViews.setPredicate(predicate);
     }
 
-    @Override
+    /**
+     * Updates the filter of the filtered volunteer list to filter by the given {@code predicate}.
+     * Befriendee list is not filtered.
+     * @throws NullPointerException if {@code predicate} is null.
+     */
     public void updateFilteredVolunteerList(Predicate<Person> predicate) {
         requireNonNull(predicate);
-
-        // Only apply predicate to volunteers
-        filteredPersons.setPredicate(person -> person.isBefriendee() || predicate.test(person));
-        filteredVolunteers.setPredicate(person -> predicate.test(person) && person.isVolunteer());
+        filteredPersonViews.setVolunteerPredicate(predicate);
     }
 
-    @Override
+    /**
+     * Updates the filter of the filtered befriendee list to filter by the given {@code predicate}.
+     * Volunteer list is not filtered.
+     * @throws NullPointerException if {@code predicate} is null.
+     */
     public void updateFilteredBefriendeeList(Predicate<Person> predicate) {
         requireNonNull(predicate);
-
-        // Only apply predicate to befriendees
-        filteredPersons.setPredicate(person -> predicate.test(person) || person.isVolunteer());
-        filteredBefriendees.setPredicate(person -> predicate.test(person) && person.isBefriendee());
+        filteredPersonViews.setBefriendeePredicate(predicate);
     }
 
-
-
     /**
      * Replaces the contents of the person list with {@code persons}.
      * {@code persons} must not contain duplicate persons.
+     * Implicitly sets the {@code personIdSequence} to the maximum ID in {@code persons} plus one.
      */
     public void setPersonList(List<Person> persons) {
+        this.persons.forEach(person -> changedIds.add(person.getPersonId()));
         this.persons.setPersons(persons);
+        persons.forEach(person -> changedIds.add(person.getPersonId()));
+
+        this.personIdSequence = persons
+                .stream()
+                .map(Person::getPersonId)
+                .max(Integer::compare)
+                .map(max -> max + 1)
+                .orElse(0);
     }
 
     /**
@@ -111,16 +134,61 @@ public class PersonStore implements ReadOnlyPersonStore {
     public void resetData(ReadOnlyPersonStore newData) {
         requireNonNull(newData);
 
-        this.personIdSequence = newData.getPersonList()
-                .stream()
-                .map(Person::getPersonId)
-                .max(Integer::compare)
-                .map(max -> max + 1)
-                .orElse(0);
         setPersonList(newData.getPersonList());
         updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
     }
 
+    /**
+     * Applies the person-level {@code changes} to the store, and sets the {@code personIdSequence}.
+     * Each ID in {@code changes} is mapped to the person that should have that ID, or to null if no person should
+     * have that ID. Persons with IDs not in {@code changes} are left untouched.
+     */
+    public void applyChanges(Map<Integer, Person> changes, int personIdSequence) {
+        requireNonNull(changes);
+
+        // Removals are applied first, so that a person added back may take the name of a removed person
+        changes.forEach((id, person) -> {
+            if (person == null && persons.containsId(id)) {
+                persons.remove(persons.getPersonFromID(id));
+                changedIds.add(id);
+            }
+        });
+        changes.forEach((id, person) -> {
+            if (person != null && persons.containsId(id)) {
+                persons.setPerson(persons.getPersonFromID(id), person);
+                changedIds.add(id);
+            }
+        });
+        changes.forEach((id, person) -> {
+            if (person != null && !persons.containsId(id)) {
+                persons.addInIdOrder(person);
+                changedIds.add(id);
+            }
+        });
+
+        this.personIdSequence = personIdSequence;
+    }
+
+    public int getPersonIdSequence() {
+        return personIdSequence;
+    }
+
+    //// Change tracking
+
+    /**
+     * Returns the IDs of persons that were added, edited or removed since the last call to {@link #clearChangedIds()}.
+     */
+    public Set<Integer> getChangedIds() {
+        return Collections.unmodifiableSet(changedIds);
+    }
+
+    /**
+     * Clears the record of persons changed so far.
+     */
+    public void clearChangedIds() {
+        changedIds.clear();
+    }
+
     //// Person-level CRUD operations
 
     /**
@@ -131,13 +199,91 @@ public class PersonStore implements ReadOnlyPersonStore {
         return persons.contains(person);
     }
 
+    @Override
+    public boolean hasPersonWithId(int id) {
+        return persons.containsId(id);
+    }
+
     /**
      * Returns the person with the given ID.
      */
+    @Override
     public Person getPersonFromID(int id) {
         return persons.getPersonFromID(id);
     }
 
+    /**
+     * Returns a plan that answers the {@code query} from the store's indexes.
+     * The indexed conditions are ordered by an estimate of the number of persons satisfying each, read from the sizes
+     * of the index entries, and are resolved into the IDs of those persons in that order. Once no candidates remain,
+     * the remaining indexed conditions are not resolved at all. Conditions without an index are left to be checked on
+     * the remaining candidates only.
+     */
+    public PersonQueryPlan planQuery(PersonQuery query) {
+        requireNonNull(query);
+
+        List<IndexedCondition> indexedConditions = new ArrayList<>();
+        if (!query.getNameKeywords().isEmpty()) {
+            indexedConditions.add(new IndexedCondition("name index " + String.join(" ", query.getNameKeywords()),
+                    persons.estimateIdsWithNameContainingAny(query.getNameKeywords()), () -> {
+                        BitSet ids = new BitSet();
+                        getIdsWithNameContainingAny(query.getNameKeywords()).stream()
+                                .filter(id -> id >= 0)
+                                .forEach(ids::set);
+                        return ids;
+                    }, new NameContainsKeywordsPredicate(query.getNameKeywords())));
+        }
+        if (!query.getTags().isEmpty()) {
+            String tags = query.getTags().stream().map(Tag::toString).sorted().collect(Collectors.joining(" "));
+            indexedConditions.add(new IndexedCondition("tag index " + tags,
+                    persons.estimateIdsWithAnyTag(query.getTags()), () -> getIdsWithAnyTag(query.getTags()),
+                    new TagListContainsTagsPredicate(query.getTags())));
+        }
+
+        PersonQueryPlan plan = new PersonQueryPlan(persons.asUnmodifiableObservableList().size());
+        indexedConditions.sort(Comparator.comparingInt(condition -> condition.estimate));
+        for (IndexedCondition condition : indexedConditions) {
+            if (plan.hasNoCandidates()) {
+                plan.skipIndexedCondition(condition.description, condition.predicate);
+            } else {
+                plan.intersectCandidates(condition.description, condition.resolver.get(), condition.predicate);
+            }
+        }
+
+        query.getRole().ifPresent(role -> plan.addResidualCondition("role " + role,
+                person -> person.getRole().equals(role)));
+        query.getIsPaired().ifPresent(isPaired -> plan.addResidualCondition(isPaired ? "paired" : "unpaired",
+                person -> person.isPaired() == isPaired));
+        return plan;
+    }
+
+    /**
+     * Returns the IDs of persons whose names contain any of the {@code keywords} as a full word, ignoring case.
+     * Resolved from an index of name words, without a scan of the persons in the store.
+     */
+    public Set<Integer> getIdsWithNameContainingAny(Collection<String> keywords) {
+        return persons.getIdsWithNameContainingAny(keywords);
+    }
+
+    /**
+     * Returns the IDs of persons carrying any of the {@code tags}.
+     * Resolved from an index of tags, without a scan of the persons in the store.
+     */
+    public BitSet getIdsWithAnyTag(Collection<Tag> tags) {
+        return persons.getIdsWithAnyTag(tags);
+    }
+
+    /**
+     * Returns, for each tag carried by at least one of the given {@code matchedPersons}, the number of those persons
+     * carrying it.
+     */
+    public Map<Tag, Integer> getTagCounts(List<Person> matchedPersons) {
+        requireNonNull(matchedPersons);
+        BitSet ids = new BitSet();
+        matchedPersons.forEach(person -> ids.set(person.getPersonId()));
+        return persons.getTagCounts(ids);
+    }
+
     /**
      * Returns the person's name with the given ID.
      */
@@ -154,6 +300,7 @@ public class PersonStore implements ReadOnlyPersonStore {
     public void addPerson(Person p) {
         Person withId = PersonFactory.withIdFromPerson(personIdSequence, p);
         persons.add(withId);
+        changedIds.add(personIdSequence);
         personIdSequence++;
     }
 
@@ -163,6 +310,7 @@ public class PersonStore implements ReadOnlyPersonStore {
      */
     public void addPersonWithId(Person p) {
         persons.add(p);
+        changedIds.add(p.getPersonId());
         if (p.getPersonId() >= personIdSequence) {
             personIdSequence = p.getPersonId() + 1;
         }
@@ -177,6 +325,7 @@ public class PersonStore implements ReadOnlyPersonStore {
         requireNonNull(editedPerson);
         Person withId = PersonFactory.withIdFromPerson(target.getPersonId(), editedPerson);
         persons.setPerson(target, withId);
+        changedIds.add(target.getPersonId());
     }
 
     /**
@@ -185,6 +334,7 @@ public class PersonStore implements ReadOnlyPersonStore {
      */
     public void removePerson(Person key) {
         persons.remove(key);
+        changedIds.add(key.getPersonId());
     }
 
     //// Util methods
@@ -215,4 +365,22 @@ public class PersonStore implements ReadOnlyPersonStore {
     public int hashCode() {
         return persons.hashCode();
     }
+
+    /**
+     * A condition of a query that can be answered from an index, the estimated number of persons satisfying it, and a
+     * predicate checking it on a single person.
+     */
+    private static class IndexedCondition {
+        private final String description;
+        private final int estimate;
+        private final Supplier<BitSet> resolver;
+        private final Predicate<Person> predicate;
+
+        IndexedCondition(String description, int estimate, Supplier<BitSet> resolver, Predicate<Person> predicate) {
+            this.description = description;
+            this.estimate = estimate;
+            this.resolver = resolver;
+            this.predicate = predicate;
+        }
+    }
 }
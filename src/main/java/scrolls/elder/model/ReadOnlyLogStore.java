@@ -1,6 +1,6 @@
 package scrolls.elder.model;
 
-import java.util.function.Predicate;
+import java.util.Optional;
 
 import javafx.collections.ObservableList;
 import scrolls.elder.model.log.Log;
@@ -30,13 +30,6 @@ public interface ReadOnlyLogStore {
      */
     ObservableList<Log> getFilteredLogList();
 
-    /**
-     * Updates the filter of the filtered log list to filter by the given {@code predicate}.
-     * Predicate&lt;Log&gt; filters are independent of PersonID filters.
-     * @throws NullPointerException if {@code predicate} is null.
-     */
-    void updateFilteredLogList(Predicate<Log> predicate);
-
     /**
      * Returns the log with the given ID.
      * {@code logId} must exist in the store.
@@ -44,10 +37,9 @@ public interface ReadOnlyLogStore {
     Log getLogById(int logId);
 
     /**
-     * Updates the log list to filter by the given {@code personId}.
-     * Supply null to reset the filter.
-     * This filter will persist for all filtering done with {@link LogStore#updateFilteredLogList}.
+     * Returns the ID of the latest log of the person with {@code personId}, by start date then log ID, or an empty
+     * {@code Optional} if the person has no logs.
      */
-    void updateFilteredLogListByPersonId(Integer personId);
+    Optional<Integer> getLatestLogId(int personId);
 
 }
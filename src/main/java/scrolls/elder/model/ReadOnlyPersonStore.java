@@ -18,44 +18,35 @@ public interface ReadOnlyPersonStore {
 
     /**
      * Returns an unmodifiable view of the filtered person list.
-     * To update this view, see {@link #updateFilteredPersonList(Predicate)}
+     * To update this view, see {@link PersonStore#updateFilteredPersonList(Predicate)}
      */
     ObservableList<Person> getFilteredPersonList();
 
     /**
      * Returns an unmodifiable view of the filtered volunteer list.
-     * To update this view, see {@link #updateFilteredPersonList(Predicate)}
+     * To update this view, see {@link PersonStore#updateFilteredPersonList(Predicate)}
      */
     ObservableList<Person> getFilteredVolunteerList();
 
     /**
      * Returns an unmodifiable view of the filtered befriendee list.
-     * To update this view, see {@link #updateFilteredPersonList(Predicate)}
+     * To update this view, see {@link PersonStore#updateFilteredPersonList(Predicate)}
      */
     ObservableList<Person> getFilteredBefriendeeList();
 
     /**
-     * Returns the name of the person in the list with the given id.
+     * Returns true if a person with the given id exists in the store.
      */
-    Name getNameFromID(int id);
+    boolean hasPersonWithId(int id);
 
     /**
-     * Updates the filter of the filtered person list to filter by the given {@code predicate}.
-     * @throws NullPointerException if {@code predicate} is null.
+     * Returns the person in the list with the given id.
+     * A person with the given id must exist in the store.
      */
-    void updateFilteredPersonList(Predicate<Person> predicate);
+    Person getPersonFromID(int id);
 
     /**
-     * Updates the filter of the filtered volunteer list to filter by the given {@code predicate}.
-     * Befriendee list is not filtered.
-     * @throws NullPointerException if {@code predicate} is null.
-     */
-    void updateFilteredVolunteerList(Predicate<Person> predicate);
-
-    /**
-     * Updates the filter of the filtered befriendee list to filter by the given {@code predicate}.
-     * Volunteer list is not filtered.
-     * @throws NullPointerException if {@code predicate} is null.
+     * Returns the name of the person in the list with the given id.
      */
-    void updateFilteredBefriendeeList(Predicate<Person> predicate);
+    Name getNameFromID(int id);
 }
@@ -2,6 +2,8 @@ package scrolls.elder.model;
 
 import java.nio.file.Path;
 
+import scrolls.elder.commons.core.DatastoreCompression;
+import scrolls.elder.commons.core.DatastoreFormat;
 import scrolls.elder.commons.core.GuiSettings;
 
 /**
@@ -13,4 +15,23 @@ public interface ReadOnlyUserPrefs {
 
     Path getDatastoreFilePath();
 
+    DatastoreFormat getDatastoreFormat();
+
+    /**
+     * Returns the compression json data files are saved with.
+     */
+    DatastoreCompression getDatastoreCompression();
+
+    /**
+     * Returns the number of most recent undo versions kept in memory.
+     * Older versions are evicted to disk.
+     */
+    int getMaxHotUndoVersions();
+
+    /**
+     * Returns true if the logs read at startup are kept in a memory-mapped columnar file next to the data file,
+     * instead of on the heap.
+     */
+    boolean isColumnarLogStore();
+
 }
@@ -8,15 +8,26 @@ import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import scrolls.elder.commons.core.DatastoreCompression;
+import scrolls.elder.commons.core.DatastoreFormat;
 import scrolls.elder.commons.core.GuiSettings;
+import scrolls.elder.commons.util.AppUtil;
 
 /**
  * Represents User's preferences.
  */
 public class UserPrefs implements ReadOnlyUserPrefs {
 
+    public static final int DEFAULT_MAX_HOT_UNDO_VERSIONS = 20;
+    public static final String MESSAGE_INVALID_MAX_HOT_UNDO_VERSIONS =
+            "At least 1 undo version must be kept in memory.";
+
     private GuiSettings guiSettings = new GuiSettings();
     private Path datastoreFilePath = Paths.get("data", "datastore.json");
+    private DatastoreFormat datastoreFormat = DatastoreFormat.JSON;
+    private DatastoreCompression datastoreCompression = DatastoreCompression.NONE;
+    private int maxHotUndoVersions = DEFAULT_MAX_HOT_UNDO_VERSIONS;
+    private boolean columnarLogStore = false;
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -38,6 +49,10 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         requireNonNull(newUserPrefs);
         setGuiSettings(newUserPrefs.getGuiSettings());
         setDatastoreFilePath(newUserPrefs.getDatastoreFilePath());
+        setDatastoreFormat(newUserPrefs.getDatastoreFormat());
+        setDatastoreCompression(newUserPrefs.getDatastoreCompression());
+        setMaxHotUndoVersions(newUserPrefs.getMaxHotUndoVersions());
+        setColumnarLogStore(newUserPrefs.isColumnarLogStore());
     }
 
     public GuiSettings getGuiSettings() {
@@ -63,6 +78,50 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.datastoreFilePath = datastoreFilePath;
     }
 
+    public DatastoreFormat getDatastoreFormat() {
+        return datastoreFormat;
+    }
+
+    public void setDatastoreFormat(DatastoreFormat datastoreFormat) {
+        requireNonNull(datastoreFormat);
+        this.datastoreFormat = datastoreFormat;
+    }
+
+    public DatastoreCompression getDatastoreCompression() {
+        return datastoreCompression;
+    }
+
+    public void setDatastoreCompression(DatastoreCompression datastoreCompression) {
+        requireNonNull(datastoreCompression);
+        this.datastoreCompression = datastoreCompression;
+    }
+
+    /**
+     * Returns the number of most recent undo versions kept in memory, which is at least 1, even if a smaller number
+     * was read from the preferences file.
+     */
+    public int getMaxHotUndoVersions() {
+        return Math.max(1, maxHotUndoVersions);
+    }
+
+    /**
+     * Sets the number of most recent undo versions kept in memory.
+     *
+     * @throws IllegalArgumentException if {@code maxHotUndoVersions} is less than 1.
+     */
+    public void setMaxHotUndoVersions(int maxHotUndoVersions) {
+        AppUtil.checkArgument(maxHotUndoVersions >= 1, MESSAGE_INVALID_MAX_HOT_UNDO_VERSIONS);
+        this.maxHotUndoVersions = maxHotUndoVersions;
+    }
+
+    public boolean isColumnarLogStore() {
+        return columnarLogStore;
+    }
+
+    public void setColumnarLogStore(boolean columnarLogStore) {
+        this.columnarLogStore = columnarLogStore;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -76,12 +135,17 @@ public class UserPrefs implements ReadOnlyUserPrefs {
 
         UserPrefs otherUserPrefs = (UserPrefs) other;
         return guiSettings.equals(otherUserPrefs.guiSettings)
-            && datastoreFilePath.equals(otherUserPrefs.datastoreFilePath);
+            && datastoreFilePath.equals(otherUserPrefs.datastoreFilePath)
+            && datastoreFormat == otherUserPrefs.datastoreFormat
+            && datastoreCompression == otherUserPrefs.datastoreCompression
+            && maxHotUndoVersions == otherUserPrefs.maxHotUndoVersions
+            && columnarLogStore == otherUserPrefs.columnarLogStore;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, datastoreFilePath);
+        return Objects.hash(guiSettings, datastoreFilePath, datastoreFormat, datastoreCompression, maxHotUndoVersions,
+                columnarLogStore);
     }
 
     @Override
@@ -89,6 +153,10 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings);
         sb.append("\nLocal data file location : " + datastoreFilePath);
+        sb.append("\nLocal data file format : " + datastoreFormat);
+        sb.append("\nLocal data file compression : " + datastoreCompression);
+        sb.append("\nUndo versions kept in memory : " + maxHotUndoVersions);
+        sb.append("\nLogs mapped from columnar file : " + columnarLogStore);
         return sb.toString();
     }
 
@@ -6,11 +6,10 @@ import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import javafx.collections.ObservableList;
 import scrolls.elder.commons.util.AppUtil;
 import scrolls.elder.commons.util.ToStringBuilder;
 import scrolls.elder.model.ReadOnlyDatastore;
-import scrolls.elder.model.person.Person;
+import scrolls.elder.model.ReadOnlyPersonStore;
 
 /**
  * Represents a log of a volunteer's interaction with a befriendee.
@@ -19,6 +18,10 @@ import scrolls.elder.model.person.Person;
 public class Log {
     public static final String MESSAGE_INVALID_ID = "The volunteer ID or befriendee ID is invalid.";
     public static final int PLACEHOLDER_ID = -1;
+    /**
+     * The start time of a log without a start date, which orders it before all dated logs.
+     */
+    public static final long UNDATED_START_TIME = Long.MIN_VALUE;
     private final int logId;
     private final String title;
     private final int volunteerId;
@@ -64,30 +67,30 @@ public class Log {
      */
     public Log(int logId, Log log) {
         this.logId = logId;
-        this.title = log.title;
+        this.title = log.getLogTitle();
         this.volunteerId = log.volunteerId;
         this.befriendeeId = log.befriendeeId;
         this.duration = log.duration;
-        this.startDate = log.startDate;
-        this.remarks = log.remarks;
+        this.startDate = log.getStartDate();
+        this.remarks = log.getRemarks();
+    }
+
+    /**
+     * Creates a log with the given IDs and duration, whose title, start date and remarks are instead returned by the
+     * getters of a subclass, such as a view of a log kept outside the heap that reads them on demand.
+     */
+    protected Log(int logId, int volunteerId, int befriendeeId, int duration) {
+        this(logId, null, volunteerId, befriendeeId, duration, null, null);
     }
 
     /**
      * Checks if the given IDs are valid for the given datastore.
      */
     public boolean areValidIds(ReadOnlyDatastore datastore, int vid, int bid) {
-        ObservableList<Person> persons = datastore.getPersonStore().getPersonList();
-        boolean volunteerIdExists = false;
-        boolean befriendeeIdExists = false;
-
-        for (Person person : persons) {
-            if (person.isVolunteer() && person.getPersonId() == vid) {
-                volunteerIdExists = true;
-            }
-            if (!person.isVolunteer() && person.getPersonId() == bid) {
-                befriendeeIdExists = true;
-            }
-        }
+        ReadOnlyPersonStore persons = datastore.getPersonStore();
+
+        boolean volunteerIdExists = persons.hasPersonWithId(vid) && persons.getPersonFromID(vid).isVolunteer();
+        boolean befriendeeIdExists = persons.hasPersonWithId(bid) && !persons.getPersonFromID(bid).isVolunteer();
 
         return volunteerIdExists && befriendeeIdExists;
     }
@@ -116,6 +119,15 @@ public class Log {
         return startDate;
     }
 
+    /**
+     * Returns the start date in milliseconds since the epoch, or {@link #UNDATED_START_TIME} if the log has no start
+     * date.
+     */
+    public long getStartTime() {
+        Date startDate = getStartDate();
+        return startDate == null ? UNDATED_START_TIME : startDate.getTime();
+    }
+
     public String getRemarks() {
         return remarks;
     }
@@ -131,29 +143,29 @@ public class Log {
         }
 
         Log otherLog = (Log) other;
-        return title == otherLog.title
+        return Objects.equals(getLogTitle(), otherLog.getLogTitle())
             && volunteerId == otherLog.volunteerId
             && befriendeeId == otherLog.befriendeeId
             && duration == otherLog.duration
-            && startDate.equals(otherLog.startDate)
-            && remarks.equals(otherLog.remarks);
+            && getStartTime() == otherLog.getStartTime()
+            && Objects.equals(getRemarks(), otherLog.getRemarks());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(title, volunteerId, befriendeeId, duration, startDate, remarks);
+        return Objects.hash(getLogTitle(), volunteerId, befriendeeId, duration, getStartTime(), getRemarks());
     }
 
     @Override
     public String toString() {
         return new ToStringBuilder(this)
             .add("Log ID", logId)
-            .add("Title", title)
+            .add("Title", getLogTitle())
             .add("Volunteer ID", volunteerId)
             .add("Befriendee ID", befriendeeId)
             .add("Duration", duration)
-            .add("Start Date", startDate)
-            .add("Remarks", remarks)
+            .add("Start Date", getStartDate())
+            .add("Remarks", getRemarks())
             .toString();
     }
 }
@@ -0,0 +1,70 @@
+package scrolls.elder.model.log;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import scrolls.elder.commons.util.ToStringBuilder;
+
+/**
+ * Represents a full-text search over the titles and remarks of logs, answered by {@link LogTextIndex}.
+ * The search is a list of clauses, and a log matches if it matches any clause. A clause is a list of terms, and a log
+ * matches the clause if its title or remarks contain all of the terms. A term ending with {@value #PREFIX_WILDCARD}
+ * matches any word starting with the rest of the term.
+ */
+public class LogSearchQuery {
+
+    public static final String PREFIX_WILDCARD = "*";
+
+    private final List<List<String>> clauses;
+
+    /**
+     * Creates a search for logs matching any of the {@code clauses}.
+     */
+    public LogSearchQuery(List<List<String>> clauses) {
+        requireNonNull(clauses);
+        List<List<String>> copy = new ArrayList<>();
+        for (List<String> clause : clauses) {
+            copy.add(Collections.unmodifiableList(new ArrayList<>(clause)));
+        }
+        this.clauses = Collections.unmodifiableList(copy);
+    }
+
+    public List<List<String>> getClauses() {
+        return clauses;
+    }
+
+    /**
+     * Returns true if the search has no terms, and so matches no logs.
+     */
+    public boolean isEmpty() {
+        return clauses.stream().allMatch(List::isEmpty);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof LogSearchQuery)) {
+            return false;
+        }
+
+        LogSearchQuery otherLogSearchQuery = (LogSearchQuery) other;
+        return clauses.equals(otherLogSearchQuery.clauses);
+    }
+
+    @Override
+    public int hashCode() {
+        return clauses.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this).add("clauses", clauses).toString();
+    }
+}
@@ -0,0 +1,188 @@
+package scrolls.elder.model.log;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * An inverted index from the lowercased words of the titles and remarks of logs to a bitmap of the IDs of the logs
+ * containing them.
+ * Log IDs are assigned from a dense sequence, so a bitmap per word stays compact, and clauses of a search reduce to
+ * bitwise operations. Words are kept sorted, so that all words starting with a prefix form a single range.
+ * An edited log must be removed with its old title and remarks before it is added again, or its old words stay indexed.
+ */
+public class LogTextIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, BitSet> postings;
+
+    /**
+     * Creates an empty index.
+     */
+    public LogTextIndex() {
+        postings = new TreeMap<>();
+    }
+
+    /**
+     * Creates an index with the given {@code postings}, which map each word to a bitmap of the IDs of the logs
+     * containing it, such as those of another index saved earlier. The index takes ownership of the bitmaps.
+     */
+    public LogTextIndex(NavigableMap<String, BitSet> postings) {
+        requireNonNull(postings);
+        this.postings = new TreeMap<>(postings);
+    }
+
+    /**
+     * Returns an index of the words of all of {@code logs}.
+     */
+    public static LogTextIndex of(Collection<Log> logs) {
+        requireNonNull(logs);
+        LogTextIndex index = new LogTextIndex();
+        logs.forEach(index::add);
+        return index;
+    }
+
+    /**
+     * Splits {@code text} into the lowercased words it is indexed or searched by.
+     * Words are runs of letters and digits, so punctuation around or within words is ignored.
+     */
+    public static String[] tokenize(String text) {
+        requireNonNull(text);
+        return WORD_SEPARATOR.split(text.toLowerCase());
+    }
+
+    /**
+     * Indexes the words of the title and remarks of {@code log} under its ID.
+     * Logs that have not been assigned an ID yet cannot be found by ID, and are not indexed.
+     */
+    public void add(Log log) {
+        requireNonNull(log);
+        if (log.getLogId() < 0) {
+            return;
+        }
+        for (String word : getWords(log)) {
+            postings.computeIfAbsent(word, unused -> new BitSet()).set(log.getLogId());
+        }
+    }
+
+    /**
+     * Removes the words of the title and remarks of {@code log} from the index.
+     */
+    public void remove(Log log) {
+        requireNonNull(log);
+        if (log.getLogId() < 0) {
+            return;
+        }
+        for (String word : getWords(log)) {
+            BitSet ids = postings.get(word);
+            if (ids == null) {
+                continue;
+            }
+            ids.clear(log.getLogId());
+            if (ids.isEmpty()) {
+                postings.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Removes all logs from the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns the words of the index, in order, each mapped to a bitmap of the IDs of the logs containing it.
+     * The bitmaps are those of the index, and must not be modified.
+     */
+    public NavigableMap<String, BitSet> getPostings() {
+        return Collections.unmodifiableNavigableMap(postings);
+    }
+
+    /**
+     * Returns the IDs of logs matching {@code query}.
+     */
+    public BitSet search(LogSearchQuery query) {
+        requireNonNull(query);
+        BitSet result = new BitSet();
+        for (List<String> clause : query.getClauses()) {
+            result.or(getIdsMatchingAll(clause));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the IDs of logs matching all of the {@code terms}.
+     */
+    private BitSet getIdsMatchingAll(List<String> terms) {
+        BitSet result = null;
+        for (String term : terms) {
+            boolean isPrefix = term.endsWith(LogSearchQuery.PREFIX_WILDCARD);
+            String[] words = tokenize(isPrefix ? term.substring(0, term.length() - 1) : term);
+            for (int i = 0; i < words.length; i++) {
+                if (words[i].isEmpty()) {
+                    continue;
+                }
+                BitSet ids = isPrefix && i == words.length - 1
+                        ? getIdsWithWordStartingWith(words[i])
+                        : postings.getOrDefault(words[i], new BitSet());
+                if (result == null) {
+                    result = (BitSet) ids.clone();
+                } else {
+                    result.and(ids);
+                }
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+        }
+        return result == null ? new BitSet() : result;
+    }
+
+    private BitSet getIdsWithWordStartingWith(String prefix) {
+        BitSet result = new BitSet();
+        postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().forEach(result::or);
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+
+        // instanceof handles nulls
+        if (!(other instanceof LogTextIndex)) {
+            return false;
+        }
+
+        LogTextIndex otherIndex = (LogTextIndex) other;
+        return postings.equals(otherIndex.postings);
+    }
+
+    @Override
+    public int hashCode() {
+        return postings.hashCode();
+    }
+
+    private static Set<String> getWords(Log log) {
+        Set<String> words = new HashSet<>();
+        for (String text : new String[] {log.getLogTitle(), log.getRemarks()}) {
+            if (text != null) {
+                words.addAll(List.of(tokenize(text)));
+            }
+        }
+        words.remove("");
+        return words;
+    }
+}
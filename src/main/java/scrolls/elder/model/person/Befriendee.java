@@ -15,10 +15,9 @@ public class Befriendee extends Person {
      * Creates a befriendee with the data from the relevant parameters
      */
     public Befriendee(Name name, Phone phone, Email email, Address address, Set<Tag> tags,
-                      Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed,
-                      Optional<Integer> latestLogId) {
+                      Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed) {
         super(name, phone, email, address, tags, new Role("befriendee"), pairedWithName, pairedWithId,
-                timeServed, latestLogId);
+                timeServed);
     }
 
     /**
@@ -65,8 +64,7 @@ public class Befriendee extends Person {
                 && tags.equals(otherBefriendee.tags)
                 && pairedWithName.equals(otherBefriendee.pairedWithName)
                 && pairedWithId.equals(otherBefriendee.pairedWithId)
-                && timeServed == otherBefriendee.timeServed
-                && latestLogId.equals(otherBefriendee.latestLogId);
+                && timeServed == otherBefriendee.timeServed;
     }
 
     @Override
@@ -81,7 +79,6 @@ public class Befriendee extends Person {
                 .add("pairedWithName", pairedWithName.orElse(Name.getNone()))
                 .add("pairedWithId", pairedWithId.orElse(-1))
                 .add("timeServed", timeServed)
-                .add("latestLogId", latestLogId.orElse(-1))
                 .toString();
     }
 }
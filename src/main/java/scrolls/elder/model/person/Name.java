@@ -2,6 +2,8 @@ package scrolls.elder.model.person;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.regex.Pattern;
+
 import scrolls.elder.commons.util.AppUtil;
 
 /**
@@ -18,10 +20,16 @@ public class Name {
      * otherwise " " (a blank string) becomes a valid input.
      */
     public static final String VALIDATION_REGEX = "[\\p{Alnum}][\\p{Alnum} ]*";
+    private static final Pattern VALIDATION_PATTERN = Pattern.compile(VALIDATION_REGEX);
     private static final Name NONE = new Name("None");
 
     public final String fullName;
 
+    /**
+     * Case-insensitive form of {@code fullName}, which defines the identity of a name.
+     */
+    private final String normalisedName;
+
     /**
      * Constructs a {@code Name}.
      *
@@ -31,19 +39,28 @@ public class Name {
         requireNonNull(name);
         AppUtil.checkArgument(isValidName(name), MESSAGE_CONSTRAINTS);
         fullName = name;
+        normalisedName = name.toLowerCase();
     }
 
     /**
      * Returns true if a given string is a valid name.
      */
     public static boolean isValidName(String test) {
-        return test.matches(VALIDATION_REGEX);
+        return VALIDATION_PATTERN.matcher(test).matches();
     }
 
     public static Name getNone() {
         return NONE;
     }
 
+    /**
+     * Returns the case-insensitive form of this name.
+     * Two names are equal if and only if their normalised names are equal.
+     */
+    public String getNormalisedName() {
+        return normalisedName;
+    }
+
     @Override
     public String toString() {
         return fullName;
@@ -61,12 +78,12 @@ public class Name {
         }
 
         Name otherName = (Name) other;
-        return fullName.toLowerCase().equals(otherName.fullName.toLowerCase());
+        return normalisedName.equals(otherName.normalisedName);
     }
 
     @Override
     public int hashCode() {
-        return fullName.hashCode();
+        return normalisedName.hashCode();
     }
 
 }
@@ -1,5 +1,6 @@
 package scrolls.elder.model.person;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
@@ -20,6 +21,10 @@ public class NameContainsKeywordsPredicate implements Predicate<Person> {
         return keywords.isEmpty();
     }
 
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(keywords);
+    }
+
     @Override
     public boolean test(Person person) {
         return keywords.stream()
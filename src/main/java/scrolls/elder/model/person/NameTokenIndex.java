@@ -0,0 +1,90 @@
+package scrolls.elder.model.person;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from the lowercased words of persons' names to the IDs of the persons whose names contain them.
+ * A renamed person must be removed under the old name before being added under the new one.
+ */
+public class NameTokenIndex {
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    /**
+     * Splits {@code text} into the lowercased words it is indexed or queried by.
+     */
+    public static String[] tokenize(String text) {
+        requireNonNull(text);
+        String trimmed = text.trim();
+        return trimmed.isEmpty() ? new String[0] : trimmed.toLowerCase().split("\\s+");
+    }
+
+    /**
+     * Indexes the words of the name of {@code person} under its ID.
+     */
+    public void add(Person person) {
+        requireNonNull(person);
+        for (String token : tokenize(person.getName().fullName)) {
+            postings.computeIfAbsent(token, unused -> new HashSet<>()).add(person.getPersonId());
+        }
+    }
+
+    /**
+     * Removes the words of the name of {@code person} from the index.
+     */
+    public void remove(Person person) {
+        requireNonNull(person);
+        for (String token : tokenize(person.getName().fullName)) {
+            Set<Integer> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(person.getPersonId());
+            if (ids.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    /**
+     * Removes all persons from the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns the IDs of persons whose names contain any of the {@code keywords} as a full word, ignoring case.
+     */
+    public Set<Integer> getIdsMatchingAny(Collection<String> keywords) {
+        requireNonNull(keywords);
+        Set<Integer> result = new HashSet<>();
+        for (String keyword : keywords) {
+            for (String token : tokenize(keyword)) {
+                result.addAll(postings.getOrDefault(token, Set.of()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound on the number of persons whose names contain any of the {@code keywords} as a full word,
+     * from the sizes of the postings of the keywords, without collecting the IDs.
+     */
+    public int estimateIdsMatchingAny(Collection<String> keywords) {
+        requireNonNull(keywords);
+        int estimate = 0;
+        for (String keyword : keywords) {
+            for (String token : tokenize(keyword)) {
+                estimate += postings.getOrDefault(token, Set.of()).size();
+            }
+        }
+        return estimate;
+    }
+}
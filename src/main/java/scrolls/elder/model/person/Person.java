@@ -30,14 +30,12 @@ public abstract class Person {
     protected final Optional<Name> pairedWithName;
     protected final Optional<Integer> pairedWithId;
     protected final int timeServed;
-    protected final Optional<Integer> latestLogId;
 
     /**
      * Every field must be present and not null.
      */
     public Person(Name name, Phone phone, Email email, Address address, Set<Tag> tags, Role role,
-                  Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed,
-                  Optional<Integer> latestLogId) {
+                  Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed) {
         CollectionUtil.requireAllNonNull(name, phone, email, address, tags, role, pairedWithName, pairedWithId);
         this.personId = PLACEHOLDER_ID;
         this.name = name;
@@ -50,7 +48,6 @@ public abstract class Person {
         this.pairedWithId = pairedWithId;
         assert timeServed >= 0 : "Time served must be non-negative";
         this.timeServed = timeServed;
-        this.latestLogId = latestLogId;
     }
 
     /**
@@ -67,7 +64,6 @@ public abstract class Person {
         this.pairedWithName = p.getPairedWithName();
         this.pairedWithId = p.getPairedWithId();
         this.timeServed = p.getTimeServed();
-        this.latestLogId = p.getLatestLogId();
     }
 
     public int getPersonId() {
@@ -109,10 +105,6 @@ public abstract class Person {
         return timeServed;
     }
 
-    public Optional<Integer> getLatestLogId() {
-        return latestLogId;
-    }
-
     public boolean isPairPresent(Person person) {
         return person.getPairedWithName().isPresent();
     }
@@ -147,13 +139,6 @@ public abstract class Person {
         return otherPerson != null && otherPerson.getPersonId() == this.getPersonId();
     }
 
-    /**
-     * Returns true if the latest log id is present
-     */
-    public boolean isLatestLogPresent() {
-        return latestLogId.isPresent();
-    }
-
     /**
     * Returns true if person is a volunteer, and false if person is not a volunteer
     */
@@ -193,8 +178,7 @@ public abstract class Person {
                 && role.equals(otherPerson.role)
                 && pairedWithName.equals(otherPerson.pairedWithName)
                 && pairedWithId.equals(otherPerson.pairedWithId)
-                && timeServed == otherPerson.timeServed
-                && latestLogId.equals(latestLogId);
+                && timeServed == otherPerson.timeServed;
     }
 
     @Override
@@ -202,7 +186,7 @@ public abstract class Person {
         // use this method for custom fields hashing instead of implementing your own
         return Objects
                 .hash(personId, name, phone, email, address, tags, role, pairedWithName, pairedWithId,
-                        timeServed, latestLogId);
+                        timeServed);
     }
 
     // TODO potential issues with date
@@ -219,7 +203,6 @@ public abstract class Person {
                 .add("pairedWithName", pairedWithName.orElse(Name.getNone()))
                 .add("pairedWithId", pairedWithId.orElse(-1))
                 .add("timeServed", timeServed)
-                .add("latestLogId", latestLogId.orElse(-1))
                 .toString();
     }
 
@@ -2,6 +2,8 @@ package scrolls.elder.model.person;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.regex.Pattern;
+
 import scrolls.elder.commons.util.AppUtil;
 
 /**
@@ -18,6 +20,7 @@ public class Role {
      * otherwise " " (a blank string) becomes a valid input.
      */
     public static final String VALIDATION_REGEX = "^befriendee|volunteer$";
+    private static final Pattern VALIDATION_PATTERN = Pattern.compile(VALIDATION_REGEX);
 
     public final String value;
 
@@ -36,7 +39,7 @@ public class Role {
      * Returns true if a given string is a valid name.
      */
     public static boolean isValidRole(String test) {
-        return test.toLowerCase().matches(VALIDATION_REGEX);
+        return VALIDATION_PATTERN.matcher(test.toLowerCase()).matches();
     }
 
     public boolean isVolunteer() {
@@ -1,5 +1,6 @@
 package scrolls.elder.model.person;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -21,6 +22,10 @@ public class TagListContainsTagsPredicate implements Predicate<Person> {
         return tagList.isEmpty();
     }
 
+    public Set<Tag> getTags() {
+        return Collections.unmodifiableSet(tagList);
+    }
+
     @Override
     public boolean test(Person person) {
         return tagList.stream()
@@ -2,15 +2,22 @@ package scrolls.elder.model.person;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import scrolls.elder.commons.util.CollectionUtil;
 import scrolls.elder.model.person.exceptions.DuplicatePersonException;
 import scrolls.elder.model.person.exceptions.PersonNotFoundException;
+import scrolls.elder.model.tag.Tag;
+import scrolls.elder.model.tag.TagIndex;
 
 /**
  * A list of persons that enforces uniqueness between its elements and does not allow nulls.
@@ -19,6 +26,9 @@ import scrolls.elder.model.person.exceptions.PersonNotFoundException;
  * unique in terms of identity in the UniquePersonList. However, the removal of a person uses Person#equals(Object) so
  * as to ensure that the person with exactly the same fields will be removed.
  *
+ * Persons are additionally indexed by their normalised name, by their ID, by the words of their name and by their
+ * tags, so that identity checks, ID-based lookups and name and tag searches do not require a scan of the list.
+ *
  * Supports a minimal set of list operations.
  *
  * @see Person#isSamePerson(Person)
@@ -29,12 +39,38 @@ public class UniquePersonList implements Iterable<Person> {
     private final ObservableList<Person> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
 
+    /**
+     * Index of the persons in {@code internalList} by their person ID.
+     * Must be kept in sync with every mutation of {@code internalList}.
+     */
+    private final Map<Integer, Person> personsById = new HashMap<>();
+
+    /**
+     * Index of the persons in {@code internalList} by their normalised name, which defines their identity.
+     * Must be kept in sync with every mutation of {@code internalList}.
+     *
+     * @see Name#getNormalisedName()
+     */
+    private final Map<String, Person> personsByName = new HashMap<>();
+
+    /**
+     * Index of the IDs of the persons in {@code internalList} by the words of their names.
+     * Must be kept in sync with every mutation of {@code internalList}.
+     */
+    private final NameTokenIndex nameTokenIndex = new NameTokenIndex();
+
+    /**
+     * Index of the IDs of the persons in {@code internalList} by their tags.
+     * Must be kept in sync with every mutation of {@code internalList}.
+     */
+    private final TagIndex tagIndex = new TagIndex();
+
     /**
      * Returns true if the list contains an equivalent person as the given argument.
      */
     public boolean contains(Person toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSamePerson);
+        return personsByName.containsKey(toCheck.getName().getNormalisedName());
     }
 
     /**
@@ -47,6 +83,31 @@ public class UniquePersonList implements Iterable<Person> {
             throw new DuplicatePersonException();
         }
         internalList.add(toAdd);
+        addToIndexes(toAdd);
+    }
+
+    /**
+     * Adds a person to the list, before the first person with a greater ID.
+     * A list that is ordered by ID stays ordered by ID. The person must not already exist in the list.
+     */
+    public void addInIdOrder(Person toAdd) {
+        requireNonNull(toAdd);
+        if (contains(toAdd)) {
+            throw new DuplicatePersonException();
+        }
+
+        int low = 0;
+        int high = internalList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (internalList.get(mid).getPersonId() < toAdd.getPersonId()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        internalList.add(low, toAdd);
+        addToIndexes(toAdd);
     }
 
     /**
@@ -67,6 +128,8 @@ public class UniquePersonList implements Iterable<Person> {
         }
 
         internalList.set(index, editedPerson);
+        removeFromIndexes(target);
+        addToIndexes(editedPerson);
     }
 
     /**
@@ -78,11 +141,17 @@ public class UniquePersonList implements Iterable<Person> {
         if (!internalList.remove(toRemove)) {
             throw new PersonNotFoundException();
         }
+        removeFromIndexes(toRemove);
     }
 
+    /**
+     * Replaces the contents of this list with the contents of {@code replacement}.
+     */
     public void setPersons(UniquePersonList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        clearIndexes();
+        internalList.forEach(this::addToIndexes);
     }
 
     /**
@@ -96,6 +165,8 @@ public class UniquePersonList implements Iterable<Person> {
         }
 
         internalList.setAll(persons);
+        clearIndexes();
+        persons.forEach(this::addToIndexes);
     }
 
     /**
@@ -104,14 +175,69 @@ public class UniquePersonList implements Iterable<Person> {
     public ObservableList<Person> asUnmodifiableObservableList() {
         return internalUnmodifiableList;
     }
-    public Person getPersonFromID(int i) {
-        FilteredList<Person> listByID = internalList.filtered(person -> person.getPersonId() == i);
-        // TODO exception for duplicate id
-        if (listByID.size() != 1) {
-            System.out.println("List has duplicate id, should not be the case");
+
+    /**
+     * Returns true if the list contains a person with the given {@code id}.
+     */
+    public boolean containsId(int id) {
+        return personsById.containsKey(id);
+    }
+
+    /**
+     * Returns the person with the given {@code id}.
+     *
+     * @throws PersonNotFoundException if no person in the list has the given {@code id}.
+     */
+    public Person getPersonFromID(int id) {
+        Person person = personsById.get(id);
+        if (person == null) {
+            throw new PersonNotFoundException();
         }
-        return listByID.get(0);
+        return person;
+    }
+
+    /**
+     * Returns the IDs of persons whose names contain any of the {@code keywords} as a full word, ignoring case.
+     */
+    public Set<Integer> getIdsWithNameContainingAny(Collection<String> keywords) {
+        requireNonNull(keywords);
+        return nameTokenIndex.getIdsMatchingAny(keywords);
+    }
+
+    /**
+     * Returns the IDs of persons carrying any of the {@code tags}.
+     */
+    public BitSet getIdsWithAnyTag(Collection<Tag> tags) {
+        requireNonNull(tags);
+        return tagIndex.getIdsWithAnyTag(tags);
+    }
+
+    /**
+     * Returns an upper bound on the number of persons whose names contain any of the {@code keywords}, without
+     * collecting their IDs.
+     */
+    public int estimateIdsWithNameContainingAny(Collection<String> keywords) {
+        requireNonNull(keywords);
+        return nameTokenIndex.estimateIdsMatchingAny(keywords);
     }
+
+    /**
+     * Returns an upper bound on the number of persons carrying any of the {@code tags}, without collecting their IDs.
+     */
+    public int estimateIdsWithAnyTag(Collection<Tag> tags) {
+        requireNonNull(tags);
+        return tagIndex.estimateIdsWithAnyTag(tags);
+    }
+
+    /**
+     * Returns, for each tag carried by at least one of the persons with the given {@code ids}, the number of those
+     * persons carrying it.
+     */
+    public Map<Tag, Integer> getTagCounts(BitSet ids) {
+        requireNonNull(ids);
+        return tagIndex.getTagCounts(ids);
+    }
+
     @Override
     public Iterator<Person> iterator() {
         return internalList.iterator();
@@ -146,13 +272,33 @@ public class UniquePersonList implements Iterable<Person> {
      * Returns true if {@code persons} contains only unique persons.
      */
     private boolean personsAreUnique(List<Person> persons) {
-        for (int i = 0; i < persons.size() - 1; i++) {
-            for (int j = i + 1; j < persons.size(); j++) {
-                if (persons.get(i).isSamePerson(persons.get(j))) {
-                    return false;
-                }
+        Set<String> seenNames = new HashSet<>();
+        for (Person person : persons) {
+            if (!seenNames.add(person.getName().getNormalisedName())) {
+                return false;
             }
         }
         return true;
     }
+
+    private void addToIndexes(Person person) {
+        personsById.put(person.getPersonId(), person);
+        personsByName.put(person.getName().getNormalisedName(), person);
+        nameTokenIndex.add(person);
+        tagIndex.add(person);
+    }
+
+    private void removeFromIndexes(Person person) {
+        personsById.remove(person.getPersonId(), person);
+        personsByName.remove(person.getName().getNormalisedName(), person);
+        nameTokenIndex.remove(person);
+        tagIndex.remove(person);
+    }
+
+    private void clearIndexes() {
+        personsById.clear();
+        personsByName.clear();
+        nameTokenIndex.clear();
+        tagIndex.clear();
+    }
 }
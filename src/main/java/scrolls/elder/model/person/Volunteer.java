@@ -15,10 +15,9 @@ public class Volunteer extends Person {
      * Creates a volunteer with the data from the relevant parameters
      */
     public Volunteer(Name name, Phone phone, Email email, Address address, Set<Tag> tags,
-                     Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed,
-                     Optional<Integer> latestLogId) {
+                     Optional<Name> pairedWithName, Optional<Integer> pairedWithId, int timeServed) {
         super(name, phone, email, address, tags, new Role("volunteer"), pairedWithName, pairedWithId,
-                timeServed, latestLogId);
+                timeServed);
     }
 
     /**
@@ -65,8 +64,7 @@ public class Volunteer extends Person {
                 && tags.equals(otherVolunteer.tags)
                 && pairedWithName.equals(otherVolunteer.pairedWithName)
                 && pairedWithId.equals(otherVolunteer.pairedWithId)
-                && timeServed == otherVolunteer.timeServed
-                && latestLogId.equals(otherVolunteer.latestLogId);
+                && timeServed == otherVolunteer.timeServed;
     }
 
     @Override
@@ -81,7 +79,6 @@ public class Volunteer extends Person {
                 .add("pairedWithName", pairedWithName.orElse(Name.getNone()))
                 .add("pairedWithId", pairedWithId.orElse(-1))
                 .add("timeServed", timeServed)
-                .add("latestLogId", latestLogId.orElse(-1))
                 .toString();
     }
 }
@@ -0,0 +1,124 @@
+package scrolls.elder.model.tag;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import scrolls.elder.model.person.Person;
+
+/**
+ * An index from each tag to a bitmap of the IDs of the persons carrying it.
+ * Person IDs are assigned from a dense sequence, so a bitmap per tag stays compact and tag queries reduce to bitwise
+ * operations. A tag whose bitmap becomes empty is dropped, so that it no longer shows up in the tag counts.
+ */
+public class TagIndex {
+
+    private final Map<Tag, BitSet> idsByTag = new HashMap<>();
+
+    /**
+     * Indexes the tags of {@code person} under its ID.
+     * Persons that have not been assigned an ID yet cannot be found by ID, and are not indexed.
+     */
+    public void add(Person person) {
+        requireNonNull(person);
+        if (person.getPersonId() < 0) {
+            return;
+        }
+        for (Tag tag : person.getTags()) {
+            idsByTag.computeIfAbsent(tag, unused -> new BitSet()).set(person.getPersonId());
+        }
+    }
+
+    /**
+     * Removes the tags of {@code person} from the index.
+     */
+    public void remove(Person person) {
+        requireNonNull(person);
+        if (person.getPersonId() < 0) {
+            return;
+        }
+        for (Tag tag : person.getTags()) {
+            BitSet ids = idsByTag.get(tag);
+            if (ids == null) {
+                continue;
+            }
+            ids.clear(person.getPersonId());
+            if (ids.isEmpty()) {
+                idsByTag.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Removes all persons from the index.
+     */
+    public void clear() {
+        idsByTag.clear();
+    }
+
+    /**
+     * Returns the IDs of persons carrying any of the {@code tags}.
+     */
+    public BitSet getIdsWithAnyTag(Collection<Tag> tags) {
+        requireNonNull(tags);
+        BitSet result = new BitSet();
+        for (Tag tag : tags) {
+            BitSet ids = idsByTag.get(tag);
+            if (ids != null) {
+                result.or(ids);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound on the number of persons carrying any of the {@code tags}, from the sizes of the bitmaps
+     * of the tags, without combining them.
+     */
+    public int estimateIdsWithAnyTag(Collection<Tag> tags) {
+        requireNonNull(tags);
+        int estimate = 0;
+        for (Tag tag : tags) {
+            BitSet ids = idsByTag.get(tag);
+            if (ids != null) {
+                estimate += ids.cardinality();
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns, for each tag carried by at least one of the persons with the given {@code ids}, the number of those
+     * persons carrying it.
+     */
+    public Map<Tag, Integer> getTagCounts(BitSet ids) {
+        requireNonNull(ids);
+        int idCount = ids.cardinality();
+        Map<Tag, Integer> counts = new HashMap<>();
+        idsByTag.forEach((tag, tagIds) -> {
+            int count = tagIds.cardinality() < idCount
+                    ? countIntersection(tagIds, ids)
+                    : countIntersection(ids, tagIds);
+            if (count > 0) {
+                counts.put(tag, count);
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Returns the number of IDs in both {@code smaller} and {@code larger}, visiting only the IDs in {@code smaller}.
+     */
+    private static int countIntersection(BitSet smaller, BitSet larger) {
+        int count = 0;
+        for (int id = smaller.nextSetBit(0); id >= 0; id = smaller.nextSetBit(id + 1)) {
+            if (larger.get(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,267 @@
+package scrolls.elder.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+import java.util.OptionalInt;
+import java.util.function.IntConsumer;
+
+/**
+ * A mutable multimap from {@code int} keys to lists of {@code int} values, without boxing either.
+ *
+ * Each value is added together with a {@code long} sort key, and the values of each key are kept in ascending order of
+ * sort key, then of value. Keys are stored in an open-addressing hash table with linear probing, and the entries of
+ * each key in a pair of growable arrays. Lookups by position in the order are binary searches, taking O(log k) time for
+ * a key with k values. Adding a value that sorts last, as with values added in order, is amortized O(1) and allocates
+ * nothing once the arrays have grown. Adding or removing any other value shifts the entries after it.
+ */
+public class IntListMultimap {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_VALUES_CAPACITY = 4;
+
+    private int[] keys;
+    private long[][] sortKeys;
+    private int[][] values;
+    private int[] sizes;
+    private boolean[] occupied;
+
+    /**
+     * The number of occupied slots of the hash table.
+     */
+    private int keyCount;
+
+    /**
+     * Creates an empty multimap.
+     */
+    public IntListMultimap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Adds {@code value} to the values of {@code key}, in the position given by {@code sortKey}.
+     */
+    public void put(int key, long sortKey, int value) {
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            if ((keyCount + 1) * 4 > keys.length * 3) {
+                grow();
+                slot = findSlot(key);
+            }
+            occupied[slot] = true;
+            keys[slot] = key;
+            sortKeys[slot] = new long[INITIAL_VALUES_CAPACITY];
+            values[slot] = new int[INITIAL_VALUES_CAPACITY];
+            keyCount++;
+        }
+
+        int size = sizes[slot];
+        if (size == values[slot].length) {
+            sortKeys[slot] = Arrays.copyOf(sortKeys[slot], size * 2);
+            values[slot] = Arrays.copyOf(values[slot], size * 2);
+        }
+        long[] keySortKeys = sortKeys[slot];
+        int[] keyValues = values[slot];
+
+        int position = size > 0 && compare(keySortKeys[size - 1], keyValues[size - 1], sortKey, value) <= 0
+                ? size
+                : lowerBound(slot, sortKey, value);
+        System.arraycopy(keySortKeys, position, keySortKeys, position + 1, size - position);
+        System.arraycopy(keyValues, position, keyValues, position + 1, size - position);
+        keySortKeys[position] = sortKey;
+        keyValues[position] = value;
+        sizes[slot]++;
+    }
+
+    /**
+     * Removes one occurrence of {@code value} added with {@code sortKey} from the values of {@code key}.
+     * Returns true if {@code value} was removed.
+     */
+    public boolean remove(int key, long sortKey, int value) {
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            return false;
+        }
+
+        int size = sizes[slot];
+        int position = lowerBound(slot, sortKey, value);
+        if (position == size || sortKeys[slot][position] != sortKey || values[slot][position] != value) {
+            return false;
+        }
+        System.arraycopy(sortKeys[slot], position + 1, sortKeys[slot], position, size - position - 1);
+        System.arraycopy(values[slot], position + 1, values[slot], position, size - position - 1);
+        sizes[slot]--;
+        return true;
+    }
+
+    /**
+     * Returns the number of values of {@code key}.
+     */
+    public int size(int key) {
+        int slot = findSlot(key);
+        return occupied[slot] ? sizes[slot] : 0;
+    }
+
+    /**
+     * Returns a copy of the values of {@code key}, in ascending order.
+     */
+    public int[] get(int key) {
+        int slot = findSlot(key);
+        return occupied[slot] ? Arrays.copyOf(values[slot], sizes[slot]) : new int[0];
+    }
+
+    /**
+     * Performs {@code action} on each value of {@code key}, in ascending order.
+     */
+    public void forEach(int key, IntConsumer action) {
+        requireNonNull(action);
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            return;
+        }
+        int[] keyValues = values[slot];
+        int size = sizes[slot];
+        for (int i = 0; i < size; i++) {
+            action.accept(keyValues[i]);
+        }
+    }
+
+    /**
+     * Performs {@code action} on each value of {@code key} added with a sort key from {@code fromSortKey} inclusive to
+     * {@code toSortKey} exclusive, in ascending order.
+     */
+    public void forEachInRange(int key, long fromSortKey, long toSortKey, IntConsumer action) {
+        requireNonNull(action);
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            return;
+        }
+        long[] keySortKeys = sortKeys[slot];
+        int[] keyValues = values[slot];
+        int size = sizes[slot];
+        for (int i = lowerBound(slot, fromSortKey, Integer.MIN_VALUE); i < size && keySortKeys[i] < toSortKey; i++) {
+            action.accept(keyValues[i]);
+        }
+    }
+
+    /**
+     * Returns the last value of {@code key}, or an empty {@code OptionalInt} if {@code key} has no values.
+     */
+    public OptionalInt last(int key) {
+        int slot = findSlot(key);
+        if (!occupied[slot] || sizes[slot] == 0) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(values[slot][sizes[slot] - 1]);
+    }
+
+    /**
+     * Returns the value of {@code key} that sorts immediately before {@code value} added with {@code sortKey}, or an
+     * empty {@code OptionalInt} if there is none.
+     */
+    public OptionalInt lower(int key, long sortKey, int value) {
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            return OptionalInt.empty();
+        }
+        int position = lowerBound(slot, sortKey, value) - 1;
+        return position >= 0 ? OptionalInt.of(values[slot][position]) : OptionalInt.empty();
+    }
+
+    /**
+     * Returns the value of {@code key} that sorts immediately after {@code value} added with {@code sortKey}, or an
+     * empty {@code OptionalInt} if there is none.
+     */
+    public OptionalInt higher(int key, long sortKey, int value) {
+        int slot = findSlot(key);
+        if (!occupied[slot]) {
+            return OptionalInt.empty();
+        }
+        int position = lowerBound(slot, sortKey, value);
+        if (position < sizes[slot] && sortKeys[slot][position] == sortKey && values[slot][position] == value) {
+            position++;
+        }
+        return position < sizes[slot] ? OptionalInt.of(values[slot][position]) : OptionalInt.empty();
+    }
+
+    /**
+     * Removes all keys and values.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Returns the position of the first entry in {@code slot} that does not sort before {@code sortKey} and
+     * {@code value}.
+     */
+    private int lowerBound(int slot, long sortKey, int value) {
+        long[] keySortKeys = sortKeys[slot];
+        int[] keyValues = values[slot];
+        int low = 0;
+        int high = sizes[slot];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keySortKeys[mid], keyValues[mid], sortKey, value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(long sortKey, int value, long otherSortKey, int otherValue) {
+        int bySortKey = Long.compare(sortKey, otherSortKey);
+        return bySortKey != 0 ? bySortKey : Integer.compare(value, otherValue);
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or the empty slot where it would be inserted.
+     */
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (occupied[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        long[][] oldSortKeys = sortKeys;
+        int[][] oldValues = values;
+        int[] oldSizes = sizes;
+        boolean[] oldOccupied = occupied;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                int slot = findSlot(oldKeys[i]);
+                occupied[slot] = true;
+                keys[slot] = oldKeys[i];
+                sortKeys[slot] = oldSortKeys[i];
+                values[slot] = oldValues[i];
+                sizes[slot] = oldSizes[i];
+                keyCount++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        sortKeys = new long[capacity][];
+        values = new int[capacity][];
+        sizes = new int[capacity];
+        occupied = new boolean[capacity];
+        keyCount = 0;
+    }
+
+    /**
+     * Spreads the bits of {@code key}, so that consecutive keys do not form long probe sequences.
+     */
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,183 @@
+package scrolls.elder.model.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable map from {@code int} IDs to values.
+ * Every update returns a new map, leaving the original map unchanged.
+ *
+ * The map is stored as a 32-way trie over the bits of the ID. An update only copies the nodes on the path from the
+ * root to the updated entry, so a map derived from another map shares every unchanged entry, and almost all of its
+ * structure, with the map it was derived from.
+ *
+ * Values are iterated in ascending order of their IDs, with negative IDs ordered after all non-negative IDs.
+ */
+public final class PersistentIdMap<V> {
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int WIDTH = 1 << BITS_PER_LEVEL;
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * The shift of a root node that is able to hold any {@code int} ID.
+     */
+    private static final int MAX_SHIFT = 30;
+
+    private static final PersistentIdMap<?> EMPTY = new PersistentIdMap<>(null, 0, 0);
+
+    /**
+     * The root node of the trie, or null if the map is empty.
+     * Nodes at level 0 hold values, while nodes at higher levels hold child nodes.
+     */
+    private final Object[] root;
+
+    /**
+     * The number of bits that IDs are shifted by to find their slot in the root node.
+     */
+    private final int shift;
+    private final int size;
+
+    private PersistentIdMap(Object[] root, int shift, int size) {
+        this.root = root;
+        this.shift = shift;
+        this.size = size;
+    }
+
+    /**
+     * Returns an empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentIdMap<V> empty() {
+        return (PersistentIdMap<V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value mapped to {@code id}, or null if there is no such value.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int id) {
+        if (!canHold(id, shift)) {
+            return null;
+        }
+
+        Object[] node = root;
+        for (int level = shift; level > 0 && node != null; level -= BITS_PER_LEVEL) {
+            node = (Object[]) node[slotOf(id, level)];
+        }
+        return node == null ? null : (V) node[slotOf(id, 0)];
+    }
+
+    /**
+     * Returns true if a value is mapped to {@code id}.
+     */
+    public boolean containsId(int id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Returns a map with {@code value} mapped to {@code id}, replacing any existing value for {@code id}.
+     */
+    public PersistentIdMap<V> put(int id, V value) {
+        requireNonNull(value);
+
+        Object[] newRoot = root;
+        int newShift = shift;
+        while (!canHold(id, newShift)) {
+            Object[] grownRoot = new Object[WIDTH];
+            grownRoot[0] = newRoot;
+            newRoot = grownRoot;
+            newShift += BITS_PER_LEVEL;
+        }
+
+        int newSize = containsId(id) ? size : size + 1;
+        return new PersistentIdMap<>(put(newRoot, newShift, id, value), newShift, newSize);
+    }
+
+    /**
+     * Returns a map without any value mapped to {@code id}.
+     */
+    public PersistentIdMap<V> remove(int id) {
+        if (!containsId(id)) {
+            return this;
+        }
+        return new PersistentIdMap<>(remove(root, shift, id), shift, size - 1);
+    }
+
+    /**
+     * Returns the values in this map, in ascending order of their IDs.
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        collectValues(root, shift, values);
+        return values;
+    }
+
+    private static Object[] put(Object[] node, int level, int id, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = slotOf(id, level);
+        if (level == 0) {
+            copy[slot] = value;
+        } else {
+            copy[slot] = put((Object[]) copy[slot], level - BITS_PER_LEVEL, id, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a copy of {@code node} without {@code id}, or null if the copy would be empty.
+     */
+    private static Object[] remove(Object[] node, int level, int id) {
+        Object[] copy = node.clone();
+        int slot = slotOf(id, level);
+        if (level == 0) {
+            copy[slot] = null;
+        } else {
+            copy[slot] = remove((Object[]) copy[slot], level - BITS_PER_LEVEL, id);
+        }
+
+        for (Object child : copy) {
+            if (child != null) {
+                return copy;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void collectValues(Object[] node, int level, List<V> values) {
+        if (node == null) {
+            return;
+        }
+        for (Object child : node) {
+            if (child == null) {
+                continue;
+            }
+            if (level == 0) {
+                values.add((V) child);
+            } else {
+                collectValues((Object[]) child, level - BITS_PER_LEVEL, values);
+            }
+        }
+    }
+
+    private static int slotOf(int id, int level) {
+        return (id >>> level) & MASK;
+    }
+
+    /**
+     * Returns true if a trie whose root node has the given {@code shift} has a slot for {@code id}.
+     */
+    private static boolean canHold(int id, int shift) {
+        return shift >= MAX_SHIFT || (id >>> (shift + BITS_PER_LEVEL)) == 0;
+    }
+}
@@ -31,7 +31,6 @@ public class SampleDataUtil {
     private static final Optional<Name> pairedWithNone = Optional.empty();
     private static final Optional<Integer> pairedWithNoID = Optional.empty();
     private static final int sampleTimeServed = 0;
-    private static final Optional<Integer> latestLogNoId = Optional.empty();
 
     public static Person[] getSamplePersons() {
 
@@ -46,30 +45,24 @@ public class SampleDataUtil {
         return new Person[]{
             new Volunteer(alexYeohName, new Phone("87438807"), new Email("alexyeoh@example.com"),
                     new Address("Blk 30 Geylang Street 29, #06-40"),
-                    getTagSet("experienced"), Optional.of(davidLiName), Optional.of(3), 3,
-                    Optional.of(1)),
+                    getTagSet("experienced"), Optional.of(davidLiName), Optional.of(3), 3),
             new Volunteer(berniceYuName, new Phone("99272758"), new Email("berniceyu@example.com"),
                     new Address("Blk 30 Lorong 3 Serangoon Gardens, #07-18"),
-                    getTagSet("new", "student"), Optional.of(irfanIbrahimName), Optional.of(4), 3,
-                    Optional.of(2)),
+                    getTagSet("new", "student"), Optional.of(irfanIbrahimName), Optional.of(4), 3),
             new Volunteer(new Name("Charlotte Oliveiro"), new Phone("93210283"), new Email("charlotte@example.com"),
                     new Address("Blk 11 Ang Mo Kio Street 74, #11-04"), Collections.<Tag>emptySet(),
-                    pairedWithNone, pairedWithNoID, sampleTimeServed,
-                    latestLogNoId),
+                    pairedWithNone, pairedWithNoID, sampleTimeServed),
 
 
             new Befriendee(davidLiName, new Phone("91031282"), new Email("lidavid@example.com"),
                     new Address("Blk 436 Serangoon Gardens Street 26, #16-43"),
-                    getTagSet("handicapped"), Optional.of(alexYeohName), Optional.of(0), 3,
-                    Optional.of(1)),
+                    getTagSet("handicapped"), Optional.of(alexYeohName), Optional.of(0), 3),
             new Befriendee(irfanIbrahimName, new Phone("92492021"), new Email("irfan@example.com"),
                     new Address("Blk 47 Tampines Street 20, #17-35"),
-                    getTagSet("livesAlone"), Optional.of(berniceYuName), Optional.of(1), 3,
-                    Optional.of(2)),
+                    getTagSet("livesAlone"), Optional.of(berniceYuName), Optional.of(1), 3),
             new Befriendee(new Name("Roy Balakrishnan"), new Phone("92624417"), new Email("royb@example.com"),
                     new Address("Blk 45 Aljunied Street 85, #11-31"),
-                    getTagSet("diabetic"), pairedWithNone, pairedWithNoID, sampleTimeServed,
-                    latestLogNoId)
+                    getTagSet("diabetic"), pairedWithNone, pairedWithNoID, sampleTimeServed)
         };
     }
 
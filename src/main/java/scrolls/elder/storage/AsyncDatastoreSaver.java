@@ -0,0 +1,157 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.DatastoreSnapshot;
+
+/**
+ * Saves changes to a {@code DatastoreStorage} on a background thread, so that callers do not wait for the disk.
+ * Changes submitted while a save is in progress are coalesced, and saved together by the next save.
+ * The saver keeps a snapshot of the saved data, advanced by each change it saves, for storages that save the whole
+ * datastore. Each snapshot shares all but the changed persons and logs with the snapshot before it, so the saver
+ * holds no copy of the datastore.
+ */
+public class AsyncDatastoreSaver {
+
+    private static final Logger logger = LogsCenter.getLogger(AsyncDatastoreSaver.class);
+
+    private final DatastoreStorage storage;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "datastore-saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The data as of the last change taken by the background thread. Only accessed by the background thread.
+     */
+    private DatastoreSnapshot savedSnapshot;
+
+    /**
+     * True if a save failed, so that the storage may be missing changes that {@code savedSnapshot} has.
+     * Only accessed by the background thread.
+     */
+    private boolean isFullSaveRequired;
+
+    private final Object lock = new Object();
+    private List<DatastoreChange> pendingChanges = new ArrayList<>();
+    private boolean isSaveScheduled;
+
+    private volatile Consumer<IOException> failureHandler = unused -> {};
+
+    /**
+     * Creates a saver that saves changes to {@code storage}, which currently holds the data in {@code snapshot}.
+     */
+    public AsyncDatastoreSaver(DatastoreStorage storage, DatastoreSnapshot snapshot) {
+        requireNonNull(storage);
+        requireNonNull(snapshot);
+        this.storage = storage;
+        this.savedSnapshot = snapshot;
+    }
+
+    /**
+     * Sets the handler that is called on the background thread with the exception of each save that fails.
+     */
+    public void setFailureHandler(Consumer<IOException> failureHandler) {
+        requireNonNull(failureHandler);
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Schedules {@code changes} to be saved after all previously submitted changes, and returns immediately.
+     */
+    public void submit(List<DatastoreChange> changes) {
+        requireNonNull(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        synchronized (lock) {
+            pendingChanges.addAll(changes);
+            if (isSaveScheduled) {
+                return;
+            }
+            isSaveScheduled = true;
+        }
+        executor.execute(this::savePendingChanges);
+    }
+
+    /**
+     * Waits until all previously submitted changes are saved.
+     * If a save has failed, the whole datastore is saved again first.
+     *
+     * @throws IOException if the submitted changes could not be saved.
+     */
+    public void flush() throws IOException {
+        try {
+            executor.submit(() -> {
+                if (isFullSaveRequired) {
+                    saveAll();
+                }
+                return null;
+            }).get();
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof IOException) {
+                throw (IOException) ee.getCause();
+            }
+            throw new IOException(ee.getCause());
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for data to be saved", ie);
+        }
+    }
+
+    /**
+     * Waits until all previously submitted changes are saved, then stops the background thread.
+     * No changes can be submitted afterwards.
+     *
+     * @throws IOException if the submitted changes could not be saved.
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void savePendingChanges() {
+        List<DatastoreChange> changes;
+        synchronized (lock) {
+            changes = pendingChanges;
+            pendingChanges = new ArrayList<>();
+            isSaveScheduled = false;
+        }
+
+        for (DatastoreChange change : changes) {
+            savedSnapshot = savedSnapshot.withChange(change);
+        }
+        try {
+            if (isFullSaveRequired) {
+                saveAll();
+            } else {
+                storage.saveDatastoreChanges(savedSnapshot.asReadOnlyDatastore(), changes);
+            }
+        } catch (IOException ioe) {
+            logger.warning("Failed to save " + changes.size() + " changes: " + ioe);
+            isFullSaveRequired = true;
+            failureHandler.accept(ioe);
+        }
+    }
+
+    private void saveAll() throws IOException {
+        storage.saveDatastore(savedSnapshot.asReadOnlyDatastore());
+        isFullSaveRequired = false;
+    }
+}
@@ -0,0 +1,177 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.model.ReadOnlyDatastore;
+
+/**
+ * A class to access AddressBook data stored as a binary file on the hard disk.
+ * <p>
+ * The file starts with a header of the magic bytes {@code ESDB}, the version of the format, and the length and CRC-32
+ * checksum of the rest of the file, which is in the format of {@link BinarySerializableDatastore}.
+ * Files written in a newer version of the format than this class knows are rejected, rather than misread.
+ */
+public class BinaryDatastoreStorage implements DatastoreStorage {
+
+    public static final short FORMAT_VERSION = 2;
+
+    private static final byte[] MAGIC = {'E', 'S', 'D', 'B'};
+    private static final int HEADER_SIZE = MAGIC.length + Short.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryDatastoreStorage.class);
+
+    private final Path filePath;
+
+    public BinaryDatastoreStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public Path getDatastoreFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns true if the file at {@code filePath} starts with the magic bytes of this format.
+     */
+    public static boolean isBinaryDatastoreFile(Path filePath) throws IOException {
+        requireNonNull(filePath);
+        if (!FileUtil.isFileExists(filePath)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(filePath)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        }
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore() throws DataLoadingException {
+        return readDatastore(filePath);
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        logger.info("Binary file " + filePath + " found.");
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("File is too short to be a binary data file");
+                }
+            }
+            short version = checkHeader(header, channel.size());
+            long expectedChecksum = Integer.toUnsignedLong(header.getInt());
+
+            CheckedInputStream in = new CheckedInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE), new CRC32());
+            ReadOnlyDatastore datastore =
+                    BinarySerializableDatastore.readModelType(in, channel.size() - HEADER_SIZE, version);
+            if (in.read() >= 0 || in.getChecksum().getValue() != expectedChecksum) {
+                throw new IOException("Checksum mismatch, the file is damaged");
+            }
+            return Optional.of(datastore);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from binary file " + filePath + ": " + ioe);
+            throw new DataLoadingException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+    }
+
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore) throws IOException {
+        saveDatastore(datastore, filePath);
+    }
+
+    /**
+     * Similar to {@link DatastoreStorage#saveDatastore(ReadOnlyDatastore)}.
+     * As with {@link JsonDatastoreStorage}, the data is written to a temporary file which then replaces the data file,
+     * and the previous data file is kept as a backup.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore, Path filePath) throws IOException {
+        requireNonNull(datastore);
+        requireNonNull(filePath);
+
+        FileUtil.createParentDirsOfFile(filePath);
+        Path tempFilePath = FileUtil.appendToFileName(filePath, TEMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            CheckedOutputStream out = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), new CRC32());
+            BinarySerializableDatastore.writeModelType(datastore, out);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putLong(channel.position() - HEADER_SIZE)
+                    .putInt((int) out.getChecksum().getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        FileUtil.replaceAtomically(tempFilePath, filePath, DatastoreStorage.getBackupFilePath(filePath));
+    }
+
+    /**
+     * Checks the magic bytes, version and length in {@code header}, leaving the checksum to be read.
+     *
+     * @return The version of the format the file is in.
+     */
+    private static short checkHeader(ByteBuffer header, long fileSize) throws IOException {
+        header.flip();
+
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new IOException("File is not a binary data file");
+        }
+
+        short version = header.getShort();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported binary data file version " + version);
+        }
+
+        long bodyLength = header.getLong();
+        if (bodyLength != fileSize - HEADER_SIZE) {
+            throw new IOException("File length does not match its header, the file is damaged");
+        }
+        return version;
+    }
+}
@@ -0,0 +1,407 @@
+package scrolls.elder.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.model.tag.Tag;
+
+/**
+ * Reads and writes the persons and logs of a datastore in a compact binary format.
+ * <p>
+ * The data starts with a table of the strings that repeat across persons: names, roles and tag names. Persons and
+ * then logs follow, each list as a count and each record as its length followed by its fields. Integers are written
+ * as variable-length quantities of 7 bits per byte, so small IDs take a single byte, and values that may be negative
+ * are zigzag-encoded first. Strings are written as their length followed by their UTF-8 bytes. Nullable values are
+ * written one higher than their encoding, with 0 for null.
+ * <p>
+ * Persons are read through {@link JsonAdaptedPerson}, and the datastore is built by
+ * {@link JsonSerializableDatastore#buildDatastore(List, List)}, so the data is validated in the same way as in json.
+ */
+class BinarySerializableDatastore {
+
+    private static final int NULL = 0;
+
+    /**
+     * The most records to allocate room for up front, so that a damaged count cannot exhaust memory before the data
+     * runs out.
+     */
+    private static final int INITIAL_CAPACITY_LIMIT = 1 << 16;
+
+    /**
+     * Writes {@code source} in the format of this class to {@code out}.
+     */
+    public static void writeModelType(ReadOnlyDatastore source, OutputStream out) throws IOException {
+        List<Person> persons = source.getPersonStore().getPersonList();
+        List<Log> logs = source.getLogStore().getUnfilteredAllLogsList();
+
+        Map<String, Integer> stringTable = new HashMap<>();
+        for (Person person : persons) {
+            addToStringTable(stringTable, person.getName().fullName);
+            addToStringTable(stringTable, person.getRole().value);
+            person.getTags().forEach(tag -> addToStringTable(stringTable, tag.tagName));
+            person.getPairedWithName().ifPresent(name -> addToStringTable(stringTable, name.fullName));
+        }
+
+        RecordWriter record = new RecordWriter();
+        String[] strings = new String[stringTable.size()];
+        stringTable.forEach((string, index) -> strings[index] = string);
+        writeVarLong(out, strings.length);
+        for (String string : strings) {
+            record.writeString(string);
+            record.writeTo(out);
+            record.reset();
+        }
+
+        writeVarLong(out, persons.size());
+        for (Person person : persons) {
+            record.writeSignedVarLong(person.getPersonId());
+            record.writeVarLong(stringTable.get(person.getName().fullName));
+            record.writeString(person.getPhone().value);
+            record.writeString(person.getEmail().value);
+            record.writeString(person.getAddress().value);
+            record.writeVarLong(stringTable.get(person.getRole().value));
+            record.writeVarLong(person.getTags().size());
+            for (Tag tag : person.getTags()) {
+                record.writeVarLong(stringTable.get(tag.tagName));
+            }
+            record.writeNullableVarLong(person.getPairedWithName().map(name -> stringTable.get(name.fullName)));
+            record.writeNullableVarLong(person.getPairedWithId());
+            record.writeSignedVarLong(person.getTimeServed());
+            writeRecord(out, record);
+        }
+
+        writeVarLong(out, logs.size());
+        for (Log log : logs) {
+            record.writeSignedVarLong(log.getLogId());
+            record.writeNullableString(log.getLogTitle());
+            record.writeSignedVarLong(log.getVolunteerId());
+            record.writeSignedVarLong(log.getBefriendeeId());
+            record.writeSignedVarLong(log.getDuration());
+            record.writeNullableVarLong(Optional.ofNullable(log.getStartDate()).map(Date::getTime));
+            record.writeNullableString(log.getRemarks());
+            writeRecord(out, record);
+        }
+    }
+
+    /**
+     * Reads a datastore in version {@code version} of the format of this class from the {@code length} bytes of
+     * {@code in} into the model's {@code Datastore} object.
+     * Every count and length read is checked against the bytes that remain, so that damaged data fails to be read
+     * instead of exhausting memory.
+     *
+     * @throws IOException if the data ends early, or is not in the format of this class.
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    public static Datastore readModelType(InputStream rawIn, long length, short version)
+            throws IOException, IllegalValueException {
+        BoundedInputStream in = new BoundedInputStream(rawIn, length);
+        RecordReader record = new RecordReader();
+
+        String[] strings = new String[readCount(in)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(in);
+        }
+
+        int personCount = readCount(in);
+        List<JsonAdaptedPerson> persons = new ArrayList<>(Math.min(personCount, INITIAL_CAPACITY_LIMIT));
+        for (int i = 0; i < personCount; i++) {
+            record.readFrom(in);
+            String id = String.valueOf(record.readSignedVarLong());
+            String name = record.readTableString(strings);
+            String phone = record.readString();
+            String email = record.readString();
+            String address = record.readString();
+            String role = record.readTableString(strings);
+            int tagCount = record.readCount();
+            List<JsonAdaptedTag> tags = new ArrayList<>(tagCount);
+            for (int t = 0; t < tagCount; t++) {
+                tags.add(new JsonAdaptedTag(record.readTableString(strings)));
+            }
+            String pairedWithName = record.readNullableTableString(strings);
+            String pairedWithId = record.readNullableVarLong().map(String::valueOf).orElse(null);
+            String timeServed = String.valueOf(record.readSignedVarLong());
+            if (version < 2) {
+                // Version 1 also stored the ID of each person's latest log, which is now read from the logs
+                record.readNullableVarLong();
+            }
+            record.checkFullyRead();
+
+            persons.add(new JsonAdaptedPerson(id, name, phone, email, address, role, tags, pairedWithName, pairedWithId,
+                    timeServed));
+        }
+
+        int logCount = readCount(in);
+        List<Log> logs = new ArrayList<>(Math.min(logCount, INITIAL_CAPACITY_LIMIT));
+        for (int i = 0; i < logCount; i++) {
+            record.readFrom(in);
+            int logId = (int) record.readSignedVarLong();
+            String title = record.readNullableString();
+            int volunteerId = (int) record.readSignedVarLong();
+            int befriendeeId = (int) record.readSignedVarLong();
+            int duration = (int) record.readSignedVarLong();
+            Date startDate = record.readNullableVarLong().map(Date::new).orElse(null);
+            String remarks = record.readNullableString();
+            record.checkFullyRead();
+
+            logs.add(new Log(logId, title, volunteerId, befriendeeId, duration, startDate, remarks));
+        }
+
+        return JsonSerializableDatastore.buildDatastore(persons, logs);
+    }
+
+    private static void addToStringTable(Map<String, Integer> stringTable, String string) {
+        stringTable.putIfAbsent(string, stringTable.size());
+    }
+
+    private static void writeRecord(OutputStream out, RecordWriter record) throws IOException {
+        writeVarLong(out, record.size());
+        record.writeTo(out);
+        record.reset();
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Data ended in the middle of a number");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Number is too long");
+    }
+
+    /**
+     * Reads the number of strings or records that follow, or the length of the string that follows, each of which
+     * takes at least a byte.
+     */
+    private static int readCount(BoundedInputStream in) throws IOException {
+        int count = toCount(readVarLong(in));
+        if (count > in.getRemaining()) {
+            throw new EOFException("Count or length " + count + " is more than the " + in.getRemaining()
+                    + " bytes left");
+        }
+        return count;
+    }
+
+    private static int toCount(long value) throws IOException {
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Invalid count or length " + value);
+        }
+        return (int) value;
+    }
+
+    private static String readString(BoundedInputStream in) throws IOException {
+        byte[] bytes = new byte[readCount(in)];
+        if (in.readNBytes(bytes, 0, bytes.length) < bytes.length) {
+            throw new EOFException("Data ended in the middle of a string");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads data of a known length, and keeps count of the bytes that remain.
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        long getRemaining() {
+            return remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                remaining -= count;
+            }
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long count = super.skip(n);
+            remaining -= count;
+            return count;
+        }
+    }
+
+    /**
+     * Builds a record in memory, so that its length can be written before it.
+     */
+    private static class RecordWriter extends ByteArrayOutputStream {
+
+        void writeVarLong(long value) throws IOException {
+            BinarySerializableDatastore.writeVarLong(this, value);
+        }
+
+        /**
+         * Writes {@code value} zigzag-encoded, so that small negative values are short as well.
+         */
+        void writeSignedVarLong(long value) throws IOException {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeNullableVarLong(Optional<? extends Number> value) throws IOException {
+            if (value.isEmpty()) {
+                writeVarLong(NULL);
+                return;
+            }
+            long v = value.get().longValue();
+            writeVarLong(((v << 1) ^ (v >> 63)) + 1);
+        }
+
+        void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes);
+        }
+
+        void writeNullableString(String value) throws IOException {
+            if (value == null) {
+                writeVarLong(NULL);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            write(bytes);
+        }
+    }
+
+    /**
+     * Reads the fields of a record that has been read into memory whole.
+     */
+    private static class RecordReader {
+        private byte[] bytes = new byte[256];
+        private int length;
+        private int position;
+
+        void readFrom(BoundedInputStream in) throws IOException {
+            length = BinarySerializableDatastore.readCount(in);
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            if (in.readNBytes(bytes, 0, length) < length) {
+                throw new EOFException("Data ended in the middle of a record");
+            }
+            position = 0;
+        }
+
+        void checkFullyRead() throws IOException {
+            if (position != length) {
+                throw new IOException("Record has " + (length - position) + " unexpected bytes");
+            }
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                if (position >= length) {
+                    throw new IOException("Record ended in the middle of a number");
+                }
+                int b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Number is too long");
+        }
+
+        long readSignedVarLong() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        Optional<Long> readNullableVarLong() throws IOException {
+            long value = readVarLong();
+            if (value == NULL) {
+                return Optional.empty();
+            }
+            long zigzag = value - 1;
+            return Optional.of((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+
+        int readCount() throws IOException {
+            return toCount(readVarLong());
+        }
+
+        String readString() throws IOException {
+            return readBytesAsString(readCount());
+        }
+
+        String readNullableString() throws IOException {
+            int lengthPlusOne = readCount();
+            return lengthPlusOne == NULL ? null : readBytesAsString(lengthPlusOne - 1);
+        }
+
+        String readTableString(String[] strings) throws IOException {
+            int index = readCount();
+            if (index >= strings.length) {
+                throw new IOException("Invalid string table index " + index);
+            }
+            return strings[index];
+        }
+
+        String readNullableTableString(String[] strings) throws IOException {
+            Optional<Long> index = readNullableVarLong();
+            if (index.isEmpty()) {
+                return null;
+            }
+            if (index.get() < 0 || index.get() >= strings.length) {
+                throw new IOException("Invalid string table index " + index.get());
+            }
+            return strings[index.get().intValue()];
+        }
+
+        private String readBytesAsString(int byteCount) throws IOException {
+            if (byteCount > length - position) {
+                throw new IOException("Record ended in the middle of a string");
+            }
+            String value = new String(bytes, position, byteCount, StandardCharsets.UTF_8);
+            position += byteCount;
+            return value;
+        }
+    }
+}
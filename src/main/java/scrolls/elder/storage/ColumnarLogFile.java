@@ -0,0 +1,309 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.model.log.Log;
+
+/**
+ * A file kept next to the data file that holds the logs in it column by column, so that logs can be kept in memory
+ * mapped from the file instead of on the heap.
+ * <p>
+ * The file starts with a header of the magic bytes {@code ESLC}, the version of the format, the number of logs and
+ * the length of the string heap. Then come the columns of the IDs, volunteer IDs, befriendee IDs and durations as
+ * ints, the start times of {@link Log#getStartTime()} as longs, and the byte offsets and lengths of the titles, then
+ * of the remarks, in the string heap as ints, a length of -1 standing for a null string. Last comes the string heap,
+ * which holds the UTF-8 bytes of all titles and remarks.
+ * <p>
+ * The logs read from the file are views of its rows. Each view holds only the IDs and duration of its log, and reads
+ * the title, start date and remarks from the mapped columns each time they are asked for. So the heap only holds
+ * those of the logs in use, such as the rows shown in a list.
+ * The file is only a cache of the data file, and is rewritten from the logs read from the data file at each startup.
+ */
+public class ColumnarLogFile {
+
+    public static final String FILE_SUFFIX = ".columns";
+    public static final short FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'E', 'S', 'L', 'C'};
+    private static final int HEADER_SIZE = MAGIC.length + Short.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int INT_COLUMN_COUNT = 8;
+    private static final int ROW_SIZE = INT_COLUMN_COUNT * Integer.BYTES + Long.BYTES;
+    private static final int NULL_STRING_LENGTH = -1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final Logger logger = LogsCenter.getLogger(ColumnarLogFile.class);
+
+    private final Path filePath;
+
+    /**
+     * Creates a columnar log file for the data file at {@code dataFilePath}, kept next to it.
+     */
+    public ColumnarLogFile(Path dataFilePath) {
+        requireNonNull(dataFilePath);
+        this.filePath = FileUtil.appendToFileName(dataFilePath, FILE_SUFFIX);
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Writes {@code logs} to the file, and returns views of them mapped from it, in the same order.
+     * If the file cannot be written or mapped, {@code logs} are returned as they are, and are kept on the heap.
+     */
+    public List<Log> writeAndMap(List<Log> logs) {
+        requireNonNull(logs);
+        try {
+            write(logs);
+            List<Log> mappedLogs = map();
+            logger.info("Mapped " + mappedLogs.size() + " logs from " + filePath);
+            return mappedLogs;
+        } catch (IOException ioe) {
+            logger.warning("Error mapping logs from " + filePath + ", keeping them in memory instead: " + ioe);
+            return logs;
+        }
+    }
+
+    /**
+     * Writes {@code logs} to the file, replacing any logs written before.
+     */
+    public void write(List<Log> logs) throws IOException {
+        requireNonNull(logs);
+
+        int rowCount = logs.size();
+        int[] stringColumns = new int[4 * rowCount];
+        FileUtil.createParentDirsOfFile(filePath);
+        Path tempFilePath = FileUtil.appendToFileName(filePath, TEMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // The string heap is written first, as the offsets of the strings are only known once they are written
+            long heapStart = HEADER_SIZE + (long) rowCount * ROW_SIZE;
+            channel.position(heapStart);
+            DataOutputStream heap = newOutputStream(channel);
+            for (int row = 0; row < rowCount; row++) {
+                Log log = logs.get(row);
+                writeString(log.getLogTitle(), heap, stringColumns, row, rowCount);
+                writeString(log.getRemarks(), heap, stringColumns, 2 * rowCount + row, rowCount);
+            }
+            heap.flush();
+            long heapLength = channel.position() - heapStart;
+
+            channel.position(HEADER_SIZE);
+            DataOutputStream columns = newOutputStream(channel);
+            for (Log log : logs) {
+                columns.writeInt(log.getLogId());
+            }
+            for (Log log : logs) {
+                columns.writeInt(log.getVolunteerId());
+            }
+            for (Log log : logs) {
+                columns.writeInt(log.getBefriendeeId());
+            }
+            for (Log log : logs) {
+                columns.writeInt(log.getDuration());
+            }
+            for (Log log : logs) {
+                columns.writeLong(log.getStartTime());
+            }
+            for (int value : stringColumns) {
+                columns.writeInt(value);
+            }
+            columns.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putInt(rowCount)
+                    .putLong(heapLength);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        FileUtil.replaceAtomically(tempFilePath, filePath, null);
+    }
+
+    /**
+     * Returns views of the logs in the file, mapped from it, in the order they were written.
+     *
+     * @throws IOException if the file could not be read, or is not a columnar log file.
+     */
+    public List<Log> map() throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("File is too short to be a columnar log file");
+                }
+            }
+            header.flip();
+
+            byte[] magic = new byte[MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(MAGIC, magic) || header.getShort() != FORMAT_VERSION) {
+                throw new IOException("File is not a columnar log file of a known version");
+            }
+            int rowCount = header.getInt();
+            long heapLength = header.getLong();
+            long heapStart = HEADER_SIZE + (long) rowCount * ROW_SIZE;
+            if (rowCount < 0 || heapLength < 0 || heapLength > Integer.MAX_VALUE
+                    || heapStart + heapLength != channel.size()) {
+                throw new IOException("File length does not match its header, the file is damaged");
+            }
+            return new MappedLogs(channel, rowCount, heapStart, (int) heapLength);
+        }
+    }
+
+    private static DataOutputStream newOutputStream(FileChannel channel) {
+        return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+    }
+
+    /**
+     * Writes {@code text} to {@code heap}, and its offset and length to {@code stringColumns}, at {@code index} and
+     * {@code index + rowCount} respectively.
+     */
+    private static void writeString(String text, DataOutputStream heap, int[] stringColumns, int index,
+            int rowCount) throws IOException {
+        stringColumns[index] = heap.size();
+        if (text == null) {
+            stringColumns[index + rowCount] = NULL_STRING_LENGTH;
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Integer.MAX_VALUE - heap.size()) {
+            throw new IOException("Titles and remarks are too long to be mapped");
+        }
+        stringColumns[index + rowCount] = bytes.length;
+        heap.write(bytes);
+    }
+
+    /**
+     * The logs of a columnar log file, as views created on demand from its mapped columns.
+     */
+    private static class MappedLogs extends AbstractList<Log> implements RandomAccess {
+        private final int rowCount;
+        private final IntBuffer logIds;
+        private final IntBuffer volunteerIds;
+        private final IntBuffer befriendeeIds;
+        private final IntBuffer durations;
+        private final LongBuffer startTimes;
+        private final IntBuffer titleOffsets;
+        private final IntBuffer titleLengths;
+        private final IntBuffer remarksOffsets;
+        private final IntBuffer remarksLengths;
+        private final ByteBuffer heap;
+
+        MappedLogs(FileChannel channel, int rowCount, long heapStart, int heapLength) throws IOException {
+            this.rowCount = rowCount;
+            long intColumnSize = (long) rowCount * Integer.BYTES;
+            long startTimesPosition = HEADER_SIZE + 4 * intColumnSize;
+            long stringColumnsPosition = startTimesPosition + (long) rowCount * Long.BYTES;
+            logIds = mapIntColumn(channel, HEADER_SIZE);
+            volunteerIds = mapIntColumn(channel, HEADER_SIZE + intColumnSize);
+            befriendeeIds = mapIntColumn(channel, HEADER_SIZE + 2 * intColumnSize);
+            durations = mapIntColumn(channel, HEADER_SIZE + 3 * intColumnSize);
+            startTimes = channel.map(FileChannel.MapMode.READ_ONLY, startTimesPosition, (long) rowCount * Long.BYTES)
+                    .asLongBuffer();
+            titleOffsets = mapIntColumn(channel, stringColumnsPosition);
+            titleLengths = mapIntColumn(channel, stringColumnsPosition + intColumnSize);
+            remarksOffsets = mapIntColumn(channel, stringColumnsPosition + 2 * intColumnSize);
+            remarksLengths = mapIntColumn(channel, stringColumnsPosition + 3 * intColumnSize);
+            heap = channel.map(FileChannel.MapMode.READ_ONLY, heapStart, heapLength);
+        }
+
+        private IntBuffer mapIntColumn(FileChannel channel, long position) throws IOException {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, (long) rowCount * Integer.BYTES)
+                    .asIntBuffer();
+        }
+
+        @Override
+        public Log get(int row) {
+            if (row < 0 || row >= rowCount) {
+                throw new IndexOutOfBoundsException("Row " + row + " is out of bounds for " + rowCount + " logs");
+            }
+            return new MappedLog(this, row);
+        }
+
+        @Override
+        public int size() {
+            return rowCount;
+        }
+
+        private String getString(int offset, int length) {
+            if (length == NULL_STRING_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            heap.duplicate().position(offset).get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * A view of a log in a row of a columnar log file.
+     * Is written to json as the log it is a view of.
+     */
+    private static class MappedLog extends Log {
+        private final MappedLogs columns;
+        private final int row;
+
+        MappedLog(MappedLogs columns, int row) {
+            super(columns.logIds.get(row), columns.volunteerIds.get(row), columns.befriendeeIds.get(row),
+                    columns.durations.get(row));
+            this.columns = columns;
+            this.row = row;
+        }
+
+        @Override
+        public String getLogTitle() {
+            return columns.getString(columns.titleOffsets.get(row), columns.titleLengths.get(row));
+        }
+
+        @Override
+        public Date getStartDate() {
+            long startTime = getStartTime();
+            return startTime == Log.UNDATED_START_TIME ? null : new Date(startTime);
+        }
+
+        @Override
+        public long getStartTime() {
+            return columns.startTimes.get(row);
+        }
+
+        @Override
+        public String getRemarks() {
+            return columns.getString(columns.remarksOffsets.get(row), columns.remarksLengths.get(row));
+        }
+
+        /**
+         * Returns a copy of this log held on the heap.
+         */
+        @JsonValue
+        private Log toHeapLog() {
+            return new Log(getLogId(), this);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Optional;
+
+import scrolls.elder.commons.core.DatastoreFormat;
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.model.ReadOnlyDatastore;
+
+/**
+ * Converts a data file between the json, binary and sharded formats, without starting the application.
+ * The format of the source file is detected from its contents, and any journal kept next to it is replayed first,
+ * so the target file holds exactly the data the application would load from the source file.
+ */
+public class DatastoreConverter {
+
+    public static final String COMMAND_WORD = "--convert";
+    public static final String MESSAGE_USAGE =
+            "Usage: " + COMMAND_WORD + " json|binary|sharded SOURCE_FILE TARGET_FILE";
+    public static final String MESSAGE_SUCCESS = "Converted %1$s to %2$s in %3$s format";
+    public static final String MESSAGE_SOURCE_NOT_FOUND = "Source file %1$s does not exist";
+    public static final String MESSAGE_SAME_FILE = "Source and target files must be different";
+
+    /**
+     * Returns true if {@code args} asks for a conversion rather than for the application to be started.
+     */
+    public static boolean isConvertCommand(String... args) {
+        return args.length > 0 && COMMAND_WORD.equals(args[0]);
+    }
+
+    /**
+     * Reads the data file at {@code source} in whichever format it is in, and writes it to {@code target} in
+     * {@code targetFormat}. Any journal next to {@code target} is cleared, as it belongs to the data being replaced.
+     *
+     * @return false if there is no data file at {@code source}.
+     * @throws DataLoadingException if the data file at {@code source} could not be read.
+     * @throws IOException if the data could not be written to {@code target}.
+     */
+    public static boolean convert(Path source, Path target, DatastoreFormat targetFormat)
+            throws DataLoadingException, IOException {
+        requireNonNull(source);
+        requireNonNull(target);
+        requireNonNull(targetFormat);
+
+        DatastoreFormat sourceFormat = detectFormat(source);
+        Optional<ReadOnlyDatastore> datastore = new JournaledDatastoreStorage(
+                DatastoreStorage.forFormat(sourceFormat, source),
+                JournaledDatastoreStorage.DEFAULT_CHECKPOINT_INTERVAL).readDatastore();
+        if (datastore.isEmpty()) {
+            return false;
+        }
+
+        new JournaledDatastoreStorage(DatastoreStorage.forFormat(targetFormat, target),
+                JournaledDatastoreStorage.DEFAULT_CHECKPOINT_INTERVAL).saveDatastore(datastore.get());
+        return true;
+    }
+
+    /**
+     * Converts the data file at {@code filePath} to {@code format} in place, if it is in another format, or if it is a
+     * sharded data file with a journal next to it, which would otherwise not be replayed.
+     * The data file it replaces is kept as its backup.
+     *
+     * @return true if the data file was converted, false if there is no data file or it needs no conversion.
+     * @throws DataLoadingException if the data file could not be read, in which case it is left untouched.
+     * @throws IOException if the format of the data file could not be told, or the data could not be written.
+     */
+    public static boolean convertInPlace(Path filePath, DatastoreFormat format)
+            throws DataLoadingException, IOException {
+        requireNonNull(filePath);
+        requireNonNull(format);
+
+        if (!Files.exists(filePath)) {
+            return false;
+        }
+        DatastoreFormat fileFormat = detectFormat(filePath);
+        boolean hasUnreplayedJournal = fileFormat == DatastoreFormat.SHARDED
+                && Files.exists(JournaledDatastoreStorage.getJournalFilePath(filePath));
+        if (fileFormat == format && !hasUnreplayedJournal) {
+            return false;
+        }
+        return convert(filePath, filePath, format);
+    }
+
+    /**
+     * Returns the format of the data file at {@code filePath}, as told by its contents.
+     */
+    public static DatastoreFormat detectFormat(Path filePath) throws IOException {
+        if (BinaryDatastoreStorage.isBinaryDatastoreFile(filePath)) {
+            return DatastoreFormat.BINARY;
+        }
+        if (ShardedDatastoreStorage.isShardManifestFile(filePath)) {
+            return DatastoreFormat.SHARDED;
+        }
+        return DatastoreFormat.JSON;
+    }
+
+    /**
+     * Runs the conversion described by {@code args}, which start with {@link #COMMAND_WORD}, and reports the outcome
+     * on the standard output or error.
+     *
+     * @return the exit status of the conversion, 0 if it succeeded.
+     */
+    public static int run(String... args) {
+        if (args.length != 4) {
+            System.err.println(MESSAGE_USAGE);
+            return 2;
+        }
+
+        DatastoreFormat targetFormat;
+        try {
+            targetFormat = DatastoreFormat.valueOf(args[1].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException iae) {
+            System.err.println(MESSAGE_USAGE);
+            return 2;
+        }
+
+        Path source = Paths.get(args[2]);
+        Path target = Paths.get(args[3]);
+        if (source.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize())) {
+            System.err.println(MESSAGE_SAME_FILE);
+            return 2;
+        }
+
+        try {
+            if (!convert(source, target, targetFormat)) {
+                System.err.println(String.format(MESSAGE_SOURCE_NOT_FOUND, source));
+                return 1;
+            }
+        } catch (DataLoadingException | IOException e) {
+            System.err.println("Could not convert " + source + ": " + e.getMessage());
+            return 1;
+        }
+        String formatName = targetFormat.name().toLowerCase(Locale.ROOT);
+        System.out.println(String.format(MESSAGE_SUCCESS, source, target, formatName));
+        return 0;
+    }
+}
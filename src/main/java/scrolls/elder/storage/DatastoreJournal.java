@@ -0,0 +1,124 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.DatastoreChange;
+
+/**
+ * An append-only file of {@code DatastoreChange}s, one json record per line.
+ * Appends are forced to the disk before returning, so that changes which have been appended survive a crash.
+ * A crash while appending can only leave the last line incomplete, so an incomplete last line is discarded on reading.
+ */
+public class DatastoreJournal {
+
+    private static final Logger logger = LogsCenter.getLogger(DatastoreJournal.class);
+
+    private static final byte RECORD_SEPARATOR = '\n';
+
+    private final Path filePath;
+
+    public DatastoreJournal(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Appends {@code changes} to the end of the journal with a single write, then forces them to the disk.
+     */
+    public void append(List<DatastoreChange> changes) throws IOException {
+        requireNonNull(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        StringBuilder records = new StringBuilder();
+        for (DatastoreChange change : changes) {
+            records.append(JsonUtil.toCompactJsonString(new JsonAdaptedDatastoreChange(change)))
+                    .append((char) RECORD_SEPARATOR);
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(records.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Returns the changes in the journal, in the order they were appended.
+     * Returns an empty list if the journal file is not found.
+     * An incomplete last record, left by a crash while appending, is truncated from the file.
+     *
+     * @throws DataLoadingException if a complete record cannot be read.
+     */
+    public List<DatastoreChange> read() throws DataLoadingException {
+        List<DatastoreChange> changes = new ArrayList<>();
+        if (!Files.exists(filePath)) {
+            return changes;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(filePath);
+        } catch (IOException ioe) {
+            throw new DataLoadingException(ioe);
+        }
+
+        int start = 0;
+        for (int end = 0; end < bytes.length; end++) {
+            if (bytes[end] != RECORD_SEPARATOR) {
+                continue;
+            }
+            changes.add(parseRecord(new String(bytes, start, end - start, StandardCharsets.UTF_8), changes.size()));
+            start = end + 1;
+        }
+
+        if (start < bytes.length) {
+            logger.warning("Discarding incomplete last record of journal " + filePath);
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                channel.truncate(start);
+            } catch (IOException ioe) {
+                throw new DataLoadingException(ioe);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Removes all changes from the journal.
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(filePath);
+    }
+
+    private DatastoreChange parseRecord(String record, int index) throws DataLoadingException {
+        try {
+            return JsonUtil.fromJsonString(record, JsonAdaptedDatastoreChange.class).toModelType();
+        } catch (IOException | IllegalValueException e) {
+            logger.warning("Error reading record " + index + " of journal " + filePath + ": " + e);
+            throw new DataLoadingException(e);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package scrolls.elder.storage;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
+import scrolls.elder.commons.core.DatastoreCompression;
+import scrolls.elder.commons.core.DatastoreFormat;
 import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.model.DatastoreChange;
 import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.ReadOnlyPersonStore;
 
@@ -13,6 +21,43 @@ import scrolls.elder.model.ReadOnlyPersonStore;
  */
 public interface DatastoreStorage {
 
+    String BACKUP_FILE_SUFFIX = ".bak";
+    String TEMP_FILE_SUFFIX = ".tmp";
+
+    /**
+     * Returns a storage for the data file at {@code filePath} in the given {@code format}.
+     */
+    static DatastoreStorage forFormat(DatastoreFormat format, Path filePath) {
+        return forFormat(format, DatastoreCompression.NONE, filePath);
+    }
+
+    /**
+     * Returns a storage for the data file at {@code filePath} in the given {@code format}.
+     * Json data files are saved with {@code compression}. The binary and sharded formats are saved uncompressed.
+     */
+    static DatastoreStorage forFormat(DatastoreFormat format, DatastoreCompression compression, Path filePath) {
+        requireNonNull(format);
+        requireNonNull(compression);
+        switch (format) {
+        case BINARY:
+            return new BinaryDatastoreStorage(filePath);
+        case JSON:
+            return new JsonDatastoreStorage(filePath, JsonDatastoreStorage.DEFAULT_PRETTY_PRINT_LIMIT,
+                    compression.getCodec());
+        case SHARDED:
+            return new ShardedDatastoreStorage(filePath);
+        default:
+            throw new IllegalArgumentException("Unknown datastore format " + format);
+        }
+    }
+
+    /**
+     * Returns the path of the backup of the previous version of the data file at {@code filePath}.
+     */
+    static Path getBackupFilePath(Path filePath) {
+        return FileUtil.appendToFileName(filePath, BACKUP_FILE_SUFFIX);
+    }
+
     /**
      * Returns the file path of the data file.
      */
@@ -31,6 +76,20 @@ public interface DatastoreStorage {
      */
     Optional<ReadOnlyDatastore> readDatastore(Path filePath) throws DataLoadingException;
 
+    /**
+     * Reads AddressBook data in two stages: the persons are read before this method returns, and the logs are read
+     * afterwards by {@code executor}, so that the persons can be used while the logs are still being read.
+     * If loading the logs fails, the logs of the result complete exceptionally with a {@code DataLoadingException}.
+     * Storages that cannot read the logs on their own read all of the data before returning.
+     * Returns {@code Optional.empty()} if storage file is not found.
+     *
+     * @throws DataLoadingException if loading the persons from storage failed.
+     */
+    default Optional<StagedDatastore> readDatastoreInStages(Executor executor) throws DataLoadingException {
+        requireNonNull(executor);
+        return readDatastore().map(StagedDatastore::of);
+    }
+
     /**
      * Saves the given {@link ReadOnlyPersonStore} to the storage.
      *
@@ -44,4 +103,19 @@ public interface DatastoreStorage {
      */
     void saveDatastore(ReadOnlyDatastore datastore, Path filePath) throws IOException;
 
+    /**
+     * Saves {@code changes}, which advance the last saved data to {@code datastore}, to the storage.
+     * Storages that cannot save changes alone save the whole of {@code datastore} instead.
+     *
+     * @param datastore cannot be null.
+     * @param changes the changes since the last save, in the order they were applied. Cannot be null.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    default void saveDatastoreChanges(ReadOnlyDatastore datastore, List<DatastoreChange> changes)
+            throws IOException {
+        if (!changes.isEmpty()) {
+            saveDatastore(datastore);
+        }
+    }
+
 }
@@ -0,0 +1,209 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.util.AppUtil;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
+
+/**
+ * A {@code DatastoreStorage} that saves the changes made by each command to a {@link DatastoreJournal}, instead of
+ * rewriting the whole data file.
+ * The data file is a checkpoint written by another {@code DatastoreStorage}, and the journal is kept next to it.
+ * Reading replays the journal over the checkpoint. Once the journal holds {@code checkpointInterval} changes, the next
+ * save writes a new checkpoint and clears the journal, so that the journal and the time to replay it stay bounded.
+ */
+public class JournaledDatastoreStorage implements DatastoreStorage {
+
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100;
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+
+    private static final Logger logger = LogsCenter.getLogger(JournaledDatastoreStorage.class);
+
+    private final DatastoreStorage checkpointStorage;
+    private final DatastoreJournal journal;
+    private final int checkpointInterval;
+
+    /**
+     * The number of changes in the journal, or -1 if the checkpoint and journal have not been read or written yet.
+     * Changes are only appended once the checkpoint and journal are known to hold the last saved data.
+     * Volatile, as the logs may be read on another thread than the one saving changes.
+     */
+    private volatile int journalSize = -1;
+
+    /**
+     * Creates a storage that writes checkpoints with {@code checkpointStorage}, and journals up to
+     * {@code checkpointInterval} changes between checkpoints.
+     */
+    public JournaledDatastoreStorage(DatastoreStorage checkpointStorage, int checkpointInterval) {
+        requireNonNull(checkpointStorage);
+        AppUtil.checkArgument(checkpointInterval > 0, "Checkpoint interval must be positive");
+        this.checkpointStorage = checkpointStorage;
+        this.journal = new DatastoreJournal(getJournalFilePath(checkpointStorage.getDatastoreFilePath()));
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    /**
+     * Returns the path of the journal kept next to the data file at {@code filePath}.
+     */
+    public static Path getJournalFilePath(Path filePath) {
+        requireNonNull(filePath);
+        return Paths.get(filePath + JOURNAL_FILE_SUFFIX);
+    }
+
+    @Override
+    public Path getDatastoreFilePath() {
+        return checkpointStorage.getDatastoreFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore() throws DataLoadingException {
+        return readDatastore(getDatastoreFilePath());
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        Optional<ReadOnlyDatastore> checkpoint = checkpointStorage.readDatastore(filePath);
+        List<DatastoreChange> changes = new DatastoreJournal(getJournalFilePath(filePath)).read();
+        if (checkpoint.isEmpty() && changes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Datastore datastore = checkpoint.map(Datastore::new).orElseGet(Datastore::new);
+        changes.forEach(datastore::applyChange);
+        if (!changes.isEmpty()) {
+            logger.info("Replayed " + changes.size() + " journaled changes over " + filePath);
+        }
+
+        if (filePath.equals(getDatastoreFilePath()) && checkpoint.isPresent()) {
+            journalSize = changes.size();
+        }
+        return Optional.of(datastore);
+    }
+
+    /**
+     * Reads the checkpoint in stages, and replays the journal over each stage: the changes to persons over the
+     * persons before this method returns, and the changes to logs over the logs once they are read.
+     * Changes are only appended to the journal after the logs are read, as until then the data is not known to match
+     * the checkpoint and journal.
+     */
+    @Override
+    public Optional<StagedDatastore> readDatastoreInStages(Executor executor) throws DataLoadingException {
+        requireNonNull(executor);
+
+        List<DatastoreChange> changes = journal.read();
+        Optional<StagedDatastore> checkpoint = checkpointStorage.readDatastoreInStages(executor);
+        if (checkpoint.isEmpty() && changes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Datastore persons = checkpoint.map(staged -> new Datastore(staged.getPersons())).orElseGet(Datastore::new);
+        for (DatastoreChange change : changes) {
+            persons.getMutablePersonStore().applyChanges(change.getPersons(), change.getPersonIdSequence());
+        }
+        persons.clearChangedIds();
+        if (!changes.isEmpty()) {
+            logger.info("Replayed " + changes.size() + " journaled changes over the persons of "
+                    + getDatastoreFilePath());
+        }
+
+        CompletableFuture<List<Log>> logs = checkpoint
+                .map(staged -> staged.getLogs().thenApply(checkpointLogs -> {
+                    List<Log> replayedLogs = replayLogChanges(checkpointLogs, changes);
+                    journalSize = changes.size();
+                    return replayedLogs;
+                }))
+                .orElseGet(() -> CompletableFuture.completedFuture(replayLogChanges(List.of(), changes)));
+        return Optional.of(new StagedDatastore(persons, logs));
+    }
+
+    /**
+     * Returns {@code logs} with the changes to logs in {@code changes} applied, in the order they were applied.
+     */
+    private static List<Log> replayLogChanges(List<Log> logs, List<DatastoreChange> changes) {
+        if (changes.isEmpty()) {
+            return logs;
+        }
+
+        Map<Integer, Log> logsById = new LinkedHashMap<>();
+        logs.forEach(log -> logsById.put(log.getLogId(), log));
+        for (DatastoreChange change : changes) {
+            change.getLogs().forEach((id, log) -> {
+                if (log == null) {
+                    logsById.remove(id);
+                } else {
+                    logsById.put(id, log);
+                }
+            });
+        }
+        return new ArrayList<>(logsById.values());
+    }
+
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore) throws IOException {
+        saveDatastore(datastore, getDatastoreFilePath());
+    }
+
+    /**
+     * Writes the whole of {@code datastore} as a checkpoint to {@code filePath}, and clears its journal.
+     * Replaying a change over data that already has it makes no difference, so a crash between writing the checkpoint
+     * and clearing the journal loses nothing.
+     */
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore, Path filePath) throws IOException {
+        requireNonNull(datastore);
+        requireNonNull(filePath);
+
+        boolean isOwnFile = filePath.equals(getDatastoreFilePath());
+        if (isOwnFile) {
+            journalSize = -1;
+        }
+        checkpointStorage.saveDatastore(datastore, filePath);
+        new DatastoreJournal(getJournalFilePath(filePath)).clear();
+        if (isOwnFile) {
+            journalSize = 0;
+        }
+    }
+
+    /**
+     * Appends {@code changes} to the journal, unless the data file has not been read or written by this storage yet,
+     * or the journal would grow beyond the checkpoint interval, in which case a new checkpoint is written instead.
+     */
+    @Override
+    public void saveDatastoreChanges(ReadOnlyDatastore datastore, List<DatastoreChange> changes)
+            throws IOException {
+        requireNonNull(datastore);
+        requireNonNull(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        if (journalSize < 0 || journalSize + changes.size() > checkpointInterval) {
+            saveDatastore(datastore);
+            return;
+        }
+
+        int previousJournalSize = journalSize;
+        journalSize = -1;
+        journal.append(changes);
+        journalSize = previousJournalSize + changes.size();
+    }
+}
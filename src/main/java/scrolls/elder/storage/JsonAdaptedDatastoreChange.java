@@ -0,0 +1,96 @@
+package scrolls.elder.storage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+
+/**
+ * Jackson-friendly version of {@link DatastoreChange}.
+ */
+class JsonAdaptedDatastoreChange {
+
+    private final List<JsonAdaptedPerson> persons = new ArrayList<>();
+    private final List<Integer> removedPersonIds = new ArrayList<>();
+    private final List<Log> logs = new ArrayList<>();
+    private final List<Integer> removedLogIds = new ArrayList<>();
+    private final int personIdSequence;
+    private final int logIdSequence;
+
+    /**
+     * Constructs a {@code JsonAdaptedDatastoreChange} with the given change details.
+     */
+    @JsonCreator
+    public JsonAdaptedDatastoreChange(
+            @JsonProperty("persons") List<JsonAdaptedPerson> persons,
+            @JsonProperty("removedPersonIds") List<Integer> removedPersonIds,
+            @JsonProperty("logs") List<Log> logs,
+            @JsonProperty("removedLogIds") List<Integer> removedLogIds,
+            @JsonProperty("personIdSequence") int personIdSequence,
+            @JsonProperty("logIdSequence") int logIdSequence) {
+        if (persons != null) {
+            this.persons.addAll(persons);
+        }
+        if (removedPersonIds != null) {
+            this.removedPersonIds.addAll(removedPersonIds);
+        }
+        if (logs != null) {
+            this.logs.addAll(logs);
+        }
+        if (removedLogIds != null) {
+            this.removedLogIds.addAll(removedLogIds);
+        }
+        this.personIdSequence = personIdSequence;
+        this.logIdSequence = logIdSequence;
+    }
+
+    /**
+     * Converts a given {@code DatastoreChange} into this class for Jackson use.
+     */
+    public JsonAdaptedDatastoreChange(DatastoreChange source) {
+        source.getPersons().forEach((id, person) -> {
+            if (person == null) {
+                removedPersonIds.add(id);
+            } else {
+                persons.add(new JsonAdaptedPerson(person));
+            }
+        });
+        source.getLogs().forEach((id, log) -> {
+            if (log == null) {
+                removedLogIds.add(id);
+            } else {
+                logs.add(log);
+            }
+        });
+        personIdSequence = source.getPersonIdSequence();
+        logIdSequence = source.getLogIdSequence();
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted change object into the model's {@code DatastoreChange} object.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted change.
+     */
+    public DatastoreChange toModelType() throws IllegalValueException {
+        Map<Integer, Person> modelPersons = new HashMap<>();
+        for (JsonAdaptedPerson jsonAdaptedPerson : persons) {
+            Person person = jsonAdaptedPerson.toModelType();
+            modelPersons.put(person.getPersonId(), person);
+        }
+        removedPersonIds.forEach(id -> modelPersons.put(id, null));
+
+        Map<Integer, Log> modelLogs = new HashMap<>();
+        logs.forEach(log -> modelLogs.put(log.getLogId(), log));
+        removedLogIds.forEach(id -> modelLogs.put(id, null));
+
+        return new DatastoreChange(modelPersons, modelLogs, personIdSequence, logIdSequence);
+    }
+}
@@ -37,7 +37,6 @@ class JsonAdaptedPerson {
     private final String pairedWithName;
     private final String pairedWithId;
     private final String timeServed;
-    private final String latestLogId;
 
     /**
      * Constructs a {@code JsonAdaptedPerson} with the given person details.
@@ -53,8 +52,7 @@ class JsonAdaptedPerson {
             @JsonProperty("tags") List<JsonAdaptedTag> tags,
             @JsonProperty("pairedWithName") String pairedWithName,
             @JsonProperty("pairedWithId") String pairedWithId,
-            @JsonProperty("timeServed") String timeServed,
-            @JsonProperty("latestLogId") String latestLogId) {
+            @JsonProperty("timeServed") String timeServed) {
 
         this.id = id;
         this.name = name;
@@ -68,7 +66,6 @@ class JsonAdaptedPerson {
         }
         this.pairedWithId = pairedWithId;
         this.timeServed = timeServed;
-        this.latestLogId = latestLogId;
     }
 
     /**
@@ -87,7 +84,6 @@ class JsonAdaptedPerson {
         pairedWithName = source.getPairedWithName().map(p -> p.fullName).orElse(null);
         pairedWithId = source.getPairedWithId().map(Object::toString).orElse(null);
         timeServed = String.valueOf(source.getTimeServed());
-        latestLogId = source.getLatestLogId().map(Object::toString).orElse(null);
     }
 
     /**
@@ -155,11 +151,7 @@ class JsonAdaptedPerson {
         final Set<Tag> modelTags = new HashSet<>(personTags);
         final int modelTimeServed = Integer.parseInt(timeServed);
 
-        final Optional<Integer> modelLatestLogId;
-
-        modelLatestLogId = Optional.ofNullable(latestLogId).map(Integer::parseInt);
-
         return PersonFactory.withIdFromParams(modelId, modelName, modelPhone, modelEmail, modelAddress, modelRole,
-                modelTags, modelPairedWithName, modelPairedWithID, modelTimeServed, modelLatestLogId);
+                modelTags, modelPairedWithName, modelPairedWithID, modelTimeServed);
     }
 }
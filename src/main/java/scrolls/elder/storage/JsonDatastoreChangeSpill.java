@@ -0,0 +1,140 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.commons.util.AppUtil;
+import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.DatastoreChangeSpill;
+
+/**
+ * A {@code DatastoreChangeSpill} that appends each entry to a file on the hard disk as gzip-compressed json.
+ * The offsets of the entries in the file are kept in memory, so the file is only valid for the lifetime of this object.
+ */
+public class JsonDatastoreChangeSpill implements DatastoreChangeSpill {
+
+    private static final int UNDO_CHANGE = 0;
+    private static final int REDO_CHANGE = 1;
+
+    private final Path filePath;
+
+    /**
+     * The offsets in the file at which each entry starts.
+     */
+    private final List<Long> entryOffsets = new ArrayList<>();
+
+    /**
+     * The offset in the file at which the next entry will be written.
+     */
+    private long endOffset;
+
+    /**
+     * Creates a spill that writes to the file at {@code filePath}, discarding any existing content of the file.
+     */
+    public JsonDatastoreChangeSpill(Path filePath) throws IOException {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        Files.write(filePath, new byte[0]);
+        this.endOffset = 0;
+    }
+
+    /**
+     * Creates a spill that writes to a new temporary file, which is deleted when the application exits.
+     */
+    public static JsonDatastoreChangeSpill createTemporary() throws IOException {
+        Path tempFile = Files.createTempFile("undo-history", ".spill");
+        tempFile.toFile().deleteOnExit();
+        return new JsonDatastoreChangeSpill(tempFile);
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public void write(int index, DatastoreChange undoChange, DatastoreChange redoChange) throws IOException {
+        AppUtil.checkArgument(index == entryOffsets.size(), "Spill entries must be written in order");
+        JsonAdaptedDatastoreChange[] entry =
+                {new JsonAdaptedDatastoreChange(undoChange), new JsonAdaptedDatastoreChange(redoChange)};
+        byte[] compressed = compress(JsonUtil.toJsonString(entry).getBytes(StandardCharsets.UTF_8));
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(compressed);
+            long position = endOffset;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+
+        entryOffsets.add(endOffset);
+        endOffset += compressed.length;
+    }
+
+    @Override
+    public void truncate(int fromIndex) throws IOException {
+        if (fromIndex >= entryOffsets.size()) {
+            return;
+        }
+
+        endOffset = entryOffsets.get(fromIndex);
+        entryOffsets.subList(fromIndex, entryOffsets.size()).clear();
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+            channel.truncate(endOffset);
+        }
+    }
+
+    @Override
+    public Entry read(int index) throws IOException {
+        AppUtil.checkArgument(index >= 0 && index < entryOffsets.size(), "No spill entry at index " + index);
+        long start = entryOffsets.get(index);
+        long end = index + 1 < entryOffsets.size() ? entryOffsets.get(index + 1) : endOffset;
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new IOException("Spill file ended before entry " + index);
+                }
+            }
+        }
+
+        String json = new String(decompress(buffer.array()), StandardCharsets.UTF_8);
+        JsonAdaptedDatastoreChange[] entry = JsonUtil.fromJsonString(json, JsonAdaptedDatastoreChange[].class);
+        try {
+            return new Entry(entry[UNDO_CHANGE].toModelType(), entry[REDO_CHANGE].toModelType());
+        } catch (IllegalValueException ive) {
+            throw new IOException("Illegal values found in spill entry " + index, ive);
+        }
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] decompress(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
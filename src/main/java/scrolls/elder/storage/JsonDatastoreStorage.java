@@ -2,29 +2,80 @@ package scrolls.elder.storage;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
 import scrolls.elder.commons.core.LogsCenter;
 import scrolls.elder.commons.exceptions.DataLoadingException;
 import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.commons.util.AppUtil;
+import scrolls.elder.commons.util.CompressionCodec;
+import scrolls.elder.commons.util.CompressionCodecRegistry;
 import scrolls.elder.commons.util.FileUtil;
 import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.Datastore;
 import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
 
 /**
  * A class to access AddressBook data stored as a json file on the hard disk.
+ * The file may be compressed. It is saved with the codec this storage is created with, and read with the codec it
+ * was saved with, as told by its first bytes, so changing the codec takes effect at the next save.
  */
 public class JsonDatastoreStorage implements DatastoreStorage {
 
+    /**
+     * The largest number of persons and logs for which the data file is pretty-printed by default.
+     * Larger data files are written on a single line, which is smaller and faster to write.
+     */
+    public static final int DEFAULT_PRETTY_PRINT_LIMIT = 1000;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger logger = LogsCenter.getLogger(JsonDatastoreStorage.class);
 
     private final Path filePath;
+    private final int prettyPrintLimit;
+    private final CompressionCodec codec;
 
     public JsonDatastoreStorage(Path filePath) {
+        this(filePath, DEFAULT_PRETTY_PRINT_LIMIT);
+    }
+
+    /**
+     * Creates a storage for the data file at {@code filePath}, which is pretty-printed if the datastore saved has at
+     * most {@code prettyPrintLimit} persons and logs.
+     */
+    public JsonDatastoreStorage(Path filePath, int prettyPrintLimit) {
+        this(filePath, prettyPrintLimit, CompressionCodecRegistry.NONE);
+    }
+
+    /**
+     * Creates a storage for the data file at {@code filePath}, which is pretty-printed if the datastore saved has at
+     * most {@code prettyPrintLimit} persons and logs, and compressed with {@code codec} as it is saved.
+     * The codec must be detectable by {@link CompressionCodecRegistry}, so that the file can be read back.
+     */
+    public JsonDatastoreStorage(Path filePath, int prettyPrintLimit, CompressionCodec codec) {
+        requireNonNull(codec);
+        AppUtil.checkArgument(CompressionCodecRegistry.isDetectable(codec),
+                CompressionCodecRegistry.MESSAGE_NOT_DETECTABLE);
         this.filePath = filePath;
+        this.prettyPrintLimit = prettyPrintLimit;
+        this.codec = codec;
     }
 
     public Path getDatastoreFilePath() {
@@ -45,17 +96,86 @@ public class JsonDatastoreStorage implements DatastoreStorage {
     public Optional<ReadOnlyDatastore> readDatastore(Path filePath) throws DataLoadingException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableDatastore> jsonAddressBook = JsonUtil.readJsonFile(
-                filePath, JsonSerializableDatastore.class);
-        if (jsonAddressBook.isEmpty()) {
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        logger.info("JSON file " + filePath + " found.");
+
+        try (JsonParser parser = JsonUtil.createParser(filePath)) {
+            return Optional.of(JsonSerializableDatastore.readModelType(parser));
+        } catch (IOException ioe) {
+            logger.warning("Error reading from jsonFile file " + filePath + ": " + ioe);
+            throw new DataLoadingException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+    }
+
+    /**
+     * Reads the data file up to the end of its persons, and leaves the parser for {@code executor} to read the logs
+     * after them. The persons are written before the logs, so the logs are not held up by reading the persons.
+     */
+    @Override
+    public Optional<StagedDatastore> readDatastoreInStages(Executor executor) throws DataLoadingException {
+        requireNonNull(executor);
+
+        if (!Files.exists(filePath)) {
             return Optional.empty();
         }
+        logger.info("JSON file " + filePath + " found.");
 
+        JsonParser parser = null;
         try {
-            return Optional.of(jsonAddressBook.get().toModelType());
+            parser = JsonUtil.createParser(filePath);
+            ParallelRecordConverter.ChunkedConverter<JsonAdaptedPerson, Person> persons =
+                    new ParallelRecordConverter.ChunkedConverter<>(JsonAdaptedPerson::toModelType);
+            List<Log> logs = new ArrayList<>();
+            JsonSerializableDatastore.readPersonRecords(parser, persons::add, logs);
+            Datastore datastore = JsonSerializableDatastore.createPersonDatastore(persons.finish());
+
+            JsonParser logParser = parser;
+            CompletableFuture<List<Log>> futureLogs =
+                    CompletableFuture.supplyAsync(() -> readRemainingLogs(logParser, logs), executor);
+            parser = null;
+            return Optional.of(new StagedDatastore(datastore, futureLogs));
+        } catch (IOException ioe) {
+            logger.warning("Error reading from jsonFile file " + filePath + ": " + ioe);
+            throw new DataLoadingException(ioe);
         } catch (IllegalValueException ive) {
             logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
             throw new DataLoadingException(ive);
+        } finally {
+            closeQuietly(parser);
+        }
+    }
+
+    /**
+     * Reads the rest of the data file from {@code parser}, which is closed afterwards, and returns its logs after
+     * {@code logs}. Failures are thrown as a {@code CompletionException} with a {@code DataLoadingException} cause.
+     */
+    private List<Log> readRemainingLogs(JsonParser parser, List<Log> logs) {
+        try (parser) {
+            JsonSerializableDatastore.readRemainingRecords(parser, unused -> {}, logs);
+            JsonSerializableDatastore.checkLogs(logs);
+            return logs;
+        } catch (IOException ioe) {
+            logger.warning("Error reading logs from jsonFile file " + filePath + ": " + ioe);
+            throw new CompletionException(new DataLoadingException(ioe));
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in logs of " + filePath + ": " + ive.getMessage());
+            throw new CompletionException(new DataLoadingException(ive));
+        }
+    }
+
+    private void closeQuietly(JsonParser parser) {
+        if (parser == null) {
+            return;
+        }
+        try {
+            parser.close();
+        } catch (IOException ioe) {
+            logger.warning("Error closing jsonFile file " + filePath + ": " + ioe);
         }
     }
 
@@ -66,6 +186,8 @@ public class JsonDatastoreStorage implements DatastoreStorage {
 
     /**
      * Similar to {@link DatastoreStorage#saveDatastore(ReadOnlyDatastore)}.
+     * The data is written to a temporary file next to {@code filePath} first, which then replaces the data file, so
+     * a crash while saving leaves the previous data file intact. The previous data file is kept as a backup.
      *
      * @param datastore
      * @param filePath  location of the data. Cannot be null.
@@ -74,8 +196,18 @@ public class JsonDatastoreStorage implements DatastoreStorage {
         requireNonNull(datastore);
         requireNonNull(filePath);
 
-        FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableDatastore(datastore), filePath);
+        FileUtil.createParentDirsOfFile(filePath);
+        Path tempFilePath = FileUtil.appendToFileName(filePath, TEMP_FILE_SUFFIX);
+        int recordCount = datastore.getPersonStore().getPersonList().size()
+                + datastore.getLogStore().getUnfilteredAllLogsList().size();
+        // The data is compressed as it is written, and the compressed data is only complete once the stream is closed
+        try (OutputStream fileOut = new BufferedOutputStream(Files.newOutputStream(tempFilePath), WRITE_BUFFER_SIZE);
+                OutputStream out = codec.compress(fileOut);
+                JsonGenerator generator = JsonUtil.createGenerator(out, recordCount <= prettyPrintLimit)) {
+            JsonSerializableDatastore.writeModelType(datastore, generator);
+        }
+        FileUtil.forceFile(tempFilePath);
+        FileUtil.replaceAtomically(tempFilePath, filePath, DatastoreStorage.getBackupFilePath(filePath));
     }
 
 }
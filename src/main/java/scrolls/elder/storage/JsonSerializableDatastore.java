@@ -1,20 +1,28 @@
 package scrolls.elder.storage;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import scrolls.elder.commons.exceptions.IllegalValueException;
 import scrolls.elder.model.Datastore;
-import scrolls.elder.model.LogStore;
-import scrolls.elder.model.PersonStore;
 import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.log.Log;
 import scrolls.elder.model.person.Person;
+import scrolls.elder.model.person.exceptions.DuplicatePersonException;
 
 /**
  * An Immutable Datastore that is serializable to JSON format.
@@ -25,6 +33,9 @@ class JsonSerializableDatastore {
     public static final String MESSAGE_DUPLICATE_PERSON = "Persons list contains duplicate person(s).";
     public static final String MESSAGE_DUPLICATE_LOG = "Logs list contains duplicate log(s).";
 
+    private static final String FIELD_PERSONS = "persons";
+    private static final String FIELD_LOGS = "logs";
+
     private final List<JsonAdaptedPerson> persons = new ArrayList<>();
     private final List<Log> logs = new ArrayList<>();
 
@@ -33,8 +44,8 @@ class JsonSerializableDatastore {
      */
     @JsonCreator
     public JsonSerializableDatastore(
-            @JsonProperty("persons") List<JsonAdaptedPerson> persons,
-            @JsonProperty("logs") List<Log> logs) {
+            @JsonProperty(FIELD_PERSONS) List<JsonAdaptedPerson> persons,
+            @JsonProperty(FIELD_LOGS) List<Log> logs) {
         this.persons.addAll(persons);
         this.logs.addAll(logs);
     }
@@ -60,25 +71,176 @@ class JsonSerializableDatastore {
      * @throws IllegalValueException if there were any data constraints violated.
      */
     public Datastore toModelType() throws IllegalValueException {
-        Datastore ds = new Datastore();
-        PersonStore personStore = ds.getMutablePersonStore();
-        LogStore logStore = ds.getMutableLogStore();
+        return buildDatastore(persons, logs);
+    }
 
-        for (JsonAdaptedPerson jsonAdaptedPerson : persons) {
-            Person person = jsonAdaptedPerson.toModelType();
-            if (personStore.hasPerson(person)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
-            }
-            personStore.addPersonWithId(person);
+    /**
+     * Reads a datastore in the format of this class from {@code parser} into the model's {@code Datastore} object.
+     * The records are read one at a time without building a tree of the whole file. Persons are converted in chunks
+     * while the rest of the file is read, so that only the chunks being converted are held besides the model persons.
+     *
+     * @throws IOException if the data is not valid json, or not in the format of this class.
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    public static Datastore readModelType(JsonParser parser) throws IOException, IllegalValueException {
+        ParallelRecordConverter.ChunkedConverter<JsonAdaptedPerson, Person> persons =
+                new ParallelRecordConverter.ChunkedConverter<>(JsonAdaptedPerson::toModelType);
+        List<Log> logs = new ArrayList<>();
+        readRecords(parser, persons::add, logs);
+        Datastore ds = createPersonDatastore(persons.finish());
+        checkLogs(logs);
+        ds.getMutableLogStore().setLogList(logs);
+        return ds;
+    }
+
+    /**
+     * Reads the persons and logs of data in the format of this class from {@code parser}, and passes them to
+     * {@code persons} and adds them to {@code logs}, without converting or validating them.
+     *
+     * @throws IOException if the data is not valid json, or not in the format of this class.
+     */
+    static void readRecords(JsonParser parser, Consumer<JsonAdaptedPerson> persons, List<Log> logs)
+            throws IOException {
+        readPersonRecords(parser, persons, logs);
+        readRemainingRecords(parser, persons, logs);
+    }
+
+    /**
+     * Reads data in the format of this class from {@code parser} until the persons are read, and passes them to
+     * {@code persons}, and adds any logs that come before them to {@code logs}, without converting or validating
+     * them. The rest of the data can then be read with {@link #readRemainingRecords(JsonParser, Consumer, List)}.
+     *
+     * @throws IOException if the data is not valid json, or not in the format of this class.
+     */
+    static void readPersonRecords(JsonParser parser, Consumer<JsonAdaptedPerson> persons, List<Log> logs)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected a datastore object");
         }
-        for (Log l : logs) {
-            if (logStore.hasLog(l)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_LOG);
+        readFields(parser, persons, logs, true);
+    }
+
+    /**
+     * Reads the rest of the data left by {@link #readPersonRecords(JsonParser, Consumer, List)} from {@code parser},
+     * and passes its persons to {@code persons} and adds its logs to {@code logs}, without converting or validating
+     * them.
+     *
+     * @throws IOException if the data is not valid json, or not in the format of this class.
+     */
+    static void readRemainingRecords(JsonParser parser, Consumer<JsonAdaptedPerson> persons, List<Log> logs)
+            throws IOException {
+        readFields(parser, persons, logs, false);
+    }
+
+    private static void readFields(JsonParser parser, Consumer<JsonAdaptedPerson> persons, List<Log> logs,
+            boolean isStoppingAfterPersons) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY && field.equals(FIELD_PERSONS)) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    persons.accept(parser.readValueAs(JsonAdaptedPerson.class));
+                }
+                if (isStoppingAfterPersons) {
+                    return;
+                }
+            } else if (value == JsonToken.START_ARRAY && field.equals(FIELD_LOGS)) {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    logs.add(parser.readValueAs(Log.class));
+                }
+            } else {
+                parser.skipChildren();
             }
-            logStore.addLogWithId(l);
         }
+    }
+
+    /**
+     * Writes {@code source} in the format of this class to {@code generator}.
+     * Each person and log is converted and written on its own, so no copy of the whole datastore is made.
+     *
+     * @throws IOException if there was any problem writing the data.
+     */
+    public static void writeModelType(ReadOnlyDatastore source, JsonGenerator generator) throws IOException {
+        writeRecords(source.getPersonStore().getPersonList(), source.getLogStore().getUnfilteredAllLogsList(),
+                generator);
+    }
 
+    /**
+     * Writes {@code persons} and {@code logs} in the format of this class to {@code generator}.
+     *
+     * @throws IOException if there was any problem writing the data.
+     */
+    static void writeRecords(Collection<Person> persons, Collection<Log> logs, JsonGenerator generator)
+            throws IOException {
+        generator.writeStartObject();
+
+        generator.writeFieldName(FIELD_PERSONS);
+        generator.writeStartArray();
+        for (Person person : persons) {
+            generator.writeObject(new JsonAdaptedPerson(person));
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(FIELD_LOGS);
+        generator.writeStartArray();
+        for (Log log : logs) {
+            generator.writeObject(log);
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * Converts {@code persons} and adds them with {@code logs} to a new {@code Datastore}.
+     * Persons are validated and converted in parallel, and each store is then filled in a single bulk insert, after
+     * duplicates are checked for with a hash set of the identity of each record.
+     *
+     * @throws IllegalValueException if there were any data constraints violated, or any duplicate persons or logs.
+     */
+    static Datastore buildDatastore(List<JsonAdaptedPerson> persons, List<Log> logs) throws IllegalValueException {
+        Datastore ds = buildPersonDatastore(persons);
+        checkLogs(logs);
+        ds.getMutableLogStore().setLogList(logs);
         return ds;
     }
 
+    /**
+     * Converts {@code persons} in parallel, and adds them to a new {@code Datastore} without any logs.
+     *
+     * @throws IllegalValueException if there were any data constraints violated, or any duplicate persons.
+     */
+    static Datastore buildPersonDatastore(List<JsonAdaptedPerson> persons) throws IllegalValueException {
+        return createPersonDatastore(ParallelRecordConverter.convertAll(persons, JsonAdaptedPerson::toModelType));
+    }
+
+    /**
+     * Adds {@code modelPersons} to a new {@code Datastore} without any logs.
+     *
+     * @throws IllegalValueException if there are any duplicate persons.
+     */
+    static Datastore createPersonDatastore(List<Person> modelPersons) throws IllegalValueException {
+        Datastore ds = new Datastore();
+        try {
+            ds.getMutablePersonStore().setPersonList(modelPersons);
+        } catch (DuplicatePersonException e) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
+        }
+        return ds;
+    }
+
+    /**
+     * Checks that no two of {@code logs} have the same ID.
+     *
+     * @throws IllegalValueException if there are any duplicate logs.
+     */
+    static void checkLogs(List<Log> logs) throws IllegalValueException {
+        Set<Integer> logIds = new HashSet<>();
+        for (Log log : logs) {
+            if (!logIds.add(log.getLogId())) {
+                throw new IllegalValueException(MESSAGE_DUPLICATE_LOG);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,112 @@
+package scrolls.elder.storage;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+
+/**
+ * Jackson-friendly manifest of a datastore saved by {@link ShardedDatastoreStorage}.
+ * Names the file of the persons segment and of the log segment of each partition, which together hold the data.
+ * Segment files are named with the generation of the save that wrote them, so a save never overwrites a file that the
+ * current manifest names, and replacing the manifest switches to the new segments at once.
+ */
+class JsonShardManifest {
+
+    static final String FORMAT_NAME = "sharded";
+    static final int FORMAT_VERSION = 1;
+
+    static final String MESSAGE_INVALID_MANIFEST = "Manifest is not a valid sharded data file manifest";
+
+    private final String format;
+    private final int formatVersion;
+    private final long generation;
+    private final String personsSegment;
+    private final Map<String, String> logSegments = new TreeMap<>();
+
+    /**
+     * Constructs a {@code JsonShardManifest} with the given manifest details.
+     */
+    @JsonCreator
+    public JsonShardManifest(@JsonProperty("format") String format,
+            @JsonProperty("formatVersion") int formatVersion,
+            @JsonProperty("generation") long generation,
+            @JsonProperty("personsSegment") String personsSegment,
+            @JsonProperty("logSegments") Map<String, String> logSegments) {
+        this.format = format;
+        this.formatVersion = formatVersion;
+        this.generation = generation;
+        this.personsSegment = personsSegment;
+        if (logSegments != null) {
+            this.logSegments.putAll(logSegments);
+        }
+    }
+
+    /**
+     * Constructs a manifest of the current format version with the given segments.
+     */
+    public JsonShardManifest(long generation, String personsSegment, Map<String, String> logSegments) {
+        this(FORMAT_NAME, FORMAT_VERSION, generation, personsSegment, logSegments);
+    }
+
+    /**
+     * Checks that this manifest is of a format version this class knows, and names only files of the segment
+     * directory, so that a damaged manifest cannot make the storage read or delete other files.
+     *
+     * @throws IllegalValueException if the manifest is invalid.
+     */
+    public void checkValid() throws IllegalValueException {
+        if (!FORMAT_NAME.equals(format) || formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new IllegalValueException(MESSAGE_INVALID_MANIFEST);
+        }
+        if (!isSegmentFileName(personsSegment)
+                || !logSegments.values().stream().allMatch(JsonShardManifest::isSegmentFileName)) {
+            throw new IllegalValueException(MESSAGE_INVALID_MANIFEST);
+        }
+    }
+
+    private static boolean isSegmentFileName(String name) {
+        if (name == null || name.isEmpty() || name.startsWith(".")) {
+            return false;
+        }
+        try {
+            Path path = Paths.get(name);
+            return path.getNameCount() == 1 && path.getFileName().toString().equals(name);
+        } catch (InvalidPathException ipe) {
+            return false;
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public String getPersonsSegment() {
+        return personsSegment;
+    }
+
+    /**
+     * Returns the file name of the log segment of each partition, ordered by partition.
+     */
+    public Map<String, String> getLogSegments() {
+        return Collections.unmodifiableMap(logSegments);
+    }
+
+    /**
+     * Returns the file names of all segments named by this manifest.
+     */
+    public Set<String> getSegmentFileNames() {
+        Set<String> names = new HashSet<>(logSegments.values());
+        names.add(personsSegment);
+        return names;
+    }
+}
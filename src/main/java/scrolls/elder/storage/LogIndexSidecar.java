@@ -0,0 +1,309 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
+
+/**
+ * A file kept next to the data file that holds the {@link LogTextIndex} of the logs in it, so that the index need not
+ * be rebuilt from the words of every log at startup.
+ * <p>
+ * The file starts with a header of the magic bytes {@code ESIX}, the version of the format, the number and a checksum
+ * of the indexed contents of the logs it was built from, and the length and CRC-32 checksum of the rest of the file.
+ * The rest of the file holds the number of words, then for each word in order, its length in bytes, its UTF-8 bytes,
+ * the number of longs in its bitmap of log IDs, and those longs.
+ * The file is only a cache: it is ignored, and rebuilt, whenever it is missing, damaged, or built from other logs.
+ * It is written when it is rebuilt at startup, and again from the index in use once the logs are saved at exit.
+ */
+public class LogIndexSidecar {
+
+    public static final String FILE_SUFFIX = ".index";
+    public static final short FORMAT_VERSION = 2;
+
+    private static final byte[] MAGIC = {'E', 'S', 'I', 'X'};
+    private static final int HEADER_SIZE =
+            MAGIC.length + Short.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private static final Logger logger = LogsCenter.getLogger(LogIndexSidecar.class);
+
+    private final Path filePath;
+
+    /**
+     * Creates a sidecar for the data file at {@code dataFilePath}, kept next to it.
+     */
+    public LogIndexSidecar(Path dataFilePath) {
+        requireNonNull(dataFilePath);
+        this.filePath = FileUtil.appendToFileName(dataFilePath, FILE_SUFFIX);
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the index in the sidecar if it was built from exactly {@code logs}, or the index of {@code logs} built
+     * from their words otherwise, which is then written to the sidecar for the next startup.
+     * Failing to write the sidecar is only logged, as the index returned is correct either way.
+     */
+    public LogTextIndex readOrRebuild(List<Log> logs) {
+        requireNonNull(logs);
+        Optional<LogTextIndex> index = read(logs);
+        if (index.isPresent()) {
+            logger.info("Read the index of " + logs.size() + " logs from " + filePath);
+            return index.get();
+        }
+
+        logger.info("Index file " + filePath + " is missing or outdated, rebuilding it");
+        LogTextIndex rebuilt = LogTextIndex.of(logs);
+        try {
+            write(rebuilt, logs);
+        } catch (IOException ioe) {
+            logger.warning("Error writing index file " + filePath + ": " + ioe);
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Returns the index in the sidecar, or an empty {@code Optional} if there is no sidecar, it is damaged, or it was
+     * not built from exactly {@code logs}.
+     * Only a sidecar whose header matches {@code logs} is mapped into memory, and its words are read from there.
+     */
+    public Optional<LogTextIndex> read(Collection<Log> logs) {
+        requireNonNull(logs);
+        if (!FileUtil.isFileExists(filePath)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return Optional.empty();
+                }
+            }
+            header.flip();
+            if (!isHeaderOf(header, logs, channel.size())) {
+                return Optional.empty();
+            }
+            long expectedChecksum = Integer.toUnsignedLong(header.getInt());
+
+            MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE,
+                    channel.size() - HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != expectedChecksum) {
+                logger.warning("Checksum mismatch in index file " + filePath + ", ignoring it");
+                return Optional.empty();
+            }
+            return Optional.of(readPostings(body));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.warning("Error reading from index file " + filePath + ": " + e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes {@code index}, built from {@code logs}, to the sidecar, unless the sidecar was built from exactly
+     * {@code logs} already. Only the header of the sidecar is read to tell.
+     *
+     * @return true if the sidecar was written.
+     */
+    public boolean update(LogTextIndex index, Collection<Log> logs) throws IOException {
+        requireNonNull(index);
+        requireNonNull(logs);
+        if (isBuiltFrom(logs)) {
+            return false;
+        }
+        write(index, logs);
+        return true;
+    }
+
+    /**
+     * Writes {@code index}, built from {@code logs}, to the sidecar, replacing any sidecar written before.
+     */
+    public void write(LogTextIndex index, Collection<Log> logs) throws IOException {
+        requireNonNull(index);
+        requireNonNull(logs);
+
+        FileUtil.createParentDirsOfFile(filePath);
+        Path tempFilePath = FileUtil.appendToFileName(filePath, TEMP_FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            writePostings(index, out);
+            out.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .put(MAGIC)
+                    .putShort(FORMAT_VERSION)
+                    .putInt(logs.size())
+                    .putLong(checksum(logs))
+                    .putLong(channel.position() - HEADER_SIZE)
+                    .putInt((int) checked.getChecksum().getValue());
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        FileUtil.replaceAtomically(tempFilePath, filePath, null);
+    }
+
+    /**
+     * Returns a checksum of the IDs, titles and remarks of {@code logs}, which are all the index is built from.
+     * The checksum does not depend on the order of the logs, as storage formats may keep them in different orders.
+     */
+    static long checksum(Collection<Log> logs) {
+        CRC32C crc = new CRC32C();
+        long sum = 0;
+        for (Log log : logs) {
+            long hash = log.getLogId();
+            hash = hash * 0x9e3779b97f4a7c15L + hashText(log.getLogTitle(), crc);
+            hash = hash * 0x9e3779b97f4a7c15L + hashText(log.getRemarks(), crc);
+            sum += mix(hash);
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the length of the UTF-8 bytes of {@code text} in the upper half, and their CRC-32C checksum in the
+     * lower half, so that texts differing in any byte hash differently, unlike with {@code String#hashCode}.
+     */
+    private static long hashText(String text, CRC32C crc) {
+        if (text == null) {
+            return 0;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        crc.reset();
+        crc.update(bytes);
+        return ((long) bytes.length << 32) ^ crc.getValue();
+    }
+
+    /**
+     * Spreads the bits of {@code value}, so that the sum of the hashes of different logs rarely collides.
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Returns true if the header of the sidecar describes exactly {@code logs}.
+     */
+    private boolean isBuiltFrom(Collection<Log> logs) {
+        if (!FileUtil.isFileExists(filePath)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    return false;
+                }
+            }
+            header.flip();
+            return isHeaderOf(header, logs, channel.size());
+        } catch (IOException ioe) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks the magic bytes, version, length and the logs described in {@code header}, leaving the checksum of the
+     * body to be read.
+     */
+    private boolean isHeaderOf(ByteBuffer header, Collection<Log> logs, long fileSize) {
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(MAGIC, magic) || header.getShort() != FORMAT_VERSION) {
+            logger.warning("Index file " + filePath + " is not in a known format, ignoring it");
+            return false;
+        }
+        if (header.getInt() != logs.size() || header.getLong() != checksum(logs)) {
+            logger.info("Index file " + filePath + " was built from other logs, ignoring it");
+            return false;
+        }
+        if (header.getLong() != fileSize - HEADER_SIZE) {
+            logger.warning("Index file " + filePath + " does not match its header, ignoring it");
+            return false;
+        }
+        return true;
+    }
+
+    private static void writePostings(LogTextIndex index, DataOutputStream out) throws IOException {
+        Map<String, BitSet> postings = index.getPostings();
+        out.writeInt(postings.size());
+        for (Map.Entry<String, BitSet> entry : postings.entrySet()) {
+            byte[] word = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(word.length);
+            out.write(word);
+            long[] ids = entry.getValue().toLongArray();
+            out.writeInt(ids.length);
+            for (long bits : ids) {
+                out.writeLong(bits);
+            }
+        }
+    }
+
+    private static LogTextIndex readPostings(ByteBuffer body) {
+        int wordCount = body.getInt();
+        if (wordCount < 0) {
+            throw new IllegalArgumentException("Negative number of words");
+        }
+        TreeMap<String, BitSet> postings = new TreeMap<>();
+        for (int i = 0; i < wordCount; i++) {
+            byte[] word = new byte[checkLength(body.getInt(), body.remaining())];
+            body.get(word);
+            int longCount = checkLength(body.getInt(), body.remaining() / Long.BYTES);
+            LongBuffer ids = body.asLongBuffer();
+            ids.limit(longCount);
+            postings.put(new String(word, StandardCharsets.UTF_8), BitSet.valueOf(ids));
+            body.position(body.position() + longCount * Long.BYTES);
+        }
+        if (body.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes after the last word");
+        }
+        return new LogTextIndex(postings);
+    }
+
+    private static int checkLength(int length, int available) {
+        if (length < 0 || length > available) {
+            throw new IllegalArgumentException("Length " + length + " is out of bounds");
+        }
+        return length;
+    }
+}
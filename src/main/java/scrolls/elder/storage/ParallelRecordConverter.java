@@ -0,0 +1,183 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+
+/**
+ * Converts records read from storage into model objects on the common fork-join pool.
+ * The records are split in halves until each chunk is small enough to convert on one thread, so the work spreads over
+ * all cores. Each record is converted on its own, so records must not depend on each other to be converted.
+ * If several records are invalid, the exception of the first of them is thrown, as it would be by a serial conversion.
+ * Records that are still being read are converted by a {@link ChunkedConverter} instead, a chunk at a time.
+ */
+class ParallelRecordConverter {
+
+    /**
+     * The number of records below which a chunk is converted on one thread rather than split further.
+     */
+    static final int CHUNK_SIZE = 512;
+
+    /**
+     * Converts a single record, or throws if the record violates any data constraints.
+     */
+    @FunctionalInterface
+    interface Converter<T, R> {
+        R convert(T record) throws IllegalValueException;
+    }
+
+    /**
+     * Returns the results of converting each of {@code records} with {@code converter}, in the order of the records.
+     *
+     * @throws IllegalValueException if any of the records violates any data constraints.
+     */
+    static <T, R> List<R> convertAll(List<T> records, Converter<T, R> converter) throws IllegalValueException {
+        requireNonNull(records);
+        requireNonNull(converter);
+
+        try {
+            return ForkJoinPool.commonPool().invoke(new ConvertTask<>(records, converter));
+        } catch (InvalidRecordException ire) {
+            throw ire.getCause();
+        }
+    }
+
+    /**
+     * Converts records one chunk at a time as they are added, such as while they are read from a file, so that the
+     * records are not all held before they are converted.
+     * At most a few chunks per core are converted at once. Adding a record waits for the oldest of them to be
+     * converted when there are more, so that only those chunks are held alongside the results.
+     */
+    static class ChunkedConverter<T, R> {
+        private final Converter<T, R> converter;
+        private final int maxPendingChunks = 2 * ForkJoinPool.getCommonPoolParallelism() + 1;
+        private final Deque<ForkJoinTask<List<R>>> pendingChunks = new ArrayDeque<>();
+        private final List<R> results = new ArrayList<>();
+        private List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        /**
+         * The exception of the first invalid record converted, after which records added are dropped.
+         */
+        private IllegalValueException firstException;
+
+        ChunkedConverter(Converter<T, R> converter) {
+            this.converter = requireNonNull(converter);
+        }
+
+        /**
+         * Adds {@code record} after the records added before it.
+         * Any exception of converting it is only thrown by {@link #finish()}.
+         */
+        void add(T record) {
+            if (firstException != null) {
+                return;
+            }
+            chunk.add(record);
+            if (chunk.size() == CHUNK_SIZE) {
+                submitChunk();
+            }
+        }
+
+        /**
+         * Waits for every record added to be converted, and returns the results in the order of the records.
+         *
+         * @throws IllegalValueException if any of the records violates any data constraints.
+         */
+        List<R> finish() throws IllegalValueException {
+            if (!chunk.isEmpty()) {
+                submitChunk();
+            }
+            while (!pendingChunks.isEmpty()) {
+                joinOldestChunk();
+            }
+            if (firstException != null) {
+                throw firstException;
+            }
+            return results;
+        }
+
+        private void submitChunk() {
+            pendingChunks.add(ForkJoinPool.commonPool().submit(new ConvertTask<>(chunk, converter)));
+            chunk = new ArrayList<>(CHUNK_SIZE);
+            if (pendingChunks.size() > maxPendingChunks) {
+                joinOldestChunk();
+            }
+        }
+
+        private void joinOldestChunk() {
+            ForkJoinTask<List<R>> oldest = pendingChunks.remove();
+            try {
+                List<R> chunkResults = oldest.join();
+                if (firstException == null) {
+                    results.addAll(chunkResults);
+                }
+            } catch (InvalidRecordException ire) {
+                if (firstException == null) {
+                    firstException = ire.getCause();
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts one chunk of the records, splitting it in halves that are converted in parallel if it is too large.
+     */
+    private static class ConvertTask<T, R> extends RecursiveTask<List<R>> {
+        private final List<T> records;
+        private final Converter<T, R> converter;
+
+        ConvertTask(List<T> records, Converter<T, R> converter) {
+            this.records = records;
+            this.converter = converter;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (records.size() <= CHUNK_SIZE) {
+                return convertChunk();
+            }
+
+            int middle = records.size() / 2;
+            ConvertTask<T, R> secondHalf = new ConvertTask<>(records.subList(middle, records.size()), converter);
+            secondHalf.fork();
+            // The first half is joined first, so that its exception wins over any exception of the second half
+            List<R> results = new ConvertTask<>(records.subList(0, middle), converter).compute();
+            results.addAll(secondHalf.join());
+            return results;
+        }
+
+        private List<R> convertChunk() {
+            List<R> results = new ArrayList<>(records.size());
+            for (T record : records) {
+                try {
+                    results.add(converter.convert(record));
+                } catch (IllegalValueException ive) {
+                    throw new InvalidRecordException(ive);
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Carries an {@code IllegalValueException} out of a fork-join task, which cannot throw checked exceptions.
+     */
+    private static class InvalidRecordException extends RuntimeException {
+        InvalidRecordException(IllegalValueException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IllegalValueException getCause() {
+            return (IllegalValueException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,486 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import scrolls.elder.commons.core.LogsCenter;
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.ReadOnlyLogStore;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+
+/**
+ * A class to access AddressBook data stored as json segments on the hard disk, so that a save rewrites only the
+ * segments with changed data.
+ * <p>
+ * The data file is a {@link JsonShardManifest} naming the segments, which are kept in a directory next to it: one
+ * segment for all persons, and one for the logs of each month of their start date. Saving changes rewrites the
+ * persons segment only if a person changed, and only the log segments of the months a changed log was or is in, so
+ * the cost of a save does not grow as older logs accumulate.
+ * The segments are written before the manifest, and replacing the manifest switches to all of them at once. The
+ * previous manifest is kept as a backup, and the segments it names are kept until the next save.
+ */
+public class ShardedDatastoreStorage implements DatastoreStorage {
+
+    public static final String SEGMENT_DIRECTORY_SUFFIX = ".segments";
+
+    private static final String FIELD_FORMAT = "format";
+    private static final String PERSONS_SEGMENT_PREFIX = "persons";
+    private static final String LOG_SEGMENT_PREFIX = "logs-";
+    private static final String SEGMENT_FILE_EXTENSION = ".json";
+    private static final String UNDATED_PARTITION = "undated";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedDatastoreStorage.class);
+
+    private final Path filePath;
+
+    /**
+     * The manifest of the data file as last read or saved, or null if the data file has not been read or written yet.
+     * Changes are only saved on their own once the segments are known to hold the last saved data.
+     * Volatile, as the logs may be read on another thread than the one saving changes. It is set after the partitions
+     * are indexed, so that a thread that reads it also sees them.
+     */
+    private volatile JsonShardManifest manifest;
+
+    /**
+     * The partition of each log, as last read or saved.
+     */
+    private final Map<Integer, String> partitionByLogId = new HashMap<>();
+
+    /**
+     * The IDs of the logs in each partition, as last read or saved.
+     */
+    private final Map<String, Set<Integer>> logIdsByPartition = new HashMap<>();
+
+    public ShardedDatastoreStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    @Override
+    public Path getDatastoreFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the path of the directory holding the segments of the data file at {@code filePath}.
+     */
+    public static Path getSegmentDirectoryPath(Path filePath) {
+        requireNonNull(filePath);
+        return FileUtil.appendToFileName(filePath, SEGMENT_DIRECTORY_SUFFIX);
+    }
+
+    /**
+     * Returns true if the file at {@code filePath} is the manifest of a sharded data file.
+     * Only the start of the file is read.
+     */
+    public static boolean isShardManifestFile(Path filePath) throws IOException {
+        requireNonNull(filePath);
+        if (!FileUtil.isFileExists(filePath)) {
+            return false;
+        }
+        try (JsonParser parser = JsonUtil.createParser(filePath)) {
+            return parser.nextToken() == JsonToken.START_OBJECT
+                    && parser.nextToken() == JsonToken.FIELD_NAME
+                    && FIELD_FORMAT.equals(parser.getCurrentName())
+                    && parser.nextToken() == JsonToken.VALUE_STRING
+                    && JsonShardManifest.FORMAT_NAME.equals(parser.getText());
+        } catch (JsonProcessingException jpe) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the partition that {@code log} is saved in, which is the month of its start date in UTC.
+     */
+    static String getPartition(Log log) {
+        Date startDate = log.getStartDate();
+        if (startDate == null) {
+            return UNDATED_PARTITION;
+        }
+        return YearMonth.from(startDate.toInstant().atOffset(ZoneOffset.UTC)).toString();
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore() throws DataLoadingException {
+        return readDatastore(filePath);
+    }
+
+    @Override
+    public Optional<ReadOnlyDatastore> readDatastore(Path filePath) throws DataLoadingException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        logger.info("Sharded data file " + filePath + " found.");
+
+        List<JsonAdaptedPerson> persons = new ArrayList<>();
+        List<Log> logs = new ArrayList<>();
+        JsonShardManifest readManifest;
+        ReadOnlyDatastore datastore;
+        try {
+            readManifest = readManifest(filePath);
+            Path segmentDirectory = getSegmentDirectoryPath(filePath);
+            readSegment(segmentDirectory.resolve(readManifest.getPersonsSegment()), persons, logs);
+            for (String segment : readManifest.getLogSegments().values()) {
+                readSegment(segmentDirectory.resolve(segment), persons, logs);
+            }
+            datastore = JsonSerializableDatastore.buildDatastore(persons, logs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from sharded data file " + filePath + ": " + ioe);
+            throw new DataLoadingException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+
+        if (filePath.equals(this.filePath)) {
+            indexPartitions(logs);
+            manifest = readManifest;
+        }
+        return Optional.of(datastore);
+    }
+
+    /**
+     * Reads the manifest and the persons segment, and leaves the log segments for {@code executor} to read.
+     * Changes are only saved on their own after the log segments are read.
+     */
+    @Override
+    public Optional<StagedDatastore> readDatastoreInStages(Executor executor) throws DataLoadingException {
+        requireNonNull(executor);
+
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        logger.info("Sharded data file " + filePath + " found.");
+
+        List<JsonAdaptedPerson> persons = new ArrayList<>();
+        List<Log> logs = new ArrayList<>();
+        JsonShardManifest readManifest;
+        Datastore datastore;
+        try {
+            readManifest = readManifest(filePath);
+            readSegment(getSegmentDirectoryPath(filePath).resolve(readManifest.getPersonsSegment()), persons, logs);
+            datastore = JsonSerializableDatastore.buildPersonDatastore(persons);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from sharded data file " + filePath + ": " + ioe);
+            throw new DataLoadingException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataLoadingException(ive);
+        }
+
+        CompletableFuture<List<Log>> futureLogs =
+                CompletableFuture.supplyAsync(() -> readLogSegments(readManifest, logs), executor);
+        return Optional.of(new StagedDatastore(datastore, futureLogs));
+    }
+
+    /**
+     * Reads the log segments named by {@code readManifest} of the data file, and returns their logs after
+     * {@code logs}. Failures are thrown as a {@code CompletionException} with a {@code DataLoadingException} cause.
+     */
+    private List<Log> readLogSegments(JsonShardManifest readManifest, List<Log> logs) {
+        try {
+            Path segmentDirectory = getSegmentDirectoryPath(filePath);
+            for (String segment : readManifest.getLogSegments().values()) {
+                readSegment(segmentDirectory.resolve(segment), new ArrayList<>(), logs);
+            }
+            JsonSerializableDatastore.checkLogs(logs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading logs from sharded data file " + filePath + ": " + ioe);
+            throw new CompletionException(new DataLoadingException(ioe));
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in logs of " + filePath + ": " + ive.getMessage());
+            throw new CompletionException(new DataLoadingException(ive));
+        }
+
+        indexPartitions(logs);
+        manifest = readManifest;
+        return logs;
+    }
+
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore) throws IOException {
+        saveDatastore(datastore, filePath);
+    }
+
+    /**
+     * Similar to {@link DatastoreStorage#saveDatastore(ReadOnlyDatastore)}.
+     * Writes every segment afresh, and drops the segments of months that no longer have any logs.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    @Override
+    public void saveDatastore(ReadOnlyDatastore datastore, Path filePath) throws IOException {
+        requireNonNull(datastore);
+        requireNonNull(filePath);
+
+        boolean isOwnFile = filePath.equals(this.filePath);
+        JsonShardManifest previous = isOwnFile ? manifest : null;
+        if (isOwnFile) {
+            // Until the save succeeds, the segments are not known to hold the last saved data
+            manifest = null;
+        }
+        if (previous == null) {
+            previous = readManifestIfValid(filePath);
+        }
+
+        List<Log> logs = datastore.getLogStore().getUnfilteredAllLogsList();
+        Map<String, List<Log>> partitions = new HashMap<>();
+        for (Log log : logs) {
+            partitions.computeIfAbsent(getPartition(log), unused -> new ArrayList<>()).add(log);
+        }
+        JsonShardManifest saved = writeSegments(filePath, previous, datastore.getPersonStore().getPersonList(),
+                partitions, Map.of());
+
+        if (isOwnFile) {
+            indexPartitions(logs);
+            manifest = saved;
+        }
+    }
+
+    /**
+     * Rewrites only the segments holding data changed by {@code changes}, unless the data file has not been read or
+     * written by this storage yet, in which case the whole datastore is saved instead.
+     */
+    @Override
+    public void saveDatastoreChanges(ReadOnlyDatastore datastore, List<DatastoreChange> changes)
+            throws IOException {
+        requireNonNull(datastore);
+        requireNonNull(changes);
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (manifest == null) {
+            saveDatastore(datastore);
+            return;
+        }
+
+        boolean isPersonsChanged = false;
+        Set<Integer> changedLogIds = new HashSet<>();
+        for (DatastoreChange change : changes) {
+            isPersonsChanged |= !change.getPersons().isEmpty();
+            changedLogIds.addAll(change.getLogs().keySet());
+        }
+
+        // A changed log dirties both the partition it was saved in and the partition it is in now
+        ReadOnlyLogStore logStore = datastore.getLogStore();
+        Set<String> dirtyPartitions = new HashSet<>();
+        for (int logId : changedLogIds) {
+            Optional.ofNullable(partitionByLogId.get(logId)).ifPresent(dirtyPartitions::add);
+            Optional.ofNullable(logStore.getLogById(logId)).map(ShardedDatastoreStorage::getPartition)
+                    .ifPresent(dirtyPartitions::add);
+        }
+        Map<String, List<Log>> partitions = new HashMap<>();
+        for (String partition : dirtyPartitions) {
+            Set<Integer> logIds = new HashSet<>(logIdsByPartition.getOrDefault(partition, Set.of()));
+            logIds.addAll(changedLogIds);
+            List<Log> logs = new ArrayList<>();
+            for (int logId : logIds) {
+                Log log = logStore.getLogById(logId);
+                if (log != null && getPartition(log).equals(partition)) {
+                    logs.add(log);
+                }
+            }
+            logs.sort(Comparator.comparingInt(Log::getLogId));
+            partitions.put(partition, logs);
+        }
+
+        JsonShardManifest previous = manifest;
+        // Until the save succeeds, the segments are not known to hold the last saved data
+        manifest = null;
+        JsonShardManifest saved = writeSegments(filePath, previous,
+                isPersonsChanged ? datastore.getPersonStore().getPersonList() : null,
+                partitions, previous.getLogSegments());
+        for (int logId : changedLogIds) {
+            unindexPartition(logId);
+            Optional.ofNullable(logStore.getLogById(logId)).ifPresent(this::indexPartition);
+        }
+        manifest = saved;
+        logger.fine("Rewrote " + partitions.size() + " log segments" + (isPersonsChanged ? " and persons" : ""));
+    }
+
+    /**
+     * Writes the {@code persons} segment, unless it is null, and the segment of each of the {@code dirtyPartitions},
+     * and then replaces the manifest at {@code filePath} with one naming them and the rest of the {@code logSegments}.
+     * Dirty partitions with no logs are dropped from the manifest.
+     *
+     * @return the manifest written.
+     */
+    private static JsonShardManifest writeSegments(Path filePath, JsonShardManifest previous,
+            Collection<Person> persons, Map<String, List<Log>> dirtyPartitions, Map<String, String> logSegments)
+            throws IOException {
+        assert persons != null || previous != null;
+        long generation = previous == null ? 0 : previous.getGeneration() + 1;
+        Path segmentDirectory = getSegmentDirectoryPath(filePath);
+        Files.createDirectories(segmentDirectory);
+
+        String personsSegment;
+        if (persons == null) {
+            personsSegment = previous.getPersonsSegment();
+        } else {
+            personsSegment = getSegmentFileName(PERSONS_SEGMENT_PREFIX, generation);
+            writeSegment(segmentDirectory.resolve(personsSegment), persons, List.of());
+        }
+        Map<String, String> nextLogSegments = new TreeMap<>(logSegments);
+        for (Map.Entry<String, List<Log>> partition : dirtyPartitions.entrySet()) {
+            if (partition.getValue().isEmpty()) {
+                nextLogSegments.remove(partition.getKey());
+                continue;
+            }
+            String segment = getSegmentFileName(LOG_SEGMENT_PREFIX + partition.getKey(), generation);
+            writeSegment(segmentDirectory.resolve(segment), List.of(), partition.getValue());
+            nextLogSegments.put(partition.getKey(), segment);
+        }
+        FileUtil.forceDirectory(segmentDirectory);
+
+        JsonShardManifest next = new JsonShardManifest(generation, personsSegment, nextLogSegments);
+        Path tempFilePath = FileUtil.appendToFileName(filePath, TEMP_FILE_SUFFIX);
+        writeManifest(tempFilePath, next);
+        FileUtil.replaceAtomically(tempFilePath, filePath, DatastoreStorage.getBackupFilePath(filePath));
+
+        deleteUnreferencedSegments(segmentDirectory, next, previous);
+        return next;
+    }
+
+    private static String getSegmentFileName(String prefix, long generation) {
+        return prefix + "." + generation + SEGMENT_FILE_EXTENSION;
+    }
+
+    private static void writeSegment(Path segmentPath, Collection<Person> persons, Collection<Log> logs)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE);
+            JsonGenerator generator = JsonUtil.createGenerator(out, false);
+            JsonSerializableDatastore.writeRecords(persons, logs, generator);
+            generator.flush();
+            channel.force(true);
+        }
+    }
+
+    private static void writeManifest(Path manifestPath, JsonShardManifest manifest) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(JsonUtil.toJsonString(manifest).getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(manifestPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Deletes the segments named by neither the {@code current} nor the {@code previous} manifest, which is kept as
+     * the backup. The save has already succeeded, so segments that cannot be deleted are only logged.
+     */
+    private static void deleteUnreferencedSegments(Path segmentDirectory, JsonShardManifest current,
+            JsonShardManifest previous) {
+        Set<String> referenced = current.getSegmentFileNames();
+        if (previous != null) {
+            referenced.addAll(previous.getSegmentFileNames());
+        }
+        try (DirectoryStream<Path> segments =
+                Files.newDirectoryStream(segmentDirectory, "*" + SEGMENT_FILE_EXTENSION)) {
+            for (Path segment : segments) {
+                if (!referenced.contains(segment.getFileName().toString())) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (IOException ioe) {
+            logger.warning("Could not delete old segments in " + segmentDirectory + ": " + ioe);
+        }
+    }
+
+    private static JsonShardManifest readManifest(Path filePath) throws IOException, IllegalValueException {
+        JsonShardManifest manifest = JsonUtil.fromJsonString(FileUtil.readFromFile(filePath),
+                JsonShardManifest.class);
+        manifest.checkValid();
+        return manifest;
+    }
+
+    /**
+     * Returns the manifest at {@code filePath}, or null if there is none or it cannot be read.
+     */
+    private static JsonShardManifest readManifestIfValid(Path filePath) {
+        if (!FileUtil.isFileExists(filePath)) {
+            return null;
+        }
+        try {
+            return readManifest(filePath);
+        } catch (IOException | IllegalValueException e) {
+            return null;
+        }
+    }
+
+    private static void readSegment(Path segmentPath, List<JsonAdaptedPerson> persons, List<Log> logs)
+            throws IOException {
+        try (JsonParser parser = JsonUtil.createParser(segmentPath)) {
+            JsonSerializableDatastore.readRecords(parser, persons::add, logs);
+        }
+    }
+
+    private void indexPartitions(Collection<Log> logs) {
+        partitionByLogId.clear();
+        logIdsByPartition.clear();
+        logs.forEach(this::indexPartition);
+    }
+
+    private void indexPartition(Log log) {
+        String partition = getPartition(log);
+        partitionByLogId.put(log.getLogId(), partition);
+        logIdsByPartition.computeIfAbsent(partition, unused -> new HashSet<>()).add(log.getLogId());
+    }
+
+    private void unindexPartition(int logId) {
+        String partition = partitionByLogId.remove(logId);
+        if (partition == null) {
+            return;
+        }
+        Set<Integer> logIds = logIdsByPartition.get(partition);
+        logIds.remove(logId);
+        if (logIds.isEmpty()) {
+            logIdsByPartition.remove(partition);
+        }
+    }
+}
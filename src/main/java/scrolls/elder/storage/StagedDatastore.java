@@ -0,0 +1,56 @@
+package scrolls.elder.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
+
+/**
+ * A datastore read from storage in two stages: the persons, which are read first, and the logs, which may still be
+ * being read in the background.
+ */
+public class StagedDatastore {
+    private final ReadOnlyDatastore persons;
+    private final CompletableFuture<List<Log>> logs;
+
+    /**
+     * Creates a staged datastore of the persons in {@code persons}, and the logs that {@code logs} completes with.
+     */
+    public StagedDatastore(ReadOnlyDatastore persons, CompletableFuture<List<Log>> logs) {
+        requireNonNull(persons);
+        requireNonNull(logs);
+        this.persons = persons;
+        this.logs = logs;
+    }
+
+    /**
+     * Returns a staged datastore of the persons and logs in {@code datastore}, all of which are read already.
+     */
+    public static StagedDatastore of(ReadOnlyDatastore datastore) {
+        requireNonNull(datastore);
+        Datastore persons = new Datastore();
+        persons.getMutablePersonStore().resetData(datastore.getPersonStore());
+        List<Log> logs = new ArrayList<>(datastore.getLogStore().getUnfilteredAllLogsList());
+        return new StagedDatastore(persons, CompletableFuture.completedFuture(logs));
+    }
+
+    /**
+     * Returns a datastore with the persons read, and no logs.
+     */
+    public ReadOnlyDatastore getPersons() {
+        return persons;
+    }
+
+    /**
+     * Returns the logs, once they are read.
+     * The future completes exceptionally with a {@code DataLoadingException} if the logs could not be read.
+     */
+    public CompletableFuture<List<Log>> getLogs() {
+        return logs;
+    }
+}
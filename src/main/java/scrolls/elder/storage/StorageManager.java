@@ -2,11 +2,14 @@ package scrolls.elder.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import scrolls.elder.commons.core.LogsCenter;
 import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.model.DatastoreChange;
 import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.ReadOnlyUserPrefs;
 import scrolls.elder.model.UserPrefs;
@@ -64,6 +67,12 @@ public class StorageManager implements Storage {
         return datastoreStorage.readDatastore(filePath);
     }
 
+    @Override
+    public Optional<StagedDatastore> readDatastoreInStages(Executor executor) throws DataLoadingException {
+        logger.fine("Attempting to read data in stages from file: " + getDatastoreFilePath());
+        return datastoreStorage.readDatastoreInStages(executor);
+    }
+
     @Override
     public void saveDatastore(ReadOnlyDatastore datastore) throws IOException {
         saveDatastore(datastore, datastoreStorage.getDatastoreFilePath());
@@ -75,4 +84,11 @@ public class StorageManager implements Storage {
         datastoreStorage.saveDatastore(datastore, filePath);
     }
 
+    @Override
+    public void saveDatastoreChanges(ReadOnlyDatastore datastore, List<DatastoreChange> changes)
+            throws IOException {
+        logger.fine("Attempting to write " + changes.size() + " changes to data file: " + getDatastoreFilePath());
+        datastoreStorage.saveDatastoreChanges(datastore, changes);
+    }
+
 }
@@ -57,7 +57,7 @@ public class BefriendeeCard extends UiPart<Region> {
     /**
      * Creates a {@code PersonCode} with the given {@code Person} and index to display.
      */
-    public BefriendeeCard(Person person, int displayedIndex, ReadOnlyDatastore datastore) {
+    public BefriendeeCard(Person person, int displayedIndex, ReadOnlyDatastore datastore, boolean isLoadingLogs) {
         super(FXML);
         this.befriendee = person;
         dateFormatter = new SimpleDateFormat(dateFormatPattern);
@@ -72,10 +72,12 @@ public class BefriendeeCard extends UiPart<Region> {
             .sorted(Comparator.comparing(tag -> tag.tagName))
             .forEach(tag -> tags.getChildren().add(new Label(tag.tagName)));
 
-        // If latest log is present, add new log summary card, else add no logs
-        if (befriendee.isLatestLogPresent()) {
-            int latestLogId = befriendee.getLatestLogId().get();
-            Log latestLogInstance = datastore.getLogStore().getLogById(latestLogId);
+        // If latest log is present, add new log summary card, else add no logs.
+        // Logs are loaded after persons at startup, so the latest log may not be loaded yet.
+        Log latestLogInstance = datastore.getLogStore().getLatestLogId(befriendee.getPersonId())
+                .map(latestLogId -> datastore.getLogStore().getLogById(latestLogId))
+                .orElse(null);
+        if (latestLogInstance != null) {
             String latestLogDateString = dateFormatter.format(latestLogInstance.getStartDate());
             Label logTitle = new Label(latestLogInstance.getLogTitle());
             Label logDate = new Label(latestLogDateString);
@@ -87,7 +89,9 @@ public class BefriendeeCard extends UiPart<Region> {
             logPartner.getStyleClass().add(SMALL_LABEL);
             latestLog.getChildren().addAll(logTitle, logDate, logPartner);
         } else {
-            Label noLog = new Label("No logs currently in Elder Scrolls");
+            Label noLog = new Label(isLoadingLogs
+                    ? "Loading latest log..."
+                    : "No logs currently in Elder Scrolls");
             noLog.getStyleClass().add(SMALL_LABEL);
             latestLog.getStyleClass().remove("latest-log-card");
             latestLog.getStyleClass().add("latest-log-card-disabled");
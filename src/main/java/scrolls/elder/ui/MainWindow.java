@@ -2,6 +2,7 @@ package scrolls.elder.ui;
 
 import java.util.logging.Logger;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.MenuItem;
@@ -116,11 +117,14 @@ public class MainWindow extends UiPart<Stage> {
      * Fills up all the placeholders of this window.
      */
     void fillInnerParts() {
-        befriendeeListPanel = new PersonListPanel(logic.getFilteredBefriendeeList(), logic.getDatastore());
+        befriendeeListPanel = new PersonListPanel(logic.getFilteredBefriendeeList(), logic.getDatastore(),
+                logic::isLoadingLogs);
         befriendeeListPanelPlaceholder.getChildren().add(befriendeeListPanel.getRoot());
 
         resultDisplay = new ResultDisplay();
         resultDisplayPlaceholder.getChildren().add(resultDisplay.getRoot());
+        logic.setSaveErrorHandler(message ->
+                Platform.runLater(() -> resultDisplay.setFeedbackToUser(message, true)));
 
         StatusBarFooter statusBarFooter = new StatusBarFooter(logic.getDatastoreFilePath());
         statusbarPlaceholder.getChildren().add(statusBarFooter.getRoot());
@@ -128,11 +132,22 @@ public class MainWindow extends UiPart<Stage> {
         CommandBox commandBox = new CommandBox(this::executeCommand);
         commandBoxPlaceholder.getChildren().add(commandBox.getRoot());
 
-        volunteerListPanel = new PersonListPanel(logic.getFilteredVolunteerList(), logic.getDatastore());
+        volunteerListPanel = new PersonListPanel(logic.getFilteredVolunteerList(), logic.getDatastore(),
+                logic::isLoadingLogs);
         volunteerListPanelPlaceholder.getChildren().add(volunteerListPanel.getRoot());
 
         logListPanel = new LogListPanel(logic.getDatastore());
         logListPanelPlaceholder.getChildren().add(logListPanel.getRoot());
+
+        // The latest logs on the person cards fill in as the logs are loaded after startup
+        logic.setLogLoadingHandlers(() -> {
+            befriendeeListPanel.refresh();
+            volunteerListPanel.refresh();
+        }, message -> {
+            befriendeeListPanel.refresh();
+            volunteerListPanel.refresh();
+            resultDisplay.setFeedbackToUser(message, true);
+        });
     }
 
     /**
@@ -164,10 +179,19 @@ public class MainWindow extends UiPart<Stage> {
     }
 
     /**
-     * Closes the application.
+     * Closes the application once the changes of all commands are saved.
+     * If they could not be saved, the error is shown and the application is left open.
      */
     @FXML
     private void handleExit() {
+        try {
+            logic.flushDatastore();
+        } catch (CommandException e) {
+            logger.warning("Changes could not be saved before exiting: " + e.getMessage());
+            resultDisplay.setFeedbackToUser(e.getMessage(), true);
+            return;
+        }
+
         GuiSettings guiSettings = new GuiSettings(primaryStage.getWidth(), primaryStage.getHeight(),
                 (int) primaryStage.getX(), (int) primaryStage.getY());
         logic.setGuiSettings(guiSettings);
@@ -1,5 +1,6 @@
 package scrolls.elder.ui;
 
+import java.util.function.BooleanSupplier;
 import java.util.logging.Logger;
 
 import javafx.collections.ObservableList;
@@ -19,20 +20,32 @@ public class PersonListPanel extends UiPart<Region> {
     private static final String FXML = "PersonListPanel.fxml";
     private final Logger logger = LogsCenter.getLogger(PersonListPanel.class);
     private ReadOnlyDatastore datastore;
+    private BooleanSupplier isLoadingLogs;
 
     @FXML
     private ListView<Person> personListView;
 
     /**
      * Creates a {@code PersonListPanel} with the given {@code ObservableList}.
+     * {@code isLoadingLogs} tells whether logs are still being loaded, so that cards can tell when the latest log of
+     * a person is not loaded yet.
      */
-    public PersonListPanel(ObservableList<Person> personList, ReadOnlyDatastore datastore) {
+    public PersonListPanel(ObservableList<Person> personList, ReadOnlyDatastore datastore,
+            BooleanSupplier isLoadingLogs) {
         super(FXML);
         this.datastore = datastore;
+        this.isLoadingLogs = isLoadingLogs;
         personListView.setItems(personList);
         personListView.setCellFactory(listView -> new PersonListViewCell());
     }
 
+    /**
+     * Redraws the shown persons, so that their cards show the latest data of the logs they refer to.
+     */
+    public void refresh() {
+        personListView.refresh();
+    }
+
     /**
      * Custom {@code ListCell} that displays the graphics of a {@code Person} using a {@code PersonCard}.
      */
@@ -49,9 +62,11 @@ public class PersonListPanel extends UiPart<Region> {
                     // if statement checks if person is a volunteer, hence safe to cast to type Volunteer
                     @SuppressWarnings("unchecked")
                     Volunteer vol = (Volunteer) person;
-                    setGraphic(new VolunteerCard(vol, getIndex() + 1, datastore).getRoot());
+                    setGraphic(new VolunteerCard(vol, getIndex() + 1, datastore, isLoadingLogs.getAsBoolean())
+                            .getRoot());
                 } else {
-                    setGraphic(new BefriendeeCard(person, getIndex() + 1, datastore).getRoot());
+                    setGraphic(new BefriendeeCard(person, getIndex() + 1, datastore, isLoadingLogs.getAsBoolean())
+                            .getRoot());
                 }
             }
         }
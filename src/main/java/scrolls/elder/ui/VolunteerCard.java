@@ -60,7 +60,7 @@ public class VolunteerCard extends UiPart<Region> {
     /**
      * Creates a {@code PersonCode} with the given {@code Person} and index to display.
      */
-    public VolunteerCard(Volunteer vol, int displayedIndex, ReadOnlyDatastore datastore) {
+    public VolunteerCard(Volunteer vol, int displayedIndex, ReadOnlyDatastore datastore, boolean isLoadingLogs) {
         super(FXML);
         this.vol = vol;
         dateFormatter = new SimpleDateFormat(dateFormatPattern);
@@ -78,10 +78,12 @@ public class VolunteerCard extends UiPart<Region> {
                 .forEach(tag -> tags.getChildren().add(new Label(tag.tagName)));
 
 
-        // If latest log is present, add new log summary card, else add no logs
-        if (vol.isLatestLogPresent()) {
-            int latestLogId = vol.getLatestLogId().get();
-            Log latestLogInstance = datastore.getLogStore().getLogById(latestLogId);
+        // If latest log is present, add new log summary card, else add no logs.
+        // Logs are loaded after persons at startup, so the latest log may not be loaded yet.
+        Log latestLogInstance = datastore.getLogStore().getLatestLogId(vol.getPersonId())
+                .map(latestLogId -> datastore.getLogStore().getLogById(latestLogId))
+                .orElse(null);
+        if (latestLogInstance != null) {
             String latestLogDateString = dateFormatter.format(latestLogInstance.getStartDate());
             Label logTitle = new Label(latestLogInstance.getLogTitle());
             Label logDate = new Label(latestLogDateString);
@@ -93,7 +95,9 @@ public class VolunteerCard extends UiPart<Region> {
             logPartner.getStyleClass().add(SMALL_LABEL);
             latestLog.getChildren().addAll(logTitle, logDate, logPartner);
         } else {
-            Label noLog = new Label("No logs currently in Elder Scrolls");
+            Label noLog = new Label(isLoadingLogs
+                    ? "Loading latest log..."
+                    : "No logs currently in Elder Scrolls");
             noLog.getStyleClass().add(SMALL_LABEL);
             latestLog.getStyleClass().remove("latest-log-card");
             latestLog.getStyleClass().add("latest-log-card-disabled");
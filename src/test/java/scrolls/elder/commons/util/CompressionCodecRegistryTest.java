@@ -0,0 +1,82 @@
+package scrolls.elder.commons.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.testutil.Assert;
+
+public class CompressionCodecRegistryTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void register_noMagic_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, CompressionCodecRegistry.MESSAGE_NO_MAGIC, () ->
+                CompressionCodecRegistry.register(new PrefixCodec(new byte[0])));
+        Assert.assertThrows(IllegalArgumentException.class, CompressionCodecRegistry.MESSAGE_NO_MAGIC, () ->
+                CompressionCodecRegistry.register(CompressionCodecRegistry.NONE));
+    }
+
+    @Test
+    public void register_magicClashingWithGzip_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, CompressionCodecRegistry.MESSAGE_MAGIC_CONFLICT, () ->
+                CompressionCodecRegistry.register(new PrefixCodec(new byte[] {(byte) 0x1f})));
+    }
+
+    @Test
+    public void register_newCodec_savedWithAndDetectedOnRead() throws Exception {
+        PrefixCodec codec = new PrefixCodec("ESTC".getBytes(StandardCharsets.US_ASCII));
+        Path filePath = testFolder.resolve("data.json.estc");
+        assertFalse(CompressionCodecRegistry.isDetectable(codec));
+        Assert.assertThrows(IllegalArgumentException.class, CompressionCodecRegistry.MESSAGE_NOT_DETECTABLE, () ->
+                JsonUtil.saveJsonFile("text", filePath, codec));
+
+        CompressionCodecRegistry.register(codec);
+        assertTrue(CompressionCodecRegistry.isDetectable(codec));
+        JsonUtil.saveJsonFile("text", filePath, codec);
+        assertTrue(Files.readString(filePath).startsWith("ESTC"));
+        assertEquals("text", JsonUtil.readJsonFile(filePath, String.class).get());
+    }
+
+    /**
+     * A codec that only writes its magic bytes before the data.
+     */
+    private static class PrefixCodec implements CompressionCodec {
+        private final byte[] magic;
+
+        PrefixCodec(byte[] magic) {
+            this.magic = magic;
+        }
+
+        @Override
+        public byte[] getMagic() {
+            return magic.clone();
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) throws IOException {
+            in.readNBytes(magic.length);
+            return new FilterInputStream(in) { };
+        }
+
+        @Override
+        public OutputStream compress(OutputStream out) throws IOException {
+            out.write(magic);
+            return new FilterOutputStream(out);
+        }
+    }
+}
@@ -1,14 +1,22 @@
 package scrolls.elder.commons.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import scrolls.elder.testutil.Assert;
 
 public class FileUtilTest {
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void isValidPath() {
         // valid path
@@ -21,4 +29,30 @@ public class FileUtilTest {
         Assert.assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void replaceAtomically() throws Exception {
+        Path file = testFolder.resolve("data.json");
+        Path newFile = testFolder.resolve("data.json.tmp");
+        Path backupFile = testFolder.resolve("data.json.bak");
+
+        // missing file -> new file moved, no backup
+        FileUtil.writeToFile(newFile, "first");
+        FileUtil.replaceAtomically(newFile, file, backupFile);
+        assertEquals("first", FileUtil.readFromFile(file));
+        assertFalse(Files.exists(newFile));
+        assertFalse(Files.exists(backupFile));
+
+        // existing file -> old file kept as backup
+        FileUtil.writeToFile(newFile, "second");
+        FileUtil.replaceAtomically(newFile, file, backupFile);
+        assertEquals("second", FileUtil.readFromFile(file));
+        assertEquals("first", FileUtil.readFromFile(backupFile));
+
+        // null backup file -> old file discarded
+        FileUtil.writeToFile(newFile, "third");
+        FileUtil.replaceAtomically(newFile, file, null);
+        assertEquals("third", FileUtil.readFromFile(file));
+        assertEquals("first", FileUtil.readFromFile(backupFile));
+    }
+
 }
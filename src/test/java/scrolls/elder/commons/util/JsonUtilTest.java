@@ -3,9 +3,11 @@ package scrolls.elder.commons.util;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import scrolls.elder.testutil.SerializableTestClass;
 import scrolls.elder.testutil.TestUtil;
@@ -17,6 +19,9 @@ public class JsonUtilTest {
 
     private static final Path SERIALIZATION_FILE = TestUtil.getFilePathInSandboxFolder("serialize.json");
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void serializeObjectToJsonFile_noExceptionThrown() throws IOException {
         SerializableTestClass serializableTestClass = new SerializableTestClass();
@@ -39,6 +44,27 @@ public class JsonUtilTest {
         assertEquals(serializableTestClass.getMapOfIntegerToString(), SerializableTestClass.getHashMapTestValues());
     }
 
+    @Test
+    public void saveJsonFile_gzipCodec_compressedAndReadBack() throws Exception {
+        SerializableTestClass serializableTestClass = new SerializableTestClass();
+        serializableTestClass.setTestValues();
+        Path filePath = testFolder.resolve("serialize.json.gz");
+
+        JsonUtil.saveJsonFile(serializableTestClass, filePath, CompressionCodecRegistry.GZIP);
+        assertEquals((byte) 0x1f, Files.readAllBytes(filePath)[0]);
+
+        SerializableTestClass readTestClass = JsonUtil.readJsonFile(filePath, SerializableTestClass.class).get();
+        assertEquals(SerializableTestClass.getNameTestValue(), readTestClass.getName());
+        assertEquals(SerializableTestClass.getHashMapTestValues(), readTestClass.getMapOfIntegerToString());
+    }
+
+    @Test
+    public void readJsonFile_shorterThanMagic_readUncompressed() throws Exception {
+        Path filePath = testFolder.resolve("short.json");
+        FileUtil.writeToFile(filePath, "1");
+        assertEquals(Integer.valueOf(1), JsonUtil.readJsonFile(filePath, Integer.class).get());
+    }
+
     //TODO: @Test jsonUtil_readJsonStringToObjectInstance_correctObject()
 
     //TODO: @Test jsonUtil_writeThenReadObjectToJson_correctObject()
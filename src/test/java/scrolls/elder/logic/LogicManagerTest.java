@@ -1,10 +1,17 @@
 package scrolls.elder.logic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.file.AccessDeniedException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,10 +24,13 @@ import scrolls.elder.logic.commands.DeleteCommand;
 import scrolls.elder.logic.commands.ListCommand;
 import scrolls.elder.logic.commands.exceptions.CommandException;
 import scrolls.elder.logic.parser.exceptions.ParseException;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.LogLoader;
 import scrolls.elder.model.Model;
 import scrolls.elder.model.ModelManager;
 import scrolls.elder.model.ReadOnlyDatastore;
 import scrolls.elder.model.UserPrefs;
+import scrolls.elder.model.log.Log;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.storage.JsonDatastoreStorage;
 import scrolls.elder.storage.JsonUserPrefsStorage;
@@ -32,6 +42,9 @@ import scrolls.elder.testutil.TypicalPersons;
 public class LogicManagerTest {
     private static final IOException DUMMY_IO_EXCEPTION = new IOException("dummy IO exception");
     private static final IOException DUMMY_AD_EXCEPTION = new AccessDeniedException("dummy access denied exception");
+    private static final String ADD_COMMAND = AddCommand.COMMAND_WORD + CommandTestUtil.NAME_DESC_AMY
+            + CommandTestUtil.PHONE_DESC_AMY + CommandTestUtil.EMAIL_DESC_AMY + CommandTestUtil.ADDRESS_DESC_AMY
+            + CommandTestUtil.ROLE_DESC_VOLUNTEER;
 
     @TempDir
     public Path temporaryFolder;
@@ -69,14 +82,74 @@ public class LogicManagerTest {
     }
 
     @Test
-    public void execute_storageThrowsIoException_throwsCommandException() {
-        assertCommandFailureForExceptionFromStorage(DUMMY_IO_EXCEPTION, String.format(
+    public void execute_logsStillLoading_onlyCommandsRequiringLogsWait() throws Exception {
+        Path filePath = temporaryFolder.resolve("addressBook.json");
+        StorageManager storage = new StorageManager(new JsonDatastoreStorage(filePath),
+                new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json")));
+        CompletableFuture<List<Log>> logs = new CompletableFuture<>();
+        List<Runnable> chunks = new ArrayList<>();
+        LogLoader logLoader = new LogLoader(model, logs, chunks::add);
+        logic = new LogicManager(model, storage, logLoader);
+        logLoader.start();
+
+        logic.execute(ListCommand.COMMAND_WORD);
+        assertFalse(logLoader.isDone());
+        assertTrue(logic.isLoadingLogs());
+
+        Log log = new Log(0, "Visit", 0, 1, 1, new Date(0), "Remarks");
+        logs.complete(List.of(log));
+        logic.execute(ADD_COMMAND);
+        assertTrue(logLoader.isDone());
+        assertFalse(logic.isLoadingLogs());
+        assertEquals(List.of(log), model.getDatastore().getLogStore().getLogList());
+
+        // The saver is created once the logs are added, so saves include them
+        logic.flushDatastore();
+        assertEquals(model.getDatastore(), new Datastore(new JsonDatastoreStorage(filePath).readDatastore().get()));
+    }
+
+    @Test
+    public void execute_logsFailedToLoad_changesRefusedAndFileKept() throws Exception {
+        Path filePath = temporaryFolder.resolve("addressBook.json");
+        Datastore savedDatastore = new Datastore();
+        savedDatastore.getMutablePersonStore().addPerson(new PersonBuilder(TypicalPersons.ALICE).build());
+        savedDatastore.getMutableLogStore().addLog(new Log(0, "Visit", 0, 1, 1, new Date(0), "Remarks"));
+        new JsonDatastoreStorage(filePath).saveDatastore(savedDatastore);
+        StorageManager storage = new StorageManager(new JsonDatastoreStorage(filePath),
+                new JsonUserPrefsStorage(temporaryFolder.resolve("userPrefs.json")));
+        CompletableFuture<List<Log>> logs = new CompletableFuture<>();
+        LogLoader logLoader = new LogLoader(model, logs, Runnable::run);
+        logic = new LogicManager(model, storage, logLoader);
+        logLoader.start();
+
+        logs.completeExceptionally(new IOException("dummy IO exception"));
+        assertTrue(logLoader.isFailed());
+        assertCommandException(ADD_COMMAND, LogicManager.MESSAGE_LOGS_NOT_LOADED);
+        logic.execute(ListCommand.COMMAND_WORD);
+        logic.closeDatastore();
+
+        assertEquals(savedDatastore, new Datastore(new JsonDatastoreStorage(filePath).readDatastore().get()));
+    }
+
+    @Test
+    public void flushDatastore_afterAddCommand_addedPersonSaved() throws Exception {
+        logic.execute(ADD_COMMAND);
+        logic.flushDatastore();
+
+        ReadOnlyDatastore savedDatastore = new JsonDatastoreStorage(temporaryFolder.resolve("addressBook.json"))
+                .readDatastore().get();
+        assertEquals(model.getDatastore(), new Datastore(savedDatastore));
+    }
+
+    @Test
+    public void execute_storageThrowsIoException_errorReported() throws Exception {
+        assertSaveFailureForExceptionFromStorage(DUMMY_IO_EXCEPTION, String.format(
                 LogicManager.FILE_OPS_ERROR_FORMAT, DUMMY_IO_EXCEPTION.getMessage()));
     }
 
     @Test
-    public void execute_storageThrowsAdException_throwsCommandException() {
-        assertCommandFailureForExceptionFromStorage(DUMMY_AD_EXCEPTION, String.format(
+    public void execute_storageThrowsAdException_errorReported() throws Exception {
+        assertSaveFailureForExceptionFromStorage(DUMMY_AD_EXCEPTION, String.format(
                 LogicManager.FILE_OPS_PERMISSION_ERROR_FORMAT, DUMMY_AD_EXCEPTION.getMessage()));
     }
 
@@ -155,11 +228,13 @@ public class LogicManagerTest {
 
     /**
      * Tests the Logic component's handling of an {@code IOException} thrown by the Storage component.
+     * The command succeeds, as its changes are saved after it returns, and the failure to save them is reported to the
+     * save error handler, and by flushing the datastore.
      *
      * @param e the exception to be thrown by the Storage component
-     * @param expectedMessage the message expected inside exception thrown by the Logic component
+     * @param expectedMessage the message expected to be reported by the Logic component
      */
-    private void assertCommandFailureForExceptionFromStorage(IOException e, String expectedMessage) {
+    private void assertSaveFailureForExceptionFromStorage(IOException e, String expectedMessage) throws Exception {
         Path prefPath = temporaryFolder.resolve("ExceptionUserPrefs.json");
 
         // Inject LogicManager with an AddressBookStorage that throws the IOException e when saving
@@ -176,14 +251,17 @@ public class LogicManagerTest {
         StorageManager storage = new StorageManager(addressBookStorage, userPrefsStorage);
 
         logic = new LogicManager(model, storage);
+        List<String> reportedMessages = new CopyOnWriteArrayList<>();
+        logic.setSaveErrorHandler(reportedMessages::add);
 
         // Triggers the saveAddressBook method by executing an add command
-        String addCommand = AddCommand.COMMAND_WORD + CommandTestUtil.NAME_DESC_AMY + CommandTestUtil.PHONE_DESC_AMY
-                + CommandTestUtil.EMAIL_DESC_AMY + CommandTestUtil.ADDRESS_DESC_AMY
-                + CommandTestUtil.ROLE_DESC_VOLUNTEER;
         Person expectedPerson = new PersonBuilder(TypicalPersons.AMY).withTags().build();
         ModelManager expectedModel = new ModelManager();
         expectedModel.getMutableDatastore().getMutablePersonStore().addPerson(expectedPerson);
-        assertCommandFailure(addCommand, CommandException.class, expectedMessage, expectedModel);
+        String expectedResult = String.format(AddCommand.MESSAGE_SUCCESS, Messages.formatPerson(expectedPerson));
+        assertCommandSuccess(ADD_COMMAND, expectedResult, expectedModel);
+
+        Assert.assertThrows(CommandException.class, expectedMessage, () -> logic.flushDatastore());
+        assertEquals(List.of(expectedMessage), reportedMessages);
     }
 }
@@ -7,7 +7,10 @@ import static scrolls.elder.logic.commands.CommandTestUtil.assertCommandSuccess;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import scrolls.elder.logic.Messages;
 import scrolls.elder.model.Model;
 import scrolls.elder.model.ModelManager;
+import scrolls.elder.model.PersonStore;
 import scrolls.elder.model.ReadOnlyPersonStore;
 import scrolls.elder.model.UserPrefs;
 import scrolls.elder.model.person.NameContainsKeywordsPredicate;
@@ -31,7 +35,7 @@ public class FindCommandTest {
     private final Model model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
     private final ReadOnlyPersonStore personStore = model.getDatastore().getPersonStore();
     private final Model expectedModel = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
-    private final ReadOnlyPersonStore expectedPersonStore = expectedModel.getDatastore().getPersonStore();
+    private final PersonStore expectedPersonStore = expectedModel.getMutableDatastore().getMutablePersonStore();
     private final NameContainsKeywordsPredicate emptyNamePredicate =
             new NameContainsKeywordsPredicate(Collections.emptyList());
     private final TagListContainsTagsPredicate emptyTagPredicate =
@@ -97,8 +101,9 @@ public class FindCommandTest {
         FindCommand commandAll =
                 new FindCommand(emptyNamePredicate, emptyTagPredicate, true, true, true, true);
         expectedPersonStore.updateFilteredPersonList(emptyNamePredicate);
-        assertCommandSuccess(commandAll, model, expectedMessage, expectedModel);
-        assertEquals(TypicalPersons.getTypicalPersons(), personStore.getFilteredPersonList());
+        List<Person> expectedPersons = TypicalPersons.getTypicalPersons();
+        assertCommandSuccess(commandAll, model, withTagCounts(expectedMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
 
         // Find within volunteer only
         FindCommand commandSearchVolunteer =
@@ -106,8 +111,10 @@ public class FindCommandTest {
         expectedMessage = String.format(
                 Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 4, CommandTestUtil.VALID_ROLE_VOLUNTEER);
         expectedPersonStore.updateFilteredVolunteerList(emptyNamePredicate);
-        assertCommandSuccess(commandSearchVolunteer, model, expectedMessage, expectedModel);
-        assertEquals(TypicalPersons.getTypicalVolunteerPersons(), personStore.getFilteredVolunteerList());
+        expectedPersons = TypicalPersons.getTypicalVolunteerPersons();
+        assertCommandSuccess(commandSearchVolunteer, model, withTagCounts(expectedMessage, expectedPersons),
+                expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredVolunteerList());
 
         // Find within befriendee only
         FindCommand commandSearchBefriendee =
@@ -115,8 +122,10 @@ public class FindCommandTest {
         expectedMessage = String.format(
                 Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 3, CommandTestUtil.VALID_ROLE_BEFRIENDEE);
         expectedPersonStore.updateFilteredBefriendeeList(emptyNamePredicate);
-        assertCommandSuccess(commandSearchBefriendee, model, expectedMessage, expectedModel);
-        assertEquals(TypicalPersons.getTypicalBefriendeePersons(), personStore.getFilteredBefriendeeList());
+        expectedPersons = TypicalPersons.getTypicalBefriendeePersons();
+        assertCommandSuccess(commandSearchBefriendee, model, withTagCounts(expectedMessage, expectedPersons),
+                expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
 
     }
 
@@ -127,24 +136,26 @@ public class FindCommandTest {
         FindCommand command = new FindCommand(namePredicate, emptyTagPredicate, true, true, true, true);
 
         expectedPersonStore.updateFilteredPersonList(namePredicate);
-        assertCommandSuccess(command, model, expectedMessage, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.CARL, TypicalPersons.ELLE, TypicalPersons.FIONA),
-                personStore.getFilteredPersonList());
+        List<Person> expectedPersons = Arrays.asList(TypicalPersons.CARL, TypicalPersons.ELLE, TypicalPersons.FIONA);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
 
         // Find within volunteer only
         String expectedMessageV = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 1, "volunteer");
         command = new FindCommand(namePredicate, emptyTagPredicate, true, false, true, true);
 
         expectedPersonStore.updateFilteredVolunteerList(namePredicate);
-        assertCommandSuccess(command, model, expectedMessageV, expectedModel);
-        assertEquals(Collections.singletonList(TypicalPersons.CARL), personStore.getFilteredVolunteerList());
+        expectedPersons = Collections.singletonList(TypicalPersons.CARL);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessageV, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredVolunteerList());
 
         // Find within befriendee only
         String expectedMessageB = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 2, "befriendee");
         command = new FindCommand(namePredicate, emptyTagPredicate, false, true, true, true);
         expectedPersonStore.updateFilteredBefriendeeList(namePredicate);
-        assertCommandSuccess(command, model, expectedMessageB, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.ELLE, TypicalPersons.FIONA), personStore.getFilteredBefriendeeList());
+        expectedPersons = Arrays.asList(TypicalPersons.ELLE, TypicalPersons.FIONA);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessageB, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
 
     }
 
@@ -157,17 +168,18 @@ public class FindCommandTest {
         TagListContainsTagsPredicate tagPredicate = prepareTagPredicate("friends");
         FindCommand command = new FindCommand(emptyNamePredicate, tagPredicate, true, true, true, true);
         expectedPersonStore.updateFilteredPersonList(tagPredicate);
-        assertCommandSuccess(command, model, expectedMessage, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL),
-                personStore.getFilteredPersonList());
+        List<Person> expectedPersons =
+                Arrays.asList(TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
 
         // Voluteers
         String expectedVMessage = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 3, "volunteer");
         FindCommand commandV = new FindCommand(emptyNamePredicate, tagPredicate, true, false, true, true);
         expectedPersonStore.updateFilteredVolunteerList(tagPredicate);
-        assertCommandSuccess(commandV, model, expectedVMessage, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL),
-                personStore.getFilteredVolunteerList());
+        expectedPersons = Arrays.asList(TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL);
+        assertCommandSuccess(commandV, model, withTagCounts(expectedVMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredVolunteerList());
 
         // Befriendees
         String expectedMessageB = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 1, "befriendee");
@@ -175,8 +187,9 @@ public class FindCommandTest {
         FindCommand commandB = new FindCommand(emptyNamePredicate, tagPredicateB,
                 false, true, true, true);
         expectedPersonStore.updateFilteredBefriendeeList(tagPredicate);
-        assertCommandSuccess(commandB, model, expectedMessageB, expectedModel);
-        assertEquals(Collections.singletonList(TypicalPersons.GEORGE), personStore.getFilteredBefriendeeList());
+        expectedPersons = Collections.singletonList(TypicalPersons.GEORGE);
+        assertCommandSuccess(commandB, model, withTagCounts(expectedMessageB, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
     }
 
 
@@ -187,8 +200,9 @@ public class FindCommandTest {
 
         FindCommand command = new FindCommand(emptyNamePredicate, tagPredicate, false, true, true, true);
         expectedPersonStore.updateFilteredBefriendeeList(tagPredicate);
-        assertCommandSuccess(command, model, expectedMessage, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.GEORGE), personStore.getFilteredBefriendeeList());
+        List<Person> expectedPersons = Arrays.asList(TypicalPersons.GEORGE);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
     }
 
     @Test
@@ -199,10 +213,10 @@ public class FindCommandTest {
 
 
         expectedPersonStore.updateFilteredPersonList(tagPredicate);
-        assertCommandSuccess(command, model, expectedMessage, expectedModel);
-        assertEquals(Arrays.asList(
-                TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL, TypicalPersons.GEORGE),
-                personStore.getFilteredPersonList());
+        List<Person> expectedPersons = Arrays.asList(
+                TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.DANIEL, TypicalPersons.GEORGE);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessage, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
     }
 
     @Test
@@ -211,15 +225,17 @@ public class FindCommandTest {
         FindCommand command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 true, true, true, false);
         expectedPersonStore.updateFilteredPersonList(Person::isPaired);
-        assertCommandSuccess(command, model, expectedMessagePaired, expectedModel);
-        assertEquals(TypicalPersons.getPairedPersons(), personStore.getFilteredPersonList());
+        List<Person> expectedPersons = TypicalPersons.getPairedPersons();
+        assertCommandSuccess(command, model, withTagCounts(expectedMessagePaired, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
 
         String expectedMessageUnpaired = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, 5);
         command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 true, true, false, true);
         expectedPersonStore.updateFilteredPersonList(Person -> !Person.isPaired());
-        assertCommandSuccess(command, model, expectedMessageUnpaired, expectedModel);
-        assertEquals(TypicalPersons.getUnpairedPersons(), personStore.getFilteredPersonList());
+        expectedPersons = TypicalPersons.getUnpairedPersons();
+        assertCommandSuccess(command, model, withTagCounts(expectedMessageUnpaired, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredPersonList());
     }
 
     @Test
@@ -230,17 +246,18 @@ public class FindCommandTest {
         FindCommand command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 true, false, true, false);
         expectedPersonStore.updateFilteredVolunteerList(Person::isPaired);
-        assertCommandSuccess(command, model, expectedMessagePairedV, expectedModel);
-        assertEquals(Collections.singletonList(TypicalPersons.ALICE), personStore.getFilteredVolunteerList());
+        List<Person> expectedPersons = Collections.singletonList(TypicalPersons.ALICE);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessagePairedV, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredVolunteerList());
 
         String expectedMessageUnpairedV =
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 3, "volunteer");
         command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 true, false, false, true);
         expectedPersonStore.updateFilteredPersonList(Person -> !Person.isPaired());
-        assertCommandSuccess(command, model, expectedMessageUnpairedV, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.BENSON, TypicalPersons.CARL, TypicalPersons.DANIEL),
-                personStore.getFilteredVolunteerList());
+        expectedPersons = Arrays.asList(TypicalPersons.BENSON, TypicalPersons.CARL, TypicalPersons.DANIEL);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessageUnpairedV, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredVolunteerList());
 
         // Befriendee
         String expectedMessagePairedB =
@@ -248,21 +265,36 @@ public class FindCommandTest {
         command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 false, true, true, false);
         expectedPersonStore.updateFilteredBefriendeeList(Person::isPaired);
-        assertCommandSuccess(command, model, expectedMessagePairedB, expectedModel);
-        assertEquals(Collections.singletonList(TypicalPersons.ELLE), personStore.getFilteredBefriendeeList());
+        expectedPersons = Collections.singletonList(TypicalPersons.ELLE);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessagePairedB, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
 
         String expectedMessageUnpairedB =
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW_WITH_ROLE, 2, "befriendee");
         command = new FindCommand(emptyNamePredicate, emptyTagPredicate,
                 false, true, false, true);
         expectedPersonStore.updateFilteredBefriendeeList(Person -> !Person.isPaired());
-        assertCommandSuccess(command, model, expectedMessageUnpairedB, expectedModel);
-        assertEquals(Arrays.asList(TypicalPersons.FIONA, TypicalPersons.GEORGE),
-                personStore.getFilteredBefriendeeList());
+        expectedPersons = Arrays.asList(TypicalPersons.FIONA, TypicalPersons.GEORGE);
+        assertCommandSuccess(command, model, withTagCounts(expectedMessageUnpairedB, expectedPersons), expectedModel);
+        assertEquals(expectedPersons, personStore.getFilteredBefriendeeList());
     }
 
 
 
+    @Test
+    public void execute_explain_appendsPlan() {
+        NameContainsKeywordsPredicate namePredicate = prepareNamePredicate("Kurz Elle Kunz");
+        FindCommand command = new FindCommand(namePredicate, emptyTagPredicate, true, true, true, false, true);
+
+        String expectedMessage = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, 1) + "\n"
+                + "Query plan over 7 persons:\n"
+                + "1. name index Kurz Elle Kunz: 3 candidates, 3 remaining\n"
+                + "2. check paired on each remaining person";
+        expectedPersonStore.updateFilteredPersonList(namePredicate.and(Person::isPaired));
+        assertCommandSuccess(command, model, expectedMessage, expectedModel);
+        assertEquals(Collections.singletonList(TypicalPersons.ELLE), personStore.getFilteredPersonList());
+    }
+
     @Test
     public void toStringMethod() {
 
@@ -277,11 +309,21 @@ public class FindCommandTest {
                 + "isSearchingVolunteer=true, "
                 + "isSearchingBefriendee=true, "
                 + "isSearchingPaired=true, "
-                + "isSearchingUnpaired=true"
+                + "isSearchingUnpaired=true, "
+                + "isExplaining=false"
                 + "}";
         assertEquals(expected, findCommand.toString());
     }
 
+    /**
+     * Returns {@code message} followed by the tag counts of {@code expectedPersons}, as shown by a find command.
+     */
+    private String withTagCounts(String message, List<Person> expectedPersons) {
+        Map<Tag, Integer> tagCounts = new HashMap<>();
+        expectedPersons.forEach(person -> person.getTags().forEach(tag -> tagCounts.merge(tag, 1, Integer::sum)));
+        return tagCounts.isEmpty() ? message : message + "\n" + Messages.formatTagCounts(tagCounts);
+    }
+
     /**
      * Parses {@code userInput} into a {@code NameContainsKeywordsPredicate}.
      */
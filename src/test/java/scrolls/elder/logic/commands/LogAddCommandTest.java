@@ -96,17 +96,18 @@ class LogAddCommandTest {
         Integer latestLogId = logStore.addLog(toAdd);
 
         Person afterLoggingBefriendee = new PersonBuilder(befriendee)
-                .withTimeServed(3)
-                .withLatestLogId(Optional.of(latestLogId)).build();
+                .withTimeServed(3).build();
 
         Person afterLoggingVolunteer = new PersonBuilder(volunteer)
-                .withTimeServed(3).withLatestLogId(Optional.of(latestLogId)).build();
+                .withTimeServed(3).build();
 
         personStore.setPerson(befriendee, afterLoggingBefriendee);
         personStore.setPerson(volunteer, afterLoggingVolunteer);
         expectedModel.commitDatastore();
 
         assertCommandSuccess(logAddCommand, model, expectedMessage, expectedModel);
+        assertEquals(Optional.of(latestLogId),
+                model.getDatastore().getLogStore().getLatestLogId(volunteer.getPersonId()));
     }
 
     @Test
@@ -6,7 +6,6 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static scrolls.elder.logic.commands.CommandTestUtil.assertCommandFailure;
 import static scrolls.elder.logic.commands.CommandTestUtil.assertCommandSuccess;
 
-import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -80,9 +79,9 @@ class LogDeleteCommandTest {
                 Messages.formatLog(logToDelete));
 
         Person afterDeletingBefriendee = new PersonBuilder(befriendee)
-                .withTimeServed(0).withLatestLogId(Optional.empty()).build();
+                .withTimeServed(0).build();
         Person afterDeletingVolunteer = new PersonBuilder(volunteer)
-                .withTimeServed(0).withLatestLogId(Optional.empty()).build();
+                .withTimeServed(0).build();
 
         expectedLogStore.removeLog(logToDelete.getLogId());
         expectedPersonStore.setPerson(befriendee, afterDeletingBefriendee);
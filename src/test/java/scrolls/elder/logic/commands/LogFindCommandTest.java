@@ -5,6 +5,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static scrolls.elder.logic.commands.CommandTestUtil.assertCommandSuccess;
 
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +39,11 @@ public class LogFindCommandTest {
     private final Role volunteerRole = new Role(CommandTestUtil.VALID_ROLE_VOLUNTEER);
     private final Role befriendeeRole = new Role(CommandTestUtil.VALID_ROLE_BEFRIENDEE);
 
+    private final Date marchFirst = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime();
+    private final Date marchThirtyFirst = new GregorianCalendar(2024, Calendar.MARCH, 31).getTime();
+    private final Date aprilFirst = new GregorianCalendar(2024, Calendar.APRIL, 1).getTime();
+    private final Date aprilThirtieth = new GregorianCalendar(2024, Calendar.APRIL, 30).getTime();
+
     @BeforeEach
     public void setUp() {
         model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
@@ -84,6 +93,31 @@ public class LogFindCommandTest {
         assertCommandSuccess(logFindCommandElle, model, expectedMessage, expectedModel);
     }
 
+    @Test
+    void execute_dateRangeOfAllPersons_success() {
+        LogFindCommand logFindCommand = new LogFindCommand(null, null, marchFirst, marchThirtyFirst);
+
+        expectedLogStore.updateFilteredLogListByStartDate(null, marchFirst, aprilFirst);
+        expectedModel.commitDatastore();
+
+        String expectedMessage = "1 " + LogFindCommand.MESSAGE_SUCCESS;
+        assertCommandSuccess(logFindCommand, model, expectedMessage, expectedModel);
+    }
+
+    @Test
+    void execute_dateRangeOfPerson_success() {
+        LogFindCommand logFindCommand =
+                new LogFindCommand(TypicalIndexes.INDEX_FIRST_PERSON, volunteerRole, aprilFirst, aprilThirtieth);
+
+        // ALICE has no logs in April
+        int alicePersonId = TypicalPersons.ALICE.getPersonId();
+        expectedLogStore.updateFilteredLogListByStartDate(alicePersonId, aprilFirst,
+                new GregorianCalendar(2024, Calendar.MAY, 1).getTime());
+        expectedModel.commitDatastore();
+
+        String expectedMessage = "0 " + LogFindCommand.MESSAGE_SUCCESS;
+        assertCommandSuccess(logFindCommand, model, expectedMessage, expectedModel);
+    }
 
     @Test
     void testEquals() {
@@ -106,6 +140,13 @@ public class LogFindCommandTest {
 
         // different command -> returns false
         assertNotEquals(logFindCommand1, logFindCommand2);
+
+        // different date range -> returns false
+        LogFindCommand logFindCommand3 =
+                new LogFindCommand(TypicalIndexes.INDEX_FIRST_PERSON, volunteerRole, marchFirst, marchThirtyFirst);
+        assertNotEquals(logFindCommand1, logFindCommand3);
+        assertEquals(logFindCommand3,
+                new LogFindCommand(TypicalIndexes.INDEX_FIRST_PERSON, volunteerRole, marchFirst, marchThirtyFirst));
     }
 
     @Test
@@ -113,7 +154,8 @@ public class LogFindCommandTest {
         LogFindCommand logFindCommand = new LogFindCommand(TypicalIndexes.INDEX_FIRST_PERSON, volunteerRole);
         String expected = LogFindCommand.class.getCanonicalName()
                 + "{role=" + volunteerRole
-                + ", listIndex=" + TypicalIndexes.INDEX_FIRST_PERSON + "}";
+                + ", listIndex=" + TypicalIndexes.INDEX_FIRST_PERSON
+                + ", startDate=null, endDate=null}";
         assertEquals(expected, logFindCommand.toString());
     }
 
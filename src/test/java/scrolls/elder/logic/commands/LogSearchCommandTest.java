@@ -0,0 +1,92 @@
+package scrolls.elder.logic.commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static scrolls.elder.logic.commands.CommandTestUtil.assertCommandSuccess;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.LogStore;
+import scrolls.elder.model.Model;
+import scrolls.elder.model.ModelManager;
+import scrolls.elder.model.UserPrefs;
+import scrolls.elder.model.log.LogSearchQuery;
+import scrolls.elder.testutil.TypicalDatastore;
+import scrolls.elder.testutil.TypicalLogs;
+
+/**
+ * Contains integration tests (interaction with the Model) and unit tests for LogSearchCommand.
+ */
+public class LogSearchCommandTest {
+
+    private Model model;
+    private Model expectedModel;
+    private LogStore expectedLogStore;
+
+    @BeforeEach
+    public void setUp() {
+        model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        LogStore logStore = model.getMutableDatastore().getMutableLogStore();
+        expectedModel = new ModelManager(new Datastore(model.getDatastore()), new UserPrefs());
+        expectedLogStore = expectedModel.getMutableDatastore().getMutableLogStore();
+
+        logStore.addLog(TypicalLogs.LOG_ALICE_TO_ELLE);
+        expectedLogStore.addLog(TypicalLogs.LOG_ALICE_TO_ELLE);
+
+        logStore.addLog(TypicalLogs.LOG_BENSON_TO_FIONA);
+        expectedLogStore.addLog(TypicalLogs.LOG_BENSON_TO_FIONA);
+    }
+
+    @Test
+    public void execute_matchingKeywords_logsFound() {
+        LogSearchQuery query = new LogSearchQuery(List.of(List.of("house", "great"), List.of("ice*")));
+        expectedLogStore.updateFilteredLogListBySearch(query);
+        expectedModel.commitDatastore();
+
+        assertCommandSuccess(new LogSearchCommand(query), model, "2 " + LogSearchCommand.MESSAGE_SUCCESS,
+                expectedModel);
+        assertEquals(2, model.getDatastore().getLogStore().getFilteredLogList().size());
+    }
+
+    @Test
+    public void execute_noMatchingKeywords_noLogsFound() {
+        LogSearchQuery query = new LogSearchQuery(List.of(List.of("house", "okay")));
+        expectedLogStore.updateFilteredLogListBySearch(query);
+        expectedModel.commitDatastore();
+
+        assertCommandSuccess(new LogSearchCommand(query), model, "0 " + LogSearchCommand.MESSAGE_SUCCESS,
+                expectedModel);
+    }
+
+    @Test
+    public void equals() {
+        LogSearchCommand firstCommand = new LogSearchCommand(new LogSearchQuery(List.of(List.of("first"))));
+        LogSearchCommand secondCommand = new LogSearchCommand(new LogSearchQuery(List.of(List.of("second"))));
+
+        // same object -> returns true
+        assertEquals(firstCommand, firstCommand);
+
+        // same values -> returns true
+        assertEquals(firstCommand, new LogSearchCommand(new LogSearchQuery(List.of(List.of("first")))));
+
+        // different types -> returns false
+        assertNotEquals(1, firstCommand);
+
+        // null -> returns false
+        assertNotEquals(null, firstCommand);
+
+        // different query -> returns false
+        assertNotEquals(firstCommand, secondCommand);
+    }
+
+    @Test
+    public void toStringMethod() {
+        LogSearchQuery query = new LogSearchQuery(List.of(List.of("first")));
+        String expected = LogSearchCommand.class.getCanonicalName() + "{query=" + query + "}";
+        assertEquals(expected, new LogSearchCommand(query).toString());
+    }
+}
@@ -20,9 +20,11 @@ import scrolls.elder.logic.commands.FindCommand;
 import scrolls.elder.logic.commands.HelpCommand;
 import scrolls.elder.logic.commands.ListCommand;
 import scrolls.elder.logic.commands.LogDeleteCommand;
+import scrolls.elder.logic.commands.LogSearchCommand;
 import scrolls.elder.logic.commands.RedoCommand;
 import scrolls.elder.logic.commands.UndoCommand;
 import scrolls.elder.logic.parser.exceptions.ParseException;
+import scrolls.elder.model.log.LogSearchQuery;
 import scrolls.elder.model.person.NameContainsKeywordsPredicate;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.model.person.Role;
@@ -157,6 +159,14 @@ public class AddressBookParserTest {
         assertTrue(parser.parseCommand(ListCommand.COMMAND_WORD + " 3") instanceof ListCommand);
     }
 
+    @Test
+    public void parseCommand_logSearch() throws Exception {
+        LogSearchCommand command = (LogSearchCommand) parser.parseCommand(
+                LogSearchCommand.COMMAND_WORD + " hospital OR clinic");
+        assertEquals(new LogSearchCommand(new LogSearchQuery(List.of(List.of("hospital"), List.of("clinic")))),
+                command);
+    }
+
     @Test
     public void parseCommand_undo() throws Exception {
         assertTrue(parser.parseCommand(UndoCommand.COMMAND_WORD) instanceof UndoCommand);
@@ -56,6 +56,23 @@ public class FindCommandParserTest {
 
     }
 
+    @Test
+    public void parse_explainFlag_returnsExplainingFindCommand() {
+        FindCommand expectedFindCommand =
+                new FindCommand(new NameContainsKeywordsPredicate(Arrays.asList("Alice", "Bob")), emptyTagPredicate,
+                        true, true, true, false, true);
+        assertParseSuccess(parser, "Alice " + FindCommandParser.EXPLAIN_FLAG + " Bob --paired", expectedFindCommand);
+
+        // Only the flag itself is removed, not keywords containing it
+        String keyword = "Alice" + FindCommandParser.EXPLAIN_FLAG;
+        expectedFindCommand = new FindCommand(new NameContainsKeywordsPredicate(Arrays.asList(keyword)),
+                emptyTagPredicate, true, true, true, true, true);
+        assertParseSuccess(parser, keyword + " " + FindCommandParser.EXPLAIN_FLAG, expectedFindCommand);
+
+        assertParseFailure(parser, FindCommandParser.EXPLAIN_FLAG,
+                String.format(Messages.MESSAGE_INVALID_COMMAND_FORMAT, FindCommand.MESSAGE_USAGE));
+    }
+
     @Test
     public void parse_validArgsFind_returnsFindCommand() {
         // All Persons
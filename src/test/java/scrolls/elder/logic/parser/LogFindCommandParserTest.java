@@ -3,6 +3,10 @@ package scrolls.elder.logic.parser;
 import static scrolls.elder.logic.parser.CommandParserTestUtil.assertParseFailure;
 import static scrolls.elder.logic.parser.CommandParserTestUtil.assertParseSuccess;
 
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
 import org.junit.jupiter.api.Test;
 
 import scrolls.elder.logic.Messages;
@@ -16,6 +20,8 @@ public class LogFindCommandParserTest {
     private LogFindCommandParser parser = new LogFindCommandParser();
     private final Role volunteerRole = new Role(CommandTestUtil.VALID_ROLE_VOLUNTEER);
     private final Role befriendeeRole = new Role(CommandTestUtil.VALID_ROLE_BEFRIENDEE);
+    private final Date marchFirst = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime();
+    private final Date marchThirtyFirst = new GregorianCalendar(2024, Calendar.MARCH, 31).getTime();
 
     @Test
     public void parse_emptyArg_throwsParseException() {
@@ -60,5 +66,28 @@ public class LogFindCommandParserTest {
                 expectedLogFindCommand);
     }
 
+    @Test
+    public void parse_validDateRange_returnsLogFindCommand() {
+        assertParseSuccess(parser, " s/2024-03-01 e/2024-03-31",
+                new LogFindCommand(null, null, marchFirst, marchThirtyFirst));
+
+        assertParseSuccess(parser, "1 " + CommandTestUtil.ROLE_DESC_VOLUNTEER + " s/2024-03-01 e/2024-03-31",
+                new LogFindCommand(TypicalIndexes.INDEX_FIRST_PERSON, volunteerRole, marchFirst, marchThirtyFirst));
+    }
+
+    @Test
+    public void parse_invalidDateRange_throwsParseException() {
+        // missing end date
+        assertParseFailure(parser, " s/2024-03-01",
+                String.format(Messages.MESSAGE_INVALID_COMMAND_FORMAT, LogFindCommand.MESSAGE_USAGE));
+
+        // start date after end date
+        assertParseFailure(parser, " s/2024-03-31 e/2024-03-01", LogFindCommandParser.MESSAGE_INVALID_DATE_RANGE);
+
+        // date range with index but no role
+        assertParseFailure(parser, "1 s/2024-03-01 e/2024-03-31",
+                String.format(Messages.MESSAGE_INVALID_COMMAND_FORMAT, LogFindCommand.MESSAGE_USAGE));
+    }
+
 
 }
@@ -0,0 +1,44 @@
+package scrolls.elder.logic.parser;
+
+import static scrolls.elder.logic.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static scrolls.elder.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static scrolls.elder.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.logic.commands.LogSearchCommand;
+import scrolls.elder.model.log.LogSearchQuery;
+
+public class LogSearchCommandParserTest {
+
+    private final LogSearchCommandParser parser = new LogSearchCommandParser();
+
+    @Test
+    public void parse_emptyArg_throwsParseException() {
+        assertParseFailure(parser, "     ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogSearchCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void parse_operatorWithoutKeyword_throwsParseException() {
+        assertParseFailure(parser, "hospital OR",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogSearchCommand.MESSAGE_USAGE));
+        assertParseFailure(parser, "OR hospital",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, LogSearchCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void parse_validArgs_returnsLogSearchCommand() {
+        LogSearchCommand expectedCommand =
+                new LogSearchCommand(new LogSearchQuery(List.of(List.of("hospital", "visit"))));
+        assertParseSuccess(parser, "hospital visit", expectedCommand);
+        assertParseSuccess(parser, " \n hospital AND \t visit  \t", expectedCommand);
+
+        // AND binds tighter than OR
+        expectedCommand = new LogSearchCommand(
+                new LogSearchQuery(List.of(List.of("hosp*", "visit"), List.of("clinic"))));
+        assertParseSuccess(parser, "hosp* AND visit OR clinic", expectedCommand);
+    }
+}
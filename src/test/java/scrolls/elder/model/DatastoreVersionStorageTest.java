@@ -0,0 +1,178 @@
+package scrolls.elder.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.PersonBuilder;
+import scrolls.elder.testutil.TypicalDatastore;
+import scrolls.elder.testutil.TypicalLogs;
+
+public class DatastoreVersionStorageTest {
+
+    private Datastore datastore;
+    private DatastoreChangeSpillStub spill;
+    private DatastoreVersionStorage versionStorage;
+    private List<Datastore> committedVersions;
+
+    @BeforeEach
+    public void setUp() {
+        datastore = TypicalDatastore.getTypicalDatastore();
+        spill = new DatastoreChangeSpillStub();
+        versionStorage = new DatastoreVersionStorage(datastore, 1, spill);
+        committedVersions = new ArrayList<>();
+        committedVersions.add(new Datastore(datastore));
+    }
+
+    @Test
+    public void commitDatastore_beyondMaxHotVersions_oldChangesSpilled() {
+        commitEdits(3);
+        assertEquals(2, spill.entries.size());
+    }
+
+    @Test
+    public void executeUndo_acrossSpilledChanges_restoresEveryVersion() {
+        commitEdits(3);
+
+        for (int version = 2; version >= 0; version--) {
+            assertTrue(versionStorage.canUndo());
+            datastore.applyChange(versionStorage.executeUndo().get());
+            assertEquals(committedVersions.get(version), datastore);
+        }
+        assertFalse(versionStorage.canUndo());
+
+        for (int version = 1; version <= 3; version++) {
+            assertTrue(versionStorage.canRedo());
+            datastore.applyChange(versionStorage.executeRedo().get());
+            assertEquals(committedVersions.get(version), datastore);
+        }
+        assertFalse(versionStorage.canRedo());
+    }
+
+    @Test
+    public void commitDatastore_afterUndoIntoSpilledChanges_redoVersionsDiscarded() {
+        commitEdits(3);
+        datastore.applyChange(versionStorage.executeUndo().get());
+        datastore.applyChange(versionStorage.executeUndo().get());
+        datastore.applyChange(versionStorage.executeUndo().get());
+
+        commitEdits(1);
+        assertFalse(versionStorage.canRedo());
+        assertEquals(0, spill.entries.size());
+
+        datastore.applyChange(versionStorage.executeUndo().get());
+        assertEquals(committedVersions.get(0), datastore);
+    }
+
+    @Test
+    public void getCurrentSnapshot_afterCommitsAndUndo_holdsCurrentVersion() {
+        commitEdits(3);
+        datastore.applyChange(versionStorage.executeUndo().get());
+
+        ReadOnlyDatastore view = versionStorage.getCurrentSnapshot().asReadOnlyDatastore();
+        assertEquals(committedVersions.get(2), new Datastore(view));
+    }
+
+    @Test
+    public void asReadOnlyDatastore_latestLogIds_matchDatastore() {
+        // LOG_BENSON_TO_FIONA_2 starts before LOG_BENSON_TO_FIONA, despite its larger ID
+        datastore.getMutableLogStore().addLogWithId(TypicalLogs.LOG_ALICE_TO_ELLE);
+        datastore.getMutableLogStore().addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA);
+        datastore.getMutableLogStore().addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA_2);
+
+        ReadOnlyDatastore view = DatastoreSnapshot.of(datastore).asReadOnlyDatastore();
+        assertEquals(Optional.of(TypicalLogs.LOG_BENSON_TO_FIONA.getLogId()),
+                view.getLogStore().getLatestLogId(TypicalLogs.LOG_BENSON_TO_FIONA.getVolunteerId()));
+        for (Person person : datastore.getPersonStore().getPersonList()) {
+            assertEquals(datastore.getLogStore().getLatestLogId(person.getPersonId()),
+                    view.getLogStore().getLatestLogId(person.getPersonId()));
+        }
+        assertEquals(Optional.empty(), view.getLogStore().getLatestLogId(-1));
+    }
+
+    @Test
+    public void canUndo_spillUnreadable_historyKept() {
+        commitEdits(2);
+        spill.isReadable = false;
+
+        assertTrue(versionStorage.canUndo());
+        assertTrue(versionStorage.canUndo());
+        assertEquals(0, spill.readCount);
+    }
+
+    @Test
+    public void executeUndo_spillUnreadable_returnsEmptyAndKeepsVersion() {
+        commitEdits(2);
+        spill.isReadable = false;
+
+        datastore.applyChange(versionStorage.executeUndo().get());
+        assertTrue(versionStorage.canUndo());
+        assertTrue(versionStorage.executeUndo().isEmpty());
+        assertEquals(1, spill.readCount);
+        assertEquals(committedVersions.get(1), datastore);
+        assertFalse(versionStorage.canUndo());
+        assertTrue(versionStorage.canRedo());
+    }
+
+    @Test
+    public void executeUndo_spilledChange_entryReadOnce() {
+        commitEdits(2);
+
+        datastore.applyChange(versionStorage.executeUndo().get());
+        datastore.applyChange(versionStorage.executeUndo().get());
+        datastore.applyChange(versionStorage.executeRedo().get());
+        assertEquals(1, spill.readCount);
+        assertEquals(committedVersions.get(1), datastore);
+    }
+
+    /**
+     * Commits {@code count} versions, each with one person edited, and records the committed versions.
+     */
+    private void commitEdits(int count) {
+        PersonStore personStore = datastore.getMutablePersonStore();
+        for (int i = 0; i < count; i++) {
+            Person personToEdit = personStore.getPersonList().get(i);
+            personStore.setPerson(personToEdit, new PersonBuilder(personToEdit).withPhone("9999999" + i).build());
+            versionStorage.commitDatastore(datastore);
+            committedVersions.add(new Datastore(datastore));
+        }
+    }
+
+    /**
+     * A spill that holds its entries in memory.
+     */
+    private static class DatastoreChangeSpillStub implements DatastoreChangeSpill {
+        private final List<DatastoreChange[]> entries = new ArrayList<>();
+        private boolean isReadable = true;
+        private int readCount = 0;
+
+        @Override
+        public void write(int index, DatastoreChange undoChange, DatastoreChange redoChange) {
+            assertEquals(entries.size(), index);
+            entries.add(new DatastoreChange[] {undoChange, redoChange});
+        }
+
+        @Override
+        public Entry read(int index) throws IOException {
+            readCount++;
+            if (!isReadable) {
+                throw new IOException("Spill is unreadable");
+            }
+            return new Entry(entries.get(index)[0], entries.get(index)[1]);
+        }
+
+        @Override
+        public void truncate(int fromIndex) {
+            entries.subList(fromIndex, entries.size()).clear();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package scrolls.elder.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class FilteredPersonViewsTest {
+
+    private final ObservableList<Person> persons =
+            FXCollections.observableArrayList(TypicalPersons.getTypicalPersons());
+    private final FilteredPersonViews views = new FilteredPersonViews(persons);
+
+    @Test
+    public void constructor_showsAllPersonsPartitionedByRole() {
+        assertEquals(TypicalPersons.getTypicalPersons(), views.getFilteredPersons());
+        assertEquals(TypicalPersons.getTypicalVolunteerPersons(), views.getFilteredVolunteers());
+        assertEquals(TypicalPersons.getTypicalBefriendeePersons(), views.getFilteredBefriendees());
+    }
+
+    @Test
+    public void setPredicate_filtersAllViews() {
+        views.setPredicate(Person::isPaired);
+        assertEquals(TypicalPersons.getPairedPersons(), views.getFilteredPersons());
+        assertEquals(Collections.singletonList(TypicalPersons.ALICE), views.getFilteredVolunteers());
+        assertEquals(Collections.singletonList(TypicalPersons.ELLE), views.getFilteredBefriendees());
+    }
+
+    @Test
+    public void setVolunteerPredicate_keepsOtherFilters() {
+        views.setPredicate(Person::isPaired);
+        views.setVolunteerPredicate(person -> !person.isPaired());
+
+        assertEquals(Arrays.asList(TypicalPersons.BENSON, TypicalPersons.CARL, TypicalPersons.DANIEL),
+                views.getFilteredVolunteers());
+        assertEquals(Collections.singletonList(TypicalPersons.ELLE), views.getFilteredBefriendees());
+        assertEquals(TypicalPersons.getPairedPersons(), views.getFilteredPersons());
+    }
+
+    @Test
+    public void setPredicate_eachPersonTestedOnce() {
+        List<Person> testedPersons = new ArrayList<>();
+        views.setPredicate(person -> testedPersons.add(person) && person.isPaired());
+
+        assertEquals(TypicalPersons.getPairedPersons(), views.getFilteredPersons());
+        assertEquals(Collections.singletonList(TypicalPersons.ALICE), views.getFilteredVolunteers());
+        assertEquals(Collections.singletonList(TypicalPersons.ELLE), views.getFilteredBefriendees());
+        assertEquals(TypicalPersons.getTypicalPersons().size(), testedPersons.size());
+    }
+
+    @Test
+    public void setBefriendeePredicate_keepsOtherFilters() {
+        views.setBefriendeePredicate(Person::isPaired);
+
+        assertEquals(TypicalPersons.getTypicalVolunteerPersons(), views.getFilteredVolunteers());
+        assertEquals(Collections.singletonList(TypicalPersons.ELLE), views.getFilteredBefriendees());
+        assertEquals(TypicalPersons.getTypicalPersons(), views.getFilteredPersons());
+    }
+
+    @Test
+    public void backingListChanged_viewsUpdated() {
+        views.setPredicate(Person::isPaired);
+        persons.add(TypicalPersons.HOON);
+        persons.remove(TypicalPersons.ALICE);
+
+        assertEquals(Collections.singletonList(TypicalPersons.HOON), views.getFilteredVolunteers());
+        assertEquals(Arrays.asList(TypicalPersons.ELLE, TypicalPersons.HOON), views.getFilteredPersons());
+    }
+}
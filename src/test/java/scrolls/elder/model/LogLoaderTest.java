@@ -0,0 +1,134 @@
+package scrolls.elder.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogSearchQuery;
+import scrolls.elder.model.log.LogTextIndex;
+import scrolls.elder.testutil.TypicalDatastore;
+
+public class LogLoaderTest {
+
+    private ModelManager model;
+    private CompletableFuture<List<Log>> logs;
+    private List<Runnable> chunks;
+    private LogLoader logLoader;
+
+    @BeforeEach
+    public void setUp() {
+        model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        logs = new CompletableFuture<>();
+        chunks = new ArrayList<>();
+        logLoader = new LogLoader(model, logs, chunks::add);
+    }
+
+    @Test
+    public void start_logsRead_addedInChunksByExecutor() {
+        List<Log> readLogs = createLogs(LogLoader.CHUNK_SIZE + 1);
+        List<Integer> progress = new ArrayList<>();
+        List<Boolean> isDoneAtProgress = new ArrayList<>();
+        logLoader.setProgressHandler(() -> {
+            progress.add(model.getDatastore().getLogStore().getLogList().size());
+            isDoneAtProgress.add(logLoader.isDone());
+        });
+        logLoader.start();
+        assertTrue(chunks.isEmpty());
+
+        logs.complete(readLogs);
+        runNextChunk();
+        assertEquals(List.of(LogLoader.CHUNK_SIZE), progress);
+        assertFalse(logLoader.isDone());
+
+        runNextChunk();
+        assertEquals(List.of(LogLoader.CHUNK_SIZE, LogLoader.CHUNK_SIZE + 1), progress);
+        // The handler of the last chunk sees that all logs are added
+        assertEquals(List.of(false, true), isDoneAtProgress);
+        assertTrue(logLoader.isDone());
+        assertTrue(chunks.isEmpty());
+        assertEquals(LogLoader.CHUNK_SIZE + 1, model.getMutableDatastore().getMutableLogStore().getLogIdSequence());
+    }
+
+    @Test
+    public void awaitLogs_chunksNotRun_allLogsAddedAtOnce() {
+        List<Log> readLogs = createLogs(LogLoader.CHUNK_SIZE + 1);
+        logLoader.start();
+        logs.complete(readLogs);
+
+        logLoader.awaitLogs();
+        assertTrue(logLoader.getReadiness().isDone());
+        assertEquals(readLogs.size(), model.getDatastore().getLogStore().getLogList().size());
+
+        // Chunks scheduled before waiting add nothing more
+        runNextChunk();
+        assertEquals(readLogs.size(), model.getDatastore().getLogStore().getLogList().size());
+    }
+
+    @Test
+    public void awaitLogs_logsLoaded_notRecordedAsChange() {
+        logLoader.start();
+        logs.complete(createLogs(3));
+        logLoader.awaitLogs();
+
+        assertTrue(model.getUnsavedChanges().isEmpty());
+        assertFalse(model.canUndoDatastore());
+
+        model.getMutableDatastore().getMutableLogStore().removeLog(0);
+        model.commitDatastore();
+        model.undoChanges();
+        assertEquals(3, model.getDatastore().getLogStore().getLogList().size());
+    }
+
+    @Test
+    public void awaitLogs_textIndexBuiltAhead_indexUsedForSearch() {
+        List<Log> readLogs = createLogs(3);
+        // The index given is used as is, rather than rebuilt from the words of the logs
+        LogTextIndex logTextIndex = new LogTextIndex();
+        readLogs.forEach(log -> logTextIndex.add(new Log(log.getLogId(), "Walk", 0, 1, 1, new Date(0), null)));
+        logLoader = new LogLoader(model, logs, CompletableFuture.completedFuture(logTextIndex), chunks::add);
+        logLoader.start();
+        logs.complete(readLogs);
+
+        logLoader.awaitLogs();
+        model.getMutableDatastore().getMutableLogStore()
+                .updateFilteredLogListBySearch(new LogSearchQuery(List.of(List.of("walk"))));
+        assertEquals(readLogs, model.getDatastore().getLogStore().getLogList());
+    }
+
+    @Test
+    public void awaitLogs_logsNotRead_noLogsAddedAndFailureReported() {
+        List<Throwable> failures = new ArrayList<>();
+        logLoader.setFailureHandler(failures::add);
+        logLoader.start();
+        DataLoadingException cause = new DataLoadingException(new Exception("Unreadable"));
+        logs.completeExceptionally(cause);
+
+        logLoader.awaitLogs();
+        assertTrue(logLoader.getReadiness().isCompletedExceptionally());
+        assertTrue(logLoader.isFailed());
+        assertEquals(List.of(cause), failures);
+        assertTrue(model.getDatastore().getLogStore().getLogList().isEmpty());
+    }
+
+    private void runNextChunk() {
+        chunks.remove(0).run();
+    }
+
+    private static List<Log> createLogs(int count) {
+        List<Log> logs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            logs.add(new Log(i, "Visit", 0, 1, 1, new Date(i), "Remarks"));
+        }
+        return logs;
+    }
+}
@@ -6,7 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Calendar;
 import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -119,6 +124,78 @@ public class LogStoreTest {
         assertEquals(1, logStore.getFilteredLogList().size());
     }
 
+    @Test
+    public void getLatestLogId_logsOrderedByStartDate() {
+        int volunteerId = TypicalLogs.LOG_BENSON_TO_FIONA.getVolunteerId();
+        assertEquals(Optional.empty(), logStore.getLatestLogId(volunteerId));
+
+        // LOG_BENSON_TO_FIONA_2 starts before LOG_BENSON_TO_FIONA, despite its larger ID
+        logStore.addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA);
+        logStore.addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA_2);
+        assertEquals(Optional.of(TypicalLogs.LOG_BENSON_TO_FIONA.getLogId()), logStore.getLatestLogId(volunteerId));
+        assertEquals(Optional.of(TypicalLogs.LOG_BENSON_TO_FIONA_2.getLogId()),
+                logStore.getPreviousLogId(volunteerId, TypicalLogs.LOG_BENSON_TO_FIONA));
+        assertEquals(Optional.of(TypicalLogs.LOG_BENSON_TO_FIONA.getLogId()),
+                logStore.getNextLogId(volunteerId, TypicalLogs.LOG_BENSON_TO_FIONA_2));
+        assertEquals(Optional.empty(), logStore.getNextLogId(volunteerId, TypicalLogs.LOG_BENSON_TO_FIONA));
+
+        // Latest log is updated after CRUD
+        logStore.removeLog(TypicalLogs.LOG_BENSON_TO_FIONA.getLogId());
+        assertEquals(Optional.of(TypicalLogs.LOG_BENSON_TO_FIONA_2.getLogId()),
+                logStore.getLatestLogId(volunteerId));
+    }
+
+    @Test
+    public void getLatestLogId_logWithoutStartDate_orderedFirst() {
+        Log datedLog = TypicalLogs.LOG_BENSON_TO_FIONA;
+        Log undatedLog = new Log(datedLog.getLogId() + 1, datedLog.getLogTitle(), datedLog.getVolunteerId(),
+                datedLog.getBefriendeeId(), datedLog.getDuration(), null, datedLog.getRemarks());
+        int volunteerId = datedLog.getVolunteerId();
+
+        logStore.addLogWithId(datedLog);
+        logStore.addLogWithId(undatedLog);
+        assertEquals(Optional.of(datedLog.getLogId()), logStore.getLatestLogId(volunteerId));
+        assertEquals(Optional.of(undatedLog.getLogId()), logStore.getPreviousLogId(volunteerId, datedLog));
+        assertEquals(Optional.of(datedLog.getLogId()), logStore.getNextLogId(volunteerId, undatedLog));
+
+        // Logs without a start date are in no date range
+        Date marchFirst = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime();
+        Date mayFirst = new GregorianCalendar(2024, Calendar.MAY, 1).getTime();
+        logStore.updateFilteredLogListByStartDate(null, marchFirst, mayFirst);
+        assertEquals(List.of(datedLog), logStore.getFilteredLogList());
+
+        logStore.removeLog(undatedLog.getLogId());
+        assertEquals(Optional.empty(), logStore.getPreviousLogId(volunteerId, datedLog));
+    }
+
+    @Test
+    public void updateFilteredLogListByStartDate_updateFilter_success() {
+        logStore.addLogWithId(TypicalLogs.LOG_ALICE_TO_ELLE);
+        logStore.addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA);
+        logStore.addLogWithId(TypicalLogs.LOG_BENSON_TO_FIONA_2);
+        Date marchFirst = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime();
+        Date aprilFirst = new GregorianCalendar(2024, Calendar.APRIL, 1).getTime();
+        Date mayFirst = new GregorianCalendar(2024, Calendar.MAY, 1).getTime();
+
+        // All logs, in order of start date
+        logStore.updateFilteredLogListByStartDate(null, marchFirst, mayFirst);
+        assertEquals(List.of(TypicalLogs.LOG_ALICE_TO_ELLE, TypicalLogs.LOG_BENSON_TO_FIONA_2,
+                TypicalLogs.LOG_BENSON_TO_FIONA), logStore.getFilteredLogList());
+
+        // End date is exclusive
+        logStore.updateFilteredLogListByStartDate(null, marchFirst, aprilFirst);
+        assertEquals(List.of(TypicalLogs.LOG_ALICE_TO_ELLE), logStore.getFilteredLogList());
+
+        // Logs of a person
+        logStore.updateFilteredLogListByStartDate(TypicalLogs.LOG_BENSON_TO_FIONA.getBefriendeeId(), aprilFirst,
+                mayFirst);
+        assertEquals(List.of(TypicalLogs.LOG_BENSON_TO_FIONA_2, TypicalLogs.LOG_BENSON_TO_FIONA),
+                logStore.getFilteredLogList());
+        logStore.updateFilteredLogListByStartDate(TypicalLogs.LOG_BENSON_TO_FIONA.getBefriendeeId(), marchFirst,
+                aprilFirst);
+        assertEquals(List.of(), logStore.getFilteredLogList());
+    }
+
     @Test
     public void toStringMethod() {
         String expected = LogStore.class.getCanonicalName() + "{logs=" + logStore.getLogList() + "}";
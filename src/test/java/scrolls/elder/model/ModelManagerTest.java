@@ -2,6 +2,7 @@ package scrolls.elder.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.nio.file.Path;
@@ -10,7 +11,10 @@ import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
 
 import scrolls.elder.commons.core.GuiSettings;
+import scrolls.elder.model.person.Person;
 import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.PersonBuilder;
+import scrolls.elder.testutil.TypicalDatastore;
 import scrolls.elder.testutil.TypicalPersons;
 
 public class ModelManagerTest {
@@ -67,6 +71,66 @@ public class ModelManagerTest {
         assertEquals(path, modelManager.getDatastoreFilePath());
     }
 
+    @Test
+    public void undoChanges_editPerson_onlyEditedPersonReplaced() {
+        modelManager = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        PersonStore personStore = modelManager.getMutableDatastore().getMutablePersonStore();
+        Datastore originalDatastore = new Datastore(modelManager.getDatastore());
+        Person untouchedPerson = personStore.getPersonList().get(0);
+        Person personToEdit = personStore.getPersonList().get(1);
+
+        personStore.setPerson(personToEdit, new PersonBuilder(personToEdit).withPhone("99999999").build());
+        modelManager.commitDatastore();
+        modelManager.undoChanges();
+
+        assertEquals(originalDatastore, modelManager.getMutableDatastore());
+        assertSame(personToEdit, personStore.getPersonList().get(1));
+        assertSame(untouchedPerson, personStore.getPersonList().get(0));
+    }
+
+    @Test
+    public void redoChanges_afterUndoRemovePerson_personRemovedAgain() {
+        modelManager = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        PersonStore personStore = modelManager.getMutableDatastore().getMutablePersonStore();
+        Datastore originalDatastore = new Datastore(modelManager.getDatastore());
+        Person personToRemove = personStore.getPersonList().get(2);
+
+        personStore.removePerson(personToRemove);
+        modelManager.commitDatastore();
+        Datastore removedDatastore = new Datastore(modelManager.getDatastore());
+
+        modelManager.undoChanges();
+        assertEquals(originalDatastore, modelManager.getMutableDatastore());
+        assertSame(personToRemove, personStore.getPersonList().get(2));
+
+        modelManager.redoChanges();
+        assertEquals(removedDatastore, modelManager.getMutableDatastore());
+    }
+
+    @Test
+    public void getUnsavedChanges_commitUndoAndRedo_changesRecordedUntilCleared() {
+        modelManager = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        PersonStore personStore = modelManager.getMutableDatastore().getMutablePersonStore();
+
+        // commit without changes -> nothing to save
+        modelManager.commitDatastore();
+        assertTrue(modelManager.getUnsavedChanges().isEmpty());
+
+        personStore.removePerson(personStore.getPersonList().get(0));
+        modelManager.commitDatastore();
+        modelManager.undoChanges();
+        modelManager.redoChanges();
+        assertEquals(3, modelManager.getUnsavedChanges().size());
+
+        // replaying the unsaved changes over the original datastore gives the current datastore
+        Datastore replayed = TypicalDatastore.getTypicalDatastore();
+        modelManager.getUnsavedChanges().forEach(replayed::applyChange);
+        assertEquals(modelManager.getMutableDatastore(), replayed);
+
+        modelManager.clearUnsavedChanges();
+        assertTrue(modelManager.getUnsavedChanges().isEmpty());
+    }
+
     @Test
     public void equals() {
         Datastore datastore = new Datastore();
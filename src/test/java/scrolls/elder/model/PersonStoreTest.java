@@ -12,7 +12,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import scrolls.elder.model.person.Name;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.model.person.Volunteer;
 import scrolls.elder.model.person.exceptions.DuplicatePersonException;
+import scrolls.elder.model.tag.Tag;
 import scrolls.elder.testutil.Assert;
 import scrolls.elder.testutil.PersonBuilder;
 import scrolls.elder.testutil.TypicalPersons;
@@ -110,6 +112,47 @@ public class PersonStoreTest {
         Assert.assertThrows(UnsupportedOperationException.class, () -> personStore.getPersonList().remove(0));
     }
 
+    @Test
+    public void planQuery_indexedAndResidualConditions_mostSelectiveIndexFirst() {
+        PersonStore store = TypicalPersons.getTypicalPersonStore();
+        PersonQuery query = new PersonQuery(Collections.singletonList("Meier"), Set.of(new Tag("friends")),
+                Optional.empty(), Optional.of(false));
+        PersonQueryPlan plan = store.planQuery(query);
+
+        store.updateFilteredPersonList(plan.asPredicate());
+        assertEquals(Arrays.asList(TypicalPersons.BENSON, TypicalPersons.DANIEL), store.getFilteredPersonList());
+        assertEquals("Query plan over 7 persons:\n"
+                + "1. name index Meier: 2 candidates, 2 remaining\n"
+                + "2. tag index [friends]: 3 candidates, 2 remaining\n"
+                + "3. check unpaired on each remaining person", plan.explain());
+    }
+
+    @Test
+    public void planQuery_personsChangedAfterPlanning_filterUpdated() {
+        PersonStore store = TypicalPersons.getTypicalPersonStore();
+        PersonQuery query = new PersonQuery(Collections.singletonList("Meier"), Set.of(new Tag("friends")),
+                Optional.empty(), Optional.empty());
+        store.updateFilteredPersonList(store.planQuery(query).asPredicate());
+
+        Person addedPerson = new PersonBuilder().withId(store.getPersonIdSequence()).withName("Hans Meier")
+                .withTags("friends").build();
+        store.addPersonWithId(addedPerson);
+        Person editedBenson = new PersonBuilder(TypicalPersons.BENSON).withTags("owesMoney").build();
+        store.setPerson(TypicalPersons.BENSON, editedBenson);
+        assertEquals(Arrays.asList(TypicalPersons.DANIEL, addedPerson), store.getFilteredPersonList());
+    }
+
+    @Test
+    public void planQuery_noCandidatesLeft_skipsRemainingIndexes() {
+        PersonStore store = TypicalPersons.getTypicalPersonStore();
+        PersonQuery query = new PersonQuery(Collections.singletonList("Nobody"), Set.of(new Tag("friends")),
+                Optional.empty(), Optional.empty());
+        PersonQueryPlan plan = store.planQuery(query);
+
+        assertTrue(plan.hasNoCandidates());
+        assertTrue(plan.explain().endsWith("2. tag index [friends]: skipped, no candidates remaining"));
+    }
+
     @Test
     public void toStringMethod() {
         String expected = PersonStore.class.getCanonicalName() + "{persons=" + personStore.getPersonList() + "}";
@@ -189,22 +232,17 @@ public class PersonStoreTest {
         }
 
         @Override
-        public Name getNameFromID(int id) {
+        public boolean hasPersonWithId(int id) {
             throw new AssertionError("This method should not be called.");
         }
 
         @Override
-        public void updateFilteredPersonList(Predicate<Person> predicate) {
+        public Person getPersonFromID(int id) {
             throw new AssertionError("This method should not be called.");
         }
 
         @Override
-        public void updateFilteredVolunteerList(Predicate<Person> predicate) {
-            throw new AssertionError("This method should not be called.");
-        }
-
-        @Override
-        public void updateFilteredBefriendeeList(Predicate<Person> predicate) {
+        public Name getNameFromID(int id) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -23,6 +23,15 @@ public class UserPrefsTest {
         Assert.assertThrows(NullPointerException.class, () -> userPrefs.setDatastoreFilePath(null));
     }
 
+    @Test
+    public void setMaxHotUndoVersions_lessThanOne_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        Assert.assertThrows(IllegalArgumentException.class, UserPrefs.MESSAGE_INVALID_MAX_HOT_UNDO_VERSIONS, () ->
+                userPrefs.setMaxHotUndoVersions(0));
+        userPrefs.setMaxHotUndoVersions(1);
+        assertEquals(1, userPrefs.getMaxHotUndoVersions());
+    }
+
     @Test
     public void equals() {
         UserPrefs userPrefs = new UserPrefs();
@@ -0,0 +1,71 @@
+package scrolls.elder.model.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LogTextIndexTest {
+
+    private static final Log HOSPITAL_VISIT = new Log(0, "Hospital visit", 0, 1, 2, new Date(0), "Brought fruits.");
+    private static final Log CLINIC_VISIT = new Log(1, "Clinic visit", 0, 1, 1, new Date(0), "Check-up at the clinic");
+    private static final Log HOSPITALITY = new Log(2, "Tea", 0, 1, 1, new Date(0), "Great hospitality!");
+
+    private final LogTextIndex index = new LogTextIndex();
+
+    @BeforeEach
+    public void setUp() {
+        index.add(HOSPITAL_VISIT);
+        index.add(CLINIC_VISIT);
+        index.add(HOSPITALITY);
+    }
+
+    @Test
+    public void search_singleTerm_matchesTitleAndRemarksIgnoringCase() {
+        assertEquals(ids(0), index.search(query(List.of("HOSPITAL"))));
+        assertEquals(ids(1), index.search(query(List.of("clinic"))));
+        assertEquals(ids(), index.search(query(List.of("hosp"))));
+    }
+
+    @Test
+    public void search_allTermsInClause_matchesLogsWithAllTerms() {
+        assertEquals(ids(0, 1), index.search(query(List.of("visit"))));
+        assertEquals(ids(1), index.search(query(List.of("visit", "check"))));
+        assertEquals(ids(), index.search(query(List.of("visit", "tea"))));
+    }
+
+    @Test
+    public void search_anyClause_matchesLogsWithAnyClause() {
+        assertEquals(ids(0, 1), index.search(query(List.of("hospital"), List.of("clinic"))));
+    }
+
+    @Test
+    public void search_prefixTerm_matchesWordsStartingWithPrefix() {
+        assertEquals(ids(0, 2), index.search(query(List.of("hosp*"))));
+        assertEquals(ids(2), index.search(query(List.of("hosp*", "great"))));
+    }
+
+    @Test
+    public void remove_log_noLongerMatches() {
+        index.remove(HOSPITAL_VISIT);
+        assertEquals(ids(2), index.search(query(List.of("hosp*"))));
+        assertEquals(ids(1), index.search(query(List.of("visit"))));
+    }
+
+    @SafeVarargs
+    private static LogSearchQuery query(List<String>... clauses) {
+        return new LogSearchQuery(List.of(clauses));
+    }
+
+    private static BitSet ids(int... ids) {
+        BitSet result = new BitSet();
+        for (int id : ids) {
+            result.set(id);
+        }
+        return result;
+    }
+}
@@ -1,5 +1,6 @@
 package scrolls.elder.model.person;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -57,5 +58,13 @@ public class NameTest {
 
         // different values -> returns false
         assertFalse(name.equals(new Name("Other Valid Name")));
+
+        // different case -> returns true
+        assertTrue(name.equals(new Name("valid NAME")));
+    }
+
+    @Test
+    public void hashCode_differentCase_sameHashCode() {
+        assertEquals(new Name("Valid Name").hashCode(), new Name("valid NAME").hashCode());
     }
 }
@@ -0,0 +1,50 @@
+package scrolls.elder.model.person;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.testutil.PersonBuilder;
+
+public class NameTokenIndexTest {
+
+    private final NameTokenIndex index = new NameTokenIndex();
+    private final Person alice = new PersonBuilder().withId(0).withName("Alice Pauline").build();
+    private final Person bob = new PersonBuilder().withId(1).withName("Bob Pauline").build();
+
+    @Test
+    public void getIdsMatchingAny_mixedCaseKeywords_returnsUnion() {
+        index.add(alice);
+        index.add(bob);
+        assertEquals(Set.of(0, 1), index.getIdsMatchingAny(Arrays.asList("aLIce", "BOB")));
+        assertEquals(Set.of(0, 1), index.getIdsMatchingAny(Collections.singletonList("pauline")));
+    }
+
+    @Test
+    public void getIdsMatchingAny_partialWord_returnsEmpty() {
+        index.add(alice);
+        assertTrue(index.getIdsMatchingAny(Collections.singletonList("Ali")).isEmpty());
+    }
+
+    @Test
+    public void estimateIdsMatchingAny_sharedWords_returnsSizesOfPostings() {
+        index.add(alice);
+        index.add(bob);
+        assertEquals(3, index.estimateIdsMatchingAny(Arrays.asList("Pauline", "alice")));
+        assertEquals(0, index.estimateIdsMatchingAny(Collections.singletonList("nobody")));
+    }
+
+    @Test
+    public void remove_person_removesItsWords() {
+        index.add(alice);
+        index.add(bob);
+        index.remove(alice);
+        assertTrue(index.getIdsMatchingAny(Collections.singletonList("alice")).isEmpty());
+        assertEquals(Set.of(1), index.getIdsMatchingAny(Collections.singletonList("pauline")));
+    }
+}
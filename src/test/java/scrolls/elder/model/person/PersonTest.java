@@ -92,8 +92,7 @@ public class PersonTest {
                 + ", tags=" + TypicalPersons.ALICE.getTags() + ", role=" + TypicalPersons.ALICE.getRole()
                 + ", pairedWithName=" + (TypicalPersons.ALICE.getPairedWithName().orElse(Name.getNone()))
                 + ", pairedWithId=" + (TypicalPersons.ALICE.getPairedWithId().orElse(-1))
-                + ", timeServed=" + (TypicalPersons.ALICE.getTimeServed())
-                + ", latestLogId=" + (TypicalPersons.ALICE.getLatestLogId().orElse(-1)) + "}";
+                + ", timeServed=" + (TypicalPersons.ALICE.getTimeServed()) + "}";
         Assertions.assertEquals(expected, TypicalPersons.ALICE.toString());
     }
 }
@@ -9,6 +9,7 @@ import static scrolls.elder.logic.commands.CommandTestUtil.VALID_TAG_HUSBAND;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +48,22 @@ public class UniquePersonListTest {
         assertTrue(uniquePersonList.contains(editedAlice));
     }
 
+    @Test
+    public void contains_personWithDifferentCaseNameInList_returnsTrue() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        Person upperCaseAlice = new PersonBuilder(TypicalPersons.ALICE)
+                .withName(TypicalPersons.ALICE.getName().fullName.toUpperCase()).build();
+        assertTrue(uniquePersonList.contains(upperCaseAlice));
+    }
+
+    @Test
+    public void contains_personRenamedInList_returnsFalseForOldName() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        uniquePersonList.setPerson(TypicalPersons.ALICE, TypicalPersons.BOB);
+        assertFalse(uniquePersonList.contains(TypicalPersons.ALICE));
+        assertTrue(uniquePersonList.contains(TypicalPersons.BOB));
+    }
+
     @Test
     public void add_nullPerson_throwsNullPointerException() {
         Assert.assertThrows(NullPointerException.class, () -> uniquePersonList.add(null));
@@ -166,6 +183,66 @@ public class UniquePersonListTest {
                 -> uniquePersonList.setPersons(listWithDuplicatePersons));
     }
 
+    @Test
+    public void getPersonFromId_personInList_returnsPerson() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        uniquePersonList.add(TypicalPersons.BENSON);
+        assertEquals(TypicalPersons.BENSON, uniquePersonList.getPersonFromID(TypicalPersons.BENSON.getPersonId()));
+    }
+
+    @Test
+    public void getPersonFromId_personNotInList_throwsPersonNotFoundException() {
+        Assert.assertThrows(PersonNotFoundException.class, () -> uniquePersonList.getPersonFromID(0));
+    }
+
+    @Test
+    public void getPersonFromId_afterSetPerson_returnsEditedPerson() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        Person editedAlice = new PersonBuilder(TypicalPersons.ALICE).withAddress(VALID_ADDRESS_BOB).build();
+        uniquePersonList.setPerson(TypicalPersons.ALICE, editedAlice);
+        assertEquals(editedAlice, uniquePersonList.getPersonFromID(TypicalPersons.ALICE.getPersonId()));
+    }
+
+    @Test
+    public void containsId_afterRemoveAndSetPersons_updatesIndex() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        uniquePersonList.remove(TypicalPersons.ALICE);
+        assertFalse(uniquePersonList.containsId(TypicalPersons.ALICE.getPersonId()));
+
+        uniquePersonList.setPersons(Arrays.asList(TypicalPersons.BENSON, TypicalPersons.CARL));
+        assertTrue(uniquePersonList.containsId(TypicalPersons.CARL.getPersonId()));
+        assertFalse(uniquePersonList.containsId(TypicalPersons.ALICE.getPersonId()));
+    }
+
+    @Test
+    public void getIdsWithNameContainingAny_afterSetPerson_usesNewName() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        uniquePersonList.add(TypicalPersons.BENSON);
+        Person renamedAlice = new PersonBuilder(TypicalPersons.ALICE).withName("Alice Meier").build();
+        uniquePersonList.setPerson(TypicalPersons.ALICE, renamedAlice);
+
+        assertEquals(Set.of(TypicalPersons.ALICE.getPersonId(), TypicalPersons.BENSON.getPersonId()),
+                uniquePersonList.getIdsWithNameContainingAny(Collections.singletonList("MEIER")));
+        assertTrue(uniquePersonList.getIdsWithNameContainingAny(Collections.singletonList("pauline")).isEmpty());
+    }
+
+    @Test
+    public void addInIdOrder_personWithMiddleId_insertedInIdOrder() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        uniquePersonList.add(TypicalPersons.CARL);
+        uniquePersonList.addInIdOrder(TypicalPersons.BENSON);
+
+        List<Person> expected = Arrays.asList(TypicalPersons.ALICE, TypicalPersons.BENSON, TypicalPersons.CARL);
+        assertEquals(expected, uniquePersonList.asUnmodifiableObservableList());
+        assertTrue(uniquePersonList.containsId(TypicalPersons.BENSON.getPersonId()));
+    }
+
+    @Test
+    public void addInIdOrder_duplicatePerson_throwsDuplicatePersonException() {
+        uniquePersonList.add(TypicalPersons.ALICE);
+        Assert.assertThrows(DuplicatePersonException.class, () -> uniquePersonList.addInIdOrder(TypicalPersons.ALICE));
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         Assert.assertThrows(UnsupportedOperationException.class, ()
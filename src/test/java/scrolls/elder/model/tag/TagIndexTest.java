@@ -0,0 +1,64 @@
+package scrolls.elder.model.tag;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.PersonBuilder;
+
+public class TagIndexTest {
+
+    private final TagIndex index = new TagIndex();
+    private final Person alice = new PersonBuilder().withId(0).withName("Alice").withTags("friends").build();
+    private final Person bob = new PersonBuilder().withId(1).withName("Bob").withTags("friends", "owesMoney").build();
+    private final Person carl = new PersonBuilder().withId(2).withName("Carl").withTags().build();
+
+    @Test
+    public void getIdsWithAnyTag_multipleTags_returnsUnion() {
+        index.add(alice);
+        index.add(bob);
+        index.add(carl);
+        assertEquals(bitSetOf(0, 1), index.getIdsWithAnyTag(Arrays.asList(new Tag("owesMoney"), new Tag("friends"))));
+        assertTrue(index.getIdsWithAnyTag(Collections.singletonList(new Tag("unknown"))).isEmpty());
+    }
+
+    @Test
+    public void estimateIdsWithAnyTag_multipleTags_returnsSizesOfBitmaps() {
+        index.add(alice);
+        index.add(bob);
+        assertEquals(3, index.estimateIdsWithAnyTag(Arrays.asList(new Tag("owesMoney"), new Tag("friends"))));
+        assertEquals(0, index.estimateIdsWithAnyTag(Collections.singletonList(new Tag("unknown"))));
+    }
+
+    @Test
+    public void remove_person_removesItsTags() {
+        index.add(alice);
+        index.add(bob);
+        index.remove(bob);
+        assertEquals(bitSetOf(0), index.getIdsWithAnyTag(Arrays.asList(new Tag("owesMoney"), new Tag("friends"))));
+    }
+
+    @Test
+    public void getTagCounts_subsetOfPersons_countsOnlyThosePersons() {
+        index.add(alice);
+        index.add(bob);
+        index.add(carl);
+        assertEquals(Map.of(new Tag("friends"), 2, new Tag("owesMoney"), 1), index.getTagCounts(bitSetOf(0, 1, 2)));
+        assertEquals(Map.of(new Tag("friends"), 1), index.getTagCounts(bitSetOf(0, 2)));
+        assertEquals(Map.of(new Tag("friends"), 1, new Tag("owesMoney"), 1), index.getTagCounts(bitSetOf(1)));
+        assertEquals(Map.of(), index.getTagCounts(new BitSet()));
+    }
+
+    private static BitSet bitSetOf(int... ids) {
+        BitSet bitSet = new BitSet();
+        Arrays.stream(ids).forEach(bitSet::set);
+        return bitSet;
+    }
+}
@@ -0,0 +1,103 @@
+package scrolls.elder.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.jupiter.api.Test;
+
+public class IntListMultimapTest {
+
+    private final IntListMultimap multimap = new IntListMultimap();
+
+    @Test
+    public void get_missingKey_returnsEmpty() {
+        assertArrayEquals(new int[0], multimap.get(3));
+        assertEquals(0, multimap.size(3));
+        assertEquals(OptionalInt.empty(), multimap.last(3));
+    }
+
+    @Test
+    public void put_multipleValues_keptInSortKeyThenValueOrder() {
+        multimap.put(1, 300L, 10);
+        multimap.put(2, 100L, 20);
+        multimap.put(1, 100L, 7);
+        multimap.put(1, 300L, 4);
+        multimap.put(1, 200L, 9);
+        assertArrayEquals(new int[] {7, 9, 4, 10}, multimap.get(1));
+        assertArrayEquals(new int[] {20}, multimap.get(2));
+        assertEquals(OptionalInt.of(10), multimap.last(1));
+    }
+
+    @Test
+    public void remove_existingValue_keepsOrder() {
+        multimap.put(1, 100L, 10);
+        multimap.put(1, 200L, 5);
+        multimap.put(1, 300L, 8);
+        assertTrue(multimap.remove(1, 200L, 5));
+        assertArrayEquals(new int[] {10, 8}, multimap.get(1));
+        assertFalse(multimap.remove(1, 200L, 10));
+        assertFalse(multimap.remove(2, 100L, 10));
+    }
+
+    @Test
+    public void lowerAndHigher_neighboursInOrder() {
+        multimap.put(1, 100L, 1);
+        multimap.put(1, 200L, 2);
+        multimap.put(1, 200L, 3);
+        assertEquals(OptionalInt.of(2), multimap.lower(1, 200L, 3));
+        assertEquals(OptionalInt.of(3), multimap.higher(1, 200L, 2));
+        assertEquals(OptionalInt.empty(), multimap.lower(1, 100L, 1));
+        assertEquals(OptionalInt.empty(), multimap.higher(1, 200L, 3));
+
+        // Neighbours of a value that is not in the multimap
+        assertEquals(OptionalInt.of(1), multimap.lower(1, 150L, 9));
+        assertEquals(OptionalInt.of(2), multimap.higher(1, 150L, 9));
+        assertEquals(OptionalInt.empty(), multimap.lower(2, 150L, 9));
+    }
+
+    @Test
+    public void forEachInRange_valuesWithinSortKeyRange() {
+        multimap.put(1, 100L, 1);
+        multimap.put(1, 200L, 3);
+        multimap.put(1, 200L, 2);
+        multimap.put(1, 300L, 4);
+
+        List<Integer> values = new ArrayList<>();
+        multimap.forEachInRange(1, 200L, 300L, values::add);
+        assertEquals(List.of(2, 3), values);
+
+        values.clear();
+        multimap.forEachInRange(1, 0L, 100L, values::add);
+        multimap.forEachInRange(2, 0L, 1000L, values::add);
+        assertEquals(List.of(), values);
+    }
+
+    @Test
+    public void put_manyKeysAndValues_allRetained() {
+        for (int key = -500; key < 500; key++) {
+            for (int value = 9; value >= 0; value--) {
+                multimap.put(key, value, key * 10 + value);
+            }
+        }
+        for (int key = -500; key < 500; key++) {
+            List<Integer> values = new ArrayList<>();
+            multimap.forEach(key, values::add);
+            assertEquals(10, values.size());
+            assertEquals(key * 10, (int) values.get(0));
+            assertEquals(key * 10 + 9, (int) values.get(9));
+        }
+    }
+
+    @Test
+    public void clear_removesAllKeys() {
+        multimap.put(1, 100L, 10);
+        multimap.clear();
+        assertEquals(0, multimap.size(1));
+    }
+}
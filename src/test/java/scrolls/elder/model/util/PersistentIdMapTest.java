@@ -0,0 +1,92 @@
+package scrolls.elder.model.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.testutil.Assert;
+
+public class PersistentIdMapTest {
+
+    private final PersistentIdMap<String> emptyMap = PersistentIdMap.empty();
+
+    @Test
+    public void empty_hasNoValues() {
+        assertTrue(emptyMap.isEmpty());
+        assertEquals(0, emptyMap.size());
+        assertNull(emptyMap.get(0));
+        assertEquals(Collections.emptyList(), emptyMap.values());
+    }
+
+    @Test
+    public void put_nullValue_throwsNullPointerException() {
+        Assert.assertThrows(NullPointerException.class, () -> emptyMap.put(0, null));
+    }
+
+    @Test
+    public void put_newId_originalMapUnchanged() {
+        PersistentIdMap<String> map = emptyMap.put(1, "one");
+
+        assertEquals("one", map.get(1));
+        assertEquals(1, map.size());
+        assertFalse(emptyMap.containsId(1));
+        assertTrue(emptyMap.isEmpty());
+    }
+
+    @Test
+    public void put_existingId_replacesValueWithoutChangingSize() {
+        PersistentIdMap<String> map = emptyMap.put(1, "one");
+        PersistentIdMap<String> replaced = map.put(1, "uno");
+
+        assertEquals("uno", replaced.get(1));
+        assertEquals(1, replaced.size());
+        assertEquals("one", map.get(1));
+    }
+
+    @Test
+    public void put_largeAndNegativeIds_success() {
+        PersistentIdMap<String> map = emptyMap.put(5, "five").put(100_000, "large").put(-1, "negative");
+
+        assertEquals("five", map.get(5));
+        assertEquals("large", map.get(100_000));
+        assertEquals("negative", map.get(-1));
+        assertNull(map.get(6));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void remove_existingId_originalMapUnchanged() {
+        PersistentIdMap<String> map = emptyMap.put(1, "one").put(2, "two");
+        PersistentIdMap<String> removed = map.remove(1);
+
+        assertNull(removed.get(1));
+        assertEquals("two", removed.get(2));
+        assertEquals(1, removed.size());
+        assertEquals("one", map.get(1));
+    }
+
+    @Test
+    public void remove_missingId_returnsSameMap() {
+        PersistentIdMap<String> map = emptyMap.put(1, "one");
+        assertSame(map, map.remove(2));
+    }
+
+    @Test
+    public void remove_allIds_isEmpty() {
+        PersistentIdMap<String> map = emptyMap.put(1, "one").put(1000, "thousand");
+        assertTrue(map.remove(1).remove(1000).isEmpty());
+    }
+
+    @Test
+    public void values_returnsValuesInIdOrder() {
+        PersistentIdMap<String> map = emptyMap.put(40, "c").put(3, "b").put(-7, "d").put(0, "a");
+        assertEquals(Arrays.asList("a", "b", "c", "d"), map.values());
+    }
+}
@@ -0,0 +1,143 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.DatastoreSnapshot;
+import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class AsyncDatastoreSaverTest {
+
+    @Test
+    public void submit_duringSave_changesCoalesced() throws Exception {
+        DatastoreStorageStub storage = new DatastoreStorageStub();
+        storage.saveStarted = new CountDownLatch(1);
+        storage.saveReleased = new CountDownLatch(1);
+        AsyncDatastoreSaver saver = new AsyncDatastoreSaver(storage, DatastoreSnapshot.of(new Datastore()));
+
+        saver.submit(List.of(addPerson(TypicalPersons.HOON)));
+        storage.saveStarted.await();
+        saver.submit(List.of(addPerson(TypicalPersons.IDA)));
+        saver.submit(List.of(addPerson(TypicalPersons.ALICE)));
+        storage.saveReleased.countDown();
+        saver.flush();
+
+        assertEquals(List.of(1, 2), storage.savedChangeCounts);
+        assertEquals(3, storage.lastSavedDatastore.getPersonStore().getPersonList().size());
+    }
+
+    @Test
+    public void flush_afterFailedSave_wholeDatastoreSavedAgain() throws Exception {
+        DatastoreStorageStub storage = new DatastoreStorageStub();
+        storage.exception = new IOException("dummy IO exception");
+        AsyncDatastoreSaver saver = new AsyncDatastoreSaver(storage, DatastoreSnapshot.of(new Datastore()));
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        saver.setFailureHandler(failures::add);
+
+        saver.submit(List.of(addPerson(TypicalPersons.HOON)));
+        Assert.assertThrows(IOException.class, "dummy IO exception", saver::flush);
+        assertEquals(List.of(storage.exception), failures);
+
+        storage.exception = null;
+        saver.flush();
+        assertEquals(1, storage.fullSaveCount);
+        assertEquals(1, storage.lastSavedDatastore.getPersonStore().getPersonList().size());
+    }
+
+    @Test
+    public void close_pendingChanges_savedBeforeSaverStops() throws Exception {
+        DatastoreStorageStub storage = new DatastoreStorageStub();
+        AsyncDatastoreSaver saver = new AsyncDatastoreSaver(storage, DatastoreSnapshot.of(new Datastore()));
+
+        saver.submit(List.of(addPerson(TypicalPersons.HOON)));
+        saver.close();
+
+        assertEquals(List.of(1), storage.savedChangeCounts);
+        Assert.assertThrows(RejectedExecutionException.class, () ->
+                saver.submit(List.of(addPerson(TypicalPersons.IDA))));
+    }
+
+    private static DatastoreChange addPerson(Person person) {
+        Map<Integer, Person> persons = new HashMap<>();
+        persons.put(person.getPersonId(), person);
+        Map<Integer, Log> logs = new HashMap<>();
+        return new DatastoreChange(persons, logs, person.getPersonId() + 1, 0);
+    }
+
+    /**
+     * A storage that records the saves made to it, and can be made to block or fail them.
+     */
+    private static class DatastoreStorageStub implements DatastoreStorage {
+        private final List<Integer> savedChangeCounts = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch saveStarted;
+        private volatile CountDownLatch saveReleased;
+        private volatile IOException exception;
+        private volatile ReadOnlyDatastore lastSavedDatastore;
+        private volatile int fullSaveCount;
+
+        @Override
+        public Path getDatastoreFilePath() {
+            return Paths.get("unused");
+        }
+
+        @Override
+        public Optional<ReadOnlyDatastore> readDatastore() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<ReadOnlyDatastore> readDatastore(Path filePath) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void saveDatastore(ReadOnlyDatastore datastore) throws IOException {
+            if (exception != null) {
+                throw exception;
+            }
+            fullSaveCount++;
+            lastSavedDatastore = new Datastore(datastore);
+        }
+
+        @Override
+        public void saveDatastore(ReadOnlyDatastore datastore, Path filePath) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void saveDatastoreChanges(ReadOnlyDatastore datastore, List<DatastoreChange> changes)
+                throws IOException {
+            if (exception != null) {
+                throw exception;
+            }
+            if (saveStarted != null && saveStarted.getCount() > 0) {
+                saveStarted.countDown();
+                try {
+                    saveReleased.await();
+                } catch (InterruptedException ie) {
+                    throw new IOException(ie);
+                }
+            }
+            savedChangeCounts.add(changes.size());
+            lastSavedDatastore = new Datastore(datastore);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.TypicalDatastore;
+import scrolls.elder.testutil.TypicalLogs;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class BinaryDatastoreStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readDatastore_missingFile_emptyResult() throws Exception {
+        Path filePath = testFolder.resolve("NonExistentFile.bin");
+        assertFalse(new BinaryDatastoreStorage(filePath).readDatastore().isPresent());
+    }
+
+    @Test
+    public void readAndSaveDatastore_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.bin");
+        BinaryDatastoreStorage storage = new BinaryDatastoreStorage(filePath);
+        Datastore original = getTypicalDatastoreWithLogs();
+
+        storage.saveDatastore(original);
+        assertTrue(BinaryDatastoreStorage.isBinaryDatastoreFile(filePath));
+        assertEquals(original, new Datastore(storage.readDatastore().get()));
+
+        original.getMutablePersonStore().addPerson(TypicalPersons.HOON);
+        storage.saveDatastore(original);
+        assertEquals(original, new Datastore(storage.readDatastore().get()));
+        assertTrue(Files.exists(DatastoreStorage.getBackupFilePath(filePath)));
+    }
+
+    @Test
+    public void readDatastore_corruptedByte_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.bin");
+        new BinaryDatastoreStorage(filePath).saveDatastore(getTypicalDatastoreWithLogs());
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[bytes.length - 3] ^= 0x01;
+        Files.write(filePath, bytes);
+
+        Assert.assertThrows(DataLoadingException.class, () -> new BinaryDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void readDatastore_countLargerThanFile_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.bin");
+        new BinaryDatastoreStorage(filePath).saveDatastore(getTypicalDatastoreWithLogs());
+
+        // The string table count, right after the 18-byte header, becomes Integer.MAX_VALUE
+        byte[] bytes = Files.readAllBytes(filePath);
+        byte[] count = {(byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07};
+        System.arraycopy(count, 0, bytes, 18, count.length);
+        Files.write(filePath, bytes);
+
+        Assert.assertThrows(DataLoadingException.class, () -> new BinaryDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void readDatastore_truncatedFile_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.bin");
+        new BinaryDatastoreStorage(filePath).saveDatastore(getTypicalDatastoreWithLogs());
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(bytes, bytes.length - 1));
+
+        Assert.assertThrows(DataLoadingException.class, () -> new BinaryDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void readDatastore_newerVersion_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.bin");
+        new BinaryDatastoreStorage(filePath).saveDatastore(getTypicalDatastoreWithLogs());
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[5] = (byte) (BinaryDatastoreStorage.FORMAT_VERSION + 1);
+        Files.write(filePath, bytes);
+
+        Assert.assertThrows(DataLoadingException.class, () -> new BinaryDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void readDatastore_jsonFile_throwsDataLoadingException() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        new JsonDatastoreStorage(filePath).saveDatastore(getTypicalDatastoreWithLogs());
+
+        assertFalse(BinaryDatastoreStorage.isBinaryDatastoreFile(filePath));
+        Assert.assertThrows(DataLoadingException.class, () -> new BinaryDatastoreStorage(filePath).readDatastore());
+    }
+
+    private static Datastore getTypicalDatastoreWithLogs() {
+        Datastore datastore = TypicalDatastore.getTypicalDatastore();
+        datastore.getMutableLogStore().resetData(TypicalLogs.getTypicalLogStore());
+        return datastore;
+    }
+}
@@ -0,0 +1,94 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.LogStore;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.testutil.Assert;
+
+public class ColumnarLogFileTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private List<Log> logs;
+    private ColumnarLogFile columnarLogFile;
+
+    @BeforeEach
+    public void setUp() {
+        logs = new ArrayList<>();
+        logs.add(new Log(3, "Park visit", 0, 1, 60, new Date(1_700_000_000_000L), "Fed the ducks"));
+        logs.add(new Log(0, "Lunch", 2, 1, 45, new Date(1_600_000_000_000L), "Noodles at the café"));
+        logs.add(new Log(7, "", 0, 5, 0, new Date(0), ""));
+        columnarLogFile = new ColumnarLogFile(testFolder.resolve("datastore.json"));
+    }
+
+    @Test
+    public void writeAndMap_logs_viewsEqualToLogs() throws Exception {
+        List<Log> mappedLogs = columnarLogFile.writeAndMap(logs);
+        assertEquals(testFolder.resolve("datastore.json.columns"), columnarLogFile.getFilePath());
+        assertEquals(logs, mappedLogs);
+        for (int i = 0; i < logs.size(); i++) {
+            assertEquals(logs.get(i).getLogId(), mappedLogs.get(i).getLogId());
+            assertEquals(logs.get(i).getStartDate(), mappedLogs.get(i).getStartDate());
+        }
+
+        // Views are written to json as the logs they are views of
+        assertEquals(JsonUtil.toJsonString(logs), JsonUtil.toJsonString(mappedLogs));
+    }
+
+    @Test
+    public void map_nullFields_readAsNull() throws Exception {
+        Log log = new Log(0, null, 0, 1, 1, null, null);
+        columnarLogFile.write(List.of(log));
+        Log mappedLog = columnarLogFile.map().get(0);
+        assertNull(mappedLog.getLogTitle());
+        assertNull(mappedLog.getStartDate());
+        assertNull(mappedLog.getRemarks());
+        assertEquals(log, mappedLog);
+        assertEquals(log.hashCode(), mappedLog.hashCode());
+    }
+
+    @Test
+    public void map_viewsAddedToLogStore_sameAsLogs() {
+        LogStore logStore = new LogStore();
+        logStore.setLogList(columnarLogFile.writeAndMap(logs));
+        LogStore expectedLogStore = new LogStore();
+        expectedLogStore.setLogList(logs);
+        assertEquals(expectedLogStore, logStore);
+
+        logStore.updateFilteredLogListByStartDate(null, new Date(1), new Date(1_650_000_000_000L));
+        assertEquals(List.of(logs.get(1)), logStore.getLogList());
+        assertEquals(8, logStore.getLogIdSequence());
+    }
+
+    @Test
+    public void map_damagedFile_throwsIoException() throws Exception {
+        columnarLogFile.write(logs);
+        byte[] bytes = Files.readAllBytes(columnarLogFile.getFilePath());
+        Files.write(columnarLogFile.getFilePath(), Arrays.copyOf(bytes, bytes.length - 1));
+        Assert.assertThrows(IOException.class, () -> columnarLogFile.map());
+    }
+
+    @Test
+    public void writeAndMap_cannotWrite_logsKept() throws Exception {
+        Files.createDirectories(columnarLogFile.getFilePath());
+        Files.createFile(columnarLogFile.getFilePath().resolve("blocker"));
+        assertSame(logs, columnarLogFile.writeAndMap(logs));
+    }
+}
@@ -0,0 +1,115 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.commons.core.DatastoreFormat;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.ModelManager;
+import scrolls.elder.model.UserPrefs;
+import scrolls.elder.testutil.TypicalDatastore;
+import scrolls.elder.testutil.TypicalLogs;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class DatastoreConverterTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void convert_jsonToBinaryAndBack_lossless() throws Exception {
+        Path jsonFile = testFolder.resolve("datastore.json");
+        Path binaryFile = testFolder.resolve("datastore.bin");
+        Path convertedFile = testFolder.resolve("converted.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        original.getMutableLogStore().resetData(TypicalLogs.getTypicalLogStore());
+        new JsonDatastoreStorage(jsonFile).saveDatastore(original);
+
+        assertTrue(DatastoreConverter.convert(jsonFile, binaryFile, DatastoreFormat.BINARY));
+        assertTrue(BinaryDatastoreStorage.isBinaryDatastoreFile(binaryFile));
+        assertEquals(original, new Datastore(new BinaryDatastoreStorage(binaryFile).readDatastore().get()));
+
+        assertTrue(DatastoreConverter.convert(binaryFile, convertedFile, DatastoreFormat.JSON));
+        assertEquals(original, new Datastore(new JsonDatastoreStorage(convertedFile).readDatastore().get()));
+    }
+
+    @Test
+    public void convert_journaledChanges_changesIncluded() throws Exception {
+        Path jsonFile = testFolder.resolve("datastore.json");
+        Path binaryFile = testFolder.resolve("datastore.bin");
+        JournaledDatastoreStorage storage = new JournaledDatastoreStorage(new JsonDatastoreStorage(jsonFile),
+                JournaledDatastoreStorage.DEFAULT_CHECKPOINT_INTERVAL);
+        ModelManager model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        storage.saveDatastore(model.getDatastore());
+        model.getMutableDatastore().getMutablePersonStore().addPersonWithId(TypicalPersons.HOON);
+        model.commitDatastore();
+        storage.saveDatastoreChanges(model.getDatastore(), model.getUnsavedChanges());
+        assertTrue(Files.exists(JournaledDatastoreStorage.getJournalFilePath(jsonFile)));
+
+        assertTrue(DatastoreConverter.convert(jsonFile, binaryFile, DatastoreFormat.BINARY));
+        assertEquals(model.getMutableDatastore(),
+                new Datastore(new BinaryDatastoreStorage(binaryFile).readDatastore().get()));
+    }
+
+    @Test
+    public void convertInPlace_jsonFileWithBinarySelected_dataKeptAsBinary() throws Exception {
+        Path dataFile = testFolder.resolve("datastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        new JsonDatastoreStorage(dataFile).saveDatastore(original);
+
+        assertTrue(DatastoreConverter.convertInPlace(dataFile, DatastoreFormat.BINARY));
+        assertEquals(DatastoreFormat.BINARY, DatastoreConverter.detectFormat(dataFile));
+        assertEquals(original, new Datastore(new BinaryDatastoreStorage(dataFile).readDatastore().get()));
+        assertEquals(DatastoreFormat.JSON,
+                DatastoreConverter.detectFormat(DatastoreStorage.getBackupFilePath(dataFile)));
+    }
+
+    @Test
+    public void convertInPlace_journaledJsonFileWithShardedSelected_journalReplayed() throws Exception {
+        Path dataFile = testFolder.resolve("datastore.json");
+        JournaledDatastoreStorage storage = new JournaledDatastoreStorage(new JsonDatastoreStorage(dataFile),
+                JournaledDatastoreStorage.DEFAULT_CHECKPOINT_INTERVAL);
+        ModelManager model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+        storage.saveDatastore(model.getDatastore());
+        model.getMutableDatastore().getMutablePersonStore().addPersonWithId(TypicalPersons.HOON);
+        model.commitDatastore();
+        storage.saveDatastoreChanges(model.getDatastore(), model.getUnsavedChanges());
+
+        assertTrue(DatastoreConverter.convertInPlace(dataFile, DatastoreFormat.SHARDED));
+        assertFalse(Files.exists(JournaledDatastoreStorage.getJournalFilePath(dataFile)));
+        assertEquals(model.getMutableDatastore(),
+                new Datastore(new ShardedDatastoreStorage(dataFile).readDatastore().get()));
+    }
+
+    @Test
+    public void convertInPlace_fileInSelectedFormat_untouched() throws Exception {
+        Path dataFile = testFolder.resolve("datastore.json");
+        new JsonDatastoreStorage(dataFile).saveDatastore(TypicalDatastore.getTypicalDatastore());
+
+        assertFalse(DatastoreConverter.convertInPlace(dataFile, DatastoreFormat.JSON));
+        assertFalse(Files.exists(DatastoreStorage.getBackupFilePath(dataFile)));
+        assertFalse(DatastoreConverter.convertInPlace(testFolder.resolve("missing.json"), DatastoreFormat.BINARY));
+    }
+
+    @Test
+    public void convert_missingSource_returnsFalse() throws Exception {
+        Path binaryFile = testFolder.resolve("datastore.bin");
+        assertFalse(DatastoreConverter.convert(testFolder.resolve("missing.json"), binaryFile,
+                DatastoreFormat.BINARY));
+        assertFalse(Files.exists(binaryFile));
+    }
+
+    @Test
+    public void run_invalidArguments_usageError() {
+        assertEquals(2, DatastoreConverter.run(DatastoreConverter.COMMAND_WORD, "xml", "a.json", "b.xml"));
+        assertEquals(2, DatastoreConverter.run(DatastoreConverter.COMMAND_WORD, "binary"));
+        assertEquals(2, DatastoreConverter.run(DatastoreConverter.COMMAND_WORD, "binary", "a.json", "./a.json"));
+    }
+}
@@ -0,0 +1,161 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.ModelManager;
+import scrolls.elder.model.PersonStore;
+import scrolls.elder.model.UserPrefs;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.TypicalDatastore;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class JournaledDatastoreStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private Path journalFilePath;
+    private ModelManager model;
+
+    @BeforeEach
+    public void setUp() {
+        filePath = testFolder.resolve("TempDatastore.json");
+        journalFilePath = JournaledDatastoreStorage.getJournalFilePath(filePath);
+        model = new ModelManager(TypicalDatastore.getTypicalDatastore(), new UserPrefs());
+    }
+
+    @Test
+    public void readDatastore_missingCheckpointAndJournal_emptyResult() throws Exception {
+        assertFalse(createStorage(10).readDatastore().isPresent());
+    }
+
+    @Test
+    public void saveDatastoreChanges_checkpointMissing_checkpointWritten() throws Exception {
+        JournaledDatastoreStorage storage = createStorage(10);
+        addPersonAndSave(storage, TypicalPersons.HOON);
+
+        assertTrue(Files.exists(filePath));
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(model.getMutableDatastore(), new Datastore(createStorage(10).readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastoreChanges_afterCheckpoint_changesJournaledAndReplayed() throws Exception {
+        JournaledDatastoreStorage storage = createStorage(10);
+        storage.saveDatastore(model.getDatastore());
+        long checkpointSize = Files.size(filePath);
+
+        addPersonAndSave(storage, TypicalPersons.HOON);
+        model.undoChanges();
+        model.redoChanges();
+        storage.saveDatastoreChanges(model.getDatastore(), model.getUnsavedChanges());
+        model.clearUnsavedChanges();
+        addPersonAndSave(storage, TypicalPersons.IDA);
+
+        assertEquals(checkpointSize, Files.size(filePath));
+        assertEquals(4, Files.readAllLines(journalFilePath).size());
+        assertEquals(model.getMutableDatastore(), new Datastore(createStorage(10).readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastoreChanges_checkpointIntervalReached_journalCleared() throws Exception {
+        JournaledDatastoreStorage storage = createStorage(1);
+        storage.saveDatastore(model.getDatastore());
+
+        addPersonAndSave(storage, TypicalPersons.HOON);
+        assertTrue(Files.exists(journalFilePath));
+
+        addPersonAndSave(storage, TypicalPersons.IDA);
+        assertFalse(Files.exists(journalFilePath));
+        assertEquals(model.getMutableDatastore(), new Datastore(createStorage(1).readDatastore().get()));
+    }
+
+    @Test
+    public void readDatastore_incompleteLastRecord_recordDiscarded() throws Exception {
+        JournaledDatastoreStorage storage = createStorage(10);
+        storage.saveDatastore(model.getDatastore());
+        addPersonAndSave(storage, TypicalPersons.HOON);
+        Datastore savedDatastore = new Datastore(model.getDatastore());
+        long journalSize = Files.size(journalFilePath);
+
+        Files.write(journalFilePath, "{\"persons\":[".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        assertEquals(savedDatastore, new Datastore(createStorage(10).readDatastore().get()));
+        assertEquals(journalSize, Files.size(journalFilePath));
+    }
+
+    @Test
+    public void readDatastore_corruptRecord_throwsDataLoadingException() throws Exception {
+        createStorage(10).saveDatastore(model.getDatastore());
+        Files.write(journalFilePath, "not json\n".getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertThrows(DataLoadingException.class, () -> createStorage(10).readDatastore());
+    }
+
+    @Test
+    public void readDatastoreInStages_journaledChanges_replayedOverEachStage() throws Exception {
+        Log firstLog = new Log(0, "Visit", 0, 1, 1, new Date(0), "Remarks");
+        Log secondLog = new Log(1, "Call", 0, 1, 2, new Date(1), "Remarks");
+        model.getMutableDatastore().getMutableLogStore().setLogList(List.of(firstLog, secondLog));
+        model.commitDatastore();
+        model.clearUnsavedChanges();
+        JournaledDatastoreStorage storage = createStorage(10);
+        storage.saveDatastore(model.getDatastore());
+        model.getMutableDatastore().getMutableLogStore().removeLog(firstLog.getLogId());
+        addPersonAndSave(storage, TypicalPersons.HOON);
+
+        List<Runnable> tasks = new ArrayList<>();
+        JournaledDatastoreStorage readStorage = createStorage(10);
+        StagedDatastore staged = readStorage.readDatastoreInStages(tasks::add).get();
+        assertEquals(model.getDatastore().getPersonStore(), staged.getPersons().getPersonStore());
+        assertFalse(staged.getLogs().isDone());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(List.of(secondLog), staged.getLogs().join());
+
+        // Once the logs are read, changes are appended to the journal rather than written as a checkpoint
+        long checkpointSize = Files.size(filePath);
+        addPersonAndSave(readStorage, TypicalPersons.IDA);
+        assertEquals(checkpointSize, Files.size(filePath));
+        assertEquals(2, Files.readAllLines(journalFilePath).size());
+    }
+
+    @Test
+    public void constructor_nonPositiveCheckpointInterval_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> createStorage(0));
+    }
+
+    private JournaledDatastoreStorage createStorage(int checkpointInterval) {
+        return new JournaledDatastoreStorage(new JsonDatastoreStorage(filePath), checkpointInterval);
+    }
+
+    /**
+     * Adds {@code person} to the model, and saves the unsaved changes of the model to {@code storage}.
+     */
+    private void addPersonAndSave(JournaledDatastoreStorage storage, Person person) throws Exception {
+        PersonStore personStore = model.getMutableDatastore().getMutablePersonStore();
+        personStore.addPersonWithId(person);
+        model.commitDatastore();
+        storage.saveDatastoreChanges(model.getDatastore(), model.getUnsavedChanges());
+        model.clearUnsavedChanges();
+    }
+}
@@ -0,0 +1,85 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.TypicalLogs;
+import scrolls.elder.testutil.TypicalPersons;
+
+public class JsonDatastoreChangeSpillTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private JsonDatastoreChangeSpill spill;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        spill = new JsonDatastoreChangeSpill(testFolder.resolve("undo.spill"));
+    }
+
+    @Test
+    public void read_writtenEntries_successfullyRead() throws IOException {
+        Map<Integer, Person> persons = new HashMap<>();
+        persons.put(TypicalPersons.ALICE.getPersonId(), TypicalPersons.ALICE);
+        persons.put(TypicalPersons.BENSON.getPersonId(), null);
+        Map<Integer, Log> logs = new HashMap<>();
+        logs.put(TypicalLogs.LOG_BENSON_TO_FIONA.getLogId(), TypicalLogs.LOG_BENSON_TO_FIONA);
+        DatastoreChange undoChange = new DatastoreChange(persons, logs, 7, 2);
+        DatastoreChange redoChange = new DatastoreChange(new HashMap<>(), new HashMap<>(), 8, 3);
+
+        spill.write(0, redoChange, undoChange);
+        spill.write(1, undoChange, redoChange);
+
+        assertChangeEquals(undoChange, spill.read(1).getUndoChange());
+        assertChangeEquals(redoChange, spill.read(1).getRedoChange());
+        assertChangeEquals(redoChange, spill.read(0).getUndoChange());
+        assertNull(spill.read(1).getUndoChange().getPersons().get(TypicalPersons.BENSON.getPersonId()));
+    }
+
+    @Test
+    public void write_outOfOrder_throwsIllegalArgumentException() {
+        DatastoreChange change = new DatastoreChange(new HashMap<>(), new HashMap<>(), 0, 0);
+        Assert.assertThrows(IllegalArgumentException.class, () -> spill.write(1, change, change));
+    }
+
+    @Test
+    public void truncate_writtenEntries_entriesDiscarded() throws IOException {
+        DatastoreChange first = new DatastoreChange(new HashMap<>(), new HashMap<>(), 1, 1);
+        DatastoreChange second = new DatastoreChange(new HashMap<>(), new HashMap<>(), 2, 2);
+        spill.write(0, first, first);
+        spill.write(1, second, second);
+        long sizeWithTwoEntries = Files.size(spill.getFilePath());
+
+        spill.truncate(1);
+        assertTrue(Files.size(spill.getFilePath()) < sizeWithTwoEntries);
+        Assert.assertThrows(IllegalArgumentException.class, () -> spill.read(1));
+
+        // Entries written after truncation replace the discarded entries
+        spill.write(1, first, first);
+        assertChangeEquals(first, spill.read(1).getRedoChange());
+        assertChangeEquals(first, spill.read(0).getRedoChange());
+    }
+
+    private void assertChangeEquals(DatastoreChange expected, DatastoreChange actual) {
+        assertEquals(expected.getPersons(), actual.getPersons());
+        assertEquals(expected.getLogs(), actual.getLogs());
+        assertEquals(expected.getPersonIdSequence(), actual.getPersonIdSequence());
+        assertEquals(expected.getLogIdSequence(), actual.getLogIdSequence());
+    }
+}
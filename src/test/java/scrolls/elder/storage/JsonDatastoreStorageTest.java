@@ -2,19 +2,27 @@ package scrolls.elder.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.util.CompressionCodecRegistry;
 import scrolls.elder.model.Datastore;
 import scrolls.elder.model.PersonStore;
 import scrolls.elder.model.ReadOnlyDatastore;
+import scrolls.elder.model.log.Log;
 import scrolls.elder.model.person.Person;
 import scrolls.elder.testutil.Assert;
 import scrolls.elder.testutil.TypicalDatastore;
@@ -22,6 +30,9 @@ import scrolls.elder.testutil.TypicalPersons;
 
 public class JsonDatastoreStorageTest {
     private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonDatastoreStorageTest");
+    private static final List<Log> LOGS = List.of(
+            new Log(0, "Visit", 0, 1, 1, new Date(0), "Remarks"),
+            new Log(1, "Call", 0, 1, 2, new Date(1), "Remarks"));
 
     @TempDir
     public Path testFolder;
@@ -89,6 +100,96 @@ public class JsonDatastoreStorageTest {
         assertEquals(original, new Datastore(readBack));
     }
 
+    @Test
+    public void readDatastoreInStages_savedDatastore_logsReadByExecutor() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        original.getMutableLogStore().setLogList(LOGS);
+        new JsonDatastoreStorage(filePath).saveDatastore(original);
+
+        List<Runnable> tasks = new ArrayList<>();
+        StagedDatastore staged = new JsonDatastoreStorage(filePath).readDatastoreInStages(tasks::add).get();
+        assertEquals(original.getPersonStore(), staged.getPersons().getPersonStore());
+        assertTrue(staged.getPersons().getLogStore().getLogList().isEmpty());
+        assertFalse(staged.getLogs().isDone());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(LOGS, staged.getLogs().join());
+    }
+
+    @Test
+    public void readDatastoreInStages_invalidLogs_logsCompleteExceptionally() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        original.getMutableLogStore().setLogList(LOGS);
+        new JsonDatastoreStorage(filePath).saveDatastore(original);
+        String content = Files.readString(filePath);
+        // Cut the file off in the middle of the logs, after the persons
+        Files.writeString(filePath, content.substring(0, content.indexOf("\"logs\"") + 20));
+
+        StagedDatastore staged = new JsonDatastoreStorage(filePath).readDatastoreInStages(Runnable::run).get();
+        assertEquals(original.getPersonStore(), staged.getPersons().getPersonStore());
+        Assert.assertThrows(CompletionException.class, () -> staged.getLogs().join());
+        assertTrue(staged.getLogs().handle((unused, e) -> e.getCause()).join() instanceof DataLoadingException);
+    }
+
+    @Test
+    public void saveDatastore_prettyPrintLimit_largeDatastoreWrittenOnOneLine() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        int recordCount = original.getPersonStore().getPersonList().size()
+                + original.getLogStore().getUnfilteredAllLogsList().size();
+
+        // within limit -> pretty-printed
+        new JsonDatastoreStorage(filePath, recordCount).saveDatastore(original);
+        assertTrue(Files.readAllLines(filePath).size() > 1);
+
+        // above limit -> single line, read back the same
+        JsonDatastoreStorage storage = new JsonDatastoreStorage(filePath, recordCount - 1);
+        storage.saveDatastore(original);
+        assertEquals(1, Files.readAllLines(filePath).size());
+        assertEquals(original, new Datastore(storage.readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastore_gzipCompression_compressedAndDetectedOnRead() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        original.getMutableLogStore().setLogList(LOGS);
+        new JsonDatastoreStorage(filePath, JsonDatastoreStorage.DEFAULT_PRETTY_PRINT_LIMIT,
+                CompressionCodecRegistry.GZIP).saveDatastore(original);
+        byte[] bytes = Files.readAllBytes(filePath);
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals((byte) 0x8b, bytes[1]);
+
+        // A storage saving uncompressed files still reads compressed ones, in full or in stages
+        JsonDatastoreStorage storage = new JsonDatastoreStorage(filePath);
+        assertEquals(original, new Datastore(storage.readDatastore().get()));
+        StagedDatastore staged = storage.readDatastoreInStages(Runnable::run).get();
+        assertEquals(original.getPersonStore(), staged.getPersons().getPersonStore());
+        assertEquals(LOGS, staged.getLogs().join());
+
+        storage.saveDatastore(original);
+        assertTrue(Files.readString(filePath).startsWith("{"));
+    }
+
+    @Test
+    public void saveDatastore_existingFile_previousFileKeptAsBackup() throws Exception {
+        Path filePath = testFolder.resolve("TempDatastore.json");
+        Datastore original = TypicalDatastore.getTypicalDatastore();
+        JsonDatastoreStorage storage = new JsonDatastoreStorage(filePath);
+        storage.saveDatastore(original);
+
+        Datastore modified = new Datastore(original);
+        modified.getMutablePersonStore().removePerson(TypicalPersons.ALICE);
+        storage.saveDatastore(modified);
+
+        assertEquals(modified, new Datastore(storage.readDatastore().get()));
+        Path backupFilePath = DatastoreStorage.getBackupFilePath(filePath);
+        assertEquals(original, new Datastore(storage.readDatastore(backupFilePath).get()));
+        assertFalse(Files.exists(filePath.resolveSibling("TempDatastore.json.tmp")));
+    }
+
     @Test
     public void saveDatastore_nullDatastore_throwsNullPointerException() {
         Assert.assertThrows(NullPointerException.class, () -> saveDatastore(null, "SomeFile.json"));
@@ -2,10 +2,15 @@ package scrolls.elder.storage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.core.JsonParser;
 
 import scrolls.elder.commons.exceptions.IllegalValueException;
 import scrolls.elder.commons.util.JsonUtil;
@@ -20,6 +25,9 @@ public class JsonSerializableDatastoreTest {
     private static final Path INVALID_PERSON_FILE = TEST_DATA_FOLDER.resolve("invalidPersonDatastore.json");
     private static final Path DUPLICATE_PERSON_FILE = TEST_DATA_FOLDER.resolve("duplicatePersonDatastore.json");
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void toModelType_typicalPersonsFile_success() throws Exception {
         JsonSerializableDatastore dataFromFile = JsonUtil.readJsonFile(TYPICAL_PERSONS_FILE,
@@ -44,4 +52,35 @@ public class JsonSerializableDatastoreTest {
             dataFromFile::toModelType);
     }
 
+    @Test
+    public void readModelType_typicalPersonsFile_success() throws Exception {
+        try (JsonParser parser = JsonUtil.createParser(TYPICAL_PERSONS_FILE)) {
+            assertEquals(TypicalDatastore.getTypicalDatastore(), JsonSerializableDatastore.readModelType(parser));
+        }
+    }
+
+    @Test
+    public void readModelType_invalidPersonFile_throwsIllegalValueException() throws Exception {
+        try (JsonParser parser = JsonUtil.createParser(INVALID_PERSON_FILE)) {
+            Assert.assertThrows(IllegalValueException.class, () -> JsonSerializableDatastore.readModelType(parser));
+        }
+    }
+
+    @Test
+    public void readModelType_duplicatePersons_throwsIllegalValueException() throws Exception {
+        try (JsonParser parser = JsonUtil.createParser(DUPLICATE_PERSON_FILE)) {
+            Assert.assertThrows(IllegalValueException.class, JsonSerializableDatastore.MESSAGE_DUPLICATE_PERSON, () ->
+                    JsonSerializableDatastore.readModelType(parser));
+        }
+    }
+
+    @Test
+    public void readModelType_notJsonObject_throwsIoException() throws Exception {
+        Path arrayFile = testFolder.resolve("array.json");
+        Files.writeString(arrayFile, "[ ]");
+        try (JsonParser parser = JsonUtil.createParser(arrayFile)) {
+            Assert.assertThrows(IOException.class, () -> JsonSerializableDatastore.readModelType(parser));
+        }
+    }
+
 }
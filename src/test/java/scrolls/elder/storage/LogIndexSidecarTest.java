@@ -0,0 +1,103 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.log.LogTextIndex;
+
+public class LogIndexSidecarTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private List<Log> logs;
+    private LogIndexSidecar sidecar;
+
+    @BeforeEach
+    public void setUp() {
+        logs = new ArrayList<>();
+        logs.add(new Log(0, "Park visit", 0, 1, 1, new Date(0), "Fed the ducks"));
+        logs.add(new Log(1, "Lunch", 0, 1, 1, new Date(1), "Noodles at the café"));
+        logs.add(new Log(70, "Park walk", 0, 1, 1, new Date(2), null));
+        sidecar = new LogIndexSidecar(testFolder.resolve("datastore.json"));
+    }
+
+    @Test
+    public void readOrRebuild_missingSidecar_rebuiltAndWritten() {
+        assertEquals(testFolder.resolve("datastore.json.index"), sidecar.getFilePath());
+        assertFalse(sidecar.read(logs).isPresent());
+
+        assertEquals(LogTextIndex.of(logs), sidecar.readOrRebuild(logs));
+        assertTrue(Files.exists(sidecar.getFilePath()));
+    }
+
+    @Test
+    public void read_writtenForSameLogs_sameIndex() throws Exception {
+        sidecar.write(LogTextIndex.of(logs), logs);
+
+        // The order of the logs does not matter
+        List<Log> reordered = new ArrayList<>(logs);
+        reordered.add(reordered.remove(0));
+        assertEquals(LogTextIndex.of(logs), sidecar.read(reordered).get());
+    }
+
+    @Test
+    public void read_logEdited_rebuilt() throws Exception {
+        sidecar.write(LogTextIndex.of(logs), logs);
+        logs.set(1, new Log(1, "Lunch", 0, 1, 1, new Date(1), "Soup at the café"));
+        assertFalse(sidecar.read(logs).isPresent());
+
+        assertEquals(LogTextIndex.of(logs), sidecar.readOrRebuild(logs));
+        assertEquals(LogTextIndex.of(logs), sidecar.read(logs).get());
+    }
+
+    @Test
+    public void read_damagedBody_rebuilt() throws Exception {
+        sidecar.write(LogTextIndex.of(logs), logs);
+        byte[] bytes = Files.readAllBytes(sidecar.getFilePath());
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(sidecar.getFilePath(), bytes);
+        assertFalse(sidecar.read(logs).isPresent());
+
+        Files.write(sidecar.getFilePath(), new byte[] {'E', 'S'});
+        assertFalse(sidecar.read(logs).isPresent());
+        assertEquals(LogTextIndex.of(logs), sidecar.readOrRebuild(logs));
+    }
+
+    @Test
+    public void update_logsEdited_rewrittenOnlyWhenOutdated() throws Exception {
+        sidecar.write(LogTextIndex.of(logs), logs);
+        assertFalse(sidecar.update(LogTextIndex.of(logs), logs));
+
+        logs.set(1, new Log(1, "Lunch", 0, 1, 1, new Date(1), "Soup at the café"));
+        assertTrue(sidecar.update(LogTextIndex.of(logs), logs));
+        assertEquals(LogTextIndex.of(logs), sidecar.read(logs).get());
+    }
+
+    @Test
+    public void checksum_textsWithSameStringHashCode_differs() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        List<Log> aa = List.of(new Log(0, "Aa", 0, 1, 1, new Date(0), null));
+        List<Log> bb = List.of(new Log(0, "BB", 0, 1, 1, new Date(0), null));
+        assertNotEquals(LogIndexSidecar.checksum(aa), LogIndexSidecar.checksum(bb));
+    }
+
+    @Test
+    public void checksum_titleAndRemarksSwapped_differs() {
+        List<Log> swapped = List.of(new Log(0, "Fed the ducks", 0, 1, 1, new Date(0), "Park visit"));
+        assertNotEquals(LogIndexSidecar.checksum(logs.subList(0, 1)), LogIndexSidecar.checksum(swapped));
+    }
+}
@@ -0,0 +1,65 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import scrolls.elder.commons.exceptions.IllegalValueException;
+import scrolls.elder.testutil.Assert;
+
+public class ParallelRecordConverterTest {
+
+    private static final int RECORD_COUNT = ParallelRecordConverter.CHUNK_SIZE * 10 + 1;
+
+    private final List<Integer> records = IntStream.range(0, RECORD_COUNT).boxed().collect(Collectors.toList());
+
+    @Test
+    public void convertAll_manyChunks_resultsInRecordOrder() throws Exception {
+        List<String> expected = records.stream().map(String::valueOf).collect(Collectors.toList());
+        assertEquals(expected, ParallelRecordConverter.convertAll(records, String::valueOf));
+    }
+
+    @Test
+    public void convertAll_emptyRecords_emptyResult() throws Exception {
+        assertEquals(List.of(), ParallelRecordConverter.convertAll(List.<Integer>of(), String::valueOf));
+    }
+
+    @Test
+    public void convertAll_invalidRecordsInSeveralChunks_firstInvalidRecordReported() {
+        Assert.assertThrows(IllegalValueException.class, "Invalid record 1000", () ->
+                ParallelRecordConverter.convertAll(records, record -> {
+                    if (record >= 1000 && record % 1000 == 0) {
+                        throw new IllegalValueException("Invalid record " + record);
+                    }
+                    return record;
+                }));
+    }
+
+    @Test
+    public void chunkedConverter_manyChunks_resultsInRecordOrder() throws Exception {
+        ParallelRecordConverter.ChunkedConverter<Integer, String> converter =
+                new ParallelRecordConverter.ChunkedConverter<>(String::valueOf);
+        records.forEach(converter::add);
+
+        List<String> expected = records.stream().map(String::valueOf).collect(Collectors.toList());
+        assertEquals(expected, converter.finish());
+    }
+
+    @Test
+    public void chunkedConverter_invalidRecordsInSeveralChunks_firstInvalidRecordReported() {
+        ParallelRecordConverter.ChunkedConverter<Integer, Integer> converter =
+                new ParallelRecordConverter.ChunkedConverter<>(record -> {
+                    if (record >= 1000 && record % 1000 == 0) {
+                        throw new IllegalValueException("Invalid record " + record);
+                    }
+                    return record;
+                });
+        records.forEach(converter::add);
+
+        Assert.assertThrows(IllegalValueException.class, "Invalid record 1000", converter::finish);
+    }
+}
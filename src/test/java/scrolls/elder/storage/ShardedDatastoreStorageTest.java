@@ -0,0 +1,173 @@
+package scrolls.elder.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import scrolls.elder.commons.exceptions.DataLoadingException;
+import scrolls.elder.commons.util.FileUtil;
+import scrolls.elder.commons.util.JsonUtil;
+import scrolls.elder.model.Datastore;
+import scrolls.elder.model.DatastoreChange;
+import scrolls.elder.model.log.Log;
+import scrolls.elder.model.person.Person;
+import scrolls.elder.testutil.Assert;
+import scrolls.elder.testutil.TypicalDatastore;
+
+public class ShardedDatastoreStorageTest {
+
+    private static final Log JANUARY_LOG = createLog(0, "2024-01-15T10:00:00Z");
+    private static final Log FEBRUARY_LOG = createLog(1, "2024-02-15T10:00:00Z");
+    private static final Log FEBRUARY_LOG_2 = createLog(2, "2024-02-20T10:00:00Z");
+
+    @TempDir
+    public Path testFolder;
+
+    private Path filePath;
+    private Path segmentDirectory;
+    private Datastore datastore;
+    private ShardedDatastoreStorage storage;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        filePath = testFolder.resolve("datastore.json");
+        segmentDirectory = ShardedDatastoreStorage.getSegmentDirectoryPath(filePath);
+        datastore = TypicalDatastore.getTypicalDatastore();
+        datastore.getMutableLogStore().setLogList(List.of(JANUARY_LOG, FEBRUARY_LOG));
+        storage = new ShardedDatastoreStorage(filePath);
+        storage.saveDatastore(datastore);
+    }
+
+    @Test
+    public void readDatastore_missingFile_emptyResult() throws Exception {
+        assertFalse(new ShardedDatastoreStorage(testFolder.resolve("missing.json")).readDatastore().isPresent());
+    }
+
+    @Test
+    public void saveDatastore_segmentPerMonth_readBack() throws Exception {
+        JsonShardManifest manifest = readManifest();
+        assertEquals(Map.of("2024-01", "logs-2024-01.0.json", "2024-02", "logs-2024-02.0.json"),
+                manifest.getLogSegments());
+        assertTrue(Files.exists(segmentDirectory.resolve(manifest.getPersonsSegment())));
+        assertTrue(ShardedDatastoreStorage.isShardManifestFile(filePath));
+        assertEquals(datastore, new Datastore(new ShardedDatastoreStorage(filePath).readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastoreChanges_logAdded_onlyItsMonthRewritten() throws Exception {
+        saveChange(Map.of(), Map.of(FEBRUARY_LOG_2.getLogId(), FEBRUARY_LOG_2));
+
+        JsonShardManifest manifest = readManifest();
+        assertEquals("persons.0.json", manifest.getPersonsSegment());
+        assertEquals(Map.of("2024-01", "logs-2024-01.0.json", "2024-02", "logs-2024-02.1.json"),
+                manifest.getLogSegments());
+        assertEquals(datastore, new Datastore(new ShardedDatastoreStorage(filePath).readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastoreChanges_logMovedAndRemoved_emptyMonthsDropped() throws Exception {
+        Map<Integer, Log> logs = new HashMap<>();
+        logs.put(JANUARY_LOG.getLogId(), createLog(JANUARY_LOG.getLogId(), "2024-03-01T10:00:00Z"));
+        logs.put(FEBRUARY_LOG.getLogId(), null);
+        saveChange(Map.of(), logs);
+
+        assertEquals(Map.of("2024-03", "logs-2024-03.1.json"), readManifest().getLogSegments());
+        assertEquals(datastore, new Datastore(new ShardedDatastoreStorage(filePath).readDatastore().get()));
+    }
+
+    @Test
+    public void saveDatastoreChanges_personChanged_onlyPersonsRewritten() throws Exception {
+        Person person = datastore.getPersonStore().getPersonList().get(0);
+        saveChange(Map.of(person.getPersonId(), person), Map.of());
+
+        JsonShardManifest manifest = readManifest();
+        assertEquals("persons.1.json", manifest.getPersonsSegment());
+        assertEquals(Map.of("2024-01", "logs-2024-01.0.json", "2024-02", "logs-2024-02.0.json"),
+                manifest.getLogSegments());
+    }
+
+    @Test
+    public void saveDatastoreChanges_twoSaves_segmentsOfBackupKeptAndOlderDeleted() throws Exception {
+        Datastore original = new Datastore(datastore);
+        saveChange(Map.of(), Map.of(FEBRUARY_LOG_2.getLogId(), FEBRUARY_LOG_2));
+        assertTrue(Files.exists(segmentDirectory.resolve("logs-2024-02.0.json")));
+
+        // The backup names the segments of the previous save, so restoring it restores the previous data
+        Path backupFilePath = DatastoreStorage.getBackupFilePath(filePath);
+        Path restoredFilePath = testFolder.resolve("restored.json");
+        Files.copy(backupFilePath, restoredFilePath);
+        Files.move(segmentDirectory, ShardedDatastoreStorage.getSegmentDirectoryPath(restoredFilePath));
+        assertEquals(original, new Datastore(new ShardedDatastoreStorage(restoredFilePath).readDatastore().get()));
+        Files.move(ShardedDatastoreStorage.getSegmentDirectoryPath(restoredFilePath), segmentDirectory);
+
+        saveChange(Map.of(), Map.of(FEBRUARY_LOG_2.getLogId(), createLog(2, "2024-02-21T10:00:00Z")));
+        assertFalse(Files.exists(segmentDirectory.resolve("logs-2024-02.0.json")));
+        assertTrue(Files.exists(segmentDirectory.resolve("logs-2024-02.1.json")));
+        assertTrue(Files.exists(segmentDirectory.resolve("logs-2024-02.2.json")));
+    }
+
+    @Test
+    public void readDatastoreInStages_logSegmentsReadByExecutor_changesThenSavedAlone() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        ShardedDatastoreStorage readStorage = new ShardedDatastoreStorage(filePath);
+        StagedDatastore staged = readStorage.readDatastoreInStages(tasks::add).get();
+        assertEquals(datastore.getPersonStore(), staged.getPersons().getPersonStore());
+        assertFalse(staged.getLogs().isDone());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(List.of(JANUARY_LOG, FEBRUARY_LOG), staged.getLogs().join());
+
+        storage = readStorage;
+        saveChange(Map.of(), Map.of(FEBRUARY_LOG_2.getLogId(), FEBRUARY_LOG_2));
+        assertEquals(Map.of("2024-01", "logs-2024-01.0.json", "2024-02", "logs-2024-02.1.json"),
+                readManifest().getLogSegments());
+    }
+
+    @Test
+    public void readDatastore_manifestOutsideSegmentDirectory_throwsDataLoadingException() throws Exception {
+        FileUtil.writeToFile(filePath, JsonUtil.toJsonString(
+                new JsonShardManifest(1, "../outside.json", Map.of())));
+        Assert.assertThrows(DataLoadingException.class, () -> new ShardedDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void readDatastore_missingSegment_throwsDataLoadingException() throws Exception {
+        Files.delete(segmentDirectory.resolve("logs-2024-01.0.json"));
+        Assert.assertThrows(DataLoadingException.class, () -> new ShardedDatastoreStorage(filePath).readDatastore());
+    }
+
+    @Test
+    public void isShardManifestFile_jsonDataFile_returnsFalse() throws Exception {
+        Path jsonFilePath = testFolder.resolve("plain.json");
+        new JsonDatastoreStorage(jsonFilePath).saveDatastore(datastore);
+        assertFalse(ShardedDatastoreStorage.isShardManifestFile(jsonFilePath));
+    }
+
+    private void saveChange(Map<Integer, Person> persons, Map<Integer, Log> logs) throws Exception {
+        DatastoreChange change = new DatastoreChange(persons, logs,
+                datastore.getMutablePersonStore().getPersonIdSequence(), 3);
+        datastore.applyChange(change);
+        storage.saveDatastoreChanges(datastore, List.of(change));
+    }
+
+    private JsonShardManifest readManifest() throws Exception {
+        return JsonUtil.readJsonFile(filePath, JsonShardManifest.class).get();
+    }
+
+    private static Log createLog(int logId, String startDate) {
+        return new Log(logId, "Visit", 0, 1, 1, Date.from(Instant.parse(startDate)), "Remarks");
+    }
+}
@@ -36,7 +36,6 @@ public class PersonBuilder {
     private Optional<Name> pairedWithName;
     private Optional<Integer> pairedWithId;
     private int timeServed;
-    private Optional<Integer> latestLogId;
 
     /**
      * Creates a {@code PersonBuilder} with the default details.
@@ -52,7 +51,6 @@ public class PersonBuilder {
         pairedWithName = Optional.empty();
         pairedWithId = Optional.empty();
         timeServed = 0;
-        latestLogId = Optional.empty();
     }
 
     /**
@@ -69,7 +67,6 @@ public class PersonBuilder {
         pairedWithName = personToCopy.getPairedWithName();
         pairedWithId = personToCopy.getPairedWithId();
         timeServed = personToCopy.getTimeServed();
-        latestLogId = personToCopy.getLatestLogId();
     }
 
     /**
@@ -152,20 +149,12 @@ public class PersonBuilder {
         return this;
     }
 
-    /**
-     * Sets the {@code latestLogId} of the {@code Person} that we are building.
-     */
-    public PersonBuilder withLatestLogId(Optional<Integer> latestLogId) {
-        this.latestLogId = latestLogId;
-        return this;
-    }
-
     /**
      * Builds a Person based on the fields in the person builder
      */
     public Person build() {
         return PersonFactory.withIdFromParams(id, name, phone, email, address, role, tags, pairedWithName,
-                pairedWithId, timeServed, latestLogId);
+                pairedWithId, timeServed);
     }
 
 }
@@ -32,13 +32,11 @@ public class TypicalPersons {
             .withAddress("123, Jurong West Ave 6, #08-111").withEmail("alice@example.com")
             .withPhone("94351253").withRole("volunteer")
             .withTags("friends").withPairedWithName(Optional.of(new Name("Elle Meyer")))
-            .withPairedWithID(Optional.of(4)).withTimeServed(2)
-            .withLatestLogId(Optional.of(0)).build();
+            .withPairedWithID(Optional.of(4)).withTimeServed(2).build();
     public static final Person BENSON = new PersonBuilder().withId(1).withName("Benson Meier")
             .withAddress("311, Clementi Ave 2, #02-25").withRole("volunteer")
             .withEmail("johnd@example.com").withPhone("98765432")
-            .withTags("owesMoney", "friends").withTimeServed(3)
-            .withLatestLogId(Optional.of(1)).build();
+            .withTags("owesMoney", "friends").withTimeServed(3).build();
     public static final Person CARL = new PersonBuilder().withId(2).withName("Carl Kurz").withPhone("95352563")
             .withEmail("heinz@example.com").withAddress("wall street").withRole("volunteer")
             .withTimeServed(0).build();
@@ -50,10 +48,10 @@ public class TypicalPersons {
     public static final Person ELLE = new PersonBuilder().withId(4).withName("Elle Meyer").withPhone("9482224")
             .withEmail("werner@example.com").withAddress("michegan ave").withRole("befriendee")
             .withPairedWithName(Optional.of(ALICE.getName())).withPairedWithID(Optional.of(0))
-            .withTimeServed(2).withLatestLogId(Optional.of(0)).build();
+            .withTimeServed(2).build();
     public static final Person FIONA = new PersonBuilder().withId(5).withName("Fiona Kunz").withPhone("9482427")
             .withEmail("lydia@example.com").withAddress("little tokyo").withRole("befriendee")
-            .withTimeServed(3).withLatestLogId(Optional.of(1)).build();
+            .withTimeServed(3).build();
     public static final Person GEORGE = new PersonBuilder().withId(6).withName("George Best").withPhone("9482442")
             .withEmail("anna@example.com").withAddress("4th street").withRole("befriendee")
             .withTimeServed(0).withTags("exConvict").build();